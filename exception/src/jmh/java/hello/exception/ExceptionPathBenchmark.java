@@ -0,0 +1,145 @@
+package hello.exception;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예외 처리 경로별 처리량, p99, 할당량 (실제 톰캣 + HttpClient, 8 스레드 동시 요청)
+ * Throughput -> 초당 처리 요청 수, SampleTime -> 지연 시간 백분위수(p0.99), gc 프로파일러 -> gc.alloc.rate.norm
+ *
+ * servlet-ex      -> /error-ex, ServletExController 예외가 WAS 까지 전달 -> WebServerCustomizer /error-page/500
+ * send-error      -> /error-404, ServletExController 의 sendError(404) -> WebServerCustomizer /error-page/404
+ * my-resolver     -> /api/members/bad, MyHandlerExceptionResolver 가 sendError(400) -> WAS 가 /error 재요청
+ * user-resolver   -> /api/members/user-ex, UserHandlerExceptionResolver 가 바로 JSON 작성
+ * advice          -> /api/members/user-ex, ExControllerAdvice 의 @ExceptionHandler
+ * response-status -> /api/response-status-ex2, ResponseStatusException -> sendError(404) -> WAS 가 /error 재요청
+ * bad-request     -> /api/response-status-ex1, @ResponseStatus BadRequestException -> sendError(400) -> WAS 가 /error 재요청
+ * *-in-dispatch   -> 같은 요청, sendError 를 InDispatchErrorFilter 가 재요청 없이 같은 요청 안에서 렌더링
+ *
+ * ExControllerAdvice 는 모든 예외를 잡으므로 advice 를 제외한 경로는 빈을 제거하고 실행한다. (ErrorStrategyBenchmark 와 같음)
+ * InDispatchErrorFilter 는 *-in-dispatch 와 user-resolver, advice(기본 설정, application.properties)에서만 켜고,
+ * 나머지는 꺼서 이름에 적힌 WAS 재요청 경로를 측정한다.
+ * AdmissionFilter 가 동시 요청을 거절하면 오류 처리 비용이 아니라 503 을 측정하게 되므로 끈다.
+ *
+ * 서버와 HttpClient 가 같은 JVM 이므로 할당량에는 클라이언트 몫도 포함된다. 경로 간 비교용으로 사용
+ * 로그는 콘솔 출력을 버리고 포맷팅 비용만 포함
+ *
+ * ./gradlew jmh -Pjmh.includes=ExceptionPathBenchmark
+ * 지연 시간 분포를 더 길게 보려면 부하 테스트(./gradlew loadTest) 사용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class ExceptionPathBenchmark {
+
+    private static final String IN_DISPATCH = "-in-dispatch";
+
+    @Param({"servlet-ex", "send-error", "my-resolver", "user-resolver", "advice", "response-status", "bad-request",
+            "my-resolver-in-dispatch", "response-status-in-dispatch", "bad-request-in-dispatch"})
+    String path;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest request;
+    PrintStream originalOut;
+
+    @Setup
+    public void setUp() throws Exception {
+        boolean errorPages = "servlet-ex".equals(path) || "send-error".equals(path);
+        List<Class<?>> sources = new ArrayList<>(List.of(ExceptionApplication.class));
+        if (errorPages) {
+            sources.add(WebServerCustomizer.class);
+        }
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(sources.toArray(new Class<?>[0]))
+                .properties("server.port=0", "spring.main.banner-mode=off", "admission.enabled=false");
+        if (!"advice".equals(path)) {
+            builder.initializers(context -> context.addBeanFactoryPostProcessor(
+                    beanFactory -> ((BeanDefinitionRegistry) beanFactory).removeBeanDefinition("exControllerAdvice")));
+        }
+        context = builder.run("--error.in-dispatch.enabled=" + inDispatch());
+
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + uri()))
+                .header("Accept", errorPages ? "text/html" : "application/json")
+                .build();
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        HttpResponse<String> response = request();
+        if (response.statusCode() != expectedStatus()) {
+            throw new IllegalStateException(path + " -> " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+        context.close();
+    }
+
+    @Benchmark
+    public HttpResponse<String> request() throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private boolean inDispatch() {
+        return path.endsWith(IN_DISPATCH) || "user-resolver".equals(path) || "advice".equals(path);
+    }
+
+    private String basePath() {
+        return path.endsWith(IN_DISPATCH) ? path.substring(0, path.length() - IN_DISPATCH.length()) : path;
+    }
+
+    private String uri() {
+        switch (basePath()) {
+            case "servlet-ex":
+                return "/error-ex";
+            case "send-error":
+                return "/error-404";
+            case "my-resolver":
+                return "/api/members/bad";
+            case "response-status":
+                return "/api/response-status-ex2";
+            case "bad-request":
+                return "/api/response-status-ex1";
+            default:
+                return "/api/members/user-ex";
+        }
+    }
+
+    private int expectedStatus() {
+        switch (basePath()) {
+            case "servlet-ex":
+                return 500;
+            case "send-error":
+            case "response-status":
+                return 404;
+            default:
+                return 400;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package hello.exception.api;
+
+import hello.exception.ExceptionApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * /api2/members/bad 초당 처리 요청 수 (MockMvc, 톰캣 제외)
+ * InvalidArgumentException -> ExControllerAdvice -> 400 JSON
+ *
+ * stackless=false -> exception.stackless-types 를 비워서 기존처럼 스택 트레이스를 채운다.
+ *
+ * ExControllerAdvice 가 요청마다 예외를 error 로그로 남기므로 측정 중에는 콘솔 출력을 버린다.
+ * (로그 포맷팅 비용은 그대로 측정에 포함, 스택 트레이스가 없으면 출력할 줄도 줄어든다)
+ *
+ * ./gradlew jmh -Pjmh.includes=ApiExceptionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ApiExceptionBenchmark {
+
+    @Param({"false", "true"})
+    boolean stackless;
+
+    ConfigurableApplicationContext context;
+    MockMvc mockMvc;
+    PrintStream originalOut;
+
+    @Setup
+    public void setUp() throws Exception {
+        String[] args = stackless ? new String[0] : new String[]{"--exception.stackless-types="};
+        context = new SpringApplicationBuilder(ExceptionApplication.class)
+                .properties("server.port=0", "spring.main.banner-mode=off")
+                .run(args);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        MvcResult result = bad();
+        if (result.getResponse().getStatus() != 400) {
+            throw new IllegalStateException("/api2/members/bad -> " + result.getResponse().getStatus());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult bad() throws Exception {
+        return mockMvc.perform(get("/api2/members/bad")).andReturn();
+    }
+}
@@ -0,0 +1,100 @@
+package hello.exception.dispatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.DispatcherType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 하나에서 인터셉터 체인을 구성하고 preHandle, postHandle, afterCompletion 을 호출하는 비용
+ * 인터셉터는 아무것도 하지 않으므로 체인 구성(경로 패턴 비교) 비용만 측정한다.
+ *
+ * mapped      -> 스프링 기본, 요청마다 MappedInterceptor.matches() 로 모든 인터셉터의 패턴 비교 (AbstractHandlerMapping)
+ * precomputed -> DispatchAwareInterceptorChain, (DispatcherType, 경로)로 미리 만든 배열 조회
+ *
+ * 인터셉터 3개: WebConfig 의 LogInterceptor 설정(REQUEST 만) + /api/** 인증 체크 + 전체 적용
+ * request -> REQUEST /api/members/spring, error -> ERROR /error-page/500 (WAS 오류 페이지 재요청)
+ *
+ * ./gradlew jmh -Pjmh.includes=InterceptorChainBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InterceptorChainBenchmark {
+
+    @Param({"request", "error"})
+    String dispatch;
+
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+    final List<MappedInterceptor> mappedInterceptors = new ArrayList<>();
+    final DispatchAwareInterceptorChain chain = new DispatchAwareInterceptorChain();
+    MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        String[] logIncludes = {"/**"};
+        String[] logExcludes = {"/css/**", "/*.ico", "/error", "/error-page/**"};
+        mappedInterceptors.add(new MappedInterceptor(logIncludes, logExcludes, new RequestOnly()));
+        mappedInterceptors.add(new MappedInterceptor(new String[]{"/api/**"}, new String[]{"/api/login"}, new RequestOnly()));
+        mappedInterceptors.add(new MappedInterceptor(null, null, new NoOp()));
+
+        chain.addInterceptor(new RequestOnly()).addPathPatterns(logIncludes).excludePathPatterns(logExcludes);
+        chain.addInterceptor(new RequestOnly()).addPathPatterns("/api/**").excludePathPatterns("/api/login");
+        chain.addInterceptor(new NoOp());
+
+        boolean error = "error".equals(dispatch);
+        request = new MockHttpServletRequest("GET", error ? "/error-page/500" : "/api/members/spring");
+        request.setDispatcherType(error ? DispatcherType.ERROR : DispatcherType.REQUEST);
+        UrlPathHelper.defaultInstance.resolveAndCacheLookupPath(request);
+    }
+
+    @Benchmark
+    public int mapped() throws Exception {
+        //AbstractHandlerMapping.getHandlerExecutionChain() 과 같이 요청마다 목록을 만든다.
+        List<HandlerInterceptor> interceptors = new ArrayList<>();
+        for (MappedInterceptor mappedInterceptor : mappedInterceptors) {
+            if (mappedInterceptor.matches(request)) {
+                interceptors.add(mappedInterceptor.getInterceptor());
+            }
+        }
+        for (HandlerInterceptor interceptor : interceptors) {
+            interceptor.preHandle(request, response, this);
+        }
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            interceptors.get(i).postHandle(request, response, this, null);
+        }
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            interceptors.get(i).afterCompletion(request, response, this, null);
+        }
+        return interceptors.size();
+    }
+
+    @Benchmark
+    public boolean precomputed() throws Exception {
+        boolean result = chain.preHandle(request, response, this);
+        chain.postHandle(request, response, this, null);
+        chain.afterCompletion(request, response, this, null);
+        return result;
+    }
+
+    static class NoOp implements HandlerInterceptor {
+    }
+
+    @DispatchScope(dispatcherTypes = DispatcherType.REQUEST)
+    static class RequestOnly implements HandlerInterceptor {
+    }
+}
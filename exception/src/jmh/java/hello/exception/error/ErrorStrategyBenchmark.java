@@ -0,0 +1,100 @@
+package hello.exception.error;
+
+import hello.exception.ExceptionApplication;
+import hello.exception.WebServerCustomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오류 응답 처리 방식별 초당 처리 요청 수 (실제 톰캣 + HttpClient, Accept: application/json)
+ * MockMvc 는 WAS 의 오류 페이지 재요청을 하지 않으므로 톰캣을 띄운다.
+ *
+ * /api/members/ex (RuntimeException)
+ * error-page  -> WebServerCustomizer: WAS 가 /error-page/500 재요청 -> ErrorPageController
+ * boot-error  -> 스프링 부트 기본: WAS 가 /error 재요청 -> BasicErrorController
+ * in-dispatch -> InDispatchErrorFilter: 재요청 없이 BasicErrorController 와 같은 JSON
+ *
+ * /api/members/user-ex (UserException)
+ * resolver    -> UserHandlerExceptionResolver 가 바로 JSON 작성
+ * advice      -> ExControllerAdvice (@RestControllerAdvice)
+ *
+ * advice 를 제외한 방식은 ExControllerAdvice 빈을 제거하고 실행한다. (모든 예외를 잡기 때문)
+ * 톰캣은 400, 500 응답 후 연결을 닫으므로 모든 방식이 요청마다 새로 연결한다.
+ * 로그는 콘솔 출력을 버리고 포맷팅 비용만 포함
+ *
+ * ./gradlew jmh -Pjmh.includes=ErrorStrategyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ErrorStrategyBenchmark {
+
+    @Param({"error-page", "boot-error", "in-dispatch", "resolver", "advice"})
+    String strategy;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest request;
+    PrintStream originalOut;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<Class<?>> sources = new ArrayList<>(List.of(ExceptionApplication.class));
+        if ("error-page".equals(strategy)) {
+            sources.add(WebServerCustomizer.class);
+        }
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(sources.toArray(new Class<?>[0]))
+                .properties("server.port=0", "spring.main.banner-mode=off");
+        if (!"advice".equals(strategy)) {
+            builder.initializers(context -> context.addBeanFactoryPostProcessor(
+                    beanFactory -> ((BeanDefinitionRegistry) beanFactory).removeBeanDefinition("exControllerAdvice")));
+        }
+        context = builder.run("--error.in-dispatch.enabled=" + "in-dispatch".equals(strategy));
+
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        String path = "resolver".equals(strategy) || "advice".equals(strategy) ? "/api/members/user-ex" : "/api/members/ex";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", "application/json")
+                .build();
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        HttpResponse<String> response = request();
+        if (response.statusCode() < 400 || !response.body().startsWith("{")) {
+            throw new IllegalStateException(strategy + " -> " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+        context.close();
+    }
+
+    @Benchmark
+    public HttpResponse<String> request() throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
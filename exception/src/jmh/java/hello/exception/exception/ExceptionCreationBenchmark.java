@@ -0,0 +1,47 @@
+package hello.exception.exception;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예외 하나를 만드는 비용
+ * 실제로는 컨트롤러 -> DispatcherServlet 까지 수십 개의 프레임이 쌓여 있으므로 스택 트레이스 비용은 이보다 크다.
+ *
+ * ./gradlew jmh -Pjmh.includes=ExceptionCreationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExceptionCreationBenchmark {
+
+    static final UserException PREALLOCATED = UserException.preallocated("사용자 오류");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StackTracePolicy.configure(List.of(InvalidArgumentException.class));
+    }
+
+    @Benchmark
+    public Exception illegalArgument() {
+        return new IllegalArgumentException("잘못된 입력 값");
+    }
+
+    @Benchmark
+    public Exception stackless() {
+        return new InvalidArgumentException("잘못된 입력 값");
+    }
+
+    @Benchmark
+    public Exception preallocated() {
+        return PREALLOCATED;
+    }
+}
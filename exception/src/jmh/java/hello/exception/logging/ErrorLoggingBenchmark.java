@@ -0,0 +1,79 @@
+package hello.exception.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 예외가 계속 발생할 때 로그 한 번의 비용
+ * plain     -> log.error(message, e), 매번 전체 스택 트레이스
+ * throttled -> ThrottledErrorLogger (기본 설정값), 대부분 횟수만 센다.
+ *
+ * 출력은 스프링 부트 콘솔 패턴으로 인코딩한 뒤 버린다. (실제 디스크, 콘솔 I/O 대기는 포함하지 않음)
+ * 예외는 컨트롤러까지 쌓이는 프레임 수와 비슷하게 60 단계 재귀에서 만든다.
+ *
+ * ./gradlew jmh -Pjmh.includes=ErrorLoggingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorLoggingBenchmark {
+
+    @Param({"plain", "throttled"})
+    String mode;
+
+    Logger logger;
+    ThrottledErrorLogger errorLogger;
+    IllegalArgumentException exception;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%t] %logger{39} : %m%n%wEx");
+        encoder.start();
+
+        OutputStreamAppender<ch.qos.logback.classic.spi.ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        logger = context.getLogger(ErrorLoggingBenchmark.class);
+        logger.setAdditive(false);
+        logger.setLevel(Level.ERROR);
+        logger.addAppender(appender);
+
+        errorLogger = new ThrottledErrorLogger(8, Duration.ofSeconds(10), 3, Duration.ofMillis(100), 20, 1024, Duration.ofHours(1));
+        exception = throwAt(60);
+    }
+
+    static IllegalArgumentException throwAt(int depth) {
+        return depth == 0 ? new IllegalArgumentException("잘못된 입력 값") : throwAt(depth - 1);
+    }
+
+    @Benchmark
+    public void log() {
+        if ("plain".equals(mode)) {
+            logger.error("[exceptionHandle] ex", exception);
+        } else {
+            errorLogger.error(logger, "[exceptionHandle] ex", exception);
+        }
+    }
+}
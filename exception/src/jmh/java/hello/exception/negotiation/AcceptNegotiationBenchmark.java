@@ -0,0 +1,68 @@
+package hello.exception.negotiation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오류 응답 형식(HTML, JSON) 선택 비용
+ * parse -> 요청마다 MediaType.parseMediaTypes() + 정렬 (기존 InDispatchErrorRenderer.acceptsHtml)
+ * cached -> AcceptHeaderCache
+ *
+ * ./gradlew jmh -Pjmh.includes=AcceptNegotiationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AcceptNegotiationBenchmark {
+
+    @Param({"browser", "json", "axios", "any"})
+    String client;
+
+    String accept;
+    AcceptHeaderCache cache = new AcceptHeaderCache(256);
+
+    @Setup
+    public void setUp() {
+        switch (client) {
+            case "browser":
+                accept = "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,image/apng,*/*;q=0.8";
+                break;
+            case "json":
+                accept = "application/json";
+                break;
+            case "axios":
+                accept = "application/json, text/plain, */*";
+                break;
+            default:
+                accept = "*/*";
+        }
+    }
+
+    @Benchmark
+    public boolean parse() {
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(mediaTypes);
+            MediaType first = mediaTypes.get(0);
+            return !first.isWildcardType() && first.isCompatibleWith(MediaType.TEXT_HTML);
+        } catch (InvalidMediaTypeException | IndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean cached() {
+        return cache.get(accept).prefersHtml();
+    }
+}
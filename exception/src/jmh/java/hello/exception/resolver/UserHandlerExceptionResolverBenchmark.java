@@ -0,0 +1,62 @@
+package hello.exception.resolver;
+
+import hello.exception.exception.UserException;
+import hello.exception.negotiation.AcceptHeaderCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserHandlerExceptionResolver JSON 응답 작성 비용 (같은 UserException 반복)
+ * maxSize=0 -> 캐시 없음, 요청마다 Map 생성 + 직렬화
+ *
+ * resolver 가 호출마다 info 로그를 남기므로 측정 중에는 콘솔 출력을 버린다.
+ *
+ * ./gradlew jmh -Pjmh.includes=UserHandlerExceptionResolverBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserHandlerExceptionResolverBenchmark {
+
+    @Param({"0", "256"})
+    int maxSize;
+
+    UserHandlerExceptionResolver resolver;
+    MockHttpServletRequest request;
+    UserException exception = UserException.preallocated("사용자 오류");
+    PrintStream originalOut;
+
+    @Setup
+    public void setUp() {
+        resolver = new UserHandlerExceptionResolver(new ErrorBodyCache(new SimpleMeterRegistry(), maxSize), new AcceptHeaderCache(16));
+        request = new MockHttpServletRequest();
+        request.addHeader("accept", "application/json");
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public ModelAndView resolve() {
+        return resolver.resolveException(request, new MockHttpServletResponse(), null, exception);
+    }
+}
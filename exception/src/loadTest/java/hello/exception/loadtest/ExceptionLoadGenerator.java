@@ -0,0 +1,195 @@
+package hello.exception.loadtest;
+
+import hello.exception.ExceptionApplication;
+import hello.exception.WebServerCustomizer;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예외 모듈 부하 테스트
+ *
+ * 경로(ExceptionPath)마다 가상 사용자(concurrency)가 응답을 받으면 바로 다음 요청을 보내는 closed loop 로 동작
+ * 경로별 지연 백분위수(p50 ~ p99.9), 초당 처리 요청 수, 요청당 할당 바이트를 출력한다.
+ *
+ * --target 이 없으면 경로마다 필요한 설정(ExControllerAdvice 제거, WebServerCustomizer 등록, InDispatchErrorFilter 켜고 끄기)으로
+ * 애플리케이션을 같은 JVM 에서 임의 포트로 띄우므로 외부 네트워크나 다른 서버 없이 실행할 수 있다.
+ * AdmissionFilter 는 끄고(503 대신 오류 처리 비용을 측정), 로그는 WARN 이상만 출력
+ *
+ * 요청당 할당 바이트는 측정 구간 동안 JVM 전체 스레드의 할당량(ThreadMXBean)을 요청 수로 나눈 값이다.
+ * 같은 JVM 이므로 부하 생성기(HttpClient)의 할당과 CPU 사용도 포함된다. 절대 수치보다 경로 간, 변경 전후 비교용으로 사용
+ *
+ * ./gradlew loadTest --args='--concurrency=16 --duration=30s --paths=user-resolver,advice'
+ */
+public class ExceptionLoadGenerator {
+
+    private final LoadTestOptions options;
+    private final URI baseUri;
+    private final HttpClient client;
+
+    private volatile boolean recording;
+    private volatile boolean running;
+
+    ExceptionLoadGenerator(LoadTestOptions options, URI baseUri) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions(args);
+        System.out.println("options: " + options);
+
+        List<PathStats> results = new ArrayList<>();
+        for (ExceptionPath path : options.paths) {
+            if (options.target != null) {
+                results.add(new ExceptionLoadGenerator(options, URI.create(options.target)).run(path, System.out));
+                continue;
+            }
+            ConfigurableApplicationContext context = startEmbedded(path);
+            try {
+                int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                results.add(new ExceptionLoadGenerator(options, URI.create("http://localhost:" + port)).run(path, System.out));
+            } finally {
+                context.close();
+            }
+        }
+
+        double seconds = options.duration.toMillis() / 1000d;
+        System.out.printf("%nconcurrency=%d, measured=%.1fs per path%n", options.concurrency, seconds);
+        PathStats.printHeader(System.out);
+        for (PathStats stats : results) {
+            stats.print(System.out, seconds);
+        }
+    }
+
+    /**
+     * 임의 포트로 애플리케이션 실행, 설정은 ExceptionPathBenchmark 와 같다.
+     */
+    private static ConfigurableApplicationContext startEmbedded(ExceptionPath path) {
+        List<Class<?>> sources = new ArrayList<>(List.of(ExceptionApplication.class));
+        if (path.isErrorPages()) {
+            sources.add(WebServerCustomizer.class);
+        }
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(sources.toArray(new Class<?>[0]));
+        if (!path.isAdvice()) {
+            builder.initializers(context -> context.addBeanFactoryPostProcessor(
+                    beanFactory -> ((BeanDefinitionRegistry) beanFactory).removeBeanDefinition("exControllerAdvice")));
+        }
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--admission.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--error.in-dispatch.enabled=" + path.isInDispatch()));
+        return builder.run(args.toArray(new String[0]));
+    }
+
+    PathStats run(ExceptionPath path, PrintStream out) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path.getUri()))
+                .header("Accept", path.getAccept())
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != path.getExpectedStatus()) {
+            out.printf("warning: %s %s -> %d (expected %d)%n", path.getName(), path.getUri(), status, path.getExpectedStatus());
+        }
+
+        PathStats stats = new PathStats(path);
+        running = true;
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+        for (int i = 0; i < options.concurrency; i++) {
+            workers.execute(() -> loop(request, stats));
+        }
+
+        Thread.sleep(options.warmup.toMillis());
+        Map<Long, Long> allocatedBefore = allocatedBytes();
+        recording = true;
+        Thread.sleep(options.duration.toMillis());
+        recording = false;
+        Map<Long, Long> allocatedAfter = allocatedBytes();
+
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+
+        stats.setAllocatedBytes(allocatedDelta(allocatedBefore, allocatedAfter));
+        out.printf("%s done%n", path.getName());
+        return stats;
+    }
+
+    private void loop(HttpRequest request, PathStats stats) {
+        while (running) {
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (recording) {
+                stats.record(status, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * 스레드별 누적 할당 바이트, 지원하지 않는 JVM 이면 빈 map
+     */
+    private static Map<Long, Long> allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<Long, Long> allocated = new HashMap<>();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return allocated;
+        }
+        com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+        if (!sunThreads.isThreadAllocatedMemorySupported() || !sunThreads.isThreadAllocatedMemoryEnabled()) {
+            return allocated;
+        }
+        long[] ids = sunThreads.getAllThreadIds();
+        long[] bytes = sunThreads.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) {
+                allocated.put(ids[i], bytes[i]);
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * 측정 구간 동안 할당한 바이트, 구간 중에 생긴 스레드는 처음부터, 끝난 스레드는 제외 (근사값)
+     */
+    private static long allocatedDelta(Map<Long, Long> before, Map<Long, Long> after) {
+        if (after.isEmpty()) {
+            return -1;
+        }
+        long delta = 0;
+        for (Map.Entry<Long, Long> entry : after.entrySet()) {
+            delta += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+        }
+        return delta;
+    }
+}
@@ -0,0 +1,72 @@
+package hello.exception.loadtest;
+
+import java.util.Locale;
+
+/**
+ * 부하 테스트 대상 예외 처리 경로 (ExceptionPathBenchmark 와 같은 경로)
+ *
+ * errorPages -> WebServerCustomizer 오류 페이지를 등록
+ * advice     -> ExControllerAdvice 를 남겨둔다. 모든 예외를 잡으므로 나머지 경로에서는 빈을 제거
+ * inDispatch -> InDispatchErrorFilter 를 켠다. 끄면 sendError 가 WAS 오류 페이지 재요청(/error, /error-page/**)으로 처리된다.
+ */
+enum ExceptionPath {
+
+    SERVLET_EX("/error-ex", "text/html", 500, true, false, false),
+    SEND_ERROR("/error-404", "text/html", 404, true, false, false),
+    MY_RESOLVER("/api/members/bad", "application/json", 400, false, false, false),
+    USER_RESOLVER("/api/members/user-ex", "application/json", 400, false, false, true),
+    ADVICE("/api/members/user-ex", "application/json", 400, false, true, true),
+    RESPONSE_STATUS("/api/response-status-ex2", "application/json", 404, false, false, false),
+    BAD_REQUEST("/api/response-status-ex1", "application/json", 400, false, false, false),
+    MY_RESOLVER_IN_DISPATCH("/api/members/bad", "application/json", 400, false, false, true),
+    RESPONSE_STATUS_IN_DISPATCH("/api/response-status-ex2", "application/json", 404, false, false, true),
+    BAD_REQUEST_IN_DISPATCH("/api/response-status-ex1", "application/json", 400, false, false, true);
+
+    private final String uri;
+    private final String accept;
+    private final int expectedStatus;
+    private final boolean errorPages;
+    private final boolean advice;
+    private final boolean inDispatch;
+
+    ExceptionPath(String uri, String accept, int expectedStatus, boolean errorPages, boolean advice, boolean inDispatch) {
+        this.uri = uri;
+        this.accept = accept;
+        this.expectedStatus = expectedStatus;
+        this.errorPages = errorPages;
+        this.advice = advice;
+        this.inDispatch = inDispatch;
+    }
+
+    String getUri() {
+        return uri;
+    }
+
+    String getAccept() {
+        return accept;
+    }
+
+    int getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    boolean isErrorPages() {
+        return errorPages;
+    }
+
+    boolean isAdvice() {
+        return advice;
+    }
+
+    boolean isInDispatch() {
+        return inDispatch;
+    }
+
+    String getName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    static ExceptionPath of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
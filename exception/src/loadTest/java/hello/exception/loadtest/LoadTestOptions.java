@@ -0,0 +1,74 @@
+package hello.exception.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 옵션, --이름=값 형식으로 전달
+ *
+ * --target       : 대상 서버(예: http://localhost:8080), 없으면 경로마다 애플리케이션을 같은 JVM 에서 임의 포트로 띄운다.
+ *                  대상 서버를 지정하면 서버 설정(ExControllerAdvice, WebServerCustomizer)은 바꿀 수 없으므로 응답 코드가 다를 수 있다.
+ * --concurrency  : 동시에 요청을 보내는 가상 사용자 수 (closed loop)
+ * --duration     : 경로별 측정 시간, --warmup 동안의 결과는 버린다.
+ * --paths        : 측정할 경로 목록 (예: user-resolver,advice), all 이면 모든 경로 (ExceptionPath)
+ */
+class LoadTestOptions {
+
+    final String target;
+    final int concurrency;
+    final Duration duration;
+    final Duration warmup;
+    final List<ExceptionPath> paths;
+
+    LoadTestOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("--이름=값 형식이어야 합니다. arg=" + arg);
+            }
+            int pos = arg.indexOf('=');
+            options.put(arg.substring(2, pos), arg.substring(pos + 1));
+        }
+
+        target = options.remove("target");
+        concurrency = Integer.parseInt(take(options, "concurrency", "8"));
+        duration = DurationStyle.detectAndParse(take(options, "duration", "20s"));
+        warmup = DurationStyle.detectAndParse(take(options, "warmup", "5s"));
+        paths = parsePaths(take(options, "paths", "all"));
+
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency 는 1 이상이어야 합니다.");
+        }
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("알 수 없는 옵션입니다. " + options.keySet());
+        }
+    }
+
+    private static List<ExceptionPath> parsePaths(String value) {
+        if ("all".equals(value.trim())) {
+            return List.of(ExceptionPath.values());
+        }
+        EnumSet<ExceptionPath> paths = EnumSet.noneOf(ExceptionPath.class);
+        for (String name : value.split(",")) {
+            paths.add(ExceptionPath.of(name));
+        }
+        return new ArrayList<>(paths);
+    }
+
+    private static String take(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public String toString() {
+        return "target=" + (target == null ? "(embedded)" : target) + ", concurrency=" + concurrency
+                + ", duration=" + duration + ", warmup=" + warmup + ", paths=" + paths;
+    }
+}
@@ -0,0 +1,67 @@
+package hello.exception.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 경로별 결과 집계
+ * 지연 시간은 HdrHistogram(마이크로초, 유효숫자 3자리)으로 기록해서 백분위수를 계산
+ * 기대한 응답 코드(ExceptionPath.expectedStatus)가 아니면 오류로 센다.
+ */
+class PathStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final ExceptionPath path;
+    private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private long allocatedBytes;
+
+    PathStats(ExceptionPath path) {
+        this.path = path;
+    }
+
+    /**
+     * @param status 응답 코드, 연결 오류 등으로 응답을 받지 못하면 0
+     */
+    void record(int status, long latencyNanos) {
+        latency.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status != path.getExpectedStatus()) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * 측정 구간 동안 JVM 전체 스레드가 할당한 바이트, 알 수 없으면 음수
+     */
+    void setAllocatedBytes(long allocatedBytes) {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf("%-16s %9s %7s %9s %9s %9s %9s %9s %9s %11s%n",
+                "path", "count", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "alloc(B/op)");
+    }
+
+    void print(PrintStream out, double seconds) {
+        long count = latency.getTotalCount();
+        String allocPerOp = allocatedBytes < 0 || count == 0 ? "-" : String.valueOf(allocatedBytes / count);
+        out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %11s  status=%s%n",
+                path.getName(), count, errors.sum(), count / seconds,
+                millis(50), millis(90), millis(99), millis(99.9), latency.getMaxValue() / 1000.0,
+                allocPerOp, new TreeMap<>(statuses));
+    }
+
+    private double millis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -1,13 +1,36 @@
 package hello.exception;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.exception.circuit.CircuitBreakerInterceptor;
+import hello.exception.dispatch.DispatchAwareInterceptorChain;
+import hello.exception.error.ContainerErrorPages;
+import hello.exception.error.InDispatchErrorFilter;
+import hello.exception.error.InDispatchErrorRenderer;
+import hello.exception.filter.AdmissionFilter;
+import hello.exception.filter.GradientLimiter;
 import hello.exception.filter.LogFilter;
 import hello.exception.interceptor.LogInterceptor;
+import hello.exception.negotiation.AcceptHeaderCache;
+import hello.exception.negotiation.CachingHeaderContentNegotiationStrategy;
+import hello.exception.resolver.ErrorBodyCache;
 import hello.exception.resolver.MyHandlerExceptionResolver;
 import hello.exception.resolver.UserHandlerExceptionResolver;
+import hello.exception.telemetry.ErrorTelemetry;
+import hello.exception.telemetry.ErrorTelemetryFilter;
+import hello.exception.telemetry.TrackingHandlerExceptionResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.server.AbstractConfigurableWebServerFactory;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -16,20 +39,48 @@ import javax.servlet.Filter;
 import java.util.List;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ErrorBodyCache errorBodyCache;
+    private final CircuitBreakerInterceptor circuitBreakerInterceptor;
+    private final AcceptHeaderCache acceptHeaderCache;
+
+    /**
+     * Accept 헤더 분석 결과를 AcceptHeaderCache 로 공유 (produces 조건, 메시지 컨버터 선택)
+     */
+    @Override
+    public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
+        configurer.strategies(List.of(new CachingHeaderContentNegotiationStrategy(acceptHeaderCache)));
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new LogInterceptor())
-                .order(1)
+        registry.addInterceptor(dispatchInterceptorChain())
+                .order(1);
+    }
+
+    /**
+     * 인터셉터는 DispatchAwareInterceptorChain 에 등록 -> (DispatcherType, 경로)별 호출 목록을 미리 계산
+     * DispatcherType, 단계는 인터셉터 클래스의 @DispatchScope 로 선언
+     */
+    @Bean
+    public DispatchAwareInterceptorChain dispatchInterceptorChain() {
+        DispatchAwareInterceptorChain chain = new DispatchAwareInterceptorChain();
+        chain.addInterceptor(new LogInterceptor())
                 .addPathPatterns("/**")
                 .excludePathPatterns("/css/**", "/*.ico", "/error", "/error-page/**"); //오류 페이지 경로
+        chain.addInterceptor(circuitBreakerInterceptor);    //@CircuitBreaker 메서드에만 동작
+        return chain;
     }
 
     @Override
     public void extendHandlerExceptionResolvers(List<HandlerExceptionResolver> resolvers) {
         resolvers.add(new MyHandlerExceptionResolver());
-        resolvers.add(new UserHandlerExceptionResolver());
+        resolvers.add(new UserHandlerExceptionResolver(errorBodyCache, acceptHeaderCache));
+
+        //기본 ExceptionResolver 를 포함해서 어떤 ExceptionResolver 가 예외를 처리했는지 기록 -> ErrorTelemetry
+        resolvers.replaceAll(TrackingHandlerExceptionResolver::new);
     }
 
     //@Bean
@@ -49,4 +100,56 @@ public class WebConfig implements WebMvcConfigurer {
 
         return filterRegistrationBean;
     }
+
+    /**
+     * 오류 페이지를 WAS 재요청(/error) 없이 원래 요청 안에서 출력 -> InDispatchErrorFilter
+     * RequestContextFilter 다음에 두어서 오류 뷰를 찾을 때 요청 정보(RequestContextHolder)를 사용할 수 있게 한다.
+     * REQUEST 에만 적용, 이 필터가 처리하지 못한 오류는 기존처럼 WAS 의 오류 페이지 요청으로 처리된다.
+     * 필터는 웹 서버를 만들 때 등록되므로 이 시점에는 WebServerCustomizer, ErrorPageRegistrar 가 추가한 오류 페이지가 모두 들어 있다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "error.in-dispatch.enabled", havingValue = "true")
+    public FilterRegistrationBean<InDispatchErrorFilter> inDispatchErrorFilter(
+            InDispatchErrorRenderer renderer, ObjectProvider<AbstractConfigurableWebServerFactory> webServerFactory) {
+        AbstractConfigurableWebServerFactory factory = webServerFactory.getIfUnique();
+        ContainerErrorPages containerErrorPages = factory == null
+                ? ContainerErrorPages.NONE : new ContainerErrorPages(factory.getErrorPages());
+        FilterRegistrationBean<InDispatchErrorFilter> filterRegistrationBean = new FilterRegistrationBean<>();
+        filterRegistrationBean.setFilter(new InDispatchErrorFilter(renderer, containerErrorPages));
+        filterRegistrationBean.setOrder(OrderedFilter.REQUEST_WRAPPER_FILTER_MAX_ORDER - 100);  //RequestContextFilter(-105) 다음
+        filterRegistrationBean.addUrlPatterns("/*");
+        return filterRegistrationBean;
+    }
+
+    /**
+     * 오류 통계 -> ErrorTelemetry, /actuator/errors
+     * WAS 의 오류 페이지 재요청까지 시간에 포함하도록 REQUEST, ERROR 모두 적용하고 가장 바깥쪽에 둔다.
+     */
+    @Bean
+    public FilterRegistrationBean<ErrorTelemetryFilter> errorTelemetryFilter(ErrorTelemetry telemetry, ErrorAttributes errorAttributes) {
+        FilterRegistrationBean<ErrorTelemetryFilter> filterRegistrationBean = new FilterRegistrationBean<>();
+        filterRegistrationBean.setFilter(new ErrorTelemetryFilter(telemetry, errorAttributes));
+        filterRegistrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);    //CharacterEncodingFilter, 메트릭 필터 다음
+        filterRegistrationBean.addUrlPatterns("/*");
+        return filterRegistrationBean;
+    }
+
+    /**
+     * 과부하일 때 컨트롤러 전에 바로 503 -> AdmissionFilter
+     * 브라우저(Accept: text/html)에는 InDispatchErrorRenderer 로 오류 뷰, 그 외에는 JSON
+     * ErrorTelemetryFilter 바로 안쪽에 두어서 거절한 요청도 오류 통계에 포함하고, 나머지 필터는 실행하지 않는다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "admission.enabled", havingValue = "true")
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(GradientLimiter limiter, ObjectMapper objectMapper,
+                                                                   InDispatchErrorRenderer renderer,
+                                                                   @Value("${admission.critical-paths:/error}") String[] criticalPaths,
+                                                                   @Value("${admission.low-priority-paths:}") String[] lowPriorityPaths) {
+        FilterRegistrationBean<AdmissionFilter> filterRegistrationBean = new FilterRegistrationBean<>();
+        filterRegistrationBean.setFilter(new AdmissionFilter(limiter, objectMapper, criticalPaths, lowPriorityPaths,
+                renderer, acceptHeaderCache));
+        filterRegistrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);    //ErrorTelemetryFilter 다음
+        filterRegistrationBean.addUrlPatterns("/*");
+        return filterRegistrationBean;
+    }
 }
@@ -1,6 +1,7 @@
 package hello.exception.api;
 
 import hello.exception.exception.BadRequestException;
+import hello.exception.exception.InvalidArgumentException;
 import hello.exception.exception.UserException;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -24,7 +25,7 @@ public class ApiExceptionController {
         }
 
         if(id.equals("bad")) {
-            throw new IllegalArgumentException("잘못된 입력 값");
+            throw new InvalidArgumentException("잘못된 입력 값");
         }
 
         if(id.equals("user-ex")) {
@@ -1,6 +1,8 @@
 package hello.exception.api;
 
 import hello.exception.api.ApiExceptionController;
+import hello.exception.circuit.CircuitBreaker;
+import hello.exception.exception.InvalidArgumentException;
 import hello.exception.exception.UserException;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -32,6 +34,9 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 public class ApiExceptionV2Controller {
 
+    //메시지가 고정된 예외는 미리 만들어 두고 재사용 (스택 트레이스 없음)
+    private static final UserException USER_EX = UserException.preallocated("사용자 오류");
+
     /**
      * 해당 컨트롤러에서 처리하고 싶은 예외를 지정해
      * 해당 컨트롤러에서 예외가 발생하면 해당 메서드가 호출
@@ -85,6 +90,11 @@ public class ApiExceptionV2Controller {
 //        return new ErrorResult("EX", "내부 오류");
 //    }
 
+    /**
+     * 회원 서비스 호출을 대신하는 메서드, 계속 실패하면 서킷을 열고 fallback ErrorResult 로 바로 응답
+     * 잘못된 입력, 사용자 오류는 회원 서비스 장애가 아니므로 실패로 세지 않는다.
+     */
+    @CircuitBreaker(name = "member", ignoreExceptions = {IllegalArgumentException.class, UserException.class})
     @GetMapping("/api2/members/{id}")
     public MemberDto getMember(@PathVariable("id") String id) {
 
@@ -93,11 +103,11 @@ public class ApiExceptionV2Controller {
         }
 
         if(id.equals("bad")) {
-            throw new IllegalArgumentException("잘못된 입력 값");
+            throw new InvalidArgumentException("잘못된 입력 값");
         }
 
         if(id.equals("user-ex")) {
-            throw new UserException("사용자 오류");
+            throw USER_EX;
         }
 
         return new MemberDto(id, "hello " + id);
@@ -0,0 +1,146 @@
+package hello.exception.circuit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @CircuitBreaker 하나(name)의 상태
+ *
+ * CLOSED    -> 모두 통과, 결과를 RollingWindow 에 기록하고 실패율이 기준을 넘으면 OPEN
+ * OPEN      -> 모두 거절, openDuration 이 지나면 처음 들어온 요청이 HALF_OPEN 으로 바꾼다.
+ * HALF_OPEN -> halfOpenCalls 개만 통과, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ *
+ * 상태가 바뀔 때마다 새 Generation(상태, 열린 시각, HALF_OPEN 허용 수)을 만들고 AtomicReference CAS 로 한 스레드만 바꾼다.
+ * tryAcquire 는 통과시킨 Generation 을 돌려주고, 결과는 그 Generation 에 기록한다.
+ * -> 결과는 끝난 시점이 아니라 통과한 시점의 상태로 판단
+ *    CLOSED 에서 통과한 느린 요청의 결과가 HALF_OPEN 시험 요청으로 세어지거나, 이전 세대의 결과가 새 상태를 바꾸지 않는다.
+ */
+@Slf4j
+final class Circuit {
+
+    static final int CLOSED = 0;
+    static final int OPEN = 1;
+    static final int HALF_OPEN = 2;
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final RollingWindow window;
+
+    private final AtomicReference<Generation> current = new AtomicReference<>(new Generation(0, CLOSED, 0, 0));
+
+    Circuit(CircuitBreaker config) {
+        this.name = config.name();
+        this.failureRateThreshold = config.failureRateThreshold();
+        this.minimumCalls = config.minimumCalls();
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(config.openDurationMillis());
+        this.halfOpenCalls = config.halfOpenCalls();
+        this.window = new RollingWindow(TimeUnit.MILLISECONDS.toNanos(config.windowMillis()), config.windowBuckets());
+    }
+
+    /**
+     * @return 통과하면 통과시킨 Generation, 이 경우 결과를 onSuccess(), onFailure() 로 알려야 한다. 거절하면 null
+     */
+    Generation tryAcquire(long now) {
+        Generation generation = current.get();
+        if (generation.state == OPEN) {
+            if (now - generation.openedAt < openDurationNanos) {
+                return null;
+            }
+            Generation halfOpen = generation.next(HALF_OPEN, 0, halfOpenCalls - 1);
+            if (current.compareAndSet(generation, halfOpen)) {
+                log.info("circuit [{}] half-open", name);
+                return halfOpen;
+            }
+            generation = current.get();     //다른 스레드가 먼저 바꿈
+        }
+        if (generation.state == CLOSED) {
+            return generation;
+        }
+        if (generation.state == HALF_OPEN && generation.halfOpenPermits.getAndDecrement() > 0) {
+            return generation;
+        }
+        return null;
+    }
+
+    void onSuccess(Generation admitted, long now) {
+        if (admitted != current.get()) {
+            return;     //통과한 뒤에 상태가 바뀜
+        }
+        if (admitted.state == CLOSED) {
+            window.record(true, now);
+        } else if (admitted.state == HALF_OPEN && admitted.halfOpenSuccesses.incrementAndGet() >= halfOpenCalls) {
+            //HALF_OPEN 동안에는 window 에 기록하지 않으므로 닫기 전에 비워도 된다.
+            window.reset();
+            if (current.compareAndSet(admitted, admitted.next(CLOSED, 0, 0))) {
+                log.info("circuit [{}] closed", name);
+            }
+        }
+    }
+
+    void onFailure(Generation admitted, long now) {
+        if (admitted != current.get()) {
+            return;
+        }
+        if (admitted.state == CLOSED) {
+            window.record(false, now);
+            long[] counts = window.counts(now);
+            long calls = counts[0] + counts[1];
+            if (calls >= minimumCalls && counts[1] * 100 >= failureRateThreshold * calls) {
+                open(admitted, now, counts[1], calls);
+            }
+        } else if (admitted.state == HALF_OPEN) {
+            open(admitted, now, 1, halfOpenCalls);
+        }
+    }
+
+    /**
+     * 열린 시각은 새 Generation 에 들어 있으므로 CAS 에 성공한 스레드의 값만 보인다.
+     */
+    private void open(Generation from, long now, long failures, long calls) {
+        if (current.compareAndSet(from, from.next(OPEN, now, 0))) {
+            log.warn("circuit [{}] opened, failures {}/{}", name, failures, calls);
+        }
+    }
+
+    int getState() {
+        return current.get().state;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * 상태 하나의 구간, 상태가 바뀌면 새로 만든다. (같은 상태로 다시 바뀌어도 다른 객체)
+     */
+    static final class Generation {
+
+        private final long number;
+        private final int state;
+        private final long openedAt;
+        private final AtomicInteger halfOpenPermits;
+        private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+
+        private Generation(long number, int state, long openedAt, int halfOpenPermits) {
+            this.number = number;
+            this.state = state;
+            this.openedAt = openedAt;
+            this.halfOpenPermits = new AtomicInteger(halfOpenPermits);
+        }
+
+        private Generation next(int state, long openedAt, int halfOpenPermits) {
+            return new Generation(number + 1, state, openedAt, halfOpenPermits);
+        }
+
+        @Override
+        public String toString() {
+            return "Generation[" + number + ", state=" + state + "]";
+        }
+    }
+}
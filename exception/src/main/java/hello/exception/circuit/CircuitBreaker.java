@@ -0,0 +1,51 @@
+package hello.exception.circuit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 핸들러 메서드에 서킷 브레이커 적용 -> CircuitBreakerInterceptor
+ *
+ * 최근 window 동안 호출 수가 minimumCalls 이상이고 실패율이 failureRateThreshold(%) 이상이면 열린다.(OPEN)
+ * OPEN 상태에서는 컨트롤러를 호출하지 않고 미리 만들어 둔 fallback ErrorResult 를 바로 응답
+ * openDuration 이 지나면 halfOpenCalls 개 요청만 시험 삼아 통과시키고(HALF_OPEN),
+ * 모두 성공하면 닫히고(CLOSED) 하나라도 실패하면 다시 열린다.
+ *
+ * 실패: ignoreExceptions 에 해당하지 않는 예외 또는 5xx 응답
+ * ignoreExceptions 는 잘못된 요청처럼 의존 서비스 상태와 관계없는 예외 (성공으로 기록)
+ *
+ * 같은 name 을 쓰는 메서드는 하나의 서킷을 공유한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CircuitBreaker {
+
+    String name();
+
+    int failureRateThreshold() default 50;
+
+    int minimumCalls() default 10;
+
+    /**
+     * 실패율을 계산하는 구간 (windowBuckets 개 버킷으로 나눈다)
+     */
+    long windowMillis() default 10_000;
+
+    int windowBuckets() default 10;
+
+    long openDurationMillis() default 5_000;
+
+    int halfOpenCalls() default 3;
+
+    Class<? extends Throwable>[] ignoreExceptions() default {};
+
+    int fallbackStatus() default 503;
+
+    String fallbackCode() default "CIRCUIT-OPEN";
+
+    String fallbackMessage() default "일시적으로 사용할 수 없습니다. 잠시 후 다시 시도해 주세요.";
+}
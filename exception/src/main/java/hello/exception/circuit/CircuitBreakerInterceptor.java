@@ -0,0 +1,159 @@
+package hello.exception.circuit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.exception.dispatch.DispatchScope;
+import hello.exception.exhandler.ErrorResult;
+import hello.exception.telemetry.ErrorTelemetryFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @CircuitBreaker 가 붙은 핸들러 메서드 앞에서 서킷 상태를 확인
+ *
+ * 열려 있으면 컨트롤러를 호출하지 않고 preHandle 에서 바로 fallback ErrorResult 를 응답한다.
+ * -> 의존 서비스가 계속 실패할 때 요청마다 호출, 타임아웃, 예외 처리 경로(ExceptionResolver, 로그)를 거치지 않는다.
+ * fallback 본문은 서킷을 만들 때 한 번 직렬화해 둔다.
+ *
+ * 결과는 afterCompletion 에서 기록한다.
+ * preHandle 에서 통과시킨 서킷의 Generation 을 request attribute 에 두고, 결과는 그 Generation 에 기록 (통과한 시점의 상태로 판단)
+ * ExceptionResolver 가 예외를 처리하면 afterCompletion 의 ex 는 null 이므로, ErrorAttributes 에 저장된 예외와 응답 상태로 판단
+ *
+ * 메서드별 서킷은 처음 호출될 때 찾아서 캐시 (애노테이션이 없는 메서드도 NONE 으로 캐시)
+ * Micrometer: circuit.state{name} (0 CLOSED, 1 OPEN, 2 HALF_OPEN), circuit.rejected{name}
+ */
+@Component
+@DispatchScope(dispatcherTypes = DispatcherType.REQUEST, phases = {DispatchScope.Phase.PRE_HANDLE, DispatchScope.Phase.AFTER_COMPLETION})
+public class CircuitBreakerInterceptor implements HandlerInterceptor {
+
+    private static final Guarded NONE = new Guarded(null, null, null, null);
+    private static final String GENERATION_ATTRIBUTE = CircuitBreakerInterceptor.class.getName() + ".GENERATION";
+
+    private final MeterRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final ErrorAttributes errorAttributes;
+
+    private final ConcurrentMap<Method, Guarded> methods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public CircuitBreakerInterceptor(MeterRegistry registry, ObjectMapper objectMapper, ErrorAttributes errorAttributes) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+        this.errorAttributes = errorAttributes;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        Guarded guarded = guarded(handler);
+        if (guarded == NONE) {
+            return true;
+        }
+        Circuit.Generation admitted = guarded.circuit.tryAcquire(System.nanoTime());
+        if (admitted != null) {
+            request.setAttribute(GENERATION_ATTRIBUTE, admitted);
+            return true;
+        }
+        guarded.rejected.increment();
+        request.setAttribute(ErrorTelemetryFilter.RESOLVED_BY, "CircuitBreaker");
+        response.setStatus(guarded.config.fallbackStatus());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(guarded.fallbackBody.length);
+        response.getOutputStream().write(guarded.fallbackBody);
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Guarded guarded = guarded(handler);
+        Object admitted = request.getAttribute(GENERATION_ATTRIBUTE);
+        if (guarded == NONE || !(admitted instanceof Circuit.Generation)) {
+            return;
+        }
+        request.removeAttribute(GENERATION_ATTRIBUTE);
+        Throwable error = ex != null ? ex : errorAttributes.getError(new ServletWebRequest(request));
+        long now = System.nanoTime();
+        if (isFailure(guarded.config, error, response.getStatus())) {
+            guarded.circuit.onFailure((Circuit.Generation) admitted, now);
+        } else {
+            guarded.circuit.onSuccess((Circuit.Generation) admitted, now);
+        }
+    }
+
+    private static boolean isFailure(CircuitBreaker config, Throwable error, int status) {
+        if (error == null) {
+            return status >= 500;
+        }
+        for (Class<? extends Throwable> ignored : config.ignoreExceptions()) {
+            if (ignored.isInstance(error)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Guarded guarded(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return NONE;
+        }
+        Method method = ((HandlerMethod) handler).getMethod();
+        Guarded guarded = methods.get(method);
+        if (guarded == null) {
+            guarded = methods.computeIfAbsent(method, this::create);
+        }
+        return guarded;
+    }
+
+    private Guarded create(Method method) {
+        CircuitBreaker config = AnnotatedElementUtils.findMergedAnnotation(method, CircuitBreaker.class);
+        if (config == null) {
+            return NONE;
+        }
+        Circuit circuit = circuits.computeIfAbsent(config.name(), name -> {
+            Circuit created = new Circuit(config);
+            Gauge.builder("circuit.state", created, Circuit::getState).tag("name", name).register(registry);
+            return created;
+        });
+        try {
+            byte[] fallbackBody = objectMapper.writeValueAsBytes(new ErrorResult(config.fallbackCode(), config.fallbackMessage()));
+            return new Guarded(config, circuit, fallbackBody,
+                    Counter.builder("circuit.rejected").tag("name", config.name()).register(registry));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    Map<String, Circuit> getCircuits() {
+        return circuits;
+    }
+
+    private static final class Guarded {
+
+        private final CircuitBreaker config;
+        private final Circuit circuit;
+        private final byte[] fallbackBody;
+        private final Counter rejected;
+
+        private Guarded(CircuitBreaker config, Circuit circuit, byte[] fallbackBody, Counter rejected) {
+            this.config = config;
+            this.circuit = circuit;
+            this.fallbackBody = fallbackBody;
+            this.rejected = rejected;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package hello.exception.circuit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 최근 window 동안의 성공, 실패 횟수 (버킷 링)
+ *
+ * 시간을 bucketNanos 단위로 나눠서 (시각 / bucketNanos) % 버킷 수 위치의 버킷에 기록한다.
+ * 버킷마다 몇 번째 구간인지(epoch)를 기록해 두고, 다른 구간이 오면 CAS 로 epoch 를 바꾼 스레드가 카운터를 비운다.
+ * 합계는 epoch 가 최근 버킷 수 이내인 버킷만 더한다. -> 락 없이 오래된 구간이 자연스럽게 빠진다.
+ *
+ * epoch 를 바꾸고 카운터를 비우는 사이에 다른 스레드가 기록한 값은 사라질 수 있다. (구간 경계에서 몇 건, 실패율 판단에는 영향 없음)
+ */
+final class RollingWindow {
+
+    private final Bucket[] buckets;
+    private final long bucketNanos;
+
+    RollingWindow(long windowNanos, int bucketCount) {
+        this.buckets = new Bucket[bucketCount];
+        this.bucketNanos = Math.max(1, windowNanos / bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    void record(boolean success, long now) {
+        long epoch = now / bucketNanos;
+        Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+        long current = bucket.epoch.get();
+        if (current != epoch && bucket.epoch.compareAndSet(current, epoch)) {
+            bucket.successes.reset();
+            bucket.failures.reset();
+        }
+        (success ? bucket.successes : bucket.failures).increment();
+    }
+
+    /**
+     * @return {성공, 실패}
+     */
+    long[] counts(long now) {
+        long epoch = now / bucketNanos;
+        long successes = 0;
+        long failures = 0;
+        for (Bucket bucket : buckets) {
+            long age = epoch - bucket.epoch.get();
+            if (age >= 0 && age < buckets.length) {
+                successes += bucket.successes.sum();
+                failures += bucket.failures.sum();
+            }
+        }
+        return new long[]{successes, failures};
+    }
+
+    void reset() {
+        for (Bucket bucket : buckets) {
+            bucket.epoch.set(Long.MIN_VALUE);
+            bucket.successes.reset();
+            bucket.failures.reset();
+        }
+    }
+
+    private static final class Bucket {
+
+        private final AtomicLong epoch = new AtomicLong(Long.MIN_VALUE);
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+}
@@ -0,0 +1,323 @@
+package hello.exception.dispatch;
+
+import hello.exception.dispatch.DispatchScope.Phase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 여러 인터셉터를 하나의 인터셉터로 등록하고, (DispatcherType, 경로)별로 실제 호출할 인터셉터 목록을 미리 만들어 둔다.
+ *
+ * 스프링은 요청마다 HandlerExecutionChain 을 만들면서 모든 인터셉터의 경로 패턴(addPathPatterns, excludePathPatterns)을 비교한다.
+ * 오류 페이지 재요청(/error-page/500, dispatchType=ERROR)도 마찬가지로 모든 패턴을 비교한 뒤에야 LogInterceptor 를 제외한다.
+ * 여기서는
+ * - 인터셉터 클래스의 @DispatchScope 로 DispatcherType, 단계(preHandle, postHandle, afterCompletion)를 거르고
+ * - 애플리케이션 시작 시 @RequestMapping 의 고정 경로(패턴 변수 없는 경로) x DispatcherType 조합을 모두 계산해 둔다.
+ * - 패턴 경로(/api/members/{id} 등)는 경로 값이 아닌 매핑 패턴(BEST_MATCHING_PATTERN_ATTRIBUTE)으로 캐시
+ *   인터셉터 패턴이 경로 변수 값에 따라 다르게 적용되면(/api/members/admin 제외 등) 패턴으로 캐시할 수 없으므로 경로별로 계산
+ * - 그 외 경로(정적 리소스 등)는 처음 요청할 때 계산해서 MAX_PATHS 개까지 캐시
+ * 요청마다 Map 조회 한 번으로 호출할 인터셉터 배열을 얻는다.
+ *
+ * 호출 순서와 예외 처리는 HandlerExecutionChain 과 같다.
+ * - preHandle 이 false 를 반환하거나 예외를 던지면 앞에서 통과한 인터셉터의 afterCompletion 만 역순으로 호출
+ * - postHandle, afterCompletion 은 역순, afterCompletion 에서 발생한 예외는 로그만 남긴다.
+ */
+@Slf4j
+public class DispatchAwareInterceptorChain implements HandlerInterceptor, ApplicationListener<ContextRefreshedEvent> {
+
+    static final int MAX_PATHS = 1024;
+
+    private static final Entry[] EMPTY = new Entry[0];
+    private static final Entry[] PATH_DEPENDENT = new Entry[0];    //패턴으로 캐시할 수 없음 -> 경로별로 계산
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Registration> registrations = new ArrayList<>();
+    private final Map<DispatcherType, ConcurrentMap<String, Entry[]>> chains = new EnumMap<>(DispatcherType.class);
+    private final Map<DispatcherType, ConcurrentMap<String, Entry[]>> patternChains = new EnumMap<>(DispatcherType.class);
+
+    public DispatchAwareInterceptorChain() {
+        for (DispatcherType type : DispatcherType.values()) {
+            chains.put(type, new ConcurrentHashMap<>());
+            patternChains.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * InterceptorRegistry.addInterceptor() 와 같이 사용, 추가한 순서대로 호출
+     */
+    public Registration addInterceptor(HandlerInterceptor interceptor) {
+        Registration registration = new Registration(interceptor);
+        registrations.add(registration);
+        chains.values().forEach(Map::clear);
+        patternChains.values().forEach(Map::clear);
+        return registration;
+    }
+
+    /**
+     * 고정 경로 미리 계산
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        Set<String> paths = new LinkedHashSet<>();
+        for (RequestMappingHandlerMapping mapping : event.getApplicationContext().getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            for (RequestMappingInfo info : mapping.getHandlerMethods().keySet()) {
+                for (String pattern : info.getPatternValues()) {
+                    if (!pathMatcher.isPattern(pattern)) {
+                        paths.add(pattern);
+                    }
+                }
+            }
+        }
+        for (DispatcherType type : DispatcherType.values()) {
+            for (String path : paths) {
+                chain(type, path);
+            }
+        }
+        log.debug("precomputed interceptor chains for {} paths", paths.size());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        Entry[] chain = chain(request);
+        for (int i = 0; i < chain.length; i++) {
+            Entry entry = chain[i];
+            if (!entry.preHandle) {
+                continue;
+            }
+            boolean proceed;
+            try {
+                proceed = entry.interceptor.preHandle(request, response, handler);
+            } catch (Exception ex) {
+                //이 체인 전체가 HandlerExecutionChain 의 인터셉터 하나이므로 스프링은 afterCompletion 을 호출하지 않는다.
+                triggerAfterCompletion(chain, i - 1, request, response, handler, ex);
+                throw ex;
+            }
+            if (!proceed) {
+                triggerAfterCompletion(chain, i - 1, request, response, handler, null);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
+        Entry[] chain = chain(request);
+        for (int i = chain.length - 1; i >= 0; i--) {
+            if (chain[i].postHandle) {
+                chain[i].interceptor.postHandle(request, response, handler, modelAndView);
+            }
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Entry[] chain = chain(request);
+        triggerAfterCompletion(chain, chain.length - 1, request, response, handler, ex);
+    }
+
+    private void triggerAfterCompletion(Entry[] chain, int from, HttpServletRequest request, HttpServletResponse response,
+                                        Object handler, Exception ex) {
+        for (int i = from; i >= 0; i--) {
+            if (!chain[i].afterCompletion) {
+                continue;
+            }
+            try {
+                chain[i].interceptor.afterCompletion(request, response, handler, ex);
+            } catch (Throwable e) {
+                log.error("HandlerInterceptor.afterCompletion threw exception", e);
+            }
+        }
+    }
+
+    private Entry[] chain(HttpServletRequest request) {
+        String path = ServletRequestPathUtils.getCachedPathValue(request);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern instanceof String && pathMatcher.isPattern((String) pattern)) {
+            Entry[] chain = patternChain(request.getDispatcherType(), (String) pattern, path);
+            if (chain != PATH_DEPENDENT) {
+                return chain;
+            }
+        }
+        return chain(request.getDispatcherType(), path);
+    }
+
+    /**
+     * 매핑 패턴 수는 @RequestMapping 수로 정해지므로 개수 제한 없이 캐시
+     * 처음 요청한 경로로 계산한 결과를 같은 패턴의 모든 경로에 사용할 수 있을 때만 패턴으로 캐시
+     */
+    Entry[] patternChain(DispatcherType type, String pattern, String path) {
+        ConcurrentMap<String, Entry[]> byPattern = patternChains.get(type);
+        Entry[] chain = byPattern.get(pattern);
+        if (chain == null) {
+            chain = isPathIndependent(pattern) ? build(type, path) : PATH_DEPENDENT;
+            byPattern.putIfAbsent(pattern, chain);
+        }
+        return chain;
+    }
+
+    /**
+     * 패턴의 고정 부분(/api/members/{id} -> /api/members)으로 모든 인터셉터 패턴의 결과가 정해지는지
+     * - /**, /api/** 처럼 고정 부분 전체를 포함하는 패턴 -> 항상 일치
+     * - 고정 부분으로 시작하는 경로와 일치할 수 없는 패턴(/css/**) -> 항상 불일치
+     * - 그 외(/api/members/admin 등) -> 경로 변수 값에 따라 다름
+     */
+    private boolean isPathIndependent(String pattern) {
+        String prefix = staticPrefix(pattern);
+        for (Registration registration : registrations) {
+            for (List<String> patterns : List.of(registration.includePatterns, registration.excludePatterns)) {
+                for (String interceptorPattern : patterns) {
+                    if (!covers(interceptorPattern, prefix) && pathMatcher.matchStart(interceptorPattern, prefix + "/")) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean covers(String interceptorPattern, String prefix) {
+        if (!interceptorPattern.endsWith("/**")) {
+            return false;
+        }
+        String base = interceptorPattern.substring(0, interceptorPattern.length() - 3);
+        return !pathMatcher.isPattern(base) && (prefix.equals(base) || prefix.startsWith(base + "/"));
+    }
+
+    /**
+     * 첫 번째 경로 변수, 와일드카드가 있는 세그먼트 앞까지
+     */
+    private static String staticPrefix(String pattern) {
+        int end = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '{' || c == '*' || c == '?') {
+                break;
+            }
+            if (c == '/') {
+                end = i;
+            }
+        }
+        return pattern.substring(0, end);
+    }
+
+    Entry[] chain(DispatcherType type, String path) {
+        ConcurrentMap<String, Entry[]> byPath = chains.get(type);
+        Entry[] chain = byPath.get(path);
+        if (chain != null) {
+            return chain;
+        }
+        chain = build(type, path);
+        if (byPath.size() < MAX_PATHS) {
+            byPath.putIfAbsent(path, chain);
+        }
+        return chain;
+    }
+
+    private Entry[] build(DispatcherType type, String path) {
+        List<Entry> chain = new ArrayList<>();
+        for (Registration registration : registrations) {
+            if (registration.dispatcherTypes.contains(type) && registration.matches(path, pathMatcher)) {
+                chain.add(registration.entry);
+            }
+        }
+        return chain.isEmpty() ? EMPTY : chain.toArray(EMPTY);
+    }
+
+    int size(DispatcherType type) {
+        return chains.get(type).size();
+    }
+
+    int patternSize(DispatcherType type) {
+        return patternChains.get(type).size();
+    }
+
+    public static final class Registration {
+
+        private final Entry entry;
+        private final Set<DispatcherType> dispatcherTypes;
+        private final List<String> includePatterns = new ArrayList<>();
+        private final List<String> excludePatterns = new ArrayList<>();
+
+        private Registration(HandlerInterceptor interceptor) {
+            DispatchScope scope = AnnotatedElementUtils.findMergedAnnotation(interceptor.getClass(), DispatchScope.class);
+            if (scope == null) {
+                this.dispatcherTypes = EnumSet.allOf(DispatcherType.class);
+                this.entry = new Entry(interceptor, EnumSet.allOf(Phase.class));
+            } else {
+                this.dispatcherTypes = EnumSet.noneOf(DispatcherType.class);
+                this.dispatcherTypes.addAll(Arrays.asList(scope.dispatcherTypes()));
+                this.entry = new Entry(interceptor, EnumSet.copyOf(Arrays.asList(scope.phases())));
+            }
+        }
+
+        public Registration addPathPatterns(String... patterns) {
+            includePatterns.addAll(Arrays.asList(patterns));
+            return this;
+        }
+
+        public Registration excludePathPatterns(String... patterns) {
+            excludePatterns.addAll(Arrays.asList(patterns));
+            return this;
+        }
+
+        private boolean matches(String path, PathMatcher pathMatcher) {
+            for (String pattern : excludePatterns) {
+                if (pathMatcher.match(pattern, path)) {
+                    return false;
+                }
+            }
+            if (includePatterns.isEmpty()) {
+                return true;
+            }
+            for (String pattern : includePatterns) {
+                if (pathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    static final class Entry {
+
+        private final HandlerInterceptor interceptor;
+        private final boolean preHandle;
+        private final boolean postHandle;
+        private final boolean afterCompletion;
+
+        private Entry(HandlerInterceptor interceptor, Set<Phase> phases) {
+            this.interceptor = interceptor;
+            this.preHandle = phases.contains(Phase.PRE_HANDLE);
+            this.postHandle = phases.contains(Phase.POST_HANDLE);
+            this.afterCompletion = phases.contains(Phase.AFTER_COMPLETION);
+        }
+
+        HandlerInterceptor getInterceptor() {
+            return interceptor;
+        }
+    }
+}
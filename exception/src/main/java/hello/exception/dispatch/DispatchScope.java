@@ -0,0 +1,36 @@
+package hello.exception.dispatch;
+
+import javax.servlet.DispatcherType;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 필터, 인터셉터가 필요한 DispatcherType 과 인터셉터 단계(phase)를 선언
+ *
+ * 필터 -> DispatchScopeFilterPostProcessor 가 FilterRegistrationBean 의 dispatcherTypes 로 설정
+ * 인터셉터 -> DispatchAwareInterceptorChain 이 (DispatcherType, 경로)별 호출 목록을 미리 만들어 두고 사용
+ *
+ * 예) 클라이언트 요청에만 로그를 남기고, 오류 페이지 재요청(ERROR)에서는 호출하지 않는 인터셉터
+ * @DispatchScope(dispatcherTypes = DispatcherType.REQUEST)
+ *
+ * 애노테이션이 없으면 필터는 FilterRegistrationBean 설정 그대로, 인터셉터는 모든 DispatcherType, 모든 단계에서 호출
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DispatchScope {
+
+    DispatcherType[] dispatcherTypes() default {DispatcherType.REQUEST};
+
+    /**
+     * 인터셉터만 해당, 필요 없는 단계는 호출하지 않는다.
+     */
+    Phase[] phases() default {Phase.PRE_HANDLE, Phase.POST_HANDLE, Phase.AFTER_COMPLETION};
+
+    enum Phase {
+        PRE_HANDLE, POST_HANDLE, AFTER_COMPLETION
+    }
+}
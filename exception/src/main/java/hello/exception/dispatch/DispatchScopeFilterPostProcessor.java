@@ -0,0 +1,38 @@
+package hello.exception.dispatch;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.DispatcherType;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+/**
+ * 필터 클래스의 @DispatchScope 를 FilterRegistrationBean 에 적용
+ * -> 필터를 등록하는 쪽(WebConfig)에서 setDispatcherTypes() 를 따로 맞출 필요가 없다.
+ *
+ * 필터 체인은 WAS(톰캣)가 요청마다 DispatcherType, URL 패턴으로 만들기 때문에,
+ * 여기서는 선언만 필터 쪽으로 옮기고 DispatcherType 이 맞지 않는 필터를 건너뛰는 것은 WAS 에 맡긴다.
+ */
+@Component
+public class DispatchScopeFilterPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof FilterRegistrationBean) {
+            FilterRegistrationBean<?> registration = (FilterRegistrationBean<?>) bean;
+            if (registration.getFilter() != null) {
+                DispatchScope scope = AnnotatedElementUtils.findMergedAnnotation(registration.getFilter().getClass(), DispatchScope.class);
+                if (scope != null) {
+                    EnumSet<DispatcherType> types = EnumSet.noneOf(DispatcherType.class);
+                    types.addAll(Arrays.asList(scope.dispatcherTypes()));
+                    registration.setDispatcherTypes(types);
+                }
+            }
+        }
+        return bean;
+    }
+}
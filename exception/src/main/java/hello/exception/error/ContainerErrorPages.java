@@ -0,0 +1,78 @@
+package hello.exception.error;
+
+import org.springframework.boot.web.server.ErrorPage;
+
+import javax.servlet.ServletException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * WAS 에 등록된 오류 페이지 중 기본 오류 페이지(/error, 상태 코드와 예외가 없는 ErrorPage)가 아닌 것
+ * 예) WebServerCustomizer 의 /error-page/404, /error-page/500, RuntimeException -> /error-page/500
+ *
+ * 이런 페이지는 BasicErrorController 가 아닌 다른 컨트롤러(ErrorPageController)가 출력하므로
+ * InDispatchErrorFilter 는 해당 상태 코드, 예외를 직접 출력하지 않고 WAS 에 넘긴다.
+ *
+ * 찾는 순서는 톰캣(StandardHostValve)과 같다.
+ * 예외 -> 예외 타입과 상위 타입, ServletException 이면 원인 예외 -> 없으면 500 페이지
+ */
+public class ContainerErrorPages {
+
+    public static final ContainerErrorPages NONE = new ContainerErrorPages(Set.of());
+
+    private final Set<Integer> statuses = new HashSet<>();
+    private final Set<String> exceptionTypes = new HashSet<>();
+
+    public ContainerErrorPages(Collection<ErrorPage> errorPages) {
+        for (ErrorPage errorPage : errorPages) {
+            if (errorPage.isGlobal()) {
+                continue;
+            }
+            if (errorPage.getException() != null) {
+                exceptionTypes.add(errorPage.getExceptionName());
+            } else {
+                statuses.add(errorPage.getStatusCode());
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return statuses.isEmpty() && exceptionTypes.isEmpty();
+    }
+
+    /**
+     * response.sendError(status)
+     */
+    public boolean matches(int status) {
+        return statuses.contains(status);
+    }
+
+    /**
+     * 서블릿 밖으로 나온 예외, 예외 페이지가 없으면 WAS 는 500 으로 처리
+     */
+    public boolean matches(Throwable ex) {
+        if (isEmpty()) {
+            return false;
+        }
+        if (hasExceptionPage(ex)) {
+            return true;
+        }
+        if (ex instanceof ServletException) {
+            Throwable rootCause = ((ServletException) ex).getRootCause();
+            if (rootCause != null && hasExceptionPage(rootCause)) {
+                return true;
+            }
+        }
+        return statuses.contains(500);
+    }
+
+    private boolean hasExceptionPage(Throwable ex) {
+        for (Class<?> type = ex.getClass(); type != null; type = type.getSuperclass()) {
+            if (exceptionTypes.contains(type.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
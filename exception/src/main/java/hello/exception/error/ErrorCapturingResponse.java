@@ -0,0 +1,52 @@
+package hello.exception.error;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+
+/**
+ * response.sendError() 를 WAS 에 전달하지 않고 기록만 해 두는 응답
+ * 응답이 이미 커밋되었거나 오류 상태 코드(4xx, 5xx)가 아니면 WAS 가 오류 페이지를 찾지 않으므로 그대로 전달한다.
+ */
+class ErrorCapturingResponse extends HttpServletResponseWrapper {
+
+    private int errorStatus;
+    private String errorMessage;
+
+    ErrorCapturingResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        sendError(sc, null);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        if (isCommitted() || sc < 400) {
+            super.sendError(sc, msg);
+            return;
+        }
+        errorStatus = sc;
+        errorMessage = msg;
+        resetBuffer();
+    }
+
+    @Override
+    public int getStatus() {
+        return isErrorCaptured() ? errorStatus : super.getStatus();
+    }
+
+    boolean isErrorCaptured() {
+        return errorStatus != 0;
+    }
+
+    int getErrorStatus() {
+        return errorStatus;
+    }
+
+    String getErrorMessage() {
+        return errorMessage;
+    }
+}
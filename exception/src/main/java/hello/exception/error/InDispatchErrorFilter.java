@@ -0,0 +1,72 @@
+package hello.exception.error;
+
+import hello.exception.dispatch.DispatchScope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 오류 페이지를 WAS 의 재요청 없이 원래 요청 안에서 출력
+ *
+ * 기존 흐름
+ * 1. WAS(여기까지 전파 또는 sendError 기록 확인) <- 필터 <- 서블릿 <- 인터셉터 <- 컨트롤러
+ * 2. WAS `/error` 다시 요청(dispatchType=ERROR) -> 필터 -> 서블릿 -> 핸들러 매핑 -> 인터셉터 -> BasicErrorController -> View
+ * -> 실패한 요청마다 필터, DispatcherServlet, 핸들러 매핑을 한 번 더 거친다.
+ *
+ * 이 필터를 사용한 흐름
+ * 1. 필터(sendError 기록, 예외 잡기) <- 서블릿 <- 인터셉터 <- 컨트롤러
+ * 2. 필터에서 바로 InDispatchErrorRenderer 로 오류 화면(HTML) 또는 JSON 출력 (BasicErrorController 와 같은 결과)
+ *
+ * 응답이 이미 커밋되었거나 출력할 오류 뷰가 없으면 기존처럼 WAS 에 넘긴다.
+ * WAS 에 직접 등록한 오류 페이지(ContainerErrorPages, 예: WebServerCustomizer)가 맞는 상태 코드, 예외도 WAS 에 넘긴다.
+ * WebConfig 에서 error.in-dispatch.enabled=true 일 때 등록
+ */
+@Slf4j
+@DispatchScope(dispatcherTypes = DispatcherType.REQUEST)
+public class InDispatchErrorFilter extends OncePerRequestFilter {
+
+    private final InDispatchErrorRenderer renderer;
+    private final ContainerErrorPages containerErrorPages;
+
+    public InDispatchErrorFilter(InDispatchErrorRenderer renderer) {
+        this(renderer, ContainerErrorPages.NONE);
+    }
+
+    public InDispatchErrorFilter(InDispatchErrorRenderer renderer, ContainerErrorPages containerErrorPages) {
+        this.renderer = renderer;
+        this.containerErrorPages = containerErrorPages;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        ErrorCapturingResponse capturingResponse = new ErrorCapturingResponse(response);
+        try {
+            chain.doFilter(request, capturingResponse);
+        } catch (ServletException | IOException | RuntimeException e) {
+            if (response.isCommitted() || containerErrorPages.matches(e)
+                    || !renderer.renderException(request, response, e)) {
+                throw e;
+            }
+            return;
+        }
+
+        if (capturingResponse.isErrorCaptured()) {
+            int status = capturingResponse.getErrorStatus();
+            String message = capturingResponse.getErrorMessage();
+            if (containerErrorPages.matches(status)) {
+                log.debug("container error page registered for status={}, delegating to container", status);
+                response.sendError(status, message);
+            } else if (!renderer.renderError(request, response, status, message)) {
+                log.debug("no in-dispatch error view for status={}, delegating to container", status);
+                response.sendError(status, message);
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package hello.exception.error;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.exception.negotiation.AcceptHeaderCache;
+import hello.exception.telemetry.ErrorTelemetryFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.ErrorProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.servlet.error.ErrorViewResolver;
+import org.springframework.boot.web.error.ErrorAttributeOptions;
+import org.springframework.boot.web.error.ErrorAttributeOptions.Include;
+import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * BasicErrorController 가 /error 재요청에서 하는 일을 원래 요청 안에서 수행
+ *
+ * 1. WAS 가 오류 페이지를 요청할 때 넣어주는 request attribute(javax.servlet.error.*)를 직접 넣는다.
+ * 2. ErrorAttributes(DefaultErrorAttributes)로 오류 정보를 만든다. 포함 여부는 server.error.include-* 설정을 그대로 따른다.
+ * 3. Accept 의 우선순위가 가장 높은 타입이 text/html 이면 ErrorViewResolver 로 오류 뷰(error/404, error/4xx ...)를 찾아서 렌더링
+ *    그 외에는 JSON 으로 출력
+ *
+ * 출력할 오류 뷰가 없으면 false 를 반환 -> 호출하는 쪽에서 기존처럼 WAS 에 넘긴다.
+ * (whitelabel 페이지, "error" 뷰 처리는 BasicErrorController 에 맡긴다)
+ */
+@Component
+public class InDispatchErrorRenderer {
+
+    private final ErrorAttributes errorAttributes;
+    private final ErrorProperties errorProperties;
+    private final List<ErrorViewResolver> errorViewResolvers;
+    private final List<ViewResolver> viewResolvers;
+    private final ObjectMapper objectMapper;
+    private final AcceptHeaderCache acceptHeaderCache;
+
+    @Autowired
+    public InDispatchErrorRenderer(ErrorAttributes errorAttributes, ServerProperties serverProperties,
+                                   ObjectProvider<ErrorViewResolver> errorViewResolvers,
+                                   ObjectProvider<ViewResolver> viewResolvers, ObjectMapper objectMapper,
+                                   AcceptHeaderCache acceptHeaderCache) {
+        this(errorAttributes, serverProperties.getError(),
+                errorViewResolvers.orderedStream().collect(Collectors.toList()),
+                viewResolvers.orderedStream().collect(Collectors.toList()), objectMapper, acceptHeaderCache);
+    }
+
+    InDispatchErrorRenderer(ErrorAttributes errorAttributes, ErrorProperties errorProperties,
+                            List<ErrorViewResolver> errorViewResolvers, List<ViewResolver> viewResolvers,
+                            ObjectMapper objectMapper, AcceptHeaderCache acceptHeaderCache) {
+        this.errorAttributes = errorAttributes;
+        this.errorProperties = errorProperties;
+        this.errorViewResolvers = errorViewResolvers;
+        this.viewResolvers = viewResolvers;
+        this.objectMapper = objectMapper;
+        this.acceptHeaderCache = acceptHeaderCache;
+    }
+
+    /**
+     * 서블릿 밖으로 던져진 예외 -> 500
+     * WAS 와 같이 ServletException 은 원인 예외를 오류로, 던져진 예외의 메시지를 오류 메시지로 사용
+     */
+    public boolean renderException(HttpServletRequest request, HttpServletResponse response, Exception ex)
+            throws ServletException, IOException {
+        Throwable error = ex;
+        if (ex instanceof ServletException && ((ServletException) ex).getRootCause() != null) {
+            error = ((ServletException) ex).getRootCause();
+        }
+        request.setAttribute(RequestDispatcher.ERROR_EXCEPTION, error);
+        request.setAttribute(RequestDispatcher.ERROR_EXCEPTION_TYPE, error.getClass());
+        return render(request, response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, ex.getMessage());
+    }
+
+    /**
+     * response.sendError(status, message)
+     */
+    public boolean renderError(HttpServletRequest request, HttpServletResponse response, int status, String message)
+            throws ServletException, IOException {
+        return render(request, response, status, message);
+    }
+
+    private boolean render(HttpServletRequest request, HttpServletResponse response, int status, String message)
+            throws ServletException, IOException {
+        request.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, status);
+        request.setAttribute(RequestDispatcher.ERROR_MESSAGE, message == null ? "" : message);
+        request.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, request.getRequestURI());
+        request.setAttribute(RequestDispatcher.ERROR_SERVLET_NAME, request.getHttpServletMapping().getServletName());
+
+        boolean rendered;
+        if (acceptsHtml(request)) {
+            rendered = renderHtml(request, response, status);
+        } else {
+            renderJson(request, response, status);
+            rendered = true;
+        }
+        if (rendered) {
+            request.setAttribute(ErrorTelemetryFilter.RESOLVED_BY, "InDispatchErrorFilter");
+        }
+        return rendered;
+    }
+
+    /**
+     * BasicErrorController.errorHtml()
+     */
+    private boolean renderHtml(HttpServletRequest request, HttpServletResponse response, int status)
+            throws ServletException, IOException {
+        HttpStatus httpStatus = HttpStatus.resolve(status);
+        if (httpStatus == null) {
+            return false;
+        }
+        Map<String, Object> model = Collections.unmodifiableMap(
+                errorAttributes.getErrorAttributes(new ServletWebRequest(request), options(request)));
+        ModelAndView modelAndView = resolveErrorView(request, httpStatus, model);
+        if (modelAndView == null) {
+            return false;
+        }
+        try {
+            View view = modelAndView.isReference() ? resolveView(modelAndView.getViewName(), request) : modelAndView.getView();
+            if (view == null) {
+                return false;
+            }
+            response.resetBuffer();
+            response.setStatus(status);
+            view.render(modelAndView.getModel(), request, response);
+            return true;
+        } catch (ServletException | IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException("Could not render error view [" + modelAndView.getViewName() + "]", e);
+        }
+    }
+
+    /**
+     * BasicErrorController.error()
+     */
+    private void renderJson(HttpServletRequest request, HttpServletResponse response, int status) throws IOException {
+        response.resetBuffer();
+        response.setStatus(status);
+        if (status == HttpServletResponse.SC_NO_CONTENT) {
+            return;
+        }
+        Map<String, Object> body = errorAttributes.getErrorAttributes(new ServletWebRequest(request), options(request));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private ModelAndView resolveErrorView(HttpServletRequest request, HttpStatus status, Map<String, Object> model) {
+        for (ErrorViewResolver resolver : errorViewResolvers) {
+            ModelAndView modelAndView = resolver.resolveErrorView(request, status, model);
+            if (modelAndView != null) {
+                return modelAndView;
+            }
+        }
+        return null;
+    }
+
+    private View resolveView(String viewName, HttpServletRequest request) throws Exception {
+        Locale locale = RequestContextUtils.getLocale(request);
+        for (ViewResolver resolver : viewResolvers) {
+            View view = resolver.resolveViewName(viewName, locale);
+            if (view != null) {
+                return view;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * BasicErrorController 는 produces = text/html 인 errorHtml() 과 그 외 error() 로 나뉜다.
+     * Accept 를 우선순위로 정렬해서 첫 번째 타입이 text/html 이면 HTML, 와일드카드(모든 타입)나 다른 타입이면 JSON
+     * 헤더 분석 결과는 AcceptHeaderCache 에서 재사용
+     */
+    private boolean acceptsHtml(HttpServletRequest request) {
+        return acceptHeaderCache.get(request.getHeader(HttpHeaders.ACCEPT)).prefersHtml();
+    }
+
+    /**
+     * BasicErrorController.getErrorAttributeOptions()
+     */
+    private ErrorAttributeOptions options(HttpServletRequest request) {
+        ErrorAttributeOptions options = ErrorAttributeOptions.defaults();
+        if (errorProperties.isIncludeException()) {
+            options = options.including(Include.EXCEPTION);
+        }
+        if (includeStackTrace(request)) {
+            options = options.including(Include.STACK_TRACE);
+        }
+        if (include(errorProperties.getIncludeMessage(), request, "message")) {
+            options = options.including(Include.MESSAGE);
+        }
+        if (include(errorProperties.getIncludeBindingErrors(), request, "errors")) {
+            options = options.including(Include.BINDING_ERRORS);
+        }
+        return options;
+    }
+
+    private boolean includeStackTrace(HttpServletRequest request) {
+        switch (errorProperties.getIncludeStacktrace()) {
+            case ALWAYS:
+                return true;
+            case ON_PARAM:
+                return parameter(request, "trace");
+            default:
+                return false;
+        }
+    }
+
+    private boolean include(ErrorProperties.IncludeAttribute include, HttpServletRequest request, String parameterName) {
+        switch (include) {
+            case ALWAYS:
+                return true;
+            case ON_PARAM:
+                return parameter(request, parameterName);
+            default:
+                return false;
+        }
+    }
+
+    private boolean parameter(HttpServletRequest request, String parameterName) {
+        String parameter = request.getParameter(parameterName);
+        return parameter != null && !"false".equalsIgnoreCase(parameter);
+    }
+}
@@ -23,8 +23,10 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * ResponseStatusExceptionResolver 코드를 확인해보면
  * 결국 response.sendError(statusCode, resolvedReason) 를 호출하는 것을 확인할 수 있다.
  * sendError(400) 를 호출했기 때문에 WAS 에서 다시 오류 페이지( /error )를 내부 요청
+ *
+ * 상태 코드와 메시지가 애노테이션에 있으므로 스택 트레이스가 필요 없다. -> LightweightException
  */
 //@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "잘못된 요청 오류")  //해당 exception 발생시 status 설정
 @ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "error.bad")
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends LightweightException {
 }
@@ -0,0 +1,28 @@
+package hello.exception.exception;
+
+/**
+ * 잘못된 입력 값
+ * IllegalArgumentException 을 처리하는 @ExceptionHandler, MyHandlerExceptionResolver 가 그대로 처리하도록
+ * LightweightException 이 아니라 IllegalArgumentException 을 상속한다.
+ *
+ * StackTracePolicy 에 등록되면 스택 트레이스를 채우지 않는다.
+ * IllegalArgumentException 에는 writableStackTrace 생성자가 없어서 미리 만든 인스턴스는 제공하지 않는다.
+ */
+public class InvalidArgumentException extends IllegalArgumentException {
+
+    public InvalidArgumentException(String message) {
+        super(message);
+    }
+
+    public InvalidArgumentException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (StackTracePolicy.isStackless(getClass())) {
+            return this;
+        }
+        return super.fillInStackTrace();
+    }
+}
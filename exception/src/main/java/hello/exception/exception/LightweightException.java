@@ -0,0 +1,44 @@
+package hello.exception.exception;
+
+/**
+ * 잘못된 입력처럼 예상된 상황에서 자주 던지는 예외의 부모
+ *
+ * 예외 생성 비용의 대부분은 Throwable 생성자에서 호출하는 fillInStackTrace() (스레드 스택 전체를 기록)
+ * 이런 예외는 어디서 던졌는지보다 메시지가 중요하고, 비정상적인 요청이 몰리면 스택 트레이스를 만드는 데 CPU 를 대부분 쓰게 된다.
+ * StackTracePolicy 에 등록된 타입이면 스택 트레이스를 채우지 않는다. (exception.stackless-types)
+ *
+ * 메시지가 고정된 예외는 미리 만든 인스턴스를 재사용할 수 있다. (writableStackTrace, enableSuppression = false)
+ * -> 여러 요청, 스레드가 같은 인스턴스를 공유하므로 스택 트레이스, suppressed, cause 를 바꿀 수 없다.
+ *
+ * RuntimeException 을 상속하므로 @ExceptionHandler, HandlerExceptionResolver 는 기존과 같이 동작한다.
+ */
+public abstract class LightweightException extends RuntimeException {
+
+    protected LightweightException() {
+        super();
+    }
+
+    protected LightweightException(String message) {
+        super(message);
+    }
+
+    protected LightweightException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    protected LightweightException(Throwable cause) {
+        super(cause);
+    }
+
+    protected LightweightException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (StackTracePolicy.isStackless(getClass())) {
+            return this;
+        }
+        return super.fillInStackTrace();
+    }
+}
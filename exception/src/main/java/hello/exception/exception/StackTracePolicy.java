@@ -0,0 +1,58 @@
+package hello.exception.exception;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 예외 타입별로 스택 트레이스를 채울지 결정
+ * 등록한 타입과 그 자식 타입은 스택 트레이스를 채우지 않는다. (LightweightException, InvalidArgumentException 에만 적용)
+ *
+ * 예외는 new 로 생성되므로 스프링 빈이 아니라 static 설정으로 둔다.
+ * -> StackTracePolicyConfigurer 가 애플리케이션 시작 시 exception.stackless-types 로 설정
+ * -> 설정하지 않으면 모든 예외가 스택 트레이스를 채운다. (기존 동작)
+ *
+ * 예외를 만들 때마다 isAssignableFrom 을 반복하지 않도록 실제 예외 클래스별 결과를 캐시한다.
+ */
+public final class StackTracePolicy {
+
+    private static volatile Snapshot snapshot = new Snapshot(List.of());
+
+    private StackTracePolicy() {
+    }
+
+    public static boolean isStackless(Class<? extends Throwable> type) {
+        return snapshot.isStackless(type);
+    }
+
+    public static void configure(Collection<Class<? extends Throwable>> stacklessTypes) {
+        snapshot = new Snapshot(List.copyOf(stacklessTypes));
+    }
+
+    public static List<Class<? extends Throwable>> getStacklessTypes() {
+        return snapshot.stacklessTypes;
+    }
+
+    /**
+     * 설정과 캐시를 한 번에 바꿔서 이전 설정으로 계산한 결과가 남지 않도록 한다.
+     */
+    private static final class Snapshot {
+
+        private final List<Class<? extends Throwable>> stacklessTypes;
+        private final ConcurrentMap<Class<?>, Boolean> resolved = new ConcurrentHashMap<>();
+
+        private Snapshot(List<Class<? extends Throwable>> stacklessTypes) {
+            this.stacklessTypes = stacklessTypes;
+        }
+
+        private boolean isStackless(Class<? extends Throwable> type) {
+            Boolean stackless = resolved.get(type);
+            if (stackless == null) {
+                stackless = stacklessTypes.stream().anyMatch(stacklessType -> stacklessType.isAssignableFrom(type));
+                resolved.put(type, stackless);
+            }
+            return stackless;
+        }
+    }
+}
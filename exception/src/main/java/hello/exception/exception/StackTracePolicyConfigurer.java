@@ -0,0 +1,35 @@
+package hello.exception.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * exception.stackless-types 에 적힌 예외 타입을 StackTracePolicy 에 등록
+ * 없는 클래스나 예외가 아닌 클래스를 적으면 애플리케이션 시작이 실패한다.
+ */
+@Slf4j
+@Component
+public class StackTracePolicyConfigurer {
+
+    public StackTracePolicyConfigurer(@Value("${exception.stackless-types:}") String[] typeNames) {
+        List<Class<? extends Throwable>> types = new ArrayList<>();
+        ClassLoader classLoader = getClass().getClassLoader();
+        for (String typeName : typeNames) {
+            if (typeName.isBlank()) {
+                continue;
+            }
+            Class<?> type = ClassUtils.resolveClassName(typeName.trim(), classLoader);
+            if (!Throwable.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException("exception.stackless-types 에는 예외 타입만 지정할 수 있습니다: " + typeName);
+            }
+            types.add(type.asSubclass(Throwable.class));
+        }
+        StackTracePolicy.configure(types);
+        log.info("stackless exception types={}", types);
+    }
+}
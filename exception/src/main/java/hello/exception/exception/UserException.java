@@ -1,6 +1,6 @@
 package hello.exception.exception;
 
-public class UserException extends RuntimeException {
+public class UserException extends LightweightException {
 
     public UserException() {
         super();
@@ -21,4 +21,12 @@ public class UserException extends RuntimeException {
     protected UserException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
     }
+
+    /**
+     * 메시지가 고정된 경우 상수로 만들어 두고 재사용
+     * 스택 트레이스가 없고, suppressed, cause 를 추가할 수 없다.
+     */
+    public static UserException preallocated(String message) {
+        return new UserException(message, null, false, false);
+    }
 }
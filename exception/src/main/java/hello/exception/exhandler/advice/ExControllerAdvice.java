@@ -2,6 +2,8 @@ package hello.exception.exhandler.advice;
 
 import hello.exception.exception.UserException;
 import hello.exception.exhandler.ErrorResult;
+import hello.exception.logging.ThrottledErrorLogger;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,21 +34,26 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  * // Target all Controllers assignable to specific classes
  *  @ControllerAdvice(assignableTypes = {ControllerInterface.class, AbstractController.class})
  *  public class ExampleAdvice3 {}
+ *
+ *  예외 로그는 ThrottledErrorLogger 로 남긴다. -> 같은 예외가 몰리면 스택 트레이스는 처음 한 번, 이후는 한 줄 또는 횟수만
  */
 @Slf4j
 @RestControllerAdvice()
+@RequiredArgsConstructor
 public class ExControllerAdvice {
 
+    private final ThrottledErrorLogger errorLogger;
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(IllegalArgumentException.class)
     public ErrorResult illegalExHandle(IllegalArgumentException e) {
-        log.error("[exceptionHandle] ex", e);
+        errorLogger.error(log, "[exceptionHandle] ex", e);
         return new ErrorResult("BAD", e.getMessage());
     }
 
     @ExceptionHandler
     public ResponseEntity<ErrorResult> userExHandler(UserException e) {
-        log.error("[exceptionHandle] ex", e);
+        errorLogger.error(log, "[exceptionHandle] ex", e);
         ErrorResult errorResult = new ErrorResult("USER-EX", e.getMessage());
         return new ResponseEntity<>(errorResult, HttpStatus.BAD_REQUEST);
     }
@@ -54,7 +61,7 @@ public class ExControllerAdvice {
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)   //없는 경우 요청에 대한 성공으로 200 OK 가 반환됨
     @ExceptionHandler
     public ErrorResult exHandle(Exception e) {
-        log.error("[exceptionHandle] ex", e);
+        errorLogger.error(log, "[exceptionHandle] ex", e);
         return new ErrorResult("EX", "내부 오류");
     }
 }
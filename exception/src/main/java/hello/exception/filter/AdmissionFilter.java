@@ -0,0 +1,156 @@
+package hello.exception.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.exception.dispatch.DispatchScope;
+import hello.exception.error.InDispatchErrorRenderer;
+import hello.exception.exhandler.ErrorResult;
+import hello.exception.filter.GradientLimiter.Priority;
+import hello.exception.negotiation.AcceptHeaderCache;
+import hello.exception.telemetry.ErrorTelemetryFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 과부하일 때 컨트롤러까지 가지 않고 바로 503 으로 거절 -> GradientLimiter
+ *
+ * LogFilter, ExceptionResolver 는 요청을 처리한 뒤에야 동작한다.
+ * 과부하 상태에서 요청을 계속 받으면 모든 요청의 응답 시간이 같이 늘어나므로, 처리할 수 있는 만큼만 받고 나머지는 바로 거절한다.
+ *
+ * 거절 응답은 ExControllerAdvice 와 같은 ErrorResult JSON 을 미리 만들어 두고 그대로 쓴다.
+ * Accept 가 text/html 을 가장 우선하는 클라이언트(브라우저)에는 InDispatchErrorRenderer 로 오류 뷰(error/503, error/5xx)를 렌더링,
+ * 오류 뷰가 없으면 JSON 으로 응답한다. 뷰 렌더링은 JSON 보다 비싸지만 과부하 중에도 브라우저 사용자에게 화면을 보여준다.
+ * sendError() 를 쓰지 않으므로 WAS 의 오류 페이지 요청(/error)도 발생하지 않는다.
+ * ErrorTelemetryFilter 에는 AdmissionFilter 가 처리한 오류로 기록된다.
+ *
+ * 경로 우선순위는 시작할 때 정확히 일치하는 경로와 접두사(/**)로 나눠 둔다.
+ * /error, health 같은 CRITICAL 경로는 항상 허용 (DispatcherType.REQUEST 에만 적용하므로 오류 페이지 재요청은 대상이 아님)
+ */
+@Slf4j
+@DispatchScope(dispatcherTypes = DispatcherType.REQUEST)
+public class AdmissionFilter implements Filter {
+
+    private static final String REJECT_MESSAGE = "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.";
+
+    private final GradientLimiter limiter;
+    private final PathSet criticalPaths;
+    private final PathSet lowPriorityPaths;
+    private final byte[] rejectBody;
+    private final InDispatchErrorRenderer renderer;
+    private final AcceptHeaderCache acceptHeaderCache;
+
+    /**
+     * 모든 클라이언트에 JSON 으로 거절
+     */
+    public AdmissionFilter(GradientLimiter limiter, ObjectMapper objectMapper,
+                           String[] criticalPaths, String[] lowPriorityPaths) {
+        this(limiter, objectMapper, criticalPaths, lowPriorityPaths, null, null);
+    }
+
+    public AdmissionFilter(GradientLimiter limiter, ObjectMapper objectMapper,
+                           String[] criticalPaths, String[] lowPriorityPaths,
+                           InDispatchErrorRenderer renderer, AcceptHeaderCache acceptHeaderCache) {
+        this.limiter = limiter;
+        this.criticalPaths = new PathSet(criticalPaths);
+        this.lowPriorityPaths = new PathSet(lowPriorityPaths);
+        this.renderer = renderer;
+        this.acceptHeaderCache = acceptHeaderCache;
+        try {
+            this.rejectBody = objectMapper.writeValueAsBytes(new ErrorResult("OVERLOAD", REJECT_MESSAGE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        Priority priority = priority(httpRequest.getRequestURI());
+
+        if (!limiter.tryAcquire(priority)) {
+            reject(httpRequest, (HttpServletResponse) response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    Priority priority(String path) {
+        if (criticalPaths.matches(path)) {
+            return Priority.CRITICAL;
+        }
+        if (lowPriorityPaths.matches(path)) {
+            return Priority.LOW;
+        }
+        return Priority.NORMAL;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        log.debug("admission rejected [{}] limit={}", request.getRequestURI(), limiter.getLimit());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        boolean rendered = prefersHtml(request)
+                && renderer.renderError(request, response, HttpStatus.SERVICE_UNAVAILABLE.value(), REJECT_MESSAGE);
+        //렌더러가 기록한 처리 위치(InDispatchErrorFilter)를 덮어쓴다.
+        request.setAttribute(ErrorTelemetryFilter.RESOLVED_BY, "AdmissionFilter");
+        if (rendered) {
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejectBody.length);
+        response.getOutputStream().write(rejectBody);
+    }
+
+    private boolean prefersHtml(HttpServletRequest request) {
+        return renderer != null && acceptHeaderCache.get(request.getHeader(HttpHeaders.ACCEPT)).prefersHtml();
+    }
+
+    /**
+     * "/error" -> 정확히 일치, "/actuator/health/**" -> /actuator/health 와 그 하위 경로
+     */
+    static final class PathSet {
+
+        private final Set<String> exact = new HashSet<>();
+        private final List<String> prefixes = new ArrayList<>();
+
+        PathSet(String[] patterns) {
+            for (String pattern : patterns) {
+                if (pattern.endsWith("/**")) {
+                    String base = pattern.substring(0, pattern.length() - 3);
+                    exact.add(base);
+                    prefixes.add(base + "/");
+                } else if (!pattern.isEmpty()) {
+                    exact.add(pattern);
+                }
+            }
+        }
+
+        boolean matches(String path) {
+            if (exact.contains(path)) {
+                return true;
+            }
+            for (String prefix : prefixes) {
+                if (path.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
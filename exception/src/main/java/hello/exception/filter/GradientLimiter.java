@@ -0,0 +1,154 @@
+package hello.exception.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 동시 처리 요청 수 제한 (AdmissionFilter)
+ *
+ * 고정된 최대 요청 수 대신 응답 시간을 보고 제한 값(limit)을 조절한다. (Netflix concurrency-limits 의 Gradient2 방식)
+ * - window 마다 평균 응답 시간(shortRtt)을 구하고, 이를 지수 이동 평균한 값(longRtt)을 기준으로 사용
+ * - gradient = tolerance * longRtt / shortRtt (0.5 ~ 1.0)
+ *   응답 시간이 기준보다 길어지면(대기 발생) 1 보다 작아져서 limit 감소
+ * - newLimit = limit * gradient + queueSize(sqrt(limit)) -> 응답 시간이 그대로면 조금씩 증가
+ * - 요청이 limit 의 절반도 안 되면 늘리지 않는다. (부하가 없을 때 limit 만 계속 커지는 것 방지)
+ *
+ * 요청 스레드에서는 AtomicInteger, LongAdder 만 사용하고,
+ * window 가 끝난 뒤 처음 요청을 마친 스레드 하나가 CAS 로 window 를 가져가서 limit 를 다시 계산한다.
+ *
+ * 우선순위
+ * CRITICAL -> 항상 허용 (오류 페이지, health), 동시 요청 수에는 포함
+ * NORMAL   -> limit 까지 허용
+ * LOW      -> limit * low-priority-ratio 까지 허용, 과부하 때 먼저 거절
+ *
+ * Micrometer: admission.limit, admission.inflight, admission.rejected{priority}
+ */
+@Component
+public class GradientLimiter {
+
+    public enum Priority {
+        CRITICAL, NORMAL, LOW
+    }
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_RTT_ALPHA = 2.0 / (20 + 1);    //window 20 개 지수 이동 평균
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double lowPriorityRatio;
+    private final long windowNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private volatile double longRtt;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    public GradientLimiter(MeterRegistry registry,
+                           @Value("${admission.initial-limit:20}") int initialLimit,
+                           @Value("${admission.min-limit:4}") int minLimit,
+                           @Value("${admission.max-limit:200}") int maxLimit,
+                           @Value("${admission.tolerance:1.5}") double tolerance,
+                           @Value("${admission.smoothing:0.2}") double smoothing,
+                           @Value("${admission.low-priority-ratio:0.8}") double lowPriorityRatio,
+                           @Value("${admission.window:1s}") Duration window,
+                           @Value("${admission.min-window-samples:10}") int minWindowSamples) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.lowPriorityRatio = lowPriorityRatio;
+        this.windowNanos = window.toNanos();
+        this.minWindowSamples = minWindowSamples;
+
+        Gauge.builder("admission.limit", this, GradientLimiter::getLimit).register(registry);
+        Gauge.builder("admission.inflight", inFlight, AtomicInteger::get).register(registry);
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("admission.rejected")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * @return 허용하면 true, 이 경우 요청이 끝날 때 반드시 release() 호출
+     */
+    public boolean tryAcquire(Priority priority) {
+        int current = inFlight.incrementAndGet();
+        if (priority == Priority.CRITICAL
+                || current <= (priority == Priority.LOW ? limit * lowPriorityRatio : limit)) {
+            windowMaxInFlight.accumulateAndGet(current, Math::max);
+            return true;
+        }
+        inFlight.decrementAndGet();
+        rejected.get(priority).increment();
+        return false;
+    }
+
+    public void release(long rttNanos) {
+        inFlight.decrementAndGet();
+        windowRttSum.add(rttNanos);
+        windowSamples.increment();
+
+        long start = windowStart.get();
+        long now = System.nanoTime();
+        if (now - start >= windowNanos && windowSamples.sum() >= minWindowSamples
+                && windowStart.compareAndSet(start, now)) {
+            long samples = windowSamples.sumThenReset();
+            long rttSum = windowRttSum.sumThenReset();
+            int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+            update((double) rttSum / samples, maxInFlight);
+        }
+    }
+
+    /**
+     * window 마다 한 스레드만 호출
+     */
+    void update(double shortRtt, int maxInFlight) {
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt = longRtt * (1 - LONG_RTT_ALPHA) + shortRtt * LONG_RTT_ALPHA;
+        }
+        //부하가 줄어서 응답 시간이 빨라지면 기준(longRtt)도 빨리 따라 내려가도록
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double current = limit;
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = current * gradient + Math.sqrt(current);
+        newLimit = current * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
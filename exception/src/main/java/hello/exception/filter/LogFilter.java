@@ -1,5 +1,6 @@
 package hello.exception.filter;
 
+import hello.exception.dispatch.DispatchScope;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.servlet.*;
@@ -23,8 +24,11 @@ import java.util.UUID;
  * FORWARD : MVC 에서 배웠던 서블릿에서 다른 서블릿이나 JSP 를 호출할 때 -> RequestDispatcher.forward(request, response);
  * INCLUDE : 서블릿에서 다른 서블릿이나 JSP 의 결과를 포함할 때 -> RequestDispatcher.include(request, response);
  * ASYNC : 서블릿 비동기 호출
+ *
+ * @DispatchScope -> FilterRegistrationBean 의 dispatcherTypes 로 적용 (DispatchScopeFilterPostProcessor)
  */
 @Slf4j
+@DispatchScope(dispatcherTypes = {DispatcherType.REQUEST, DispatcherType.ERROR})
 public class LogFilter implements Filter {
 
     @Override
@@ -1,9 +1,11 @@
 package hello.exception.interceptor;
 
+import hello.exception.dispatch.DispatchScope;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.UUID;
@@ -22,8 +24,10 @@ import java.util.UUID;
  * 3. WAS 오류 페이지 확인
  * 4. WAS(/error-page/500, dispatchType=ERROR) -> 필터(x) -> 서블릿 -> 인터셉터(x) -> 컨트롤러(/error-page/500) -> View
  *
+ * @DispatchScope -> DispatchAwareInterceptorChain 이 ERROR 요청에서는 경로를 비교하지 않고 바로 제외
  */
 @Slf4j
+@DispatchScope(dispatcherTypes = DispatcherType.REQUEST)
 public class LogInterceptor implements HandlerInterceptor {
 
     public static final String LOG_ID = "logId";
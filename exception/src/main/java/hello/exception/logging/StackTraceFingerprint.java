@@ -0,0 +1,53 @@
+package hello.exception.logging;
+
+/**
+ * 예외 클래스 + 스택 트레이스 상위 N 개 프레임(클래스, 메서드, 라인)의 64bit 해시 (FNV-1a)
+ *
+ * 메시지는 요청 값이 들어가는 경우가 많아서 제외한다. -> 같은 위치에서 같은 예외가 나면 같은 fingerprint
+ * cause 가 있으면 cause 의 예외 클래스, 첫 프레임도 포함 (래핑한 위치가 같아도 원인이 다르면 구분)
+ * 스택 트레이스가 없는 예외(LightweightException 등)는 예외 클래스로만 구분한다.
+ */
+final class StackTraceFingerprint {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private static final int MAX_CAUSES = 4;
+
+    private StackTraceFingerprint() {
+    }
+
+    static long of(Throwable e, int depth) {
+        long hash = OFFSET_BASIS;
+        hash = frames(hash, e, depth);
+        Throwable cause = e.getCause();
+        for (int i = 0; cause != null && cause != e && i < MAX_CAUSES; i++) {
+            hash = frames(hash, cause, 1);
+            cause = cause.getCause();
+        }
+        return hash;
+    }
+
+    private static long frames(long hash, Throwable e, int depth) {
+        hash = mix(hash, e.getClass().getName());
+        StackTraceElement[] stackTrace = e.getStackTrace();
+        int frames = Math.min(depth, stackTrace.length);
+        for (int i = 0; i < frames; i++) {
+            StackTraceElement frame = stackTrace[i];
+            hash = mix(hash, frame.getClassName());
+            hash = mix(hash, frame.getMethodName());
+            hash = (hash ^ frame.getLineNumber()) * PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * PRIME;
+        }
+        return hash;
+    }
+
+    static String toHex(long fingerprint) {
+        return String.format("%016x", fingerprint);
+    }
+}
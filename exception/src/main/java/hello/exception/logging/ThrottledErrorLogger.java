@@ -0,0 +1,143 @@
+package hello.exception.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 예외 로그를 스택 트레이스 fingerprint 별로 묶어서 남긴다.
+ *
+ * 같은 예외가 쏟아지면 요청마다 전체 스택 트레이스를 쓰느라 로그 I/O 가 밀리고 요청 스레드까지 대기하게 된다.
+ * - fingerprint 처음 발생: 전체 스택 트레이스
+ * - 이후: fingerprint 별 토큰 버킷(per-fingerprint) 안에서 한 줄 로그 (예외 클래스, 메시지, fingerprint)
+ * - 토큰이 없으면 건너뛴 횟수만 세고, summary-interval 마다 fingerprint 별 건너뛴 횟수를 한 줄로 남긴다.
+ * - 모든 fingerprint 를 합친 로그 줄 수도 전역 토큰 버킷(global)으로 제한한다.
+ *   전역 제한 때문에 처음 발생한 예외의 스택 트레이스를 못 남기면 다음에 토큰이 있을 때 남긴다.
+ *
+ * fingerprint 는 max-fingerprints 개까지 추적하고, 넘으면 하나(overflow)로 묶는다.
+ * forget-after 동안 다시 발생하지 않은 fingerprint 는 제거 -> 다시 발생하면 전체 스택 트레이스를 남긴다.
+ */
+@Slf4j
+@Component
+public class ThrottledErrorLogger {
+
+    static final long OVERFLOW = 0L;
+
+    private final int frameDepth;
+    private final Duration fingerprintInterval;
+    private final int fingerprintBurst;
+    private final TokenBucket global;
+    private final int maxFingerprints;
+    private final long forgetAfterNanos;
+
+    private final ConcurrentMap<Long, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final LongAdder globalSuppressed = new LongAdder();
+
+    public ThrottledErrorLogger(@Value("${error.log.frame-depth:8}") int frameDepth,
+                                @Value("${error.log.fingerprint.interval:10s}") Duration fingerprintInterval,
+                                @Value("${error.log.fingerprint.burst:3}") int fingerprintBurst,
+                                @Value("${error.log.global.interval:100ms}") Duration globalInterval,
+                                @Value("${error.log.global.burst:20}") int globalBurst,
+                                @Value("${error.log.max-fingerprints:1024}") int maxFingerprints,
+                                @Value("${error.log.forget-after:1h}") Duration forgetAfter) {
+        this.frameDepth = frameDepth;
+        this.fingerprintInterval = fingerprintInterval;
+        this.fingerprintBurst = fingerprintBurst;
+        this.global = new TokenBucket(globalInterval, globalBurst);
+        this.maxFingerprints = maxFingerprints;
+        this.forgetAfterNanos = forgetAfter.toNanos();
+    }
+
+    /**
+     * log.error(message, e) 대신 사용
+     * @param logger 호출한 클래스의 로거 (로그 위치, 레벨 설정을 그대로 따른다)
+     */
+    public void error(Logger logger, String message, Throwable e) {
+        if (!logger.isErrorEnabled()) {
+            return;
+        }
+        Fingerprint fingerprint = fingerprint(logger, e);
+        fingerprint.lastSeenNanos = System.nanoTime();
+
+        if (!fingerprint.fullLogged.get()) {
+            if (global.tryAcquire() && fingerprint.fullLogged.compareAndSet(false, true)) {
+                logger.error("{} [fingerprint={}]", message, fingerprint.hex, e);
+                return;
+            }
+        } else if (fingerprint.bucket.tryAcquire()) {
+            if (global.tryAcquire()) {
+                logger.error("{} [fingerprint={}] {}: {} (stack trace omitted)", message, fingerprint.hex,
+                        e.getClass().getName(), e.getMessage());
+                return;
+            }
+            globalSuppressed.increment();
+        }
+        fingerprint.suppressed.increment();
+    }
+
+    private Fingerprint fingerprint(Logger logger, Throwable e) {
+        long key = StackTraceFingerprint.of(e, frameDepth);
+        Fingerprint fingerprint = fingerprints.get(key);
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+        if (fingerprints.size() >= maxFingerprints) {
+            key = OVERFLOW;
+        }
+        return fingerprints.computeIfAbsent(key, k -> new Fingerprint(k, logger, e,
+                new TokenBucket(fingerprintInterval, fingerprintBurst)));
+    }
+
+    /**
+     * 건너뛴 로그 횟수를 fingerprint 별로 한 줄씩 남기고, 오래된 fingerprint 제거
+     */
+    @Scheduled(initialDelayString = "${error.log.summary-interval:60000}", fixedDelayString = "${error.log.summary-interval:60000}")
+    public void flush() {
+        long now = System.nanoTime();
+        for (Map.Entry<Long, Fingerprint> entry : fingerprints.entrySet()) {
+            Fingerprint fingerprint = entry.getValue();
+            long suppressed = fingerprint.suppressed.sumThenReset();
+            if (suppressed > 0) {
+                fingerprint.logger.error("[fingerprint={}] {} x{} (suppressed since last summary)", fingerprint.hex,
+                        fingerprint.exception, suppressed);
+            } else if (now - fingerprint.lastSeenNanos > forgetAfterNanos) {
+                fingerprints.remove(entry.getKey(), fingerprint);
+            }
+        }
+        long dropped = globalSuppressed.sumThenReset();
+        if (dropped > 0) {
+            log.warn("error log global limit reached, {} log lines suppressed", dropped);
+        }
+    }
+
+    int size() {
+        return fingerprints.size();
+    }
+
+    private static final class Fingerprint {
+
+        private final String hex;
+        private final Logger logger;
+        private final String exception;
+        private final TokenBucket bucket;
+        private final AtomicBoolean fullLogged = new AtomicBoolean();
+        private final LongAdder suppressed = new LongAdder();
+        private volatile long lastSeenNanos = System.nanoTime();
+
+        private Fingerprint(long key, Logger logger, Throwable e, TokenBucket bucket) {
+            this.hex = key == OVERFLOW ? "overflow" : StackTraceFingerprint.toHex(key);
+            this.logger = logger;
+            this.exception = key == OVERFLOW ? "various" : e.getClass().getName();
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package hello.exception.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * interval 마다 토큰이 하나씩 채워지고 최대 burst 개까지 쌓이는 토큰 버킷
+ *
+ * 토큰 수 대신 "다음 토큰을 쓸 수 있는 이론적인 시각"(GCRA) 하나만 AtomicLong 으로 관리한다.
+ * -> 토큰 수, 마지막 충전 시각을 같이 바꿀 필요가 없어서 락 없이 CAS 한 번으로 처리
+ * burst 가 0 이하면 항상 false
+ */
+final class TokenBucket {
+
+    private final boolean disabled;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(Duration interval, int burst) {
+        this.disabled = burst <= 0;
+        this.intervalNanos = interval.toNanos();
+        this.burstNanos = intervalNanos * Math.max(burst - 1, 0);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - burstNanos - intervalNanos);
+    }
+
+    boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    boolean tryAcquire(long now) {
+        if (disabled) {
+            return false;
+        }
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long start = tat - now > 0 ? tat : now;   //nanoTime 은 overflow 가능하므로 차이로 비교
+            if (start - now > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package hello.exception.negotiation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Accept 헤더 값 -> AcceptPreferences 캐시
+ *
+ * 오류 응답 형식(HTML, JSON)을 정할 때마다 MediaType.parseMediaTypes() 로 헤더를 다시 분석하고 정렬했다.
+ * 실제 Accept 헤더 값은 브라우저, HTTP 클라이언트 종류만큼만 있으므로 값마다 한 번만 분석해서 공유한다.
+ * - UserHandlerExceptionResolver, InDispatchErrorRenderer -> get()
+ * - 스프링 MVC 의 produces 조건(ErrorPageController.errorPage500Api, BasicErrorController.errorHtml), 메시지 컨버터 선택
+ *   -> CachingHeaderContentNegotiationStrategy
+ *
+ * 요청 헤더는 클라이언트가 마음대로 보낼 수 있으므로 max-size 개가 차면 더 이상 캐시하지 않는다. (DateTimePatterns 와 같은 방식)
+ * 분석할 수 없는 헤더는 캐시하지 않는다.
+ */
+@Component
+public class AcceptHeaderCache {
+
+    private final int maxSize;
+    private final ConcurrentMap<String, AcceptPreferences> cache = new ConcurrentHashMap<>();
+
+    public AcceptHeaderCache(@Value("${error.accept-cache.max-size:256}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param accept Accept 헤더 값, 없으면(null, 빈 값) *&#47;*
+     * @throws InvalidMediaTypeException 분석할 수 없는 헤더
+     */
+    public AcceptPreferences parse(String accept) {
+        if (accept == null || accept.isEmpty()) {
+            return AcceptPreferences.ANY;
+        }
+        AcceptPreferences preferences = cache.get(accept);
+        if (preferences != null) {
+            return preferences;
+        }
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        preferences = mediaTypes.isEmpty() ? AcceptPreferences.ANY : new AcceptPreferences(mediaTypes);
+        if (cache.size() < maxSize) {
+            AcceptPreferences existing = cache.putIfAbsent(accept, preferences);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return preferences;
+    }
+
+    /**
+     * 오류 응답용, 분석할 수 없는 헤더는 *&#47;* 로 처리 (오류를 처리하다가 다시 예외를 던지지 않도록)
+     */
+    public AcceptPreferences get(String accept) {
+        try {
+            return parse(accept);
+        } catch (InvalidMediaTypeException e) {
+            return AcceptPreferences.ANY;
+        }
+    }
+
+    int size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,63 @@
+package hello.exception.negotiation;
+
+import org.springframework.http.MediaType;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Accept 헤더 하나를 분석한 결과 (AcceptHeaderCache 에 보관)
+ *
+ * 미디어 타입 목록은 HeaderContentNegotiationStrategy 와 같이 구체적인 타입, q 값 순서로 정렬해 둔다.
+ * 오류 응답에서 자주 묻는 "HTML 을 원하는가" 는 만들 때 한 번 계산
+ */
+public final class AcceptPreferences {
+
+    static final AcceptPreferences ANY = new AcceptPreferences(Collections.singletonList(MediaType.ALL));
+
+    private final List<MediaType> mediaTypes;
+    private final boolean prefersHtml;
+
+    AcceptPreferences(List<MediaType> sortedMediaTypes) {
+        this.mediaTypes = Collections.unmodifiableList(sortedMediaTypes);
+        MediaType first = sortedMediaTypes.get(0);
+        this.prefersHtml = !first.isWildcardType() && first.isCompatibleWith(MediaType.TEXT_HTML);
+    }
+
+    /**
+     * 정렬된 목록, 수정할 수 없다.
+     */
+    public List<MediaType> getMediaTypes() {
+        return mediaTypes;
+    }
+
+    /**
+     * 가장 우선하는 타입이 text/html 인지 (BasicErrorController.errorHtml 이 선택되는 조건과 같다)
+     * 브라우저(text/html,application/xhtml+xml,...,*&#47;*;q=0.8) -> true, *&#47;*, application/json -> false
+     */
+    public boolean prefersHtml() {
+        return prefersHtml;
+    }
+
+    /**
+     * 서버가 만들 수 있는 타입(producible) 중 클라이언트가 가장 원하는 타입
+     * 선호도가 같으면(*&#47;* 등) producible 에 먼저 적은 타입
+     *
+     * @return 받을 수 있는 타입이 없으면 null
+     */
+    public MediaType negotiate(MediaType... producible) {
+        for (MediaType accepted : mediaTypes) {
+            for (MediaType candidate : producible) {
+                if (accepted.isCompatibleWith(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return mediaTypes.toString();
+    }
+}
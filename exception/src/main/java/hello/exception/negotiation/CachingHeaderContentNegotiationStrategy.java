@@ -0,0 +1,39 @@
+package hello.exception.negotiation;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationStrategy;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+
+/**
+ * HeaderContentNegotiationStrategy 와 같은 결과를 AcceptHeaderCache 로 만든다.
+ * 스프링 MVC 의 produces 조건, @ResponseBody 메시지 컨버터 선택이 같은 캐시를 사용
+ *
+ * 헤더가 여러 줄이면 HeaderContentNegotiationStrategy 처럼 합쳐서 분석
+ * 분석할 수 없는 헤더 -> HttpMediaTypeNotAcceptableException (406, 기존과 같음)
+ */
+public class CachingHeaderContentNegotiationStrategy implements ContentNegotiationStrategy {
+
+    private final AcceptHeaderCache cache;
+
+    public CachingHeaderContentNegotiationStrategy(AcceptHeaderCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public List<MediaType> resolveMediaTypes(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        String[] values = request.getHeaderValues(HttpHeaders.ACCEPT);
+        if (values == null) {
+            return MEDIA_TYPE_ALL_LIST;
+        }
+        try {
+            return cache.parse(values.length == 1 ? values[0] : String.join(",", values)).getMediaTypes();
+        } catch (InvalidMediaTypeException e) {
+            throw new HttpMediaTypeNotAcceptableException("Could not parse 'Accept' header " + List.of(values) + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package hello.exception.resolver;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 직렬화가 끝난 오류 응답 본문(UTF-8 byte[]) 캐시, 키는 (예외 타입, 메시지, content type)
+ *
+ * 오류가 몰리면 같은 예외, 같은 메시지의 응답을 계속 다시 만든다. (Map 생성 -> ObjectMapper 직렬화 -> PrintWriter 인코딩)
+ * 한 번 만든 본문을 저장해 두고 OutputStream 에 그대로 쓴다.
+ *
+ * 메시지에 요청 값이 들어가면 종류가 끝없이 늘어날 수 있으므로 LRU 로 max-size 개까지만 보관하고,
+ * MAX_BODY_BYTES 보다 큰 본문은 저장하지 않는다. max-size=0 이면 캐시하지 않는다.
+ *
+ * 반환한 byte[] 는 여러 요청이 공유하므로 수정하면 안 된다.
+ *
+ * 메트릭 (cache=errorBody): cache.gets{result=hit|miss}, cache.puts, cache.evictions, cache.size
+ */
+@Component
+public class ErrorBodyCache {
+
+    static final int MAX_BODY_BYTES = 4096;
+
+    private final int maxSize;
+    private final Map<Key, byte[]> bodies;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ErrorBodyCache(MeterRegistry registry, @Value("${error.body-cache.max-size:256}") int maxSize) {
+        this.maxSize = maxSize;
+        this.bodies = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, byte[]> eldest) {
+                if (size() > ErrorBodyCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        });
+        new Metrics(this).bindTo(registry);
+    }
+
+    /**
+     * 캐시에 없으면 encoder 로 만들어서 저장
+     */
+    public byte[] get(Class<?> exceptionType, String message, String contentType, Encoder encoder) throws IOException {
+        if (maxSize <= 0) {
+            misses.increment();
+            return encoder.encode();
+        }
+        Key key = new Key(exceptionType, message, contentType);
+        byte[] body = bodies.get(key);
+        if (body != null) {
+            hits.increment();
+            return body;
+        }
+        misses.increment();
+        body = encoder.encode();
+        if (body.length <= MAX_BODY_BYTES) {
+            bodies.put(key, body);
+            puts.increment();
+        }
+        return body;
+    }
+
+    public int size() {
+        return bodies.size();
+    }
+
+    @FunctionalInterface
+    public interface Encoder {
+        byte[] encode() throws IOException;
+    }
+
+    private static final class Key {
+
+        private final Class<?> exceptionType;
+        private final String message;
+        private final String contentType;
+        private final int hash;
+
+        private Key(Class<?> exceptionType, String message, String contentType) {
+            this.exceptionType = exceptionType;
+            this.message = message;
+            this.contentType = contentType;
+            this.hash = Objects.hash(exceptionType, message, contentType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return exceptionType == key.exceptionType && Objects.equals(message, key.message)
+                    && Objects.equals(contentType, key.contentType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Metrics extends CacheMeterBinder {
+
+        private final ErrorBodyCache cache;
+
+        private Metrics(ErrorBodyCache cache) {
+            super(cache, "errorBody", Tags.empty());
+            this.cache = cache;
+        }
+
+        @Override
+        protected Long size() {
+            return (long) cache.size();
+        }
+
+        @Override
+        protected long hitCount() {
+            return cache.hits.sum();
+        }
+
+        @Override
+        protected Long missCount() {
+            return cache.misses.sum();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            return cache.evictions.sum();
+        }
+
+        @Override
+        protected long putCount() {
+            return cache.puts.sum();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        }
+    }
+}
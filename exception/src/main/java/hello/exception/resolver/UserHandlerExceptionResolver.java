@@ -2,7 +2,11 @@ package hello.exception.resolver;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hello.exception.exception.UserException;
+import hello.exception.negotiation.AcceptHeaderCache;
+import hello.exception.negotiation.AcceptPreferences;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.springframework.web.servlet.ModelAndView;
 
@@ -23,11 +27,17 @@ import java.util.Map;
  * ExceptionResolver 를 사용하면 컨트롤러에서 예외가 발생해도 ExceptionResolver 에서 예외를 처리
  * 따라서 예외가 발생해도 서블릿 컨테이너까지 예외가 전달되지 않고, 스프링 MVC에서 예외 처리는 끝이남
  * 결과적으로 WAS 입장에서는 정상 처리가 된 것이다. 이렇게 예외를 이곳에서 모두 처리할 수 있다는 것이 핵심
+ *
+ * JSON 본문은 ErrorBodyCache 에 UTF-8 byte[] 로 저장해 두고 OutputStream 에 바로 쓴다.
+ * Accept 헤더 분석 결과는 AcceptHeaderCache 에서 재사용 (헤더가 없거나 *&#47;* 이면 기존처럼 HTML)
  */
 @Slf4j
+@RequiredArgsConstructor
 public class UserHandlerExceptionResolver implements HandlerExceptionResolver {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ErrorBodyCache errorBodyCache;
+    private final AcceptHeaderCache acceptHeaderCache;
 
     @Override
     public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response,
@@ -36,18 +46,22 @@ public class UserHandlerExceptionResolver implements HandlerExceptionResolver {
         try {
             if(ex instanceof UserException) {
                 log.info("UserException resolver to 400");
-                String acceptHeader = request.getHeader("accept");
+                //Accept 가 정확히 application/json 일 때만이 아니라 HTML 보다 JSON 을 원하면 JSON (application/json, text/plain, */* 등)
+                AcceptPreferences accept = acceptHeaderCache.get(request.getHeader("accept"));
                 response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
 
-                if ("application/json".equals(acceptHeader)) {  //api
-                    Map<String, Object> errorResult = new HashMap<>();
-                    errorResult.put("ex", ex.getClass());
-                    errorResult.put("message", ex.getMessage());
-
-                    String result = objectMapper.writeValueAsString(errorResult);
+                if (accept.negotiate(MediaType.TEXT_HTML, MediaType.APPLICATION_JSON) == MediaType.APPLICATION_JSON) {  //api
+                    //같은 예외, 메시지면 직렬화해 둔 본문을 그대로 쓴다.
+                    byte[] result = errorBodyCache.get(ex.getClass(), ex.getMessage(), "application/json", () -> {
+                        Map<String, Object> errorResult = new HashMap<>();
+                        errorResult.put("ex", ex.getClass());
+                        errorResult.put("message", ex.getMessage());
+                        return objectMapper.writeValueAsBytes(errorResult);
+                    });
                     response.setContentType("application/json");
                     response.setCharacterEncoding("utf-8");
-                    response.getWriter().write(result);
+                    response.setContentLength(result.length);
+                    response.getOutputStream().write(result);
 
                     return new ModelAndView();  // 빈 ModelAndView 를 반환하면 뷰를 렌더링 하지 않고, 정상 흐름으로 리턴
                 } else {    // TEXT/HTML
@@ -0,0 +1,31 @@
+package hello.exception.telemetry;
+
+/**
+ * 같은 원인의 오류를 묶는 키
+ * 예외 클래스 @ 던진 위치(스택 첫 프레임, 스택 트레이스가 없으면 요청 핸들러) -> 상태 코드
+ *
+ * hello.exception.exception.InvalidArgumentException @ ApiExceptionV2Controller#getMember -> 400
+ * java.lang.RuntimeException @ hello.exception.api.ApiExceptionController.getMember:23 -> 500
+ * none @ unmapped -> 404
+ *
+ * 메시지는 요청 값이 들어갈 수 있어서 포함하지 않는다.
+ */
+final class ErrorFingerprint {
+
+    private ErrorFingerprint() {
+    }
+
+    static String of(Throwable error, String handler, int status) {
+        StringBuilder fingerprint = new StringBuilder(128);
+        fingerprint.append(error == null ? ErrorTelemetry.NONE : error.getClass().getName()).append(" @ ");
+        StackTraceElement[] stackTrace = error == null ? null : error.getStackTrace();
+        if (stackTrace != null && stackTrace.length > 0) {
+            StackTraceElement frame = stackTrace[0];
+            fingerprint.append(frame.getClassName()).append('.').append(frame.getMethodName())
+                    .append(':').append(frame.getLineNumber());
+        } else {
+            fingerprint.append(handler);
+        }
+        return fingerprint.append(" -> ").append(status).toString();
+    }
+}
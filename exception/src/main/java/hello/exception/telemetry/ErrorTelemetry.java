@@ -0,0 +1,216 @@
+package hello.exception.telemetry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 오류 응답 통계 (ErrorTelemetryFilter 가 요청이 끝날 때 기록)
+ *
+ * - 예외 클래스별 발생 횟수
+ * - 요청 핸들러(컨트롤러 메서드)별 요청 수, 오류 수, 오류 비율
+ * - 오류를 처리한 곳(resolution)별 오류 경로 전체 시간, WAS 재요청(/error, /error-page/**) 포함
+ * - 최근 구간(window 두 개)에서 많이 발생한 오류 fingerprint 상위 N 개 (Space-Saving)
+ *
+ * 요청 스레드에서는 LongAdder, ConcurrentHashMap, Micrometer Timer 만 사용하고 락을 잡지 않는다.
+ *
+ * Micrometer
+ * error.requests{exception, resolution, status} -> 오류 횟수
+ * error.path{resolution, redispatch}            -> 오류 경로 시간 (히스토그램)
+ * error.handler.ratio{handler}                  -> 핸들러별 오류 비율 (누적)
+ * 엔드포인트: /actuator/errors (ErrorTelemetryEndpoint)
+ */
+@Component
+public class ErrorTelemetry {
+
+    static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    private final int topN;
+    private final int fingerprintCapacity;
+    private final long windowNanos;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> exceptions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, HandlerStats> handlers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> pathTimers = new ConcurrentHashMap<>();
+    private final AtomicReference<Window> window;
+    private volatile Window previousWindow;
+
+    public ErrorTelemetry(MeterRegistry registry,
+                          @Value("${error.telemetry.top-n:10}") int topN,
+                          @Value("${error.telemetry.fingerprint-capacity:64}") int fingerprintCapacity,
+                          @Value("${error.telemetry.window:1m}") Duration window) {
+        this.registry = registry;
+        this.topN = topN;
+        this.fingerprintCapacity = fingerprintCapacity;
+        this.windowNanos = window.toNanos();
+        this.window = new AtomicReference<>(new Window(System.nanoTime(), fingerprintCapacity));
+    }
+
+    /**
+     * 오류 여부와 관계없이 요청마다 호출, 핸들러별 오류 비율의 분모
+     */
+    public void recordRequest(String handler) {
+        requests.increment();
+        handlerStats(handler).requests.increment();
+    }
+
+    /**
+     * @param exception   예외 클래스 이름, 없으면(sendError 만 호출) "none"
+     * @param handler     요청을 처리한 핸들러 (ApiExceptionV2Controller#getMember)
+     * @param resolution  오류를 처리한 곳 (ExceptionHandler, UserHandlerExceptionResolver, ErrorPageController ...)
+     * @param fingerprint 같은 원인의 오류를 묶는 키
+     */
+    public void recordError(String exception, String handler, String resolution, int status,
+                            boolean redispatch, long elapsedNanos, String fingerprint) {
+        errors.increment();
+        exceptions.computeIfAbsent(exception, k -> new LongAdder()).increment();
+        handlerStats(handler).errors.increment();
+
+        errorCounter(exception, resolution, status).increment();
+        pathTimer(resolution, redispatch).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        currentWindow().topN.add(fingerprint);
+    }
+
+    private HandlerStats handlerStats(String handler) {
+        HandlerStats stats = handlers.get(handler);
+        if (stats == null) {
+            stats = handlers.computeIfAbsent(handler, k -> new HandlerStats());
+            Gauge.builder("error.handler.ratio", stats, HandlerStats::ratio)
+                    .tag("handler", handler)
+                    .register(registry);
+        }
+        return stats;
+    }
+
+    /**
+     * 오류마다 Counter.builder().register() 를 호출하면 태그 정렬, Meter.Id 생성, 레지스트리 조회가 매번 일어나므로
+     * (exception, resolution, status) 별로 한 번만 등록해서 재사용
+     */
+    private Counter errorCounter(String exception, String resolution, int status) {
+        String key = exception + "|" + resolution + "|" + status;
+        Counter counter = errorCounters.get(key);
+        if (counter == null) {
+            counter = errorCounters.computeIfAbsent(key, k -> Counter.builder("error.requests")
+                    .tag("exception", exception)
+                    .tag("resolution", resolution)
+                    .tag("status", String.valueOf(status))
+                    .register(registry));
+        }
+        return counter;
+    }
+
+    private Timer pathTimer(String resolution, boolean redispatch) {
+        String key = resolution + (redispatch ? "|redispatch" : "");
+        Timer timer = pathTimers.get(key);
+        if (timer == null) {
+            timer = pathTimers.computeIfAbsent(key, k -> Timer.builder("error.path")
+                    .description("오류가 발생한 요청의 전체 처리 시간 (WAS 재요청 포함)")
+                    .tag("resolution", resolution)
+                    .tag("redispatch", String.valueOf(redispatch))
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        return timer;
+    }
+
+    /**
+     * window 가 지나면 새 구간으로 교체, 직전 구간은 previousWindow 로 남겨서 상위 N 개를 합산할 때 사용
+     */
+    private Window currentWindow() {
+        Window current = window.get();
+        long now = System.nanoTime();
+        if (now - current.startNanos >= windowNanos) {
+            Window next = new Window(now, fingerprintCapacity);
+            if (window.compareAndSet(current, next)) {
+                previousWindow = current;
+                return next;
+            }
+            return window.get();
+        }
+        return current;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("requests", requests.sum());
+        snapshot.put("errors", errors.sum());
+
+        Map<String, Long> byException = new TreeMap<>();
+        exceptions.forEach((exception, count) -> byException.put(exception, count.sum()));
+        snapshot.put("exceptions", byException);
+
+        Map<String, Object> byHandler = new TreeMap<>();
+        handlers.forEach((handler, stats) -> {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("requests", stats.requests.sum());
+            value.put("errors", stats.errors.sum());
+            value.put("ratio", stats.ratio());
+            byHandler.put(handler, value);
+        });
+        snapshot.put("handlers", byHandler);
+
+        Map<String, Object> latency = new TreeMap<>();
+        pathTimers.forEach((key, timer) -> {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("count", timer.count());
+            value.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+            value.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                value.put("p" + Math.round(percentile.percentile() * 100) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+            }
+            latency.put(key, value);
+        });
+        snapshot.put("latency", latency);
+
+        snapshot.put("topFingerprints", SpaceSavingTopN.top(topN, previousWindow == null ? null : previousWindow.topN,
+                window.get().topN).stream().map(entry -> {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("fingerprint", entry.getKey());
+            value.put("count", entry.getCount());
+            value.put("error", entry.getError());
+            return value;
+        }).toArray());
+        return snapshot;
+    }
+
+    private static final class HandlerStats {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private double ratio() {
+            long total = requests.sum();
+            return total == 0 ? 0 : (double) errors.sum() / total;
+        }
+    }
+
+    private static final class Window {
+
+        private final long startNanos;
+        private final SpaceSavingTopN topN;
+
+        private Window(long startNanos, int capacity) {
+            this.startNanos = startNanos;
+            this.topN = new SpaceSavingTopN(capacity);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package hello.exception.telemetry;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET /actuator/errors
+ * 예외별 횟수, 핸들러별 오류 비율, 오류 경로 시간, 최근 많이 발생한 오류 fingerprint
+ */
+@Component
+@Endpoint(id = "errors")
+@RequiredArgsConstructor
+public class ErrorTelemetryEndpoint {
+
+    private final ErrorTelemetry telemetry;
+
+    @ReadOperation
+    public Map<String, Object> errors() {
+        return telemetry.snapshot();
+    }
+}
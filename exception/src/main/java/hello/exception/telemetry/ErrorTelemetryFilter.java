@@ -0,0 +1,134 @@
+package hello.exception.telemetry;
+
+import hello.exception.dispatch.DispatchScope;
+import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+
+/**
+ * 요청이 끝날 때 ErrorTelemetry 에 기록 (REQUEST, ERROR 에 모두 등록)
+ *
+ * 오류 응답이 원래 요청 안에서 끝나면(ExceptionResolver, @ExceptionHandler, InDispatchErrorFilter) REQUEST 가 끝날 때 기록
+ * 예외가 서블릿 밖으로 나가거나 sendError 가 WAS 까지 전달되면 WAS 가 오류 페이지를 다시 요청하므로
+ * 그 ERROR 요청이 끝날 때 기록한다. -> 시간은 원래 요청 시작부터 오류 페이지 출력까지
+ *
+ * 오류를 처리한 곳(resolution)
+ * - WAS 재요청: 오류 페이지 컨트롤러 (BasicErrorController, ErrorPageController)
+ * - 그 외: RESOLVED_BY attribute (TrackingHandlerExceptionResolver, InDispatchErrorRenderer 가 기록)
+ */
+@DispatchScope(dispatcherTypes = {DispatcherType.REQUEST, DispatcherType.ERROR})
+public class ErrorTelemetryFilter implements Filter {
+
+    public static final String RESOLVED_BY = ErrorTelemetryFilter.class.getName() + ".RESOLVED_BY";
+    private static final String START = ErrorTelemetryFilter.class.getName() + ".START";
+    private static final String HANDLER = ErrorTelemetryFilter.class.getName() + ".HANDLER";
+
+    private final ErrorTelemetry telemetry;
+    private final ErrorAttributes errorAttributes;
+
+    public ErrorTelemetryFilter(ErrorTelemetry telemetry, ErrorAttributes errorAttributes) {
+        this.telemetry = telemetry;
+        this.errorAttributes = errorAttributes;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+        if (request.getDispatcherType() == DispatcherType.ERROR) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                if (request.getAttribute(START) != null) {
+                    record(request, response.getStatus(), true, handlerName(request, false));
+                }
+            }
+            return;
+        }
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        SendErrorTrackingResponse trackingResponse = new SendErrorTrackingResponse(response);
+        boolean thrown = true;
+        try {
+            chain.doFilter(request, trackingResponse);
+            thrown = false;
+        } finally {
+            String handler = handlerName(request, true);
+            telemetry.recordRequest(handler);
+            if (thrown || trackingResponse.sendError) {
+                //WAS 가 오류 페이지를 다시 요청 -> ERROR 가 끝날 때 기록
+                request.setAttribute(START, start);
+                request.setAttribute(HANDLER, handler);
+            } else if (response.getStatus() >= 400 || errorAttributes.getError(new ServletWebRequest(request)) != null) {
+                request.setAttribute(START, start);
+                request.setAttribute(HANDLER, handler);
+                Object resolvedBy = request.getAttribute(RESOLVED_BY);
+                record(request, response.getStatus(), false, resolvedBy == null ? ErrorTelemetry.NONE : resolvedBy.toString());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, boolean redispatch, String resolution) {
+        long elapsed = System.nanoTime() - (Long) request.getAttribute(START);
+        String handler = (String) request.getAttribute(HANDLER);
+        Throwable error = errorAttributes.getError(new ServletWebRequest(request));
+        String exception = error == null ? ErrorTelemetry.NONE : error.getClass().getName();
+        telemetry.recordError(exception, handler, resolution, status, redispatch, elapsed,
+                ErrorFingerprint.of(error, handler, status));
+    }
+
+    /**
+     * @param withMethod true 면 컨트롤러 메서드까지(ApiExceptionV2Controller#getMember), false 면 컨트롤러 이름만
+     */
+    private static String handlerName(HttpServletRequest request, boolean withMethod) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            String type = handlerMethod.getBeanType().getSimpleName();
+            return withMethod ? type + "#" + handlerMethod.getMethod().getName() : type;
+        }
+        return handler == null ? "unmapped" : handler.getClass().getSimpleName();
+    }
+
+    /**
+     * sendError 가 WAS 까지 전달되었는지 확인 (기록만 하고 그대로 전달)
+     */
+    private static final class SendErrorTrackingResponse extends HttpServletResponseWrapper {
+
+        private boolean sendError;
+
+        private SendErrorTrackingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            sendError = true;
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            sendError = true;
+            super.sendError(sc, msg);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package hello.exception.telemetry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Space-Saving 알고리즘으로 자주 나오는 키 상위 N 개를 근사
+ *
+ * 카운터를 capacity 개까지만 유지한다. 새 키가 왔는데 가득 차 있으면 가장 작은 카운터를 제거하고
+ * 그 값(min)에서 이어서 센다. -> count 는 실제보다 최대 error(=min) 만큼 클 수 있다.
+ * 자주 나오는 키는 항상 남고, 드물게 나오는 키(요청 값이 들어간 메시지 등)가 많아도 메모리는 capacity 로 고정
+ *
+ * 락 없이 ConcurrentHashMap 의 조건부 remove 로 교체한다.
+ * 동시에 여러 키가 교체되면 잠깐 capacity 를 넘을 수 있지만 다음 교체 때 다시 줄어든다.
+ */
+class SpaceSavingTopN {
+
+    private final int capacity;
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    SpaceSavingTopN(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void add(String key) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = insert(key);
+        }
+        counter.count.increment();
+    }
+
+    private Counter insert(String key) {
+        long inherited = 0;
+        if (counters.size() >= capacity) {
+            Map.Entry<String, Counter> min = min();
+            if (min != null && counters.remove(min.getKey(), min.getValue())) {
+                inherited = min.getValue().count.sum();
+            }
+        }
+        long error = inherited;
+        return counters.computeIfAbsent(key, k -> new Counter(error));
+    }
+
+    private Map.Entry<String, Counter> min() {
+        Map.Entry<String, Counter> min = null;
+        long minCount = Long.MAX_VALUE;
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            long count = entry.getValue().count.sum();
+            if (count < minCount) {
+                min = entry;
+                minCount = count;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * 여러 구간(rolling window)을 합쳐서 상위 n 개
+     */
+    static List<Entry> top(int n, SpaceSavingTopN... windows) {
+        Map<String, long[]> merged = new HashMap<>();
+        for (SpaceSavingTopN window : windows) {
+            if (window == null) {
+                continue;
+            }
+            window.counters.forEach((key, counter) -> {
+                long[] value = merged.computeIfAbsent(key, k -> new long[2]);
+                value[0] += counter.count.sum();
+                value[1] += counter.error;
+            });
+        }
+        List<Entry> entries = new ArrayList<>();
+        merged.forEach((key, value) -> entries.add(new Entry(key, value[0], value[1])));
+        entries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+        return entries.size() > n ? new ArrayList<>(entries.subList(0, n)) : entries;
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    private static final class Counter {
+
+        private final LongAdder count = new LongAdder();
+        private final long error;
+
+        private Counter(long inherited) {
+            this.count.add(inherited);
+            this.error = inherited;
+        }
+    }
+
+    /**
+     * count 는 최대 error 만큼 과대 추정된 값
+     */
+    static final class Entry {
+
+        private final String key;
+        private final long count;
+        private final long error;
+
+        Entry(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package hello.exception.telemetry;
+
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 예외를 처리한 ExceptionResolver 를 request attribute 에 기록 -> ErrorTelemetry 의 resolution
+ * WebConfig.extendHandlerExceptionResolvers() 에서 등록된 ExceptionResolver 를 모두 감싼다.
+ *
+ * ExceptionHandlerExceptionResolver 는 @ExceptionHandler(ExControllerAdvice, 컨트롤러의 @ExceptionHandler)로 처리한 경우
+ */
+public class TrackingHandlerExceptionResolver implements HandlerExceptionResolver {
+
+    private final HandlerExceptionResolver delegate;
+    private final String name;
+
+    public TrackingHandlerExceptionResolver(HandlerExceptionResolver delegate) {
+        this.delegate = delegate;
+        this.name = delegate instanceof ExceptionHandlerExceptionResolver
+                ? "ExceptionHandler" : delegate.getClass().getSimpleName();
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response,
+                                         Object handler, Exception ex) {
+        ModelAndView modelAndView = delegate.resolveException(request, response, handler, ex);
+        if (modelAndView != null) {
+            request.setAttribute(ErrorTelemetryFilter.RESOLVED_BY, name);
+        }
+        return modelAndView;
+    }
+}
@@ -0,0 +1,58 @@
+package hello.exception.api;
+
+import hello.exception.exception.BadRequestException;
+import hello.exception.exception.InvalidArgumentException;
+import hello.exception.exception.StackTracePolicy;
+import hello.exception.exception.UserException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 스택 트레이스가 없는 예외도 ExControllerAdvice 가 기존과 같은 응답을 만드는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ApiExceptionV2ControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void stacklessTypesFromProperties() {
+        assertThat(StackTracePolicy.getStacklessTypes())
+                .containsExactly(UserException.class, BadRequestException.class, InvalidArgumentException.class);
+    }
+
+    @Test
+    void bad() throws Exception {
+        mockMvc.perform(get("/api2/members/bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("BAD"))
+                .andExpect(jsonPath("$.message").value("잘못된 입력 값"));
+    }
+
+    @Test
+    void userEx() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api2/members/user-ex"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("USER-EX"))
+                    .andExpect(jsonPath("$.message").value("사용자 오류"));
+        }
+    }
+
+    @Test
+    void ex() throws Exception {
+        mockMvc.perform(get("/api2/members/ex"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.code").value("EX"));
+    }
+}
@@ -0,0 +1,115 @@
+package hello.exception.circuit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 계속 실패하는 하위 서비스(FlakyDownstream) 호출 -> 서킷이 열리면 컨트롤러를 호출하지 않고 fallback
+ * 하위 서비스가 회복되면 HALF_OPEN 시험 요청 후 다시 닫힌다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CircuitBreakerIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    FlakyDownstream downstream;
+
+    @Test
+    void flakyDownstream() throws Exception {
+        downstream.failing.set(true);
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(get("/flaky")).andExpect(status().isInternalServerError())
+                    .andExpect(jsonPath("$.code").value("EX"));    //ExControllerAdvice
+        }
+        assertThat(downstream.calls.get()).isEqualTo(4);
+
+        //OPEN -> 하위 서비스를 호출하지 않고 바로 fallback
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/flaky")).andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.code").value("FLAKY-DOWN"))
+                    .andExpect(jsonPath("$.message").value("flaky fallback"));
+        }
+        assertThat(downstream.calls.get()).isEqualTo(4);
+
+        //openDuration 후 회복 -> HALF_OPEN 시험 요청 2개 성공 -> CLOSED
+        downstream.failing.set(false);
+        Thread.sleep(250);
+        mockMvc.perform(get("/flaky")).andExpect(status().isOk());
+        mockMvc.perform(get("/flaky")).andExpect(status().isOk());
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/flaky")).andExpect(status().isOk());
+        }
+        assertThat(downstream.calls.get()).isEqualTo(11);
+    }
+
+    @Test
+    void ignoredExceptionsDoNotOpen() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(get("/api2/members/bad")).andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(get("/api2/members/spring")).andExpect(status().isOk());
+    }
+
+    static class FlakyDownstream {
+
+        final AtomicBoolean failing = new AtomicBoolean();
+        final AtomicInteger calls = new AtomicInteger();
+
+        String call() {
+            calls.incrementAndGet();
+            if (failing.get()) {
+                throw new IllegalStateException("downstream timeout");
+            }
+            return "ok";
+        }
+    }
+
+    @RestController
+    static class FlakyController {
+
+        final FlakyDownstream downstream;
+
+        FlakyController(FlakyDownstream downstream) {
+            this.downstream = downstream;
+        }
+
+        @CircuitBreaker(name = "flaky", minimumCalls = 4, openDurationMillis = 200, halfOpenCalls = 2,
+                fallbackCode = "FLAKY-DOWN", fallbackMessage = "flaky fallback")
+        @GetMapping("/flaky")
+        public String flaky() {
+            return downstream.call();
+        }
+    }
+
+    @TestConfiguration
+    static class FlakyConfig {
+
+        @Bean
+        FlakyDownstream flakyDownstream() {
+            return new FlakyDownstream();
+        }
+
+        @Bean
+        FlakyController flakyController(FlakyDownstream downstream) {
+            return new FlakyController(downstream);
+        }
+    }
+}
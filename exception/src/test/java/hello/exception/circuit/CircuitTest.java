@@ -0,0 +1,163 @@
+package hello.exception.circuit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitTest {
+
+    static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @CircuitBreaker(name = "test", minimumCalls = 4, failureRateThreshold = 50, windowMillis = 1000, windowBuckets = 10,
+            openDurationMillis = 500, halfOpenCalls = 2)
+    void guarded() {
+    }
+
+    Circuit circuit() throws NoSuchMethodException {
+        return new Circuit(CircuitTest.class.getDeclaredMethod("guarded").getAnnotation(CircuitBreaker.class));
+    }
+
+    @Test
+    void opensAtFailureRate() throws Exception {
+        Circuit circuit = circuit();
+        long now = System.nanoTime();
+
+        success(circuit, now);
+        failure(circuit, now);
+        success(circuit, now);
+        assertThat(circuit.getState()).isEqualTo(Circuit.CLOSED);   //minimumCalls 전
+
+        failure(circuit, now);      //2/4 = 50%
+        assertThat(circuit.getState()).isEqualTo(Circuit.OPEN);
+        assertThat(circuit.tryAcquire(now + 100 * MS)).isNull();
+    }
+
+    @Test
+    void halfOpenThenClose() throws Exception {
+        Circuit circuit = open();
+        long now = System.nanoTime();
+
+        Circuit.Generation probe1 = circuit.tryAcquire(now + 600 * MS);
+        assertThat(probe1).isNotNull();
+        assertThat(circuit.getState()).isEqualTo(Circuit.HALF_OPEN);
+        Circuit.Generation probe2 = circuit.tryAcquire(now + 600 * MS);
+        assertThat(probe2).isSameAs(probe1);
+        assertThat(circuit.tryAcquire(now + 600 * MS)).isNull();  //halfOpenCalls = 2
+
+        circuit.onSuccess(probe1, now + 610 * MS);
+        circuit.onSuccess(probe2, now + 610 * MS);
+        assertThat(circuit.getState()).isEqualTo(Circuit.CLOSED);
+
+        failure(circuit, now + 620 * MS);   //닫힐 때 window 를 비웠으므로 다시 열리지 않는다.
+        assertThat(circuit.getState()).isEqualTo(Circuit.CLOSED);
+    }
+
+    @Test
+    void halfOpenFailureReopens() throws Exception {
+        Circuit circuit = open();
+        long now = System.nanoTime();
+
+        circuit.onFailure(circuit.tryAcquire(now + 600 * MS), now + 610 * MS);
+
+        assertThat(circuit.getState()).isEqualTo(Circuit.OPEN);
+        assertThat(circuit.tryAcquire(now + 700 * MS)).isNull();
+        assertThat(circuit.tryAcquire(now + 1200 * MS)).isNotNull();
+    }
+
+    @Test
+    void oldFailuresLeaveWindow() throws Exception {
+        Circuit circuit = circuit();
+        long now = System.nanoTime();
+
+        failure(circuit, now);
+        failure(circuit, now);
+        failure(circuit, now);
+        failure(circuit, now + 1500 * MS);      //1초 window 밖 -> 1/1
+
+        assertThat(circuit.getState()).isEqualTo(Circuit.CLOSED);
+    }
+
+    /**
+     * CLOSED 에서 통과한 느린 요청이 HALF_OPEN 중에 끝나도 시험 요청으로 세지 않는다.
+     */
+    @Test
+    void slowClosedCallDoesNotCountAsProbe() throws Exception {
+        Circuit circuit = circuit();
+        long now = System.nanoTime();
+        Circuit.Generation slow = circuit.tryAcquire(now);
+        for (int i = 0; i < 4; i++) {
+            failure(circuit, now);
+        }
+        assertThat(circuit.getState()).isEqualTo(Circuit.OPEN);
+
+        Circuit.Generation probe = circuit.tryAcquire(now + 600 * MS);
+        assertThat(circuit.getState()).isEqualTo(Circuit.HALF_OPEN);
+
+        circuit.onSuccess(slow, now + 610 * MS);
+        circuit.onSuccess(probe, now + 610 * MS);
+        assertThat(circuit.getState()).isEqualTo(Circuit.HALF_OPEN);   //halfOpenCalls = 2, 시험 요청 성공은 1개
+
+        circuit.onFailure(slow, now + 610 * MS);
+        assertThat(circuit.getState()).isEqualTo(Circuit.HALF_OPEN);   //이전 세대의 실패로 다시 열리지 않는다.
+    }
+
+    /**
+     * 열린 뒤에 끝난 이전 세대의 실패는 열린 시각을 늦추지 않는다.
+     */
+    @Test
+    void staleFailureDoesNotExtendOpen() throws Exception {
+        Circuit circuit = circuit();
+        long now = System.nanoTime();
+        Circuit.Generation slow = circuit.tryAcquire(now);
+        for (int i = 0; i < 4; i++) {
+            failure(circuit, now);
+        }
+
+        circuit.onFailure(slow, now + 400 * MS);
+        assertThat(circuit.tryAcquire(now + 510 * MS)).isNotNull();    //openDuration 500ms
+        assertThat(circuit.getState()).isEqualTo(Circuit.HALF_OPEN);
+    }
+
+    /**
+     * 다시 닫힌 뒤에 끝난 이전 CLOSED 세대의 결과는 window 에 기록하지 않는다.
+     */
+    @Test
+    void resultFromEarlierClosedGenerationIgnored() throws Exception {
+        Circuit circuit = circuit();
+        long now = System.nanoTime();
+        Circuit.Generation slow = circuit.tryAcquire(now);
+        for (int i = 0; i < 4; i++) {
+            failure(circuit, now);
+        }
+        success(circuit, now + 600 * MS);
+        success(circuit, now + 600 * MS);
+        assertThat(circuit.getState()).isEqualTo(Circuit.CLOSED);
+
+        failure(circuit, now + 700 * MS);
+        failure(circuit, now + 700 * MS);
+        success(circuit, now + 700 * MS);
+        circuit.onFailure(slow, now + 700 * MS);   //세면 3/4 -> OPEN
+        success(circuit, now + 700 * MS);
+        assertThat(circuit.getState()).isEqualTo(Circuit.CLOSED);
+    }
+
+    static void success(Circuit circuit, long now) {
+        circuit.onSuccess(circuit.tryAcquire(now), now);
+    }
+
+    static void failure(Circuit circuit, long now) {
+        circuit.onFailure(circuit.tryAcquire(now), now);
+    }
+
+    Circuit open() throws Exception {
+        Circuit circuit = circuit();
+        long now = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            failure(circuit, now);
+        }
+        assertThat(circuit.getState()).isEqualTo(Circuit.OPEN);
+        return circuit;
+    }
+}
@@ -0,0 +1,230 @@
+package hello.exception.dispatch;
+
+import hello.exception.dispatch.DispatchScope.Phase;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DispatchAwareInterceptorChainTest {
+
+    List<String> calls = new ArrayList<>();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void sameOrderAsHandlerExecutionChain() throws Exception {
+        DispatchAwareInterceptorChain chain = new DispatchAwareInterceptorChain();
+        chain.addInterceptor(new Any("a"));
+        chain.addInterceptor(new Any("b"));
+
+        MockHttpServletRequest request = request(DispatcherType.REQUEST, "/hello");
+        assertThat(chain.preHandle(request, response, null)).isTrue();
+        chain.postHandle(request, response, null, null);
+        chain.afterCompletion(request, response, null, null);
+
+        assertThat(calls).containsExactly("a.pre", "b.pre", "b.post", "a.post", "b.after", "a.after");
+    }
+
+    @Test
+    void dispatchScope() throws Exception {
+        DispatchAwareInterceptorChain chain = new DispatchAwareInterceptorChain();
+        chain.addInterceptor(new RequestOnly("request"));
+        chain.addInterceptor(new Any("any"));
+
+        run(chain, request(DispatcherType.ERROR, "/error-page/500"));
+
+        assertThat(calls).containsExactly("any.pre", "any.post", "any.after");
+    }
+
+    @Test
+    void pathPatterns() throws Exception {
+        DispatchAwareInterceptorChain chain = new DispatchAwareInterceptorChain();
+        chain.addInterceptor(new Any("log"))
+                .addPathPatterns("/**")
+                .excludePathPatterns("/css/**", "/error", "/error-page/**");
+
+        run(chain, request(DispatcherType.REQUEST, "/error-page/404"));
+        run(chain, request(DispatcherType.REQUEST, "/css/site.css"));
+        assertThat(calls).isEmpty();
+
+        run(chain, request(DispatcherType.REQUEST, "/api/members/spring"));
+        assertThat(calls).containsExactly("log.pre", "log.post", "log.after");
+    }
+
+    @Test
+    void phases() throws Exception {
+        DispatchAwareInterceptorChain chain = new DispatchAwareInterceptorChain();
+        chain.addInterceptor(new AfterCompletionOnly("after"));
+
+        run(chain, request(DispatcherType.REQUEST, "/hello"));
+
+        assertThat(calls).containsExactly("after.after");
+    }
+
+    @Test
+    void preHandleFalse() throws Exception {
+        DispatchAwareInterceptorChain chain = new DispatchAwareInterceptorChain();
+        chain.addInterceptor(new Any("a"));
+        chain.addInterceptor(new Any("b") {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                super.preHandle(request, response, handler);
+                return false;
+            }
+        });
+        chain.addInterceptor(new Any("c"));
+
+        assertThat(chain.preHandle(request(DispatcherType.REQUEST, "/hello"), response, null)).isFalse();
+        assertThat(calls).containsExactly("a.pre", "b.pre", "a.after");
+    }
+
+    @Test
+    void preHandleThrows() throws Exception {
+        IllegalStateException thrown = new IllegalStateException("preHandle 실패");
+        List<Exception> afterCompletionExceptions = new ArrayList<>();
+        DispatchAwareInterceptorChain chain = new DispatchAwareInterceptorChain();
+        chain.addInterceptor(new Any("a") {
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                super.afterCompletion(request, response, handler, ex);
+                afterCompletionExceptions.add(ex);
+            }
+        });
+        chain.addInterceptor(new Any("b") {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                super.preHandle(request, response, handler);
+                throw thrown;
+            }
+        });
+        chain.addInterceptor(new Any("c"));
+
+        assertThatThrownBy(() -> chain.preHandle(request(DispatcherType.REQUEST, "/hello"), response, null)).isSameAs(thrown);
+        assertThat(calls).containsExactly("a.pre", "b.pre", "a.after");
+        assertThat(afterCompletionExceptions).containsExactly(thrown);
+    }
+
+    /**
+     * 경로 변수 값마다 캐시하지 않고 매핑 패턴 하나로 캐시
+     */
+    @Test
+    void cacheByBestMatchingPattern() throws Exception {
+        DispatchAwareInterceptorChain chain = new DispatchAwareInterceptorChain();
+        chain.addInterceptor(new Any("log"))
+                .addPathPatterns("/**")
+                .excludePathPatterns("/css/**", "/error", "/error-page/**");
+
+        for (int i = 0; i < DispatchAwareInterceptorChain.MAX_PATHS + 10; i++) {
+            run(chain, request(DispatcherType.REQUEST, "/api/members/" + i, "/api/members/{id}"));
+        }
+        assertThat(calls).hasSize(3 * (DispatchAwareInterceptorChain.MAX_PATHS + 10));
+        assertThat(chain.patternSize(DispatcherType.REQUEST)).isEqualTo(1);
+        assertThat(chain.size(DispatcherType.REQUEST)).isZero();
+    }
+
+    /**
+     * 인터셉터 패턴이 경로 변수 값에 따라 달라지면 패턴으로 캐시하지 않는다.
+     */
+    @Test
+    void pathDependentPatternFallsBackToPath() throws Exception {
+        DispatchAwareInterceptorChain chain = new DispatchAwareInterceptorChain();
+        chain.addInterceptor(new Any("log"))
+                .addPathPatterns("/**")
+                .excludePathPatterns("/api/members/admin");
+
+        run(chain, request(DispatcherType.REQUEST, "/api/members/spring", "/api/members/{id}"));
+        assertThat(calls).containsExactly("log.pre", "log.post", "log.after");
+
+        calls.clear();
+        run(chain, request(DispatcherType.REQUEST, "/api/members/admin", "/api/members/{id}"));
+        assertThat(calls).isEmpty();
+        assertThat(chain.size(DispatcherType.REQUEST)).isEqualTo(2);
+    }
+
+    @Test
+    void cacheIsBounded() {
+        DispatchAwareInterceptorChain chain = new DispatchAwareInterceptorChain();
+        chain.addInterceptor(new Any("a"));
+
+        for (int i = 0; i < DispatchAwareInterceptorChain.MAX_PATHS + 10; i++) {
+            assertThat(chain.chain(DispatcherType.REQUEST, "/api/members/" + i)).hasSize(1);
+        }
+        assertThat(chain.size(DispatcherType.REQUEST)).isEqualTo(DispatchAwareInterceptorChain.MAX_PATHS);
+    }
+
+    void run(DispatchAwareInterceptorChain chain, MockHttpServletRequest request) throws Exception {
+        if (chain.preHandle(request, response, null)) {
+            chain.postHandle(request, response, null, null);
+            chain.afterCompletion(request, response, null, null);
+        }
+    }
+
+    static MockHttpServletRequest request(DispatcherType type, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setDispatcherType(type);
+        UrlPathHelper.defaultInstance.resolveAndCacheLookupPath(request);
+        return request;
+    }
+
+    /**
+     * 핸들러 매핑이 @RequestMapping 패턴을 찾은 요청
+     */
+    static MockHttpServletRequest request(DispatcherType type, String uri, String bestMatchingPattern) {
+        MockHttpServletRequest request = request(type, uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, bestMatchingPattern);
+        return request;
+    }
+
+    class Any implements HandlerInterceptor {
+
+        final String name;
+
+        Any(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            calls.add(name + ".pre");
+            return true;
+        }
+
+        @Override
+        public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+            calls.add(name + ".post");
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+            calls.add(name + ".after");
+        }
+    }
+
+    @DispatchScope(dispatcherTypes = DispatcherType.REQUEST)
+    class RequestOnly extends Any {
+
+        RequestOnly(String name) {
+            super(name);
+        }
+    }
+
+    @DispatchScope(dispatcherTypes = DispatcherType.REQUEST, phases = Phase.AFTER_COMPLETION)
+    class AfterCompletionOnly extends Any {
+
+        AfterCompletionOnly(String name) {
+            super(name);
+        }
+    }
+}
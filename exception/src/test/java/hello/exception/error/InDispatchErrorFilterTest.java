@@ -0,0 +1,186 @@
+package hello.exception.error;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.exception.negotiation.AcceptHeaderCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ErrorProperties;
+import org.springframework.boot.autoconfigure.web.servlet.error.BasicErrorController;
+import org.springframework.boot.web.server.ErrorPage;
+import org.springframework.boot.web.servlet.error.DefaultErrorAttributes;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.NestedServletException;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JSON 오류 응답이 WAS 재요청 -> BasicErrorController 와 같은지 확인
+ */
+class InDispatchErrorFilterTest {
+
+    DefaultErrorAttributes errorAttributes = new DefaultErrorAttributes();
+    ErrorProperties errorProperties = new ErrorProperties();
+    ObjectMapper objectMapper = new ObjectMapper();
+    InDispatchErrorRenderer renderer =
+            new InDispatchErrorRenderer(errorAttributes, errorProperties, List.of(), List.of(), objectMapper, new AcceptHeaderCache(16));
+    InDispatchErrorFilter filter = new InDispatchErrorFilter(renderer);
+
+    {
+        errorProperties.setIncludeException(true);
+        errorProperties.setIncludeMessage(ErrorProperties.IncludeAttribute.ALWAYS);
+    }
+
+    @Test
+    void sendError() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, chain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.getWriter().write("무시되는 내용");
+                resp.sendError(404, "404 오류!");
+            }
+        }));
+
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getErrorMessage()).isNull();    //WAS 에 sendError 를 넘기지 않음
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(body(response)).isEqualTo(basicErrorController(404, "404 오류!", null));
+    }
+
+    @Test
+    void exception() throws Exception {
+        RuntimeException cause = new RuntimeException("예외 발생!");
+        NestedServletException thrown = new NestedServletException("Request processing failed", cause);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, (req, res) -> {
+            throw thrown;
+        });
+
+        assertThat(response.getStatus()).isEqualTo(500);
+        Map<String, Object> body = body(response);
+        assertThat(body).isEqualTo(basicErrorController(500, thrown.getMessage(), cause));
+        assertThat(body).containsEntry("exception", RuntimeException.class.getName());
+    }
+
+    @Test
+    void noErrorViewDelegatesToContainer() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader("Accept", "text/html,application/xhtml+xml,*/*;q=0.8");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.sendError(400, "400 오류!");
+            }
+        }));
+
+        //오류 뷰가 없으므로 기존처럼 WAS 가 오류 페이지를 찾도록 sendError
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getErrorMessage()).isEqualTo("400 오류!");
+    }
+
+    /**
+     * WebServerCustomizer 와 같은 오류 페이지가 등록되어 있으면 WAS 에 넘긴다. 기본 오류 페이지(/error)는 제외
+     */
+    @Test
+    void containerErrorPage() throws Exception {
+        ContainerErrorPages errorPages = new ContainerErrorPages(List.of(
+                new ErrorPage("/error"),
+                new ErrorPage(HttpStatus.NOT_FOUND, "/error-page/404"),
+                new ErrorPage(IllegalStateException.class, "/error-page/500")));
+        InDispatchErrorFilter containerFilter = new InDispatchErrorFilter(renderer, errorPages);
+
+        MockHttpServletResponse notFound = new MockHttpServletResponse();
+        containerFilter.doFilter(request(), notFound, (req, res) -> ((HttpServletResponse) res).sendError(404, "404 오류!"));
+        assertThat(notFound.getStatus()).isEqualTo(404);
+        assertThat(notFound.getErrorMessage()).isEqualTo("404 오류!");
+
+        //등록되지 않은 상태 코드는 필터가 출력
+        MockHttpServletResponse badRequest = new MockHttpServletResponse();
+        containerFilter.doFilter(request(), badRequest, (req, res) -> ((HttpServletResponse) res).sendError(400, "400 오류!"));
+        assertThat(badRequest.getErrorMessage()).isNull();
+        assertThat(body(badRequest)).containsEntry("status", 400);
+
+        //원인 예외의 타입으로도 찾는다.
+        NestedServletException thrown = new NestedServletException("Request processing failed", new IllegalStateException());
+        assertThatThrownBy(() -> containerFilter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> {
+            throw thrown;
+        })).isSameAs(thrown);
+
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        containerFilter.doFilter(request(), other, (req, res) -> {
+            throw new RuntimeException("예외 발생!");
+        });
+        assertThat(other.getStatus()).isEqualTo(500);
+    }
+
+    @Test
+    void containerErrorPageMatching() {
+        ContainerErrorPages errorPages = new ContainerErrorPages(List.of(
+                new ErrorPage("/error"), new ErrorPage(HttpStatus.INTERNAL_SERVER_ERROR, "/error-page/500")));
+        assertThat(errorPages.matches(500)).isTrue();
+        assertThat(errorPages.matches(404)).isFalse();
+        //예외 페이지가 없으면 WAS 는 500 페이지를 사용
+        assertThat(errorPages.matches(new RuntimeException())).isTrue();
+
+        ContainerErrorPages exceptionPages = new ContainerErrorPages(List.of(new ErrorPage(RuntimeException.class, "/error-page/500")));
+        assertThat(exceptionPages.matches(new IllegalArgumentException())).isTrue();
+        assertThat(exceptionPages.matches(new IOException())).isFalse();
+        assertThat(exceptionPages.matches(500)).isFalse();
+
+        assertThat(new ContainerErrorPages(List.of(new ErrorPage("/error"))).isEmpty()).isTrue();
+    }
+
+    @Test
+    void committedResponse() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RuntimeException thrown = new RuntimeException("예외 발생!");
+        assertThatThrownBy(() -> filter.doFilter(request(), response, (req, res) -> {
+            res.flushBuffer();
+            throw thrown;
+        })).isSameAs(thrown);
+    }
+
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/error-ex");
+    }
+
+    private MockFilterChain chain(HttpServlet servlet) {
+        return new MockFilterChain(servlet);
+    }
+
+    private Map<String, Object> body(MockHttpServletResponse response) throws IOException {
+        Map<String, Object> body = objectMapper.readValue(response.getContentAsByteArray(), new TypeReference<>() {
+        });
+        body.remove("timestamp");
+        return body;
+    }
+
+    /**
+     * WAS 가 /error 를 다시 요청할 때 넣는 attribute 로 BasicErrorController 호출
+     */
+    private Map<String, Object> basicErrorController(int status, String message, Throwable exception) {
+        MockHttpServletRequest errorRequest = new MockHttpServletRequest("GET", "/error");
+        errorRequest.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, status);
+        errorRequest.setAttribute(RequestDispatcher.ERROR_MESSAGE, message);
+        errorRequest.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, "/error-ex");
+        if (exception != null) {
+            errorRequest.setAttribute(RequestDispatcher.ERROR_EXCEPTION, exception);
+        }
+        Map<String, Object> body = new BasicErrorController(errorAttributes, errorProperties).error(errorRequest).getBody();
+        body.remove("timestamp");
+        return body;
+    }
+}
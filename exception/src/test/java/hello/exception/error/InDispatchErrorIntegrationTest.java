@@ -0,0 +1,118 @@
+package hello.exception.error;
+
+import hello.exception.WebServerCustomizer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 톰캣에서 /error 재요청(dispatchType=ERROR) 없이 오류 응답이 나가는지 확인
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "error.in-dispatch.enabled=true")
+class InDispatchErrorIntegrationTest {
+
+    static final AtomicInteger errorDispatches = new AtomicInteger();
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void json() {
+        int before = errorDispatches.get();
+        ResponseEntity<Map> response = restTemplate.getForEntity("/error-404", Map.class);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(404);
+        assertThat(response.getBody())
+                .containsEntry("status", 404)
+                .containsEntry("error", "Not Found")
+                .containsEntry("message", "404 오류!")
+                .containsEntry("path", "/error-404")
+                .containsKey("timestamp");
+        assertThat(errorDispatches.get()).isEqualTo(before);
+    }
+
+    @Test
+    void html() {
+        int before = errorDispatches.get();
+        ResponseEntity<String> response = html(restTemplate, "/error-400");
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(400);
+        assertThat(response.getBody()).contains("4xx 오류 화면 스프링 부트 제공");
+        assertThat(errorDispatches.get()).isEqualTo(before);
+    }
+
+    private static ResponseEntity<String> html(TestRestTemplate restTemplate, String path) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.TEXT_HTML));
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    /**
+     * WebServerCustomizer 로 WAS 에 직접 등록한 오류 페이지(/error-page/404, /error-page/500)가 있으면
+     * 해당 상태 코드는 WAS 의 오류 페이지 요청(ErrorPageController)으로 처리
+     */
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "error.in-dispatch.enabled=true")
+    @Import({WebServerCustomizer.class, ErrorDispatchCounter.class})
+    static class ContainerErrorPagesTest {
+
+        @Autowired
+        TestRestTemplate restTemplate;
+
+        @Test
+        void registeredStatusDelegatesToContainer() {
+            int before = errorDispatches.get();
+            ResponseEntity<String> response = html(restTemplate, "/error-404");
+
+            assertThat(response.getStatusCodeValue()).isEqualTo(404);
+            assertThat(response.getBody()).contains("404 오류 화면");
+            assertThat(errorDispatches.get()).isEqualTo(before + 1);
+
+            response = html(restTemplate, "/error-500");
+            assertThat(response.getStatusCodeValue()).isEqualTo(500);
+            assertThat(response.getBody()).contains("500 오류 화면");
+            assertThat(errorDispatches.get()).isEqualTo(before + 2);
+        }
+
+        @Test
+        void otherStatusStaysInDispatch() {
+            int before = errorDispatches.get();
+            ResponseEntity<String> response = html(restTemplate, "/error-400");
+
+            assertThat(response.getStatusCodeValue()).isEqualTo(400);
+            assertThat(response.getBody()).contains("4xx 오류 화면 스프링 부트 제공");
+            assertThat(errorDispatches.get()).isEqualTo(before);
+        }
+    }
+
+    @TestConfiguration
+    static class ErrorDispatchCounter {
+
+        @Bean
+        FilterRegistrationBean<Filter> errorDispatchCounter() {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                errorDispatches.incrementAndGet();
+                chain.doFilter(request, response);
+            });
+            registration.setDispatcherTypes(DispatcherType.ERROR);
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package hello.exception.exception;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LightweightExceptionTest {
+
+    //스프링 컨텍스트를 띄운 다른 테스트가 설정한 값을 되돌린다.
+    List<Class<? extends Throwable>> configured;
+
+    @BeforeEach
+    void clearPolicy() {
+        configured = StackTracePolicy.getStacklessTypes();
+        StackTracePolicy.configure(List.of());
+    }
+
+    @AfterEach
+    void restorePolicy() {
+        StackTracePolicy.configure(configured);
+    }
+
+    @Test
+    void stackTraceByDefault() {
+        assertThat(new UserException("사용자 오류").getStackTrace()).isNotEmpty();
+        assertThat(new InvalidArgumentException("잘못된 입력 값").getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void stacklessTypes() {
+        StackTracePolicy.configure(List.of(UserException.class, IllegalArgumentException.class));
+
+        assertThat(new UserException("사용자 오류").getStackTrace()).isEmpty();
+        assertThat(new SubUserException().getStackTrace()).isEmpty();
+        //자식 타입인 InvalidArgumentException 도 포함
+        assertThat(new InvalidArgumentException("잘못된 입력 값").getStackTrace()).isEmpty();
+        assertThat(new BadRequestException().getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void configureReplacesResolvedTypes() {
+        StackTracePolicy.configure(List.of(UserException.class));
+        assertThat(new UserException().getStackTrace()).isEmpty();
+
+        StackTracePolicy.configure(List.of(BadRequestException.class));
+        assertThat(new UserException().getStackTrace()).isNotEmpty();
+        assertThat(new BadRequestException().getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void preallocatedIsImmutable() {
+        UserException e = UserException.preallocated("사용자 오류");
+
+        e.addSuppressed(new IllegalStateException());
+        e.setStackTrace(new Throwable().getStackTrace());
+
+        assertThat(e.getMessage()).isEqualTo("사용자 오류");
+        assertThat(e.getSuppressed()).isEmpty();
+        assertThat(e.getStackTrace()).isEmpty();
+        assertThatThrownBy(() -> e.initCause(new IllegalStateException()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    static class SubUserException extends UserException {
+    }
+}
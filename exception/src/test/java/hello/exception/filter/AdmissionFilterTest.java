@@ -0,0 +1,133 @@
+package hello.exception.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.exception.error.InDispatchErrorRenderer;
+import hello.exception.filter.GradientLimiter.Priority;
+import hello.exception.negotiation.AcceptHeaderCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.servlet.error.ErrorViewResolver;
+import org.springframework.boot.web.servlet.error.DefaultErrorAttributes;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionFilterTest {
+
+    GradientLimiter limiter = new GradientLimiter(new SimpleMeterRegistry(), 1, 1, 10, 1.5, 0.2, 0.8, Duration.ofSeconds(1), 10);
+    AdmissionFilter filter = new AdmissionFilter(limiter, new ObjectMapper(),
+            new String[]{"/error", "/actuator/health/**"}, new String[]{"/actuator/**"});
+
+    @Test
+    void admitted() throws Exception {
+        MockHttpServletResponse response = doFilter("/api2/members/spring");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void rejectedWithoutCallingChain() throws Exception {
+        limiter.tryAcquire(Priority.NORMAL);    //limit(1) 만큼 처리 중
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api2/members/spring"), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"code\":\"OVERLOAD\",\"message\":\"요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.\"}");
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    /**
+     * 브라우저는 오류 뷰(error/503)로, 오류 뷰가 없거나 JSON 클라이언트면 JSON 으로 거절
+     */
+    @Test
+    void rejectedHtmlClientGetsErrorView() throws Exception {
+        View view = (model, request, response) -> {
+            response.setContentType("text/html;charset=UTF-8");
+            response.getWriter().write("503 오류 화면 " + model.get("status"));
+        };
+        ErrorViewResolver errorViewResolver = (request, status, model) ->
+                status == HttpStatus.SERVICE_UNAVAILABLE ? new ModelAndView(view, model) : null;
+        AdmissionFilter htmlFilter = filter(errorViewResolver);
+        limiter.tryAcquire(Priority.NORMAL);
+
+        MockHttpServletResponse html = reject(htmlFilter, "text/html,application/xhtml+xml,*/*;q=0.8");
+        assertThat(html.getStatus()).isEqualTo(503);
+        assertThat(html.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(html.getContentType()).startsWith("text/html");
+        assertThat(html.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("503 오류 화면 503");
+
+        MockHttpServletResponse json = reject(htmlFilter, "application/json");
+        assertThat(json.getStatus()).isEqualTo(503);
+        assertThat(json.getContentType()).isEqualTo("application/json");
+
+        //오류 뷰가 없으면 JSON
+        MockHttpServletResponse noView = reject(filter((request, status, model) -> null), "text/html");
+        assertThat(noView.getStatus()).isEqualTo(503);
+        assertThat(noView.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(noView.getContentType()).isEqualTo("application/json");
+    }
+
+    @Test
+    void criticalPathsAlwaysAdmitted() throws Exception {
+        limiter.tryAcquire(Priority.NORMAL);
+
+        assertThat(doFilter("/error").getStatus()).isEqualTo(200);
+        assertThat(doFilter("/actuator/health").getStatus()).isEqualTo(200);
+        assertThat(doFilter("/actuator/health/liveness").getStatus()).isEqualTo(200);
+        assertThat(doFilter("/actuator/metrics").getStatus()).isEqualTo(503);
+        assertThat(doFilter("/errors").getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void priority() {
+        assertThat(filter.priority("/error")).isEqualTo(Priority.CRITICAL);
+        assertThat(filter.priority("/actuator/health/readiness")).isEqualTo(Priority.CRITICAL);
+        assertThat(filter.priority("/actuator/errors")).isEqualTo(Priority.LOW);
+        assertThat(filter.priority("/actuator")).isEqualTo(Priority.LOW);
+        assertThat(filter.priority("/actuatorx")).isEqualTo(Priority.NORMAL);
+        assertThat(filter.priority("/api/members/ok")).isEqualTo(Priority.NORMAL);
+    }
+
+    AdmissionFilter filter(ErrorViewResolver errorViewResolver) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("errorViewResolver", errorViewResolver);
+        AcceptHeaderCache acceptHeaderCache = new AcceptHeaderCache(16);
+        InDispatchErrorRenderer renderer = new InDispatchErrorRenderer(new DefaultErrorAttributes(), new ServerProperties(),
+                beanFactory.getBeanProvider(ErrorViewResolver.class), beanFactory.getBeanProvider(ViewResolver.class),
+                new ObjectMapper(), acceptHeaderCache);
+        return new AdmissionFilter(limiter, new ObjectMapper(), new String[]{"/error"}, new String[0],
+                renderer, acceptHeaderCache);
+    }
+
+    MockHttpServletResponse reject(AdmissionFilter filter, String accept) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api2/members/spring");
+        request.addHeader("Accept", accept);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    MockHttpServletResponse doFilter(String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, new MockFilterChain());
+        return response;
+    }
+}
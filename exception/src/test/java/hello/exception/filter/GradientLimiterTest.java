@@ -0,0 +1,77 @@
+package hello.exception.filter;
+
+import hello.exception.filter.GradientLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimiterTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void priority() {
+        GradientLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(Priority.LOW)).isFalse();     //limit * 0.8 = 8
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isFalse();  //limit = 10
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+
+        assertThat(limiter.getInFlight()).isEqualTo(11);
+        assertThat(registry.get("admission.rejected").tag("priority", "normal").counter().count()).isEqualTo(1);
+        assertThat(registry.get("admission.rejected").tag("priority", "low").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void latencyIncreaseShrinksLimit() {
+        GradientLimiter limiter = limiter(100);
+        for (int i = 0; i < 5; i++) {
+            limiter.update(10_000_000, 100);     //10ms, 기준
+        }
+        double steady = limiter.getLimit();
+        assertThat(steady).isGreaterThanOrEqualTo(100);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.update(100_000_000, 100);    //100ms, 대기 발생
+        }
+        assertThat(limiter.getLimit()).isLessThan(steady * 0.75);
+    }
+
+    @Test
+    void steadyLatencyGrowsLimitOnlyUnderLoad() {
+        GradientLimiter limiter = limiter(20);
+
+        limiter.update(10_000_000, 5);  //limit 의 절반도 사용하지 않으면 그대로
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        limiter.update(10_000_000, 20);
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void bounds() {
+        GradientLimiter limiter = new GradientLimiter(registry, 30, 10, 50, 1.5, 0.2, 0.8, Duration.ofSeconds(1), 10);
+        for (int i = 0; i < 100; i++) {
+            limiter.update(10_000_000, 1000);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(50);
+
+        double rtt = 10_000_000;
+        for (int i = 0; i < 30; i++) {
+            limiter.update(rtt *= 4, 1000);     //응답 시간이 계속 늘어남
+        }
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    GradientLimiter limiter(int initialLimit) {
+        return new GradientLimiter(registry, initialLimit, 4, 200, 1.5, 0.2, 0.8, Duration.ofSeconds(1), 10);
+    }
+}
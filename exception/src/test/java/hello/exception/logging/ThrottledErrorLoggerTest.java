@@ -0,0 +1,107 @@
+package hello.exception.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThrottledErrorLoggerTest {
+
+    Logger logger = (Logger) LoggerFactory.getLogger(ThrottledErrorLoggerTest.class);
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void firstFullThenOneLineThenSummary() {
+        ThrottledErrorLogger errorLogger = errorLogger(2, 100, 1024);
+
+        for (int i = 0; i < 10; i++) {
+            errorLogger.error(logger, "[exceptionHandle] ex", sameStack("잘못된 입력 값 " + i));
+        }
+
+        assertThat(appender.list).hasSize(3);
+        assertThat(appender.list.get(0).getThrowableProxy()).isNotNull();  //처음 한 번만 스택 트레이스
+        assertThat(appender.list.get(1).getThrowableProxy()).isNull();
+        assertThat(appender.list.get(1).getFormattedMessage())
+                .contains("java.lang.IllegalArgumentException: 잘못된 입력 값 1", "stack trace omitted");
+        assertThat(appender.list.get(2).getThrowableProxy()).isNull();
+
+        errorLogger.flush();
+
+        assertThat(appender.list).hasSize(4);
+        assertThat(appender.list.get(3).getFormattedMessage()).contains("java.lang.IllegalArgumentException x7");
+        String first = appender.list.get(0).getFormattedMessage();
+        String fingerprint = first.substring(first.indexOf("[fingerprint="), first.indexOf(']', first.indexOf("[fingerprint=")) + 1);
+        assertThat(appender.list.get(3).getFormattedMessage()).startsWith(fingerprint);
+    }
+
+    @Test
+    void differentStackIsNewFingerprint() {
+        ThrottledErrorLogger errorLogger = errorLogger(0, 100, 1024);
+
+        for (String message : new String[]{"a", "b"}) {
+            errorLogger.error(logger, "ex", sameStack(message));    //메시지만 다름 -> 같은 fingerprint
+        }
+        errorLogger.error(logger, "ex", otherStack());
+        errorLogger.error(logger, "ex", new IllegalStateException("c", sameStack("d")));
+
+        assertThat(errorLogger.size()).isEqualTo(3);
+        assertThat(appender.list).hasSize(3).allMatch(event -> event.getThrowableProxy() != null);
+    }
+
+    @Test
+    void globalLimit() {
+        ThrottledErrorLogger errorLogger = errorLogger(3, 2, 1024);
+
+        errorLogger.error(logger, "ex", sameStack("a"));
+        errorLogger.error(logger, "ex", otherStack());
+        errorLogger.error(logger, "ex", new IllegalStateException("c"));  //전역 토큰 없음 -> 스택 트레이스는 다음 기회에
+
+        assertThat(appender.list).hasSize(2);
+        errorLogger.flush();
+        assertThat(appender.list).hasSize(3);
+        assertThat(appender.list.get(2).getFormattedMessage()).contains("java.lang.IllegalStateException x1");
+    }
+
+    @Test
+    void overflow() {
+        ThrottledErrorLogger errorLogger = errorLogger(0, 100, 1);
+
+        errorLogger.error(logger, "ex", sameStack("a"));
+        errorLogger.error(logger, "ex", otherStack());
+        errorLogger.error(logger, "ex", new IllegalStateException("c"));
+
+        assertThat(errorLogger.size()).isEqualTo(2);
+        assertThat(appender.list.get(1).getFormattedMessage()).contains("[fingerprint=overflow]");
+    }
+
+    ThrottledErrorLogger errorLogger(int fingerprintBurst, int globalBurst, int maxFingerprints) {
+        return new ThrottledErrorLogger(8, Duration.ofHours(1), fingerprintBurst, Duration.ofHours(1), globalBurst,
+                maxFingerprints, Duration.ofHours(1));
+    }
+
+    static IllegalArgumentException sameStack(String message) {
+        return new IllegalArgumentException(message);
+    }
+
+    static IllegalArgumentException otherStack() {
+        return new IllegalArgumentException("other");
+    }
+}
@@ -0,0 +1,39 @@
+package hello.exception.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void burstThenRefill() {
+        long now = System.nanoTime();
+        TokenBucket bucket = new TokenBucket(Duration.ofSeconds(1), 3);
+
+        assertThat(bucket.tryAcquire(now)).isTrue();
+        assertThat(bucket.tryAcquire(now)).isTrue();
+        assertThat(bucket.tryAcquire(now)).isTrue();
+        assertThat(bucket.tryAcquire(now)).isFalse();
+
+        assertThat(bucket.tryAcquire(now + SECOND)).isTrue();   //1초에 하나 충전
+        assertThat(bucket.tryAcquire(now + SECOND)).isFalse();
+
+        assertThat(bucket.tryAcquire(now + 10 * SECOND)).isTrue(); //오래 쉬어도 burst 개까지만 쌓인다.
+        assertThat(bucket.tryAcquire(now + 10 * SECOND)).isTrue();
+        assertThat(bucket.tryAcquire(now + 10 * SECOND)).isTrue();
+        assertThat(bucket.tryAcquire(now + 10 * SECOND)).isFalse();
+    }
+
+    @Test
+    void zeroBurst() {
+        TokenBucket bucket = new TokenBucket(Duration.ofSeconds(1), 0);
+
+        assertThat(bucket.tryAcquire(System.nanoTime())).isFalse();
+        assertThat(bucket.tryAcquire(System.nanoTime() + 10 * SECOND)).isFalse();
+    }
+}
@@ -0,0 +1,96 @@
+package hello.exception.negotiation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AcceptHeaderCacheTest {
+
+    static final String BROWSER = "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8";
+    static final String AXIOS = "application/json, text/plain, */*";
+
+    AcceptHeaderCache cache = new AcceptHeaderCache(16);
+
+    @Test
+    void prefersHtml() {
+        assertThat(cache.get(BROWSER).prefersHtml()).isTrue();
+        assertThat(cache.get("text/html").prefersHtml()).isTrue();
+        assertThat(cache.get("application/json").prefersHtml()).isFalse();
+        assertThat(cache.get(AXIOS).prefersHtml()).isFalse();
+        assertThat(cache.get("*/*").prefersHtml()).isFalse();
+        assertThat(cache.get(null).prefersHtml()).isFalse();
+        assertThat(cache.get("").prefersHtml()).isFalse();
+    }
+
+    @Test
+    void negotiate() {
+        MediaType[] producible = {MediaType.TEXT_HTML, MediaType.APPLICATION_JSON};
+
+        assertThat(cache.get(BROWSER).negotiate(producible)).isEqualTo(MediaType.TEXT_HTML);
+        assertThat(cache.get(AXIOS).negotiate(producible)).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(cache.get("text/html;q=0.5, application/json").negotiate(producible)).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(cache.get("*/*").negotiate(producible)).isEqualTo(MediaType.TEXT_HTML);  //선호도가 같으면 producible 순서
+        assertThat(cache.get("image/png").negotiate(producible)).isNull();
+    }
+
+    @Test
+    void cached() {
+        AcceptPreferences first = cache.get(BROWSER);
+        assertThat(cache.get(BROWSER)).isSameAs(first);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void maxSize() {
+        AcceptHeaderCache small = new AcceptHeaderCache(2);
+        small.get("text/html");
+        small.get("application/json");
+        AcceptPreferences notCached = small.get("text/plain");
+
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(notCached.getMediaTypes()).containsExactly(MediaType.TEXT_PLAIN);
+        assertThat(small.get("text/plain")).isNotSameAs(notCached);
+    }
+
+    @Test
+    void invalid() {
+        assertThatThrownBy(() -> cache.parse("text/html;q=abc")).isInstanceOf(InvalidMediaTypeException.class);
+        assertThat(cache.get("text/html;q=abc")).isSameAs(AcceptPreferences.ANY);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void sameAsHeaderStrategy() throws HttpMediaTypeNotAcceptableException {
+        CachingHeaderContentNegotiationStrategy caching = new CachingHeaderContentNegotiationStrategy(cache);
+        HeaderContentNegotiationStrategy header = new HeaderContentNegotiationStrategy();
+
+        for (String accept : new String[]{BROWSER, AXIOS, "*/*", "application/json", "text/*, text/plain;q=0.2", ""}) {
+            ServletWebRequest request = request(accept);
+            assertThat(caching.resolveMediaTypes(request)).isEqualTo(header.resolveMediaTypes(request));
+        }
+        ServletWebRequest noHeader = new ServletWebRequest(new MockHttpServletRequest());
+        assertThat(caching.resolveMediaTypes(noHeader)).isEqualTo(header.resolveMediaTypes(noHeader));
+
+        MockHttpServletRequest multi = new MockHttpServletRequest();
+        multi.addHeader("Accept", "application/json");
+        multi.addHeader("Accept", "text/html;q=0.5");
+        ServletWebRequest multiRequest = new ServletWebRequest(multi);
+        assertThat(caching.resolveMediaTypes(multiRequest)).isEqualTo(header.resolveMediaTypes(multiRequest));
+
+        assertThatThrownBy(() -> caching.resolveMediaTypes(request("text/html;q=abc")))
+                .isInstanceOf(HttpMediaTypeNotAcceptableException.class);
+    }
+
+    private static ServletWebRequest request(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept", accept);
+        return new ServletWebRequest(request);
+    }
+}
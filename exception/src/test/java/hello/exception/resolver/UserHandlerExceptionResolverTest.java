@@ -0,0 +1,113 @@
+package hello.exception.resolver;
+
+import hello.exception.exception.UserException;
+import hello.exception.negotiation.AcceptHeaderCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserHandlerExceptionResolverTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void json() throws Exception {
+        UserHandlerExceptionResolver resolver = new UserHandlerExceptionResolver(new ErrorBodyCache(registry, 16), new AcceptHeaderCache(16));
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = resolve(resolver, new UserException("사용자 오류"));
+            assertThat(response.getStatus()).isEqualTo(400);
+            assertThat(response.getContentType()).isEqualTo("application/json;charset=utf-8");
+            assertThat(response.getContentAsString())
+                    .isEqualTo("{\"ex\":\"hello.exception.exception.UserException\",\"message\":\"사용자 오류\"}");
+        }
+
+        assertThat(registry.get("cache.gets").tag("cache", "errorBody").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", "errorBody").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.size").tag("cache", "errorBody").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void keyIncludesTypeAndMessage() throws Exception {
+        UserHandlerExceptionResolver resolver = new UserHandlerExceptionResolver(new ErrorBodyCache(registry, 16), new AcceptHeaderCache(16));
+
+        assertThat(resolve(resolver, new UserException("A")).getContentAsString()).contains("\"message\":\"A\"");
+        assertThat(resolve(resolver, new UserException("B")).getContentAsString()).contains("\"message\":\"B\"");
+        assertThat(resolve(resolver, new SubUserException("A")).getContentAsString()).contains("SubUserException");
+        assertThat(resolve(resolver, new UserException((String) null)).getContentAsString()).contains("\"message\":null");
+    }
+
+    @Test
+    void lru() throws Exception {
+        ErrorBodyCache cache = new ErrorBodyCache(registry, 2);
+        UserHandlerExceptionResolver resolver = new UserHandlerExceptionResolver(cache, new AcceptHeaderCache(16));
+
+        resolve(resolver, new UserException("A"));
+        resolve(resolver, new UserException("B"));
+        resolve(resolver, new UserException("A"));
+        resolve(resolver, new UserException("C"));  //가장 오래 사용하지 않은 B 제거
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(registry.get("cache.evictions").tag("cache", "errorBody").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void disabled() throws Exception {
+        ErrorBodyCache cache = new ErrorBodyCache(registry, 0);
+        UserHandlerExceptionResolver resolver = new UserHandlerExceptionResolver(cache, new AcceptHeaderCache(16));
+
+        resolve(resolver, new UserException("A"));
+        resolve(resolver, new UserException("A"));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void html() {
+        UserHandlerExceptionResolver resolver = new UserHandlerExceptionResolver(new ErrorBodyCache(registry, 16), new AcceptHeaderCache(16));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("accept", "text/html");
+
+        ModelAndView modelAndView = resolver.resolveException(request, new MockHttpServletResponse(), null, new UserException("A"));
+        assertThat(modelAndView.getViewName()).isEqualTo("error/500");
+    }
+
+    @Test
+    void acceptNegotiation() throws Exception {
+        UserHandlerExceptionResolver resolver = new UserHandlerExceptionResolver(new ErrorBodyCache(registry, 16), new AcceptHeaderCache(16));
+
+        //axios 기본 Accept -> JSON
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("accept", "application/json, text/plain, */*");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(resolver.resolveException(request, response, null, new UserException("A")).isEmpty()).isTrue();
+        assertThat(response.getContentType()).startsWith("application/json");
+
+        //헤더가 없거나 */* 이면 기존처럼 HTML
+        for (String accept : new String[]{null, "*/*"}) {
+            MockHttpServletRequest anyRequest = new MockHttpServletRequest();
+            if (accept != null) {
+                anyRequest.addHeader("accept", accept);
+            }
+            ModelAndView modelAndView = resolver.resolveException(anyRequest, new MockHttpServletResponse(), null, new UserException("A"));
+            assertThat(modelAndView.getViewName()).isEqualTo("error/500");
+        }
+    }
+
+    private MockHttpServletResponse resolve(UserHandlerExceptionResolver resolver, Exception ex) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("accept", "application/json");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(resolver.resolveException(request, response, null, ex)).isNotNull();
+        return response;
+    }
+
+    static class SubUserException extends UserException {
+        SubUserException(String message) {
+            super(message);
+        }
+    }
+}
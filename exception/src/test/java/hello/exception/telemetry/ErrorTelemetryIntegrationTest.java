@@ -0,0 +1,80 @@
+package hello.exception.telemetry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 톰캣에서 예외 처리 경로(ExceptionResolver, WAS 재요청, in-dispatch)별로 기록되는지 확인
+ * 기록은 응답을 보낸 뒤 필터의 finally 에서 하므로 잠깐 기다린다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "error.in-dispatch.enabled=false")
+class ErrorTelemetryIntegrationTest {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    ErrorTelemetry telemetry;
+
+    @Test
+    void exceptionHandler() throws InterruptedException {
+        ResponseEntity<Map> response = restTemplate.getForEntity("/api2/members/bad", Map.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(400);
+
+        //error.requests 를 먼저 기록하고 error.path 를 기록한다.
+        Search timer = registry.find("error.path").tag("resolution", "ExceptionHandler").tag("redispatch", "false");
+        await(() -> timer.timer() != null && timer.timer().count() > 0);
+        assertThat(timer.timer().count()).isEqualTo(1);
+        assertThat(registry.find("error.requests")
+                .tag("exception", "hello.exception.exception.InvalidArgumentException")
+                .tag("resolution", "ExceptionHandler")
+                .tag("status", "400")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void redispatch() throws InterruptedException {
+        ResponseEntity<Map> response = restTemplate.getForEntity("/error-404", Map.class);
+        assertThat(response.getStatusCodeValue()).isEqualTo(404);
+
+        Search timer = registry.find("error.path").tag("resolution", "BasicErrorController").tag("redispatch", "true");
+        await(() -> timer.timer() != null && timer.timer().count() > 0);
+        assertThat(timer.timer().count()).isEqualTo(1);
+        assertThat(registry.find("error.requests").tag("exception", "none").tag("status", "404").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshot() throws InterruptedException {
+        restTemplate.getForEntity("/api2/members/spring", Map.class);
+        restTemplate.getForEntity("/api2/members/user-ex", Map.class);
+        await(() -> ((Map<String, Long>) telemetry.snapshot().get("exceptions")).containsKey("hello.exception.exception.UserException")
+                && ((Object[]) telemetry.snapshot().get("topFingerprints")).length > 0);
+
+        Map<String, Object> snapshot = telemetry.snapshot();
+        assertThat((Map<String, Long>) snapshot.get("exceptions")).containsKey("hello.exception.exception.UserException");
+        assertThat((Object[]) snapshot.get("topFingerprints")).isNotEmpty();
+        assertThat(registry.find("error.handler.ratio").tag("handler", "ApiExceptionV2Controller#getMember").gauge())
+                .isNotNull();
+    }
+
+    private static void await(Supplier<Boolean> condition) throws InterruptedException {
+        for (int i = 0; i < 50 && !condition.get(); i++) {
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package hello.exception.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTopNTest {
+
+    @Test
+    void top() {
+        SpaceSavingTopN topN = new SpaceSavingTopN(8);
+        add(topN, "A", 5);
+        add(topN, "B", 3);
+        add(topN, "C", 1);
+
+        List<SpaceSavingTopN.Entry> top = SpaceSavingTopN.top(2, topN);
+
+        assertThat(top).extracting(SpaceSavingTopN.Entry::getKey).containsExactly("A", "B");
+        assertThat(top).extracting(SpaceSavingTopN.Entry::getCount).containsExactly(5L, 3L);
+        assertThat(top).extracting(SpaceSavingTopN.Entry::getError).containsExactly(0L, 0L);
+    }
+
+    @Test
+    void capacity() {
+        SpaceSavingTopN topN = new SpaceSavingTopN(2);
+        add(topN, "A", 10);
+        add(topN, "B", 2);
+        add(topN, "C", 1);  //가장 작은 B(2)를 제거하고 2 부터 이어서 센다.
+
+        assertThat(topN.size()).isEqualTo(2);
+        List<SpaceSavingTopN.Entry> top = SpaceSavingTopN.top(10, topN);
+        assertThat(top).extracting(SpaceSavingTopN.Entry::getKey).containsExactly("A", "C");
+        assertThat(top.get(1).getCount()).isEqualTo(3);
+        assertThat(top.get(1).getError()).isEqualTo(2);
+    }
+
+    @Test
+    void frequentKeySurvivesManyRareKeys() {
+        SpaceSavingTopN topN = new SpaceSavingTopN(4);
+        for (int i = 0; i < 1000; i++) {
+            topN.add("frequent");
+            topN.add("rare-" + i);
+        }
+
+        assertThat(topN.size()).isLessThanOrEqualTo(4);
+        assertThat(SpaceSavingTopN.top(1, topN).get(0).getKey()).isEqualTo("frequent");
+    }
+
+    @Test
+    void mergeWindows() {
+        SpaceSavingTopN previous = new SpaceSavingTopN(8);
+        SpaceSavingTopN current = new SpaceSavingTopN(8);
+        add(previous, "A", 2);
+        add(previous, "B", 4);
+        add(current, "A", 3);
+
+        List<SpaceSavingTopN.Entry> top = SpaceSavingTopN.top(10, null, previous, current);
+
+        assertThat(top).extracting(SpaceSavingTopN.Entry::getKey).containsExactly("A", "B");
+        assertThat(top.get(0).getCount()).isEqualTo(5);
+    }
+
+    private static void add(SpaceSavingTopN topN, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            topN.add(key);
+        }
+    }
+}
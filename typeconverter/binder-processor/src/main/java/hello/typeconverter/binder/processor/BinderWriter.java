@@ -0,0 +1,204 @@
+package hello.typeconverter.binder.processor;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * FormBinder 소스 코드 출력
+ */
+class BinderWriter {
+
+    private final PrintWriter out;
+    private final String packageName;
+    private final String binderName;
+    private final String formType;
+    private final List<FieldModel> fields;
+
+    BinderWriter(PrintWriter out, String packageName, String binderName, String formType, List<FieldModel> fields) {
+        this.out = out;
+        this.packageName = packageName;
+        this.binderName = binderName;
+        this.formType = formType;
+        this.fields = fields;
+    }
+
+    void write() {
+        if (!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+        out.println("import hello.typeconverter.binder.FormBinder;");
+        out.println("import hello.typeconverter.binder.FormBinderSupport;");
+        out.println("import org.springframework.core.convert.ConversionService;");
+        out.println("import org.springframework.format.Formatter;");
+        out.println("import org.springframework.format.annotation.DateTimeFormat;");
+        out.println("import org.springframework.format.annotation.NumberFormat;");
+        out.println();
+        out.println("import java.time.temporal.TemporalAccessor;");
+        out.println("import java.util.Locale;");
+        out.println();
+        out.println("@javax.annotation.processing.Generated(\"" + FormBinderProcessor.class.getName() + "\")");
+        out.println("public final class " + binderName + " implements FormBinder<" + formType + "> {");
+        out.println();
+        writeFormatters();
+        writeFormType();
+        writeFieldType();
+        writeParse();
+        writeSet();
+        writeGet();
+        writePrint();
+        out.println("}");
+    }
+
+    private void writeFormatters() {
+        boolean any = false;
+        for (FieldModel field : fields) {
+            if (field.kind == FieldKind.NUMBER) {
+                out.println("    private final Formatter<Number> " + field.formatterName()
+                        + " = FormBinderSupport.numberFormatter(" + field.formatterArguments + ");");
+                any = true;
+            } else if (field.kind == FieldKind.DATE_TIME) {
+                out.println("    private final Formatter<TemporalAccessor> " + field.formatterName()
+                        + " = FormBinderSupport.dateTimeFormatter(" + field.formatterArguments + ");");
+                any = true;
+            }
+        }
+        if (any) {
+            out.println();
+        }
+    }
+
+    private void writeFormType() {
+        out.println("    @Override");
+        out.println("    public Class<" + formType + "> getFormType() {");
+        out.println("        return " + formType + ".class;");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeFieldType() {
+        out.println("    @Override");
+        out.println("    public Class<?> getFieldType(String field) {");
+        out.println("        switch (field) {");
+        for (FieldModel field : fields) {
+            out.println("            case " + literal(field.name) + ":");
+            out.println("                return " + field.type + ".class;");
+        }
+        out.println("            default:");
+        out.println("                return null;");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeParse() {
+        out.println("    @Override");
+        out.println("    public Object parse(String field, Object value, ConversionService conversionService, Locale locale) throws Exception {");
+        out.println("        switch (field) {");
+        for (FieldModel field : fields) {
+            out.println("            case " + literal(field.name) + ":");
+            String parsed = parseExpression(field);
+            if (field.isPrimitive()) {
+                parsed = "FormBinderSupport.notNull(" + parsed + ", " + field.type + ".class)";
+            }
+            out.println("                return " + parsed + ";");
+        }
+        out.println("            default:");
+        out.println("                return UNKNOWN_FIELD;");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+    }
+
+    private String parseExpression(FieldModel field) {
+        switch (field.kind) {
+            case STRING:
+                return "FormBinderSupport.text(value)";
+            case NUMBER:
+                return "FormBinderSupport.parseNumber(" + field.formatterName() + ", value, locale, " + field.boxedType + ".class)";
+            case DATE_TIME:
+                return "(" + field.boxedType + ") FormBinderSupport.parse(" + field.formatterName() + ", value, locale)";
+            default:
+                return "FormBinderSupport.convert(value, " + field.boxedType + ".class, conversionService)";
+        }
+    }
+
+    private void writeSet() {
+        out.println("    @Override");
+        out.println("    public void set(" + formType + " target, String field, Object value) {");
+        out.println("        switch (field) {");
+        for (FieldModel field : fields) {
+            out.println("            case " + literal(field.name) + ":");
+            out.println("                target." + field.setter + "((" + field.boxedType + ") value);");
+            out.println("                break;");
+        }
+        out.println("            default:");
+        out.println("                throw new IllegalArgumentException(\"unknown field: \" + field);");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeGet() {
+        out.println("    @Override");
+        out.println("    public Object get(" + formType + " target, String field) {");
+        out.println("        switch (field) {");
+        for (FieldModel field : fields) {
+            out.println("            case " + literal(field.name) + ":");
+            out.println("                return target." + field.getter + "();");
+        }
+        out.println("            default:");
+        out.println("                return UNKNOWN_FIELD;");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writePrint() {
+        out.println("    @Override");
+        out.println("    public Object print(String field, Object value, ConversionService conversionService, Locale locale) {");
+        out.println("        switch (field) {");
+        for (FieldModel field : fields) {
+            out.println("            case " + literal(field.name) + ":");
+            out.println("                return " + printExpression(field) + ";");
+        }
+        out.println("            default:");
+        out.println("                return UNKNOWN_FIELD;");
+        out.println("        }");
+        out.println("    }");
+    }
+
+    private String printExpression(FieldModel field) {
+        switch (field.kind) {
+            case STRING:
+                return "value";
+            case NUMBER:
+                return "FormBinderSupport.print(" + field.formatterName() + ", (Number) value, locale)";
+            case DATE_TIME:
+                return "FormBinderSupport.print(" + field.formatterName() + ", (TemporalAccessor) value, locale)";
+            default:
+                return "FormBinderSupport.print(value, conversionService)";
+        }
+    }
+
+    /**
+     * 자바 문자열 리터럴, 애노테이션 값(pattern)을 그대로 소스에 넣기 위해 이스케이프
+     */
+    static String literal(Object value) {
+        String text = String.valueOf(value);
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\%03o", (int) c));     //유니코드 이스케이프는 먼저 해석되므로 줄바꿈 등은 8진수로
+            } else if (c > 0x7E) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,8 @@
+package hello.typeconverter.binder.processor;
+
+enum FieldKind {
+    STRING,     //FormBinderSupport.text()
+    NUMBER,     //@NumberFormat
+    DATE_TIME,  //@DateTimeFormat
+    CONVERT     //ConversionService
+}
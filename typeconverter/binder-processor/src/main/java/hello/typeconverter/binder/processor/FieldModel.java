@@ -0,0 +1,32 @@
+package hello.typeconverter.binder.processor;
+
+/**
+ * 바인더를 만들 필드 하나
+ */
+class FieldModel {
+
+    final String name;
+    final String type;          //int, java.lang.Integer, java.time.LocalDateTime ...
+    final String boxedType;     //기본 타입이면 래퍼 클래스
+    final String setter;
+    final String getter;
+
+    FieldKind kind;
+    String formatterArguments;  //FormBinderSupport.numberFormatter(), dateTimeFormatter() 인자
+
+    FieldModel(String name, String type, String boxedType, String setter, String getter) {
+        this.name = name;
+        this.type = type;
+        this.boxedType = boxedType;
+        this.setter = setter;
+        this.getter = getter;
+    }
+
+    boolean isPrimitive() {
+        return !type.equals(boxedType);
+    }
+
+    String formatterName() {
+        return name + "Formatter";
+    }
+}
@@ -0,0 +1,298 @@
+package hello.typeconverter.binder.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * @GenerateBinder 가 붙은 폼 객체마다 FormBinder 구현 클래스를 만든다.
+ *
+ * 스프링 기본 바인딩은 요청마다 BeanWrapper 로 프로퍼티 경로를 해석하고, 필드의 TypeDescriptor 에서
+ * @NumberFormat, @DateTimeFormat 을 찾아 포맷터를 고른다.
+ * 이 정보는 컴파일할 때 모두 알 수 있으므로 필드 이름 switch, setter/getter 직접 호출, 미리 만든 포맷터로 바꾼다.
+ *
+ * 처리하는 필드
+ * - String
+ * - @NumberFormat 숫자 (기본 타입, 래퍼, BigDecimal, BigInteger)
+ * - @DateTimeFormat java.time 타입 (LocalDate, LocalTime, LocalDateTime, ZonedDateTime, OffsetDateTime, OffsetTime)
+ * - 그 밖의 제네릭이 아닌 타입 -> ConversionService (IpPort 처럼 등록된 컨버터 사용)
+ * 배열, 컬렉션, 제네릭 타입, setter 가 없는 필드는 만들지 않음 -> 스프링 기본 바인딩으로 처리
+ *
+ * 만든 바인더는 META-INF/services/hello.typeconverter.binder.FormBinder 에 등록
+ */
+@SupportedAnnotationTypes(FormBinderProcessor.GENERATE_BINDER)
+public class FormBinderProcessor extends AbstractProcessor {
+
+    static final String GENERATE_BINDER = "hello.typeconverter.binder.GenerateBinder";
+    static final String FORM_BINDER = "hello.typeconverter.binder.FormBinder";
+
+    private static final String NUMBER_FORMAT = "org.springframework.format.annotation.NumberFormat";
+    private static final String DATE_TIME_FORMAT = "org.springframework.format.annotation.DateTimeFormat";
+
+    private static final Set<String> NUMBER_TYPES = Set.of(
+            "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long",
+            "java.lang.Float", "java.lang.Double", "java.math.BigDecimal", "java.math.BigInteger");
+    private static final Set<String> DATE_TIME_TYPES = Set.of(
+            "java.time.LocalDate", "java.time.LocalTime", "java.time.LocalDateTime",
+            "java.time.ZonedDateTime", "java.time.OffsetDateTime", "java.time.OffsetTime");
+    private static final Set<String> LOMBOK_SETTERS = Set.of("lombok.Data", "lombok.Setter");
+    private static final Set<String> LOMBOK_GETTERS = Set.of("lombok.Data", "lombok.Getter", "lombok.Value");
+
+    private final Set<String> generated = new TreeSet<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement generateBinder = elements.getTypeElement(GENERATE_BINDER);
+        if (generateBinder != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(generateBinder)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "@GenerateBinder 는 클래스에만 사용할 수 있습니다.", element);
+                    continue;
+                }
+                generate((TypeElement) element);
+            }
+        }
+        if (roundEnv.processingOver() && !generated.isEmpty()) {
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    private void generate(TypeElement form) {
+        if (form.getModifiers().contains(Modifier.PRIVATE)
+                || (form.getNestingKind() == NestingKind.MEMBER && !form.getModifiers().contains(Modifier.STATIC))) {
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                    "@GenerateBinder 폼은 private 이 아니어야 하고, 중첩 클래스는 static 이어야 합니다.", form);
+            return;
+        }
+
+        String packageName = elements.getPackageOf(form).getQualifiedName().toString();
+        String binderName = binderSimpleName(form);
+        List<FieldModel> fields = collectFields(form);
+
+        try {
+            JavaFileObject file = filer.createSourceFile(qualified(packageName, binderName), form);
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                new BinderWriter(out, packageName, binderName, form.getQualifiedName().toString(), fields).write();
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "FormBinder 를 만들 수 없습니다: " + e.getMessage(), form);
+            return;
+        }
+        generated.add(qualified(packageName, binderName));
+        originatingElements.add(form);
+    }
+
+    /**
+     * 상위 클래스의 필드도 포함, 같은 이름이면 하위 클래스 우선
+     */
+    private List<FieldModel> collectFields(TypeElement form) {
+        Map<String, FieldModel> fields = new LinkedHashMap<>();
+        for (TypeElement type = form; type != null; type = superclass(type)) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                String name = field.getSimpleName().toString();
+                if (fields.containsKey(name) || field.getModifiers().contains(Modifier.STATIC)
+                        || field.getModifiers().contains(Modifier.FINAL)) {
+                    continue;
+                }
+                FieldModel model = toModel(type, field);
+                if (model != null) {
+                    fields.put(name, model);
+                }
+            }
+        }
+        return new ArrayList<>(fields.values());
+    }
+
+    private FieldModel toModel(TypeElement owner, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        TypeMirror type = field.asType();
+        boolean primitive = type.getKind().isPrimitive();
+        TypeMirror boxed = primitive ? types.boxedClass(types.getPrimitiveType(type.getKind())).asType() : type;
+
+        if (!primitive && (type.getKind() != TypeKind.DECLARED || !((DeclaredType) type).getTypeArguments().isEmpty())) {
+            skip(field, "배열, 제네릭 타입");
+            return null;
+        }
+        String boxedName = types.erasure(boxed).toString();
+
+        String setter = "set" + capitalize(name);
+        String getter = (type.getKind() == TypeKind.BOOLEAN ? "is" : "get") + capitalize(name);
+        if (!hasAccessor(owner, field, setter, 1, LOMBOK_SETTERS) || !hasAccessor(owner, field, getter, 0, LOMBOK_GETTERS)) {
+            skip(field, "setter/getter 없음");
+            return null;
+        }
+
+        FieldModel model = new FieldModel(name, primitive ? type.toString() : boxedName, boxedName, setter, getter);
+        AnnotationMirror numberFormat = findAnnotation(field, NUMBER_FORMAT);
+        AnnotationMirror dateTimeFormat = findAnnotation(field, DATE_TIME_FORMAT);
+        if (numberFormat != null) {
+            if (!NUMBER_TYPES.contains(boxedName)) {
+                skip(field, "@NumberFormat 을 처리할 수 없는 타입");
+                return null;
+            }
+            model.kind = FieldKind.NUMBER;
+            model.formatterArguments = "NumberFormat.Style." + value(numberFormat, "style") + ", "
+                    + BinderWriter.literal(value(numberFormat, "pattern"));
+        } else if (dateTimeFormat != null) {
+            Object fallbackPatterns = value(dateTimeFormat, "fallbackPatterns");
+            if (!DATE_TIME_TYPES.contains(boxedName) || (fallbackPatterns instanceof List && !((List<?>) fallbackPatterns).isEmpty())) {
+                skip(field, "@DateTimeFormat 을 처리할 수 없는 타입 또는 fallbackPatterns");
+                return null;
+            }
+            model.kind = FieldKind.DATE_TIME;
+            model.formatterArguments = boxedName + ".class, " + BinderWriter.literal(value(dateTimeFormat, "style")) + ", "
+                    + "DateTimeFormat.ISO." + value(dateTimeFormat, "iso") + ", " + BinderWriter.literal(value(dateTimeFormat, "pattern"));
+        } else if ("java.lang.String".equals(boxedName)) {
+            model.kind = FieldKind.STRING;
+        } else {
+            model.kind = FieldKind.CONVERT;
+        }
+        return model;
+    }
+
+    private boolean hasAccessor(TypeElement owner, VariableElement field, String methodName, int parameters,
+                                Set<String> lombokAnnotations) {
+        for (ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(methodName) && method.getParameters().size() == parameters
+                    && !method.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return hasAnyAnnotation(owner, lombokAnnotations) || hasAnyAnnotation(field, lombokAnnotations);
+    }
+
+    private boolean hasAnyAnnotation(Element element, Set<String> names) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (names.contains(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AnnotationMirror findAnnotation(Element element, String name) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(name)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 기본값 포함, enum 은 상수 이름
+     */
+    private Object value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                Object value = entry.getValue().getValue();
+                return value instanceof VariableElement ? ((VariableElement) value).getSimpleName().toString() : value;
+            }
+        }
+        return null;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) types.asElement(superclass);
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private void skip(VariableElement field, String reason) {
+        messager.printMessage(Diagnostic.Kind.NOTE, "FormBinder 에서 제외 (" + reason + "), 스프링 기본 바인딩으로 처리", field);
+    }
+
+    private void writeServiceFile() {
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + FORM_BINDER,
+                    originatingElements.toArray(new Element[0]));
+            try (Writer writer = file.openWriter()) {
+                for (String name : generated) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "META-INF/services 를 만들 수 없습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * FormatterController.Form -> FormatterController_FormBinder
+     */
+    private static String binderSimpleName(TypeElement form) {
+        StringBuilder name = new StringBuilder(form.getSimpleName());
+        Element enclosing = form.getEnclosingElement();
+        while (!(enclosing instanceof PackageElement)) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append("Binder").toString();
+    }
+
+    private static String qualified(String packageName, String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,186 @@
+package hello.typeconverter.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JMH 결과(results.json)를 커밋된 기준 파일(src/jmh/baseline.json)과 비교
+ *
+ * compare -> 기준보다 느려지거나(score) 할당이 늘어난(gc.alloc.rate.norm) 벤치마크가 있으면 종료 코드 1
+ * update  -> 이번 결과로 기준 파일을 다시 만든다. (벤치마크를 추가했거나 의도한 변경, 측정 장비가 바뀐 경우)
+ *
+ * 기준 파일은 벤치마크 이름 + 파라미터를 키로 점수, 단위, 할당량만 저장 (JMH 원본 JSON 은 측정값이 모두 들어 있어서 diff 보기 어려움)
+ * 시간은 장비, 부하에 따라 흔들리므로 허용 범위를 넓게, 할당량은 거의 일정하므로 좁게 둔다.
+ * 기준에 없는 벤치마크는 new 로 표시만 하고 실패로 보지 않는다.
+ * 결과에 없는 기준 벤치마크(이름 변경, 삭제)는 missing 으로 실패, jmh.includes 로 일부만 실행한 경우 allowMissing 으로 허용
+ * mode 나 단위가 기준과 다르면(@BenchmarkMode, @OutputTimeUnit 변경) 점수를 비교할 수 없으므로 실패, 기준 파일을 다시 만들어야 한다.
+ *
+ * ./gradlew jmh jmhCompare
+ * ./gradlew jmh jmhUpdateBaseline
+ */
+public class BaselineComparator {
+
+    private static final String ALLOC_NORM = "\u00b7gc.alloc.rate.norm";
+    private static final double ALLOC_SLACK_BYTES = 8;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("usage: (compare|update) <baseline.json> <results.json> [timeTolerance] [allocTolerance] [allowMissing]");
+            System.exit(2);
+        }
+        BaselineComparator comparator = new BaselineComparator();
+        File baseline = new File(args[1]);
+        File results = new File(args[2]);
+        if ("update".equals(args[0])) {
+            comparator.update(baseline, results);
+            return;
+        }
+        double timeTolerance = args.length > 3 ? Double.parseDouble(args[3]) : 0.15;
+        double allocTolerance = args.length > 4 ? Double.parseDouble(args[4]) : 0.05;
+        boolean allowMissing = args.length > 5 && Boolean.parseBoolean(args[5]);
+        int failures = comparator.compare(baseline, results, timeTolerance, allocTolerance, allowMissing);
+        if (failures > 0) {
+            System.err.println(failures + " benchmark(s) regressed, missing or need re-baseline against " + baseline);
+            System.exit(1);
+        }
+    }
+
+    void update(File baseline, File results) throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        readResults(results).forEach((key, entry) -> {
+            ObjectNode node = root.putObject(key);
+            node.put("mode", entry.mode);
+            node.put("score", round(entry.score));
+            node.put("unit", entry.unit);
+            if (!Double.isNaN(entry.alloc)) {
+                node.put("alloc", round(entry.alloc));
+            }
+        });
+        objectMapper.writeValue(baseline, root);
+        System.out.println("baseline updated: " + baseline + " (" + root.size() + " benchmarks)");
+    }
+
+    /**
+     * @return 나빠졌거나 결과에 없거나 mode, 단위가 달라 비교할 수 없는 벤치마크 수
+     */
+    int compare(File baseline, File results, double timeTolerance, double allocTolerance, boolean allowMissing)
+            throws IOException {
+        Map<String, Entry> base = readBaseline(baseline);
+        Map<String, Entry> current = readResults(results);
+
+        int failures = 0;
+        System.out.printf("%-90s %14s %14s %8s %12s %12s  %s%n", "benchmark", "baseline", "current", "diff", "alloc base", "alloc", "result");
+        for (Map.Entry<String, Entry> e : current.entrySet()) {
+            Entry now = e.getValue();
+            Entry before = base.get(e.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %8s %12s %12s  new%n", e.getKey(), "-", now.score, "", "", format(now.alloc));
+                continue;
+            }
+            if (!now.mode.equals(before.mode) || !now.unit.equals(before.unit)) {
+                //단위가 다르면 점수 차이는 의미가 없다. (ops/ms vs ops/us)
+                failures++;
+                System.out.printf("%-90s %14s %14s %8s %12s %12s  RE-BASELINE REQUIRED (%s %s -> %s %s)%n", e.getKey(), "-", "-", "",
+                        format(before.alloc), format(now.alloc), before.mode, before.unit, now.mode, now.unit);
+                continue;
+            }
+            //처리량(thrpt)은 높을수록 좋고, 나머지(avgt, sample, ss)는 낮을수록 좋다.
+            double diff = (now.score - before.score) / before.score;
+            boolean slower = "thrpt".equals(now.mode) ? diff < -timeTolerance : diff > timeTolerance;
+            boolean moreAlloc = !Double.isNaN(now.alloc) && !Double.isNaN(before.alloc)
+                    && now.alloc > before.alloc * (1 + allocTolerance) + ALLOC_SLACK_BYTES;
+            String result = slower && moreAlloc ? "SLOWER, MORE ALLOC" : slower ? "SLOWER" : moreAlloc ? "MORE ALLOC" : "ok";
+            if (slower || moreAlloc) {
+                failures++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+7.1f%% %12s %12s  %s%n", e.getKey(), before.score, now.score,
+                    diff * 100, format(before.alloc), format(now.alloc), result);
+        }
+        for (Map.Entry<String, Entry> e : base.entrySet()) {
+            if (current.containsKey(e.getKey())) {
+                continue;
+            }
+            Entry before = e.getValue();
+            if (!allowMissing) {
+                failures++;
+            }
+            System.out.printf("%-90s %14.3f %14s %8s %12s %12s  %s%n", e.getKey(), before.score, "-", "",
+                    format(before.alloc), "", allowMissing ? "missing (allowed)" : "MISSING");
+        }
+        return failures;
+    }
+
+    private Map<String, Entry> readResults(File results) throws IOException {
+        Map<String, Entry> entries = new TreeMap<>();
+        for (JsonNode node : objectMapper.readTree(results)) {
+            JsonNode primary = node.get("primaryMetric");
+            JsonNode alloc = node.path("secondaryMetrics").path(ALLOC_NORM).get("score");
+            entries.put(key(node), new Entry(node.get("mode").asText(), primary.get("score").asDouble(),
+                    primary.get("scoreUnit").asText(), alloc == null ? Double.NaN : alloc.asDouble()));
+        }
+        return entries;
+    }
+
+    private Map<String, Entry> readBaseline(File baseline) throws IOException {
+        Map<String, Entry> entries = new TreeMap<>();
+        if (!baseline.exists()) {
+            return entries;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = objectMapper.readTree(baseline).fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode node = field.getValue();
+            JsonNode alloc = node.get("alloc");
+            entries.put(field.getKey(), new Entry(node.get("mode").asText(), node.get("score").asDouble(),
+                    node.get("unit").asText(), alloc == null ? Double.NaN : alloc.asDouble()));
+        }
+        return entries;
+    }
+
+    /**
+     * hello.typeconverter.conversion.ConversionServicePathBenchmark.stringToIpPort:service=formatting
+     */
+    private static String key(JsonNode node) {
+        StringBuilder key = new StringBuilder(node.get("benchmark").asText());
+        JsonNode params = node.get("params");
+        if (params != null) {
+            Map<String, String> sorted = new TreeMap<>();
+            params.fields().forEachRemaining(p -> sorted.put(p.getKey(), p.getValue().asText()));
+            sorted.forEach((name, value) -> key.append(':').append(name).append('=').append(value));
+        }
+        return key.toString();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static String format(double alloc) {
+        return Double.isNaN(alloc) ? "-" : String.format("%.1f", alloc);
+    }
+
+    private static final class Entry {
+
+        private final String mode;
+        private final double score;
+        private final String unit;
+        private final double alloc;
+
+        private Entry(String mode, double score, String unit, double alloc) {
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+            this.alloc = alloc;
+        }
+    }
+}
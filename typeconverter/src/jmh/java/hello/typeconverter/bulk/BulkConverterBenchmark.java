@@ -0,0 +1,103 @@
+package hello.typeconverter.bulk;
+
+import hello.typeconverter.converter.StringToIpPortConverter;
+import hello.typeconverter.formatter.MyNumberFormatter;
+import hello.typeconverter.type.IpPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 줄마다 ConversionService.convert() 를 호출하는 방식과 BulkConverter 비교
+ * 입력은 100,000 줄, 1% 는 잘못된 값 (ConversionService 는 예외를 잡아서 건너뜀)
+ *
+ * ./gradlew jmh -Pjmh.includes=BulkConverterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkConverterBenchmark {
+
+    private static final int LINES = 100_000;
+
+    @Param({"1", "0"})
+    int parallelism;
+
+    String ipPorts;
+    String numbers;
+    DefaultFormattingConversionService conversionService;
+    BulkConverter bulkConverter;
+
+    @Setup
+    public void setUp() {
+        StringBuilder ipPortsBuilder = new StringBuilder();
+        StringBuilder numbersBuilder = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            boolean bad = i % 100 == 0;
+            ipPortsBuilder.append(bad ? "bad" : "10." + (i >>> 16) + "." + ((i >>> 8) & 255) + "." + (i & 255) + ":" + (1 + i % 65535)).append('\n');
+            numbersBuilder.append(bad ? "bad" : String.format(Locale.KOREA, "%,d", i * 37)).append('\n');
+        }
+        ipPorts = ipPortsBuilder.toString();
+        numbers = numbersBuilder.toString();
+
+        conversionService = new DefaultFormattingConversionService();
+        conversionService.addConverter(new StringToIpPortConverter());
+        conversionService.addFormatter(new MyNumberFormatter());
+        bulkConverter = new BulkConverter(parallelism, 8192, 2048, 256);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bulkConverter.shutdown();
+    }
+
+    @Benchmark
+    public int ipPortsPerLine() {
+        int count = 0;
+        for (String line : ipPorts.split("\n")) {
+            try {
+                if (conversionService.convert(line, IpPort.class) != null) {
+                    count++;
+                }
+            } catch (RuntimeException e) {
+                //건너뜀
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int ipPortsBulk() {
+        return bulkConverter.convertIpPorts(ipPorts, '\n').getCount();
+    }
+
+    @Benchmark
+    public int numbersPerLine() {
+        int count = 0;
+        for (String line : numbers.split("\n")) {
+            try {
+                if (conversionService.convert(line, Integer.class) != null) {
+                    count++;
+                }
+            } catch (RuntimeException e) {
+                //건너뜀
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int numbersBulk() {
+        return bulkConverter.convertInts(numbers, '\n', Locale.KOREA).getCount();
+    }
+}
@@ -0,0 +1,88 @@
+package hello.typeconverter.controller;
+
+import hello.typeconverter.binder.FormBinder;
+import hello.typeconverter.binder.FormBinderRegistry;
+import hello.typeconverter.binder.GeneratedFormDataBinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.CachedIntrospectionResults;
+import org.springframework.boot.autoconfigure.web.format.DateTimeFormatters;
+import org.springframework.boot.autoconfigure.web.format.WebConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FormatterController.Form 바인딩 비교 (POST /formatter/edit 한 번)
+ * spring -> ExtendedServletRequestDataBinder (BeanWrapper, TypeDescriptor 애노테이션 조회)
+ * generated -> GeneratedFormDataBinder + FormatterController_FormBinder
+ *
+ * bind* -> 요청마다 폼, 바인더를 새로 만드는 실제 요청 처리와 같은 형태
+ * firstBind* -> 시작 직후 첫 요청, 스프링은 클래스 분석(CachedIntrospectionResults) 캐시를 비운 상태
+ *
+ * ./gradlew jmh -Pjmh.includes=FormBinderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FormBinderBenchmark {
+
+    WebConversionService conversionService;
+    FormBinder<FormatterController.Form> formBinder;
+    MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        conversionService = new WebConversionService(new DateTimeFormatters());
+        formBinder = new FormBinderRegistry().find(FormatterController.Form.class);
+        request = new MockHttpServletRequest("POST", "/formatter/edit");
+        request.addParameter("number", "10,000");
+        request.addParameter("localDateTime", "2021-01-01 10:50:11");
+    }
+
+    @Benchmark
+    public BindingResult bindSpring() {
+        return bind(new ExtendedServletRequestDataBinder(new FormatterController.Form(), "form"));
+    }
+
+    @Benchmark
+    public BindingResult bindGenerated() {
+        return bind(new GeneratedFormDataBinder(new FormatterController.Form(), "form", formBinder));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 20)
+    public BindingResult firstBindSpring() {
+        CachedIntrospectionResults.clearClassLoader(FormatterController.Form.class.getClassLoader());
+        return bindSpring();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 20)
+    public BindingResult firstBindGenerated() {
+        FormBinder<FormatterController.Form> binder = new FormBinderRegistry().find(FormatterController.Form.class);
+        return bind(new GeneratedFormDataBinder(new FormatterController.Form(), "form", binder));
+    }
+
+    private BindingResult bind(ServletRequestDataBinder binder) {
+        binder.setConversionService(conversionService);
+        binder.bind(request);
+        return binder.getBindingResult();
+    }
+}
@@ -0,0 +1,82 @@
+package hello.typeconverter.controller;
+
+import hello.typeconverter.TypeconverterApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 애플리케이션 전체(WebConfig 의 컨버터, 타임리프 뷰 포함)를 띄우고 MockMvc 로 요청 하나를 처리하는 비용
+ * 톰캣, 네트워크는 제외하고 DispatcherServlet 부터 응답 작성까지
+ *
+ * HelloController 는 System.out 으로 값을 출력하므로 측정 중에는 출력을 버린다.
+ *
+ * ./gradlew jmh -Pjmh.includes=MockMvcConversionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MockMvcConversionBenchmark {
+
+    ConfigurableApplicationContext context;
+    MockMvc mockMvc;
+    PrintStream originalOut;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(TypeconverterApplication.class)
+                .properties("server.port=0", "spring.main.banner-mode=off")
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        //오류 응답(400 ...)을 측정하지 않도록 먼저 확인
+        for (MvcResult result : new MvcResult[]{helloV2(), ipPort(), formatterEdit()}) {
+            if (result.getResponse().getStatus() != 200) {
+                throw new IllegalStateException(result.getRequest().getRequestURI() + " -> " + result.getResponse().getStatus());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult helloV2() throws Exception {
+        return mockMvc.perform(get("/hello-v2").param("data", "10")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult ipPort() throws Exception {
+        return mockMvc.perform(get("/ip-port").param("ipPort", "127.0.0.1:8080")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult formatterEdit() throws Exception {
+        return mockMvc.perform(post("/formatter/edit")
+                .param("number", "10,000")
+                .param("localDateTime", "2021-01-01 10:50:11")).andReturn();
+    }
+}
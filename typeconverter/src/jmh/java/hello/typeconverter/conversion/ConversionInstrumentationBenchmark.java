@@ -0,0 +1,47 @@
+package hello.typeconverter.conversion;
+
+import hello.typeconverter.converter.StringToIpPortConverter;
+import hello.typeconverter.type.IpPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConversionService 를 통한 StringToIpPortConverter 호출, 계측 끄기(off), 켜기(on), 히스토그램까지(histogram) 비교
+ * off 는 원래 컨버터를 그대로 등록하므로 계측 전과 같아야 한다.
+ *
+ * ./gradlew jmh -Pjmh.includes=ConversionInstrumentationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConversionInstrumentationBenchmark {
+
+    @Param({"off", "on", "histogram"})
+    String instrument;
+
+    DefaultFormattingConversionService conversionService;
+
+    @Setup
+    public void setUp() {
+        conversionService = new DefaultFormattingConversionService();
+        ConversionInstrumentation instrumentation = new ConversionInstrumentation(new SimpleMeterRegistry(),
+                !"off".equals(instrument), "histogram".equals(instrument), Duration.ofMillis(5), Duration.ofSeconds(10));
+        instrumentation.addConverter(conversionService, new StringToIpPortConverter());
+    }
+
+    @Benchmark
+    public IpPort convert() {
+        return conversionService.convert("127.0.0.1:8080", IpPort.class);
+    }
+}
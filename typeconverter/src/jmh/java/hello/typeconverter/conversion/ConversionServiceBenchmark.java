@@ -0,0 +1,100 @@
+package hello.typeconverter.conversion;
+
+import hello.typeconverter.converter.IpPortToLongConverter;
+import hello.typeconverter.converter.IpPortToStringConverter;
+import hello.typeconverter.converter.LongToIpPortConverter;
+import hello.typeconverter.converter.StringToIpPortConverter;
+import hello.typeconverter.formatter.MyNumberFormatter;
+import hello.typeconverter.type.IpPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.autoconfigure.web.format.DateTimeFormatters;
+import org.springframework.boot.autoconfigure.web.format.WebConversionService;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.format.support.FormattingConversionService;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스프링 부트가 사용하는 WebConversionService 와 ResolutionMetricsConversionService(변환 시간, 클래스 쌍 계측 래퍼) 비교
+ * 컨버터는 WebConfig 와 같은 순서로 등록, metrics 는 계측 비용(맵 조회 + Timer 기록) 확인용
+ *
+ * requestParam -> @RequestParam 이 붙은 파라미터의 TypeDescriptor (컨트롤러에서 실제로 들어오는 형태)
+ * requestParamPerCall -> TypeConverterDelegate 처럼 요청마다 TypeDescriptor 를 새로 만드는 경우
+ *                        스프링의 캐시 키 비교가 == 로 끝나지 않고 애노테이션 equals 까지 가는 경우
+ *
+ * ./gradlew jmh -Pjmh.includes=ConversionServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConversionServiceBenchmark {
+
+    @Param({"default", "metrics"})
+    String service;
+
+    FormattingConversionService conversionService;
+
+    final TypeDescriptor stringType = TypeDescriptor.valueOf(String.class);
+    TypeDescriptor integerType;
+    TypeDescriptor ipPortType;
+    MethodParameter parameter;
+    TypeDescriptor requestParamType;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        WebConversionService webConversionService = new WebConversionService(new DateTimeFormatters());
+        webConversionService.addConverter(new StringToIpPortConverter());
+        webConversionService.addConverter(new IpPortToStringConverter());
+        webConversionService.addConverter(new IpPortToLongConverter());
+        webConversionService.addConverter(new LongToIpPortConverter());
+        webConversionService.addFormatter(new MyNumberFormatter());
+
+        if ("metrics".equals(service)) {
+            ResolutionMetricsConversionService metrics = new ResolutionMetricsConversionService(webConversionService);
+            metrics.setConvertTimer(new SimpleMeterRegistry().timer("conversion.service.convert"));
+            conversionService = metrics;
+        } else {
+            conversionService = webConversionService;
+        }
+
+        integerType = TypeDescriptor.valueOf(Integer.class);
+        ipPortType = TypeDescriptor.valueOf(IpPort.class);
+        parameter = new MethodParameter(
+                ConversionServiceBenchmark.class.getDeclaredMethod("handler", Integer.class), 0);
+        requestParamType = new TypeDescriptor(parameter);
+    }
+
+    @Benchmark
+    public Object stringToInteger() {
+        return conversionService.convert("1000", stringType, integerType);
+    }
+
+    @Benchmark
+    public Object stringToIpPort() {
+        return conversionService.convert("127.0.0.1:8080", stringType, ipPortType);
+    }
+
+    @Benchmark
+    public Object requestParam() {
+        return conversionService.convert("1000", stringType, requestParamType);
+    }
+
+    @Benchmark
+    public Object requestParamPerCall() {
+        return conversionService.convert("1000", stringType, new TypeDescriptor(parameter));
+    }
+
+    @SuppressWarnings("unused")
+    void handler(@RequestParam("data") Integer data) {
+    }
+}
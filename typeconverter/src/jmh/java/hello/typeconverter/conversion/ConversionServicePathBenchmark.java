@@ -0,0 +1,81 @@
+package hello.typeconverter.conversion;
+
+import hello.typeconverter.converter.IntegerToStringConverter;
+import hello.typeconverter.converter.IpPortToStringConverter;
+import hello.typeconverter.converter.StringToIntegerConverter;
+import hello.typeconverter.converter.StringToIpPortConverter;
+import hello.typeconverter.formatter.MyNumberFormatter;
+import hello.typeconverter.type.IpPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 변환을 ConversionService 를 통해 호출
+ * conversion -> DefaultConversionService + 컨버터 (ConversionServiceTest)
+ * formatting -> DefaultFormattingConversionService + 컨버터 + MyNumberFormatter (FormattingConversionServiceTest)
+ *
+ * ConverterBenchmark 와의 차이가 컨버터 조회 비용
+ *
+ * ./gradlew jmh -Pjmh.includes=ConversionServicePathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConversionServicePathBenchmark {
+
+    @Param({"conversion", "formatting"})
+    String service;
+
+    GenericConversionService conversionService;
+    final IpPort ipPort = new IpPort("127.0.0.1", 8080);
+    final Integer number = 10000;
+    String numberText;
+
+    @Setup
+    public void setUp() {
+        if ("formatting".equals(service)) {
+            DefaultFormattingConversionService formattingService = new DefaultFormattingConversionService();
+            formattingService.addFormatter(new MyNumberFormatter());
+            conversionService = formattingService;
+            numberText = "10,000";
+        } else {
+            conversionService = new DefaultConversionService();
+            conversionService.addConverter(new StringToIntegerConverter());
+            conversionService.addConverter(new IntegerToStringConverter());
+            numberText = "10000";
+        }
+        conversionService.addConverter(new StringToIpPortConverter());
+        conversionService.addConverter(new IpPortToStringConverter());
+    }
+
+    @Benchmark
+    public Integer stringToInteger() {
+        return conversionService.convert(numberText, Integer.class);
+    }
+
+    @Benchmark
+    public String integerToString() {
+        return conversionService.convert(number, String.class);
+    }
+
+    @Benchmark
+    public IpPort stringToIpPort() {
+        return conversionService.convert("127.0.0.1:8080", IpPort.class);
+    }
+
+    @Benchmark
+    public String ipPortToString() {
+        return conversionService.convert(ipPort, String.class);
+    }
+}
@@ -0,0 +1,78 @@
+package hello.typeconverter.converter;
+
+import hello.typeconverter.formatter.MyNumberFormatter;
+import hello.typeconverter.type.IpPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모듈의 컨버터, 포맷터를 ConversionService 없이 직접 호출
+ * ConverterTest, MyNumberFormatterTest 와 같은 입력
+ *
+ * ./gradlew jmh -Pjmh.includes='\.ConverterBenchmark\.'   (BulkConverterBenchmark 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConverterBenchmark {
+
+    final StringToIntegerConverter stringToInteger = new StringToIntegerConverter();
+    final IntegerToStringConverter integerToString = new IntegerToStringConverter();
+    final StringToIpPortConverter stringToIpPort = new StringToIpPortConverter();
+    final IpPortToStringConverter ipPortToString = new IpPortToStringConverter();
+    final IpPortToLongConverter ipPortToLong = new IpPortToLongConverter();
+    final LongToIpPortConverter longToIpPort = new LongToIpPortConverter();
+    final MyNumberFormatter numberFormatter = new MyNumberFormatter();
+
+    final IpPort ipPort = new IpPort("127.0.0.1", 8080);
+    final Long packedIpPort = ipPortToLong.convert(ipPort);
+    final Integer number = 10000;
+
+    @Benchmark
+    public Integer stringToInteger() {
+        return stringToInteger.convert("10");
+    }
+
+    @Benchmark
+    public String integerToString() {
+        return integerToString.convert(number);
+    }
+
+    @Benchmark
+    public IpPort stringToIpPort() {
+        return stringToIpPort.convert("127.0.0.1:8080");
+    }
+
+    @Benchmark
+    public String ipPortToString() {
+        return ipPortToString.convert(ipPort);
+    }
+
+    @Benchmark
+    public Long ipPortToLong() {
+        return ipPortToLong.convert(ipPort);
+    }
+
+    @Benchmark
+    public IpPort longToIpPort() {
+        return longToIpPort.convert(packedIpPort);
+    }
+
+    @Benchmark
+    public Number numberFormatterParse() throws ParseException {
+        return numberFormatter.parse("1,000", Locale.KOREA);
+    }
+
+    @Benchmark
+    public String numberFormatterPrint() {
+        return numberFormatter.print(1000000, Locale.KOREA);
+    }
+}
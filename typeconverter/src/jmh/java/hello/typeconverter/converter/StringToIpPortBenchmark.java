@@ -0,0 +1,74 @@
+package hello.typeconverter.converter;
+
+import hello.typeconverter.type.IpPort;
+import hello.typeconverter.type.IpPortParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 변경 전 컨버터(split(":") + INFO 로그)와 새 컨버터 비교
+ *
+ * 요청마다 새로운 문자열이 들어오는 상황을 흉내내기 위해 모든 벤치마크에서 new String(chars) 로 입력을 만든다.
+ * (String.hashCode() 는 인스턴스에 캐시되므로 같은 문자열 객체를 재사용하면 캐시 조회가 실제보다 싸게 측정됨)
+ * 로그는 레벨 판단까지만 비교하기 위해 legacy 도 로그 출력 없이 split 비용만 측정
+ *
+ * ./gradlew jmh -Pjmh.includes=StringToIpPortBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StringToIpPortBenchmark {
+
+    @Param({"127.0.0.1:8080", "[2001:db8::1]:443"})
+    String source;
+
+    char[] chars;
+    StringToIpPortConverter converter;
+
+    @Setup
+    public void setUp() {
+        chars = source.toCharArray();
+        converter = new StringToIpPortConverter();
+    }
+
+    @Benchmark
+    public String baseline() {
+        return new String(chars);
+    }
+
+    /**
+     * 변경 전 StringToIpPortConverter 의 변환 로직, IPv6 는 잘못 변환되지만 비용 비교용으로 그대로 둔다.
+     */
+    @Benchmark
+    public IpPort legacySplit() {
+        String[] split = new String(chars).split(":");
+        String ip = split[0];
+        int port = Integer.parseInt(split[split.length - 1]);
+        return new IpPort(ip, port);
+    }
+
+    @Benchmark
+    public IpPort parse() {
+        return IpPortParser.parse(new String(chars));
+    }
+
+    @Benchmark
+    public IpPort converterCached() {
+        return converter.convert(new String(chars));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public IpPort converterCachedContended() {
+        return converter.convert(new String(chars));
+    }
+}
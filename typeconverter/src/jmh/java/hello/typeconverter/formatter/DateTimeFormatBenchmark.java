@@ -0,0 +1,86 @@
+package hello.typeconverter.formatter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.format.datetime.standard.DateTimeFormatterFactory;
+import org.springframework.format.datetime.standard.TemporalAccessorParser;
+import org.springframework.format.datetime.standard.TemporalAccessorPrinter;
+
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @DateTimeFormat(pattern = ...) LocalDateTime 출력, 파싱
+ * spring -> Jsr310DateTimeFormatAnnotationFormatterFactory 가 만드는 TemporalAccessorParser, TemporalAccessorPrinter
+ * fast -> CachedDateTimeFormatAnnotationFormatterFactory 가 만드는 FastTemporalFormatter
+ *
+ * ./gradlew jmh -Pjmh.includes=DateTimeFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateTimeFormatBenchmark {
+
+    @Param({"yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss.SSS"})
+    String pattern;
+
+    final Locale locale = Locale.KOREA;
+    final LocalDateTime value = LocalDateTime.of(2021, 1, 1, 10, 50, 11, 123_000_000);
+
+    TemporalAccessorParser springParser;
+    TemporalAccessorPrinter springPrinter;
+    FastTemporalFormatter fast;
+    String text;
+
+    @Setup
+    public void setUp() {
+        DateTimeFormatter formatter = new DateTimeFormatterFactory(pattern).createDateTimeFormatter();
+        springParser = new TemporalAccessorParser(LocalDateTime.class, formatter);
+        springPrinter = new TemporalAccessorPrinter(formatter);
+        fast = FastTemporalFormatter.of(LocalDateTime.class, pattern);
+        text = formatter.format(value);
+    }
+
+    @Benchmark
+    public String printSpring() {
+        return springPrinter.print(value, locale);
+    }
+
+    @Benchmark
+    public String printFast() {
+        return fast.print(value, locale);
+    }
+
+    @Benchmark
+    public TemporalAccessor parseSpring() throws ParseException {
+        return springParser.parse(text, locale);
+    }
+
+    @Benchmark
+    public TemporalAccessor parseFast() throws ParseException {
+        return fast.parse(text, locale);
+    }
+
+    /**
+     * 패턴 캐시 없이 요청마다 DateTimeFormatter 를 만드는 경우
+     */
+    @Benchmark
+    public DateTimeFormatter createFormatter() {
+        return new DateTimeFormatterFactory(pattern).createDateTimeFormatter();
+    }
+
+    @Benchmark
+    public DateTimeFormatter cachedFormatter() {
+        return DateTimePatterns.formatter(pattern);
+    }
+}
@@ -0,0 +1,81 @@
+package hello.typeconverter.formatter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 변경 전 MyNumberFormatter(호출마다 NumberFormat.getInstance)와 NumberFormatEngine 비교
+ * 정수는 빠른 경로, 소수(1234.5678)는 DecimalFormat 복제 경로를 지난다.
+ * ar-EG, fa-IR 은 ASCII 숫자를 쓰지 않는 로케일이라 정수도 DecimalFormat 경로
+ *
+ * ./gradlew jmh -Pjmh.includes=NumberFormatEngineBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NumberFormatEngineBenchmark {
+
+    @Param({"ko-KR", "en-US", "de-DE", "fr-FR", "ja-JP", "de-CH", "hi-IN", "sv-SE", "ar-EG", "fa-IR"})
+    String languageTag;
+
+    Locale locale;
+    NumberFormatEngine engine;
+    Long integer = 1234567L;
+    Double decimal = 1234.5678;
+    String integerText;
+
+    @Setup
+    public void setUp() {
+        locale = Locale.forLanguageTag(languageTag);
+        engine = new NumberFormatEngine();
+        integerText = NumberFormat.getInstance(locale).format(integer);
+    }
+
+    @Benchmark
+    public String legacyPrintInteger() {
+        return NumberFormat.getInstance(locale).format(integer);
+    }
+
+    @Benchmark
+    public String printInteger() {
+        return engine.print(integer, locale);
+    }
+
+    @Benchmark
+    public String legacyPrintDecimal() {
+        return NumberFormat.getInstance(locale).format(decimal);
+    }
+
+    @Benchmark
+    public String printDecimal() {
+        return engine.print(decimal, locale);
+    }
+
+    @Benchmark
+    public Number legacyParseInteger() throws ParseException {
+        return NumberFormat.getInstance(locale).parse(integerText);
+    }
+
+    @Benchmark
+    public Number parseInteger() throws ParseException {
+        return engine.parse(integerText, locale);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String printIntegerContended() {
+        return engine.print(integer, locale);
+    }
+}
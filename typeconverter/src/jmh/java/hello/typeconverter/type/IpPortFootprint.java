@@ -0,0 +1,75 @@
+package hello.typeconverter.type;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * 항목 100만 개 기준 컬렉션별 힙 사용량 측정 (JMH 가 아닌 main 으로 실행)
+ * GC 후 사용 중인 힙의 차이로 계산하므로 대략적인 값, -Xmx 를 넉넉하게 주고 실행
+ *
+ * java -Xmx2g -cp <jmh classpath> hello.typeconverter.type.IpPortFootprint [항목 수]
+ */
+public class IpPortFootprint {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long[] keys = new long[size];
+        Random random = new Random(32);
+        for (int i = 0; i < size; i++) {
+            keys[i] = PackedIpPort.packIpv4(random.nextInt(), 1 + random.nextInt(65535));
+        }
+
+        measure("HashSet<IpPort>", size, n -> {
+            Set<IpPort> set = new HashSet<>();
+            for (long key : keys) {
+                set.add(PackedIpPort.unpackIpv4(key));
+            }
+            return set;
+        });
+        measure("IpPortSet", size, n -> {
+            IpPortSet set = new IpPortSet();
+            for (long key : keys) {
+                set.addIpv4(key);
+            }
+            return set;
+        });
+        measure("HashMap<IpPort, Integer>", size, n -> {
+            Map<IpPort, Integer> map = new HashMap<>();
+            Integer value = 1;
+            for (long key : keys) {
+                map.put(PackedIpPort.unpackIpv4(key), value);
+            }
+            return map;
+        });
+        measure("IpPortMap<Integer>", size, n -> {
+            IpPortMap<Integer> map = new IpPortMap<>();
+            Integer value = 1;
+            for (long key : keys) {
+                map.putIpv4(key, value);
+            }
+            return map;
+        });
+    }
+
+    private static void measure(String name, int size, IntFunction<Object> factory) {
+        long before = usedHeap();
+        Object collection = factory.apply(size);
+        long after = usedHeap();
+        System.out.printf("%-26s %,12d bytes  %6.1f bytes/entry%n", name, after - before, (double) (after - before) / size);
+        if (collection.hashCode() == 42) {
+            System.out.println();   //측정이 끝날 때까지 컬렉션을 살려 둔다.
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,86 @@
+package hello.typeconverter.type;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IPv4 IpPort 조회 처리량 비교, 절반은 있는 키, 절반은 없는 키
+ * - hashSet           : HashSet<IpPort>.contains
+ * - ipPortSet         : IpPortSet.contains(IpPort), 조회할 때마다 ip 문자열을 압축
+ * - ipPortSetPacked   : IpPortSet.containsIpv4(long), 이미 압축한 값으로 조회
+ *
+ * 메모리 사용량은 IpPortFootprint 참고
+ *
+ * ./gradlew jmh -Pjmh.includes=IpPortSetBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IpPortSetBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    Set<IpPort> hashSet;
+    IpPortSet ipPortSet;
+
+    IpPort[] queries;
+    long[] packedQueries;
+    int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(32);
+        hashSet = new HashSet<>();
+        ipPortSet = new IpPortSet(size);
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            long packed = PackedIpPort.packIpv4(random.nextInt(), 1 + random.nextInt(65535));
+            keys[i] = packed;
+            hashSet.add(PackedIpPort.unpackIpv4(packed));
+            ipPortSet.addIpv4(packed);
+        }
+
+        queries = new IpPort[QUERIES];
+        packedQueries = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long packed = i % 2 == 0
+                    ? keys[random.nextInt(size)]
+                    : PackedIpPort.packIpv4(random.nextInt(), 1 + random.nextInt(65535));
+            packedQueries[i] = packed;
+            queries[i] = PackedIpPort.unpackIpv4(packed);
+        }
+    }
+
+    private int nextIndex() {
+        return next = (next + 1) & (QUERIES - 1);
+    }
+
+    @Benchmark
+    public boolean hashSet() {
+        return hashSet.contains(queries[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean ipPortSet() {
+        return ipPortSet.contains(queries[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean ipPortSetPacked() {
+        return ipPortSet.containsIpv4(packedQueries[nextIndex()]);
+    }
+}
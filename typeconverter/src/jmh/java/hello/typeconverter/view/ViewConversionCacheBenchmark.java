@@ -0,0 +1,68 @@
+package hello.typeconverter.view;
+
+import hello.typeconverter.TypeconverterApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * /converter-table 렌더링 (행마다 ${{row.number}}, ${{row.ipPort}})
+ * 숫자는 100개, IpPort 는 16개 값이 반복된다.
+ *
+ * off -> 캐시 없음 (스프링 기본)
+ * request -> 요청 캐시
+ * global -> 요청 캐시 + 전역 LRU
+ * rows 는 ConverterController.MAX_ROWS 를 넘을 수 없다.
+ *
+ * ./gradlew jmh -Pjmh.includes=ViewConversionCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ViewConversionCacheBenchmark {
+
+    @Param({"off", "request", "global"})
+    String cache;
+
+    @Param({"10000"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TypeconverterApplication.class)
+                .properties("server.port=0", "spring.main.banner-mode=off")
+                //application.properties 보다 우선하도록 명령행 인자로 지정
+                .run("--view.conversion-cache.enabled=" + !"off".equals(cache),
+                        "--view.conversion-cache.global-size=" + ("global".equals(cache) ? 4096 : 0));
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult render() throws Exception {
+        return mockMvc.perform(get("/converter-table").param("rows", String.valueOf(rows))).andReturn();
+    }
+}
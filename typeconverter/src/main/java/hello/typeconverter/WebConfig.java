@@ -1,22 +1,45 @@
 package hello.typeconverter;
 
+import hello.typeconverter.conversion.ConversionInstrumentation;
 import hello.typeconverter.converter.IntegerToStringConverter;
+import hello.typeconverter.converter.IpPortToLongConverter;
 import hello.typeconverter.converter.IpPortToStringConverter;
+import hello.typeconverter.converter.LongToIpPortConverter;
 import hello.typeconverter.converter.StringToIntegerConverter;
 import hello.typeconverter.converter.StringToIpPortConverter;
 import hello.typeconverter.formatter.MyNumberFormatter;
+import hello.typeconverter.view.ViewConversionCache;
+import hello.typeconverter.view.ViewConversionCacheInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * 스프링은 내부에서 ConversionService 를 제공
  * WebMvcConfigurer 가 제공하는 addFormatters() 를 사용해서 추가하고 싶은 컨버터를 등록하면 됨
  * 스프링은 내부에서 사용하는 ConversionService 에 컨버터를 추가하게 됨
+ *
+ * 컨버터, 포맷터는 ConversionInstrumentation 을 통해 등록 -> 호출 시간, 실패 횟수를 Micrometer 로 기록
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ConversionInstrumentation instrumentation;
+    private final ViewConversionCache viewConversionCache;
+
+    /**
+     * 타임리프 ${{...}} 변환 결과를 요청 동안(설정하면 요청 사이에도) 캐시
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (viewConversionCache.isEnabled()) {
+            registry.addInterceptor(new ViewConversionCacheInterceptor(viewConversionCache));
+        }
+    }
+
     @Override
     public void addFormatters(FormatterRegistry registry) {
         /**
@@ -26,10 +49,15 @@ public class WebConfig implements WebMvcConfigurer {
          */
         //registry.addConverter(new StringToIntegerConverter());
         //registry.addConverter(new IntegerToStringConverter());
-        registry.addConverter(new StringToIpPortConverter());
-        registry.addConverter(new IpPortToStringConverter());
+        instrumentation.addConverter(registry, new StringToIpPortConverter());
+        instrumentation.addConverter(registry, new IpPortToStringConverter());
+        instrumentation.addConverter(registry, new IpPortToLongConverter());
+        instrumentation.addConverter(registry, new LongToIpPortConverter());
 
         //추가
-        registry.addFormatter(new MyNumberFormatter());
+        instrumentation.addFormatter(registry, new MyNumberFormatter());
+
+        //@DateTimeFormat(pattern = ...) -> 패턴 캐시 + 고정 길이 숫자 패턴 직접 출력, 파싱 (CachedDateTimeFormatAnnotationFormatterFactory)
+        instrumentation.addDateTimeFormatFactory(registry);
     }
 }
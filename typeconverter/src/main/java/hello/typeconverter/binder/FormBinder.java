@@ -0,0 +1,48 @@
+package hello.typeconverter.binder;
+
+import org.springframework.core.convert.ConversionService;
+
+import java.util.Locale;
+
+/**
+ * 컴파일할 때 만들어지는 폼 전용 바인더
+ * 필드 이름으로 switch 해서 setter/getter 와 포맷터를 바로 호출 -> 리플렉션, 애노테이션 조회 없음
+ *
+ * 모르는 필드(중첩 경로, 처리하지 않는 타입)는 UNKNOWN_FIELD 또는 false 를 반환하고 스프링 기본 바인딩으로 넘긴다.
+ */
+public interface FormBinder<T> {
+
+    Object UNKNOWN_FIELD = new Object();
+
+    Class<T> getFormType();
+
+    /**
+     * @return 모르는 필드면 null
+     */
+    Class<?> getFieldType(String field);
+
+    /**
+     * 요청 파라미터 값(String 또는 String[])을 필드 타입으로 변환
+     *
+     * @return 모르는 필드면 UNKNOWN_FIELD
+     * @throws Exception 변환 실패 -> typeMismatch 오류
+     */
+    Object parse(String field, Object value, ConversionService conversionService, Locale locale) throws Exception;
+
+    /**
+     * parse() 가 반환한 값을 setter 로 설정
+     */
+    void set(T target, String field, Object value);
+
+    /**
+     * @return 모르는 필드면 UNKNOWN_FIELD
+     */
+    Object get(T target, String field);
+
+    /**
+     * 필드 값을 화면에 출력할 문자로 변환 (@NumberFormat, @DateTimeFormat 형식)
+     *
+     * @return 모르는 필드면 UNKNOWN_FIELD
+     */
+    Object print(String field, Object value, ConversionService conversionService, Locale locale);
+}
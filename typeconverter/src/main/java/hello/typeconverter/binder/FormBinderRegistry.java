@@ -0,0 +1,41 @@
+package hello.typeconverter.binder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * 컴파일할 때 만들어진 FormBinder 를 META-INF/services 에서 찾아서 폼 타입별로 보관
+ * 시작할 때 한 번만 읽고 이후에는 바뀌지 않는다.
+ */
+@Slf4j
+@Component
+public class FormBinderRegistry {
+
+    private final Map<Class<?>, FormBinder<?>> binders;
+
+    public FormBinderRegistry() {
+        this(FormBinderRegistry.class.getClassLoader());
+    }
+
+    public FormBinderRegistry(ClassLoader classLoader) {
+        Map<Class<?>, FormBinder<?>> map = new HashMap<>();
+        for (FormBinder<?> binder : ServiceLoader.load(FormBinder.class, classLoader)) {
+            map.put(binder.getFormType(), binder);
+        }
+        this.binders = Map.copyOf(map);
+        log.info("generated form binders={}", binders.keySet());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> FormBinder<T> find(Class<T> formType) {
+        return (FormBinder<T>) binders.get(formType);
+    }
+
+    public int size() {
+        return binders.size();
+    }
+}
@@ -0,0 +1,137 @@
+package hello.typeconverter.binder;
+
+import hello.typeconverter.formatter.FastTemporalFormatter;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.format.Formatter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.NumberFormat;
+import org.springframework.format.datetime.standard.DateTimeFormatterFactory;
+import org.springframework.format.datetime.standard.TemporalAccessorParser;
+import org.springframework.format.datetime.standard.TemporalAccessorPrinter;
+import org.springframework.format.number.CurrencyStyleFormatter;
+import org.springframework.format.number.NumberStyleFormatter;
+import org.springframework.format.number.PercentStyleFormatter;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
+
+import java.text.ParseException;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+
+/**
+ * 생성된 바인더가 사용하는 공통 코드
+ * 포맷터는 NumberFormatAnnotationFormatterFactory, Jsr310DateTimeFormatAnnotationFormatterFactory 와 같은 방식으로 만든다.
+ * 차이점: 애노테이션 값은 컴파일할 때 읽은 상수, 포맷터는 바인더마다 한 번만 만든다.
+ * 날짜 패턴은 CachedDateTimeFormatAnnotationFormatterFactory 와 같이 DateTimePatterns 캐시를 사용
+ */
+public final class FormBinderSupport {
+
+    private FormBinderSupport() {
+    }
+
+    public static Formatter<Number> numberFormatter(NumberFormat.Style style, String pattern) {
+        if (StringUtils.hasLength(pattern)) {
+            return new NumberStyleFormatter(pattern);
+        }
+        if (style == NumberFormat.Style.CURRENCY) {
+            return new CurrencyStyleFormatter();
+        }
+        if (style == NumberFormat.Style.PERCENT) {
+            return new PercentStyleFormatter();
+        }
+        return new NumberStyleFormatter();
+    }
+
+    public static Formatter<TemporalAccessor> dateTimeFormatter(Class<? extends TemporalAccessor> type,
+                                                                String style, DateTimeFormat.ISO iso, String pattern) {
+        if (StringUtils.hasLength(pattern)) {
+            FastTemporalFormatter formatter = FastTemporalFormatter.of(type, pattern);
+            if (formatter != null) {
+                return formatter;
+            }
+        }
+        DateTimeFormatterFactory factory = new DateTimeFormatterFactory();
+        factory.setStylePattern(style);
+        factory.setIso(iso);
+        factory.setPattern(pattern);
+        DateTimeFormatter formatter = factory.createDateTimeFormatter();
+
+        TemporalAccessorParser parser = new TemporalAccessorParser(type, formatter);
+        TemporalAccessorPrinter printer = new TemporalAccessorPrinter(formatter);
+        return new Formatter<>() {
+            @Override
+            public TemporalAccessor parse(String text, Locale locale) throws ParseException {
+                return parser.parse(text, locale);
+            }
+
+            @Override
+            public String print(TemporalAccessor object, Locale locale) {
+                return printer.print(object, locale);
+            }
+        };
+    }
+
+    /**
+     * 스프링과 같이 빈 문자열은 null
+     */
+    public static <N extends Number> N parseNumber(Formatter<Number> formatter, Object value, Locale locale,
+                                                   Class<N> type) throws ParseException {
+        String text = firstText(value);
+        if (!StringUtils.hasText(text)) {
+            return null;
+        }
+        return NumberUtils.convertNumberToTargetClass(formatter.parse(text, locale), type);
+    }
+
+    public static <T> T parse(Formatter<T> formatter, Object value, Locale locale) throws ParseException {
+        String text = firstText(value);
+        if (!StringUtils.hasText(text)) {
+            return null;
+        }
+        return formatter.parse(text, locale);
+    }
+
+    /**
+     * String 필드, 값이 여러 개면 스프링(ArrayToStringConverter)처럼 쉼표로 연결
+     */
+    public static String text(Object value) {
+        if (value instanceof String[]) {
+            return StringUtils.arrayToCommaDelimitedString((String[]) value);
+        }
+        return (String) value;
+    }
+
+    public static <T> T convert(Object value, Class<T> type, ConversionService conversionService) {
+        return conversionService.convert(value, type);
+    }
+
+    /**
+     * 기본 타입 필드에는 null 을 넣을 수 없음 (스프링도 typeMismatch)
+     */
+    public static <T> T notNull(T value, Class<?> primitiveType) {
+        if (value == null) {
+            throw new IllegalArgumentException("null 을 " + primitiveType.getName() + " 타입에 넣을 수 없음");
+        }
+        return value;
+    }
+
+    public static Object print(Object value, ConversionService conversionService) {
+        if (value == null || !conversionService.canConvert(value.getClass(), String.class)) {
+            return value;
+        }
+        return conversionService.convert(value, String.class);
+    }
+
+    public static <T> String print(Formatter<T> formatter, T value, Locale locale) {
+        return value == null ? "" : formatter.print(value, locale);
+    }
+
+    private static String firstText(Object value) {
+        if (value instanceof String[]) {
+            String[] values = (String[]) value;
+            return values.length == 0 ? null : values[0];
+        }
+        return (String) value;
+    }
+}
@@ -0,0 +1,22 @@
+package hello.typeconverter.binder;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 폼 객체에 붙이면 컴파일할 때 전용 FormBinder 를 만든다. (binder-processor 모듈의 FormBinderProcessor)
+ *
+ * FormatterController.Form -> FormatterController_FormBinder (같은 패키지)
+ * 만들어진 바인더는 META-INF/services 에 등록되고 FormBinderRegistry 가 찾아서 WebDataBinder 에 연결
+ *
+ * 필드는 setter/getter(직접 작성 또는 롬복 @Data, @Setter, @Getter)로 접근한다.
+ * 컬렉션, 배열, 제네릭 필드처럼 바인더가 처리하지 않는 필드는 스프링 기본 바인딩(BeanWrapper)으로 처리
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface GenerateBinder {
+}
@@ -0,0 +1,63 @@
+package hello.typeconverter.binder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.bind.support.WebBindingInitializer;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.InitBinderDataBinderFactory;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+import java.util.List;
+
+/**
+ * @ModelAttribute 폼 객체에 생성된 FormBinder 가 있으면 GeneratedFormDataBinder 를 사용하도록
+ * RequestMappingHandlerAdapter 의 WebDataBinder 생성 부분만 바꾼다.
+ * 폼마다 @InitBinder 를 작성할 필요 없이 @GenerateBinder 만 붙이면 적용
+ *
+ * binder.generated.enabled=false 로 끄면 스프링 기본 바인딩(BeanWrapper)을 사용
+ */
+@Component
+@ConditionalOnProperty(name = "binder.generated.enabled", havingValue = "true", matchIfMissing = true)
+public class GeneratedBinderWebMvcRegistrations implements WebMvcRegistrations {
+
+    private final FormBinderRegistry registry;
+
+    public GeneratedBinderWebMvcRegistrations(FormBinderRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+        return new RequestMappingHandlerAdapter() {
+            @Override
+            protected InitBinderDataBinderFactory createDataBinderFactory(List<InvocableHandlerMethod> binderMethods) {
+                return new GeneratedBinderDataBinderFactory(binderMethods, getWebBindingInitializer(), registry);
+            }
+        };
+    }
+
+    static class GeneratedBinderDataBinderFactory extends ServletRequestDataBinderFactory {
+
+        private final FormBinderRegistry registry;
+
+        GeneratedBinderDataBinderFactory(List<InvocableHandlerMethod> binderMethods,
+                                         WebBindingInitializer initializer, FormBinderRegistry registry) {
+            super(binderMethods, initializer);
+            this.registry = registry;
+        }
+
+        @Override
+        protected ServletRequestDataBinder createBinderInstance(Object target, String objectName, NativeWebRequest request)
+                throws Exception {
+            FormBinder<?> formBinder = target == null ? null : registry.find(target.getClass());
+            if (formBinder == null) {
+                return super.createBinderInstance(target, objectName, request);
+            }
+            return new GeneratedFormDataBinder(target, objectName, formBinder);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package hello.typeconverter.binder;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.beans.PropertyEditor;
+import java.beans.PropertyEditorSupport;
+
+/**
+ * 화면에 다시 출력할 때(th:field, 오류 메시지 코드)도 생성된 FormBinder 를 사용하는 BindingResult
+ * 바인더가 모르는 필드는 BeanPropertyBindingResult(BeanWrapper)로 처리
+ */
+public class GeneratedFormBindingResult extends BeanPropertyBindingResult {
+
+    private final transient FormBinder<Object> formBinder;
+    private transient ConversionService conversionService;
+
+    public GeneratedFormBindingResult(Object target, String objectName, boolean autoGrowNestedPaths,
+                                      int autoGrowCollectionLimit, FormBinder<Object> formBinder) {
+        super(target, objectName, autoGrowNestedPaths, autoGrowCollectionLimit);
+        this.formBinder = formBinder;
+    }
+
+    @Override
+    public void initConversion(ConversionService conversionService) {
+        super.initConversion(conversionService);
+        this.conversionService = conversionService;
+    }
+
+    @Override
+    public Class<?> getFieldType(String field) {
+        Class<?> type = field == null ? null : formBinder.getFieldType(field);
+        return type != null ? type : super.getFieldType(field);
+    }
+
+    @Override
+    protected Object getActualFieldValue(String field) {
+        Object value = formBinder.get(getTarget(), field);
+        return value != FormBinder.UNKNOWN_FIELD ? value : super.getActualFieldValue(field);
+    }
+
+    @Override
+    protected Object formatFieldValue(String field, Object value) {
+        if (conversionService == null || getCustomEditor(field) != null) {
+            return super.formatFieldValue(field, value);
+        }
+        Object text = formBinder.print(field, value, conversionService, LocaleContextHolder.getLocale());
+        return text != FormBinder.UNKNOWN_FIELD ? text : super.formatFieldValue(field, value);
+    }
+
+    /**
+     * th:field 는 findEditor() 로 얻은 PropertyEditor 로 값을 출력
+     * 기본 구현은 BeanWrapper 에서 필드의 TypeDescriptor(애노테이션 포함)를 찾는다.
+     */
+    @Override
+    public PropertyEditor findEditor(String field, Class<?> valueType) {
+        if (field == null || conversionService == null || formBinder.getFieldType(field) == null
+                || getCustomEditor(field) != null) {
+            return super.findEditor(field, valueType);
+        }
+        return new PropertyEditorSupport() {
+            @Override
+            public String getAsText() {
+                Object text = formBinder.print(field, getValue(), conversionService, LocaleContextHolder.getLocale());
+                return text == null ? "" : text.toString();
+            }
+
+            @Override
+            public void setAsText(String text) {
+                try {
+                    setValue(formBinder.parse(field, text, conversionService, LocaleContextHolder.getLocale()));
+                } catch (Exception e) {
+                    throw new IllegalArgumentException(e.getMessage(), e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package hello.typeconverter.binder;
+
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.validation.AbstractPropertyBindingResult;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import java.beans.PropertyChangeEvent;
+import java.util.Locale;
+
+/**
+ * 생성된 FormBinder 로 요청 파라미터를 바인딩하는 WebDataBinder
+ *
+ * WebDataBinder 의 나머지 처리(필드 마커 "_field", 기본값 "!field", 허용 필드, 필수 필드, URI 변수)는 그대로 두고
+ * 값을 설정하는 applyPropertyValues() 만 바꾼다. 바인더가 모르는 필드는 모아서 스프링 기본 바인딩(BeanWrapper)으로 처리
+ *
+ * 변환 실패는 BeanWrapper 와 같은 TypeMismatchException 으로 만들어서 BindingErrorProcessor 에 넘긴다.
+ * -> 오류 코드(typeMismatch.form.number ...)와 메시지가 스프링 기본 바인딩과 같다.
+ */
+public class GeneratedFormDataBinder extends ExtendedServletRequestDataBinder {
+
+    private final FormBinder<Object> formBinder;
+
+    @SuppressWarnings("unchecked")
+    public GeneratedFormDataBinder(Object target, String objectName, FormBinder<?> formBinder) {
+        super(target, objectName);
+        this.formBinder = (FormBinder<Object>) formBinder;
+    }
+
+    @Override
+    protected AbstractPropertyBindingResult createBeanPropertyBindingResult() {
+        GeneratedFormBindingResult result = new GeneratedFormBindingResult(getTarget(), getObjectName(),
+                isAutoGrowNestedPaths(), getAutoGrowCollectionLimit(), formBinder);
+        if (getConversionService() != null) {
+            result.initConversion(getConversionService());
+        }
+        return result;
+    }
+
+    @Override
+    protected void applyPropertyValues(MutablePropertyValues mpvs) {
+        Object target = getTarget();
+        ConversionService conversionService = getConversionService();
+        Locale locale = LocaleContextHolder.getLocale();
+        MutablePropertyValues unknown = null;
+
+        for (PropertyValue pv : mpvs.getPropertyValues()) {
+            String field = pv.getName();
+            Object parsed;
+            try {
+                parsed = formBinder.parse(field, pv.getValue(), conversionService, locale);
+                if (parsed != FormBinder.UNKNOWN_FIELD) {
+                    formBinder.set(target, field, parsed);
+                    continue;
+                }
+            } catch (Exception e) {
+                PropertyChangeEvent event = new PropertyChangeEvent(target, field, null, pv.getValue());
+                getBindingErrorProcessor().processPropertyAccessException(
+                        new TypeMismatchException(event, formBinder.getFieldType(field), e), getInternalBindingResult());
+                continue;
+            }
+            if (unknown == null) {
+                unknown = new MutablePropertyValues();
+            }
+            unknown.addPropertyValue(pv);
+        }
+
+        if (unknown != null) {
+            super.applyPropertyValues(unknown);
+        }
+    }
+}
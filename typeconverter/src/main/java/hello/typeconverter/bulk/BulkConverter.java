@@ -0,0 +1,291 @@
+package hello.typeconverter.bulk;
+
+import hello.typeconverter.formatter.NumberFormatEngine;
+import hello.typeconverter.type.IpPort;
+import hello.typeconverter.type.IpPortParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 구분자로 나뉜 대량의 값("127.0.0.1:8080" 한 줄에 하나, "1,000" ...)을 한 번에 변환
+ *
+ * ConversionService.convert() 를 값마다 호출하면 컨버터 조회, 예외 처리, 로그가 값마다 반복된다.
+ * 파서(IpPortParser, NumberFormatEngine)를 직접 호출하고
+ * - 입력을 batch-size 개씩 읽어서 변환 -> 입력 전체를 String 으로 만들지 않음
+ * - 배치가 parallel-threshold 이상이면 ForkJoinPool 에서 나눠서 변환, 결과는 입력 순서 그대로
+ * - 변환에 실패한 값은 줄 번호, 위치와 함께 오류로 모으고 나머지는 계속 변환
+ */
+@Slf4j
+@Component
+public class BulkConverter {
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final int batchSize;
+    private final int parallelThreshold;
+    private final int maxRecordLength;
+    private final NumberFormatEngine numberFormatEngine = new NumberFormatEngine();
+
+    public BulkConverter(@Value("${bulk.parallelism:0}") int parallelism,
+                         @Value("${bulk.batch-size:8192}") int batchSize,
+                         @Value("${bulk.parallel-threshold:2048}") int parallelThreshold,
+                         @Value("${bulk.max-record-length:256}") int maxRecordLength) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(this.parallelism);
+        this.batchSize = batchSize;
+        this.parallelThreshold = parallelThreshold;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // ---- IpPort ----
+
+    public BulkResult<IpPort[]> convertIpPorts(CharSequence input, char delimiter) {
+        return convertIpPorts(RecordReader.readerOf(input), delimiter);
+    }
+
+    public BulkResult<IpPort[]> convertIpPorts(ByteBuffer input, Charset charset, char delimiter) {
+        return convertIpPorts(charset.decode(input), delimiter);
+    }
+
+    public BulkResult<IpPort[]> convertIpPorts(Reader reader, char delimiter) {
+        IpPortTarget target = new IpPortTarget(batchSize);
+        return collect(reader, delimiter, target, count -> Arrays.copyOf(target.result, count));
+    }
+
+    public void streamIpPorts(Reader reader, char delimiter, BulkListener<IpPort> listener) throws IOException {
+        stream(reader, delimiter, new IpPortTarget(batchSize), listener);
+    }
+
+    // ---- int ----
+
+    public BulkResult<int[]> convertInts(CharSequence input, char delimiter, Locale locale) {
+        return convertInts(RecordReader.readerOf(input), delimiter, locale);
+    }
+
+    public BulkResult<int[]> convertInts(ByteBuffer input, Charset charset, char delimiter, Locale locale) {
+        return convertInts(charset.decode(input), delimiter, locale);
+    }
+
+    public BulkResult<int[]> convertInts(Reader reader, char delimiter, Locale locale) {
+        IntTarget target = new IntTarget(batchSize, numberFormatEngine, locale);
+        return collect(reader, delimiter, target, count -> Arrays.copyOf(target.result, count));
+    }
+
+    public void streamInts(Reader reader, char delimiter, Locale locale, BulkListener<Integer> listener) throws IOException {
+        stream(reader, delimiter, new IntTarget(batchSize, numberFormatEngine, locale), listener);
+    }
+
+    // ---- 내부 ----
+
+    private <A> BulkResult<A> collect(Reader reader, char delimiter, Target<?> target, ResultArray<A> toArray) {
+        List<ConversionError> errors = new ArrayList<>();
+        RecordReader records = new RecordReader(reader, delimiter, maxRecordLength);
+        RecordBatch batch = new RecordBatch(batchSize);
+        String[] messages = new String[batchSize];
+        int count = 0;
+        try {
+            while (records.read(batch) > 0) {
+                convert(batch, target, messages);
+                for (int i = 0; i < batch.size; i++) {
+                    if (messages[i] == null) {
+                        target.append(i, count++);
+                    } else {
+                        errors.add(error(batch, i, messages[i]));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new BulkResult<>(toArray.apply(count), count, errors);
+    }
+
+    private <T> void stream(Reader reader, char delimiter, Target<T> target, BulkListener<T> listener) throws IOException {
+        RecordReader records = new RecordReader(reader, delimiter, maxRecordLength);
+        RecordBatch batch = new RecordBatch(batchSize);
+        String[] messages = new String[batchSize];
+        while (records.read(batch) > 0) {
+            convert(batch, target, messages);
+            for (int i = 0; i < batch.size; i++) {
+                if (messages[i] == null) {
+                    listener.onValue(batch.lines[i], target.valueAt(i));
+                } else {
+                    listener.onError(error(batch, i, messages[i]));
+                }
+            }
+            listener.onBatchEnd();
+        }
+    }
+
+    private void convert(RecordBatch batch, Target<?> target, String[] messages) {
+        if (batch.size < parallelThreshold || parallelism == 1) {
+            convertRange(batch, target, messages, 0, batch.size);
+            return;
+        }
+        //스레드당 4개 정도로 나눠서 먼저 끝난 스레드가 남은 작업을 가져가도록(work stealing)
+        int chunkSize = Math.max(256, batch.size / (parallelism * 4));
+        pool.invoke(new ConvertAction(batch, target, messages, 0, batch.size, chunkSize));
+    }
+
+    private void convertRange(RecordBatch batch, Target<?> target, String[] messages, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (batch.tooLong[i]) {
+                messages[i] = "값이 너무 김 (최대 " + maxRecordLength + "자)";
+                continue;
+            }
+            try {
+                target.convert(i, batch.texts[i]);
+                messages[i] = null;
+            } catch (Exception e) {
+                messages[i] = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            }
+        }
+    }
+
+    private static ConversionError error(RecordBatch batch, int index, String message) {
+        String text = batch.texts[index];
+        String input = text.length() > 64 ? text.substring(0, 64) + "..." : text;
+        return new ConversionError(batch.lines[index], batch.offsets[index], input, message);
+    }
+
+    private final class ConvertAction extends RecursiveAction {
+
+        private final RecordBatch batch;
+        private final Target<?> target;
+        private final String[] messages;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        ConvertAction(RecordBatch batch, Target<?> target, String[] messages, int from, int to, int chunkSize) {
+            this.batch = batch;
+            this.target = target;
+            this.messages = messages;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                convertRange(batch, target, messages, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ConvertAction(batch, target, messages, from, mid, chunkSize),
+                    new ConvertAction(batch, target, messages, mid, to, chunkSize));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultArray<A> {
+        A apply(int count);
+    }
+
+    /**
+     * 변환 결과를 담는 곳
+     * 배치 안의 위치(index)에 변환 결과를 저장하고, 성공한 값만 결과 배열 뒤에 이어 붙인다.
+     * int 는 박싱하지 않도록 int[] 에 저장
+     */
+    private abstract static class Target<T> {
+
+        /**
+         * 여러 스레드가 서로 다른 index 에 동시에 호출
+         */
+        abstract void convert(int index, String text) throws Exception;
+
+        abstract T valueAt(int index);
+
+        abstract void append(int index, int position);
+    }
+
+    private static final class IpPortTarget extends Target<IpPort> {
+
+        private final IpPort[] batchValues;
+        private IpPort[] result;
+
+        IpPortTarget(int batchSize) {
+            this.batchValues = new IpPort[batchSize];
+            this.result = new IpPort[batchSize];
+        }
+
+        @Override
+        void convert(int index, String text) {
+            batchValues[index] = IpPortParser.parse(text);
+        }
+
+        @Override
+        IpPort valueAt(int index) {
+            return batchValues[index];
+        }
+
+        @Override
+        void append(int index, int position) {
+            if (position == result.length) {
+                result = Arrays.copyOf(result, result.length * 2);
+            }
+            result[position] = batchValues[index];
+        }
+    }
+
+    private static final class IntTarget extends Target<Integer> {
+
+        private final int[] batchValues;
+        private final NumberFormatEngine engine;
+        private final Locale locale;
+        private int[] result;
+
+        IntTarget(int batchSize, NumberFormatEngine engine, Locale locale) {
+            this.batchValues = new int[batchSize];
+            this.result = new int[batchSize];
+            this.engine = engine;
+            this.locale = locale;
+        }
+
+        @Override
+        void convert(int index, String text) throws Exception {
+            Number number = engine.parseStrict(text, locale);
+            if (!(number instanceof Long)) {
+                throw new IllegalArgumentException("정수가 아님: \"" + text + "\"");
+            }
+            long value = number.longValue();
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("int 범위를 벗어남: \"" + text + "\"");
+            }
+            batchValues[index] = (int) value;
+        }
+
+        @Override
+        Integer valueAt(int index) {
+            return batchValues[index];
+        }
+
+        @Override
+        void append(int index, int position) {
+            if (position == result.length) {
+                result = Arrays.copyOf(result, result.length * 2);
+            }
+            result[position] = batchValues[index];
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package hello.typeconverter.bulk;
+
+import java.io.IOException;
+
+/**
+ * 스트리밍 변환 결과를 입력 순서대로 받는다.
+ * 배치 단위로 변환하므로 onBatchEnd() 에서 출력을 flush 하면 된다.
+ */
+public interface BulkListener<T> {
+
+    void onValue(long line, T value) throws IOException;
+
+    void onError(ConversionError error) throws IOException;
+
+    default void onBatchEnd() throws IOException {
+    }
+}
@@ -0,0 +1,28 @@
+package hello.typeconverter.bulk;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 대량 변환 결과
+ *
+ * @param <A> 변환된 값 배열(IpPort[], int[]), 실패한 값은 빠지고 입력 순서대로
+ */
+@Getter
+public class BulkResult<A> {
+
+    private final A values;
+    private final int count;                  //변환에 성공한 값 개수
+    private final List<ConversionError> errors;
+
+    public BulkResult(A values, int count, List<ConversionError> errors) {
+        this.values = values;
+        this.count = count;
+        this.errors = errors;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
@@ -0,0 +1,25 @@
+package hello.typeconverter.bulk;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 대량 변환에서 변환하지 못한 값 하나
+ * 배치 전체를 실패시키지 않고 위치와 함께 따로 모은다.
+ */
+@Getter
+@ToString
+public class ConversionError {
+
+    private final long line;      //몇 번째 값인지(1부터), 빈 값도 센다.
+    private final long offset;    //입력 전체에서 값이 시작하는 문자 위치(0부터)
+    private final String input;   //너무 긴 값은 앞부분만
+    private final String message;
+
+    public ConversionError(long line, long offset, String input, String message) {
+        this.line = line;
+        this.offset = offset;
+        this.input = input;
+        this.message = message;
+    }
+}
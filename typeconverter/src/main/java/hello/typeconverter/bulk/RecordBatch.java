@@ -0,0 +1,39 @@
+package hello.typeconverter.bulk;
+
+/**
+ * RecordReader 가 읽은 값 묶음, 배열을 재사용하기 위해 배치마다 새로 만들지 않는다.
+ */
+class RecordBatch {
+
+    final String[] texts;
+    final long[] lines;
+    final long[] offsets;
+    final boolean[] tooLong;
+    int size;
+
+    RecordBatch(int capacity) {
+        this.texts = new String[capacity];
+        this.lines = new long[capacity];
+        this.offsets = new long[capacity];
+        this.tooLong = new boolean[capacity];
+    }
+
+    int capacity() {
+        return texts.length;
+    }
+
+    void add(String text, long line, long offset, boolean tooLong) {
+        texts[size] = text;
+        lines[size] = line;
+        offsets[size] = offset;
+        this.tooLong[size] = tooLong;
+        size++;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            texts[i] = null;
+        }
+        size = 0;
+    }
+}
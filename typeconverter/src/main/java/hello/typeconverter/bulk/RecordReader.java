@@ -0,0 +1,130 @@
+package hello.typeconverter.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+/**
+ * 구분자로 나뉜 값을 순서대로 읽는다.
+ *
+ * - 값 앞뒤의 공백과 줄 끝의 '\r' 은 제거, 빈 값은 건너뛰지만 줄 번호는 센다.
+ * - 전체 입력을 메모리에 올리지 않고 버퍼 단위로 읽는다.
+ * - 값 하나가 maxRecordLength 를 넘으면 앞부분만 남기고 tooLong 으로 표시 (변환할 때 오류로 처리)
+ */
+class RecordReader {
+
+    private final Reader reader;
+    private final char delimiter;
+    private final int maxRecordLength;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder current = new StringBuilder();
+
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private boolean tooLong;
+    private long line;
+    private long offset;        //지금까지 읽은 문자 수
+    private long recordStart;
+
+    RecordReader(Reader reader, char delimiter, int maxRecordLength) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    static Reader readerOf(CharSequence input) {
+        if (input instanceof CharBuffer) {
+            return new CharSequenceReader(((CharBuffer) input).duplicate());
+        }
+        return new CharSequenceReader(CharBuffer.wrap(input));
+    }
+
+    /**
+     * batch 를 비우고 최대 capacity 개까지 채운다.
+     *
+     * @return 읽은 값 개수, 입력이 끝났으면 0
+     */
+    int read(RecordBatch batch) throws IOException {
+        batch.clear();
+        while (batch.size < batch.capacity()) {
+            if (pos == limit) {
+                if (eof || !fill()) {
+                    if (current.length() > 0 || tooLong) {
+                        finishRecord(batch);
+                    }
+                    break;
+                }
+            }
+            char c = buffer[pos++];
+            offset++;
+            if (c == delimiter) {
+                finishRecord(batch);
+            } else if (current.length() < maxRecordLength) {
+                current.append(c);
+            } else {
+                tooLong = true;
+            }
+        }
+        return batch.size;
+    }
+
+    long getLineCount() {
+        return line;
+    }
+
+    private boolean fill() throws IOException {
+        int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            eof = true;
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private void finishRecord(RecordBatch batch) {
+        line++;
+        int start = 0;
+        int end = current.length();
+        while (start < end && Character.isWhitespace(current.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(current.charAt(end - 1))) {
+            end--;
+        }
+        if (tooLong || start < end) {
+            batch.add(current.substring(start, end), line, recordStart + start, tooLong);
+        }
+        current.setLength(0);
+        tooLong = false;
+        recordStart = offset;
+    }
+
+    /**
+     * CharBuffer 를 복사하지 않고 읽는 Reader
+     */
+    private static class CharSequenceReader extends Reader {
+
+        private final CharBuffer source;
+
+        CharSequenceReader(CharBuffer source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (!source.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, source.remaining());
+            source.get(cbuf, off, n);
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package hello.typeconverter.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.typeconverter.bulk.BulkConverter;
+import hello.typeconverter.bulk.BulkListener;
+import hello.typeconverter.bulk.ConversionError;
+import hello.typeconverter.type.IpPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * 대량 변환 API
+ * 요청 본문(text/plain)의 값을 구분자(기본 줄바꿈)로 나눠서 변환하고, 결과를 한 줄에 하나씩 NDJSON 으로 바로 내려준다.
+ *
+ * curl --data-binary @endpoints.txt -H 'Content-Type: text/plain' localhost:8080/bulk/ip-ports
+ * {"line":1,"ip":"127.0.0.1","port":8080}
+ * {"line":2,"offset":15,"input":"abc","error":"..."}
+ * {"summary":true,"converted":1,"failed":1}
+ *
+ * 응답은 배치 단위로 flush 하므로 입력 전체를 변환할 때까지 기다리지 않는다.
+ * 오류가 있어도 상태 코드는 200, 실패한 값은 error 줄로 알려준다.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class BulkConversionController {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final BulkConverter bulkConverter;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/bulk/ip-ports")
+    public ResponseEntity<StreamingResponseBody> ipPorts(HttpServletRequest request,
+                                                         @RequestParam(defaultValue = "\n") char delimiter) {
+        return ndjson(out -> {
+            try (Reader reader = request.getReader(); NdjsonWriter<IpPort> writer = new NdjsonWriter<>(out) {
+                @Override
+                void writeValue(JsonGenerator generator, IpPort value) throws IOException {
+                    generator.writeStringField("ip", value.getIp());
+                    generator.writeNumberField("port", value.getPort());
+                }
+            }) {
+                bulkConverter.streamIpPorts(reader, delimiter, writer);
+            }
+        });
+    }
+
+    /**
+     * 숫자 형식("1,000")은 요청의 Locale(Accept-Language)을 따른다.
+     */
+    @PostMapping("/bulk/numbers")
+    public ResponseEntity<StreamingResponseBody> numbers(HttpServletRequest request, Locale locale,
+                                                         @RequestParam(defaultValue = "\n") char delimiter) {
+        return ndjson(out -> {
+            try (Reader reader = request.getReader(); NdjsonWriter<Integer> writer = new NdjsonWriter<>(out) {
+                @Override
+                void writeValue(JsonGenerator generator, Integer value) throws IOException {
+                    generator.writeNumberField("value", value);
+                }
+            }) {
+                bulkConverter.streamInts(reader, delimiter, locale, writer);
+            }
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * 결과 한 건마다 JSON 객체 한 줄, 마지막 줄은 요약
+     */
+    private abstract class NdjsonWriter<T> implements BulkListener<T>, AutoCloseable {
+
+        private final JsonGenerator generator;
+        private long converted;
+        private long failed;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);   //기본값은 공백, 줄바꿈은 직접 쓴다.
+        }
+
+        abstract void writeValue(JsonGenerator generator, T value) throws IOException;
+
+        @Override
+        public void onValue(long line, T value) throws IOException {
+            converted++;
+            generator.writeStartObject();
+            generator.writeNumberField("line", line);
+            writeValue(generator, value);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void onError(ConversionError error) throws IOException {
+            failed++;
+            generator.writeStartObject();
+            generator.writeNumberField("line", error.getLine());
+            generator.writeNumberField("offset", error.getOffset());
+            generator.writeStringField("input", error.getInput());
+            generator.writeStringField("error", error.getMessage());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void onBatchEnd() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeStartObject();
+            generator.writeBooleanField("summary", true);
+            generator.writeNumberField("converted", converted);
+            generator.writeNumberField("failed", failed);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            generator.close();
+            log.debug("bulk conversion converted={}, failed={}", converted, failed);
+        }
+    }
+}
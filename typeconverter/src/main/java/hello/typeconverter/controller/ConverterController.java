@@ -1,12 +1,19 @@
 package hello.typeconverter.controller;
 
+import hello.typeconverter.binder.GenerateBinder;
 import hello.typeconverter.type.IpPort;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 타임리프는 렌더링 시에 컨버터를 적용해서 렌더링 하는 방법을 편리하게 지원
@@ -15,6 +22,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 @Controller
 public class ConverterController {
 
+    static final int MAX_ROWS = 10_000;
+
     @GetMapping("/converter-view")
     public String converterView(Model model) {
         model.addAttribute("number", 10000);
@@ -22,6 +31,21 @@ public class ConverterController {
         return "converter-view";
     }
 
+    /**
+     * 목록 화면, 셀마다 ${{...}} 로 변환 (같은 값이 반복되는 경우 ViewConversionCache 가 한 번만 변환)
+     * rows 는 1 ~ MAX_ROWS 로 제한 (음수면 500, 너무 크면 메모리 부족)
+     */
+    @GetMapping("/converter-table")
+    public String converterTable(@RequestParam(defaultValue = "100") int rows, Model model) {
+        rows = Math.max(1, Math.min(rows, MAX_ROWS));
+        List<Row> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            list.add(new Row(i, (i % 100) * 1000, new IpPort("10.0.0." + (i % 16), 8080)));
+        }
+        model.addAttribute("rows", list);
+        return "converter-table";
+    }
+
     @GetMapping("/converter/edit")
     public String converterForm(Model model) {
         IpPort ipPort = new IpPort("127.0.0.1", 8080);
@@ -38,7 +62,19 @@ public class ConverterController {
         return "converter-view";
     }
 
+    @Getter
+    @AllArgsConstructor
+    static class Row {
+        private final int index;
+        private final Integer number;
+        private final IpPort ipPort;
+    }
+
+    /**
+     * IpPort 는 포맷 애노테이션이 없으므로 생성된 바인더도 ConversionService(StringToIpPortConverter)로 변환
+     */
     @Data
+    @GenerateBinder
     static class Form {
         private IpPort ipPort;
 
@@ -1,5 +1,6 @@
 package hello.typeconverter.controller;
 
+import hello.typeconverter.binder.GenerateBinder;
 import lombok.Data;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.format.annotation.NumberFormat;
@@ -18,6 +19,8 @@ import java.time.LocalDateTime;
  * 스프링은 이런 문제를 해결하기 위해 애노테이션 기반으로 원하는 형식을 지정해서 사용할 수 있는 매우 유용한 포맷터 두 가지를 기본으로 제공.
  * @NumberFormat : 숫자 관련 형식 지정 포맷터 사용, NumberFormatAnnotationFormatterFactory
  * @DateTimeFormat : 날짜 관련 형식 지정 포맷터 사용, Jsr310DateTimeFormatAnnotationFormatterFactory
+ *
+ * Form 은 @GenerateBinder 로 컴파일할 때 만든 바인더(FormatterController_FormBinder)로 바인딩
  */
 @Controller
 public class FormatterController {
@@ -49,6 +52,7 @@ public class FormatterController {
     }
 
     @Data
+    @GenerateBinder
     static class Form {
 
         @NumberFormat(pattern = "###,###")
@@ -0,0 +1,102 @@
+package hello.typeconverter.conversion;
+
+import hello.typeconverter.formatter.CachedDateTimeFormatAnnotationFormatterFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.format.Formatter;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * WebConfig.addFormatters() 에서 등록하는 컨버터, 포맷터를 계측용 래퍼로 감싸서 등록
+ *
+ * conversion.converter{converter, operation}          -> 호출 횟수, 걸린 시간 (histogram=true 면 히스토그램 버킷도)
+ * conversion.converter.failures{converter, operation, exception} -> 실패 횟수
+ * 느린 변환(slow-threshold 이상)은 컨버터마다 slow-log-interval 에 한 번만 로그를 남긴다.
+ *
+ * conversion.instrument.enabled=false 면 감싸지 않고 원래 컨버터를 그대로 등록 -> 계측 비용 없음
+ * 켜면 호출마다 nanoTime 두 번 + Timer 기록, 히스토그램 버킷 기록이 추가된다. (ConversionInstrumentationBenchmark)
+ *
+ * 래퍼는 제네릭 타입 정보가 없으므로 원래 컨버터의 소스/대상 타입을 직접 지정해서 등록한다.
+ * 날짜 필드(@DateTimeFormat)는 addDateTimeFormatFactory() -> 팩토리가 만드는 Printer, Parser 를 감싸서 기록
+ *
+ * 계측하지 않는 변환: 스프링 기본 컨버터, @NumberFormat 필드, @GenerateBinder 폼의 숫자, 날짜 필드
+ * (생성된 바인더가 포맷터를 직접 호출, IpPort 처럼 ConversionService 를 거치는 필드만 기록)
+ */
+@Slf4j
+@Component
+public class ConversionInstrumentation {
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final boolean histogram;
+    private final long slowThresholdNanos;
+    private final long slowLogIntervalNanos;
+
+    public ConversionInstrumentation(MeterRegistry registry,
+                                     @Value("${conversion.instrument.enabled:true}") boolean enabled,
+                                     @Value("${conversion.instrument.histogram:false}") boolean histogram,
+                                     @Value("${conversion.instrument.slow-threshold:5ms}") Duration slowThreshold,
+                                     @Value("${conversion.instrument.slow-log-interval:10s}") Duration slowLogInterval) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.histogram = histogram;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowLogIntervalNanos = slowLogInterval.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void addConverter(FormatterRegistry formatterRegistry, Converter<?, ?> converter) {
+        if (!enabled) {
+            formatterRegistry.addConverter(converter);
+            return;
+        }
+        ResolvableType[] generics = ResolvableType.forClass(converter.getClass()).as(Converter.class).getGenerics();
+        Class sourceType = generics[0].resolve();
+        Class targetType = generics[1].resolve();
+        if (sourceType == null || targetType == null) {
+            log.warn("컨버터 타입을 알 수 없어 계측하지 않음 converter={}", converter);
+            formatterRegistry.addConverter(converter);
+            return;
+        }
+        formatterRegistry.addConverter(sourceType, targetType, new InstrumentedConverter(converter, probe(converter, "convert")));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void addFormatter(FormatterRegistry formatterRegistry, Formatter<?> formatter) {
+        if (!enabled) {
+            formatterRegistry.addFormatter(formatter);
+            return;
+        }
+        Class fieldType = ResolvableType.forClass(formatter.getClass()).as(Formatter.class).getGeneric(0).resolve();
+        if (fieldType == null) {
+            log.warn("포맷터 타입을 알 수 없어 계측하지 않음 formatter={}", formatter);
+            formatterRegistry.addFormatter(formatter);
+            return;
+        }
+        formatterRegistry.addFormatterForFieldType(fieldType,
+                new InstrumentedFormatter(formatter, probe(formatter, "parse"), probe(formatter, "print")));
+    }
+
+    /**
+     * 날짜 필드(@DateTimeFormat(pattern = ...)) 포맷터 팩토리(CachedDateTimeFormatAnnotationFormatterFactory) 등록
+     */
+    public void addDateTimeFormatFactory(FormatterRegistry formatterRegistry) {
+        formatterRegistry.addFormatterForFieldAnnotation(enabled
+                ? new InstrumentedDateTimeFormatFactory(this) : new CachedDateTimeFormatAnnotationFormatterFactory());
+    }
+
+    ConversionProbe probe(Object target, String operation) {
+        return new ConversionProbe(registry, target.getClass().getSimpleName(), operation, histogram,
+                slowThresholdNanos, slowLogIntervalNanos);
+    }
+}
@@ -0,0 +1,85 @@
+package hello.typeconverter.conversion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 컨버터 하나의 작업(convert, parse, print) 하나를 계측
+ * Timer 는 만들 때 한 번만 조회, 실패 카운터는 예외 타입마다 다르므로 실패할 때만 조회
+ */
+@Slf4j
+final class ConversionProbe {
+
+    private static final int MAX_LOGGED_INPUT = 64;
+
+    private final MeterRegistry registry;
+    private final String converter;
+    private final String operation;
+    private final Timer timer;
+    private final long slowThresholdNanos;
+    private final long slowLogIntervalNanos;
+    private final AtomicLong lastSlowLog;
+
+    ConversionProbe(MeterRegistry registry, String converter, String operation, boolean histogram,
+                    long slowThresholdNanos, long slowLogIntervalNanos) {
+        this.registry = registry;
+        this.converter = converter;
+        this.operation = operation;
+        this.timer = Timer.builder("conversion.converter")
+                .description("컨버터, 포맷터 호출 시간")
+                .tag("converter", converter)
+                .tag("operation", operation)
+                .publishPercentileHistogram(histogram)
+                .register(registry);
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.slowLogIntervalNanos = slowLogIntervalNanos;
+        this.lastSlowLog = new AtomicLong(System.nanoTime() - slowLogIntervalNanos);
+    }
+
+    void success(long startNanos, Object input) {
+        long elapsed = System.nanoTime() - startNanos;
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (elapsed >= slowThresholdNanos) {
+            slow(elapsed, input, null);
+        }
+    }
+
+    void failure(long startNanos, Object input, Throwable e) {
+        long elapsed = System.nanoTime() - startNanos;
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+        Counter.builder("conversion.converter.failures")
+                .description("컨버터, 포맷터 실패 횟수")
+                .tag("converter", converter)
+                .tag("operation", operation)
+                .tag("exception", e.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+        if (elapsed >= slowThresholdNanos) {
+            slow(elapsed, input, e);
+        }
+    }
+
+    /**
+     * 느린 변환이 몰리면 로그가 쏟아지므로 interval 마다 한 건만 (CAS 에 성공한 스레드만 기록)
+     */
+    private void slow(long elapsedNanos, Object input, Throwable e) {
+        long now = System.nanoTime();
+        long last = lastSlowLog.get();
+        if (now - last < slowLogIntervalNanos || !lastSlowLog.compareAndSet(last, now)) {
+            return;
+        }
+        log.warn("slow conversion converter={}, operation={}, elapsed={}ms, input={}, failure={}",
+                converter, operation, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), abbreviate(input),
+                e == null ? "-" : e.toString());
+    }
+
+    private static String abbreviate(Object input) {
+        String text = String.valueOf(input);
+        return text.length() > MAX_LOGGED_INPUT ? text.substring(0, MAX_LOGGED_INPUT) + "..." : text;
+    }
+}
@@ -0,0 +1,57 @@
+package hello.typeconverter.conversion;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.format.support.FormattingConversionService;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * mvcConversionService 계측, /actuator/metrics/conversion.* 로 확인 (conversion.resolution-metrics.enabled=true 일 때만)
+ *
+ * conversion.service.convert   -> delegate.convert() 호출 횟수, 걸린 시간 (컨버터 조회 + 변환)
+ * conversion.pairs.first-seen  -> 래퍼가 처음 본 (소스, 대상) 클래스 쌍의 변환 요청 수
+ * conversion.pairs.repeat      -> 이미 본 클래스 쌍의 변환 요청 수
+ * conversion.pairs.tracked     -> 지금까지 본 클래스 쌍의 수
+ *
+ * first-seen / repeat 은 스프링 컨버터 캐시의 적중 여부가 아니다. (ResolutionMetricsConversionService 참고)
+ */
+@Component
+public class ConversionServiceMetrics {
+
+    /**
+     * MeterBinder 로 만들면 MeterRegistry -> MeterBinder -> mvcConversionService -> WebMvc 설정 -> MeterRegistry 순환 참조가 생기므로
+     * 생성자에서 직접 등록
+     */
+    public ConversionServiceMetrics(MeterRegistry registry,
+                                    @Qualifier(ResolutionMetricsPostProcessor.MVC_CONVERSION_SERVICE)
+                                    FormattingConversionService conversionService) {
+        if (!(conversionService instanceof ResolutionMetricsConversionService)) {
+            return;
+        }
+        ResolutionMetricsConversionService service = (ResolutionMetricsConversionService) conversionService;
+
+        service.setConvertTimer(Timer.builder("conversion.service.convert")
+                .description("mvcConversionService 변환 시간 (컨버터 조회 + 변환)")
+                .register(registry));
+        pairCounter(registry, service, "conversion.pairs.first-seen", "처음 본 (소스, 대상) 클래스 쌍의 변환 요청 수",
+                ResolutionMetricsConversionService::getFirstSeenCount);
+        pairCounter(registry, service, "conversion.pairs.repeat", "이미 본 (소스, 대상) 클래스 쌍의 변환 요청 수",
+                ResolutionMetricsConversionService::getRepeatCount);
+        Gauge.builder("conversion.pairs.tracked", service, ResolutionMetricsConversionService::getPairCount)
+                .description("변환 요청된 (소스, 대상) 클래스 쌍의 수")
+                .register(registry);
+    }
+
+    private static void pairCounter(MeterRegistry registry, ResolutionMetricsConversionService service,
+                                    String name, String description,
+                                    ToDoubleFunction<ResolutionMetricsConversionService> count) {
+        FunctionCounter.builder(name, service, count)
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package hello.typeconverter.conversion;
+
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * 원래 컨버터를 호출하고 걸린 시간, 실패를 ConversionProbe 에 기록
+ */
+final class InstrumentedConverter<S, T> implements Converter<S, T> {
+
+    private final Converter<S, T> delegate;
+    private final ConversionProbe probe;
+
+    InstrumentedConverter(Converter<S, T> delegate, ConversionProbe probe) {
+        this.delegate = delegate;
+        this.probe = probe;
+    }
+
+    @Override
+    public T convert(S source) {
+        long start = System.nanoTime();
+        try {
+            T result = delegate.convert(source);
+            probe.success(start, source);
+            return result;
+        } catch (RuntimeException e) {
+            probe.failure(start, source, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "instrumented " + delegate;
+    }
+}
@@ -0,0 +1,36 @@
+package hello.typeconverter.conversion;
+
+import hello.typeconverter.formatter.CachedDateTimeFormatAnnotationFormatterFactory;
+import org.springframework.format.Parser;
+import org.springframework.format.Printer;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * CachedDateTimeFormatAnnotationFormatterFactory 가 만든 Printer, Parser 를 감싸서 기록
+ * converter 태그는 실제로 만들어진 클래스 이름 (FastTemporalFormatter, 스프링 기본이면 TemporalAccessorPrinter/Parser)
+ *
+ * 래퍼로 감싸지 않고 상속하는 이유: FormattingConversionService 는 팩토리 클래스의 제네릭 타입으로 애노테이션(@DateTimeFormat)을 찾는다.
+ * getPrinter/getParser 는 (애노테이션, 필드 타입)마다 한 번만 호출되고 스프링이 결과를 캐시하므로 ConversionProbe 도 그만큼만 만든다.
+ */
+final class InstrumentedDateTimeFormatFactory extends CachedDateTimeFormatAnnotationFormatterFactory {
+
+    private final ConversionInstrumentation instrumentation;
+
+    InstrumentedDateTimeFormatFactory(ConversionInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Printer<?> getPrinter(DateTimeFormat annotation, Class<?> fieldType) {
+        Printer printer = super.getPrinter(annotation, fieldType);
+        return new InstrumentedPrinter(printer, instrumentation.probe(printer, "print"));
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Parser<?> getParser(DateTimeFormat annotation, Class<?> fieldType) {
+        Parser parser = super.getParser(annotation, fieldType);
+        return new InstrumentedParser(parser, instrumentation.probe(parser, "parse"));
+    }
+}
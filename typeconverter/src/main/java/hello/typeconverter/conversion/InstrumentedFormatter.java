@@ -0,0 +1,53 @@
+package hello.typeconverter.conversion;
+
+import org.springframework.format.Formatter;
+
+import java.text.ParseException;
+import java.util.Locale;
+
+/**
+ * 원래 포맷터를 호출하고 parse, print 를 각각 ConversionProbe 에 기록
+ */
+final class InstrumentedFormatter<T> implements Formatter<T> {
+
+    private final Formatter<T> delegate;
+    private final ConversionProbe parseProbe;
+    private final ConversionProbe printProbe;
+
+    InstrumentedFormatter(Formatter<T> delegate, ConversionProbe parseProbe, ConversionProbe printProbe) {
+        this.delegate = delegate;
+        this.parseProbe = parseProbe;
+        this.printProbe = printProbe;
+    }
+
+    @Override
+    public T parse(String text, Locale locale) throws ParseException {
+        long start = System.nanoTime();
+        try {
+            T result = delegate.parse(text, locale);
+            parseProbe.success(start, text);
+            return result;
+        } catch (ParseException | RuntimeException e) {
+            parseProbe.failure(start, text, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String print(T object, Locale locale) {
+        long start = System.nanoTime();
+        try {
+            String result = delegate.print(object, locale);
+            printProbe.success(start, object);
+            return result;
+        } catch (RuntimeException e) {
+            printProbe.failure(start, object, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "instrumented " + delegate;
+    }
+}
@@ -0,0 +1,38 @@
+package hello.typeconverter.conversion;
+
+import org.springframework.format.Parser;
+
+import java.text.ParseException;
+import java.util.Locale;
+
+/**
+ * 원래 Parser 를 호출하고 parse 를 ConversionProbe 에 기록 (AnnotationFormatterFactory 가 만드는 Parser 용)
+ */
+final class InstrumentedParser<T> implements Parser<T> {
+
+    private final Parser<T> delegate;
+    private final ConversionProbe probe;
+
+    InstrumentedParser(Parser<T> delegate, ConversionProbe probe) {
+        this.delegate = delegate;
+        this.probe = probe;
+    }
+
+    @Override
+    public T parse(String text, Locale locale) throws ParseException {
+        long start = System.nanoTime();
+        try {
+            T result = delegate.parse(text, locale);
+            probe.success(start, text);
+            return result;
+        } catch (ParseException | RuntimeException e) {
+            probe.failure(start, text, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "instrumented " + delegate;
+    }
+}
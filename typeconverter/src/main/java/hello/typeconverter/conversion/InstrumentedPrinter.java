@@ -0,0 +1,37 @@
+package hello.typeconverter.conversion;
+
+import org.springframework.format.Printer;
+
+import java.util.Locale;
+
+/**
+ * 원래 Printer 를 호출하고 print 를 ConversionProbe 에 기록 (AnnotationFormatterFactory 가 만드는 Printer 용)
+ */
+final class InstrumentedPrinter<T> implements Printer<T> {
+
+    private final Printer<T> delegate;
+    private final ConversionProbe probe;
+
+    InstrumentedPrinter(Printer<T> delegate, ConversionProbe probe) {
+        this.delegate = delegate;
+        this.probe = probe;
+    }
+
+    @Override
+    public String print(T object, Locale locale) {
+        long start = System.nanoTime();
+        try {
+            String result = delegate.print(object, locale);
+            probe.success(start, object);
+            return result;
+        } catch (RuntimeException e) {
+            probe.failure(start, object, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "instrumented " + delegate;
+    }
+}
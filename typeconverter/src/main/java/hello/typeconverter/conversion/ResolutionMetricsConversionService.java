@@ -0,0 +1,196 @@
+package hello.typeconverter.conversion;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.format.AnnotationFormatterFactory;
+import org.springframework.format.Formatter;
+import org.springframework.format.Parser;
+import org.springframework.format.Printer;
+import org.springframework.format.support.FormattingConversionService;
+import org.springframework.util.StringValueResolver;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * mvcConversionService 의 변환 시간과 변환 요청된 (소스, 대상) 클래스 쌍을 세는 ConversionService 래퍼, 변환은 모두 원래 서비스(delegate)가 한다.
+ *
+ * 변환 시간 -> delegate.convert() 전체(컨버터 조회 + 변환)를 Timer 로 잰다. (ConversionServiceMetrics 가 Timer 를 연결한 경우만)
+ * 클래스 쌍 -> 이 래퍼가 (소스 클래스, 대상 클래스) 쌍을 처음 본 횟수(first-seen)와 다시 본 횟수(repeat)
+ *
+ * 쌍 횟수는 스프링 컨버터 캐시(GenericConversionService.converterCache)의 적중 여부가 아니다.
+ * 스프링 캐시는 외부에서 볼 수 없고 키도 TypeDescriptor(애노테이션, 제네릭 포함)이므로, 같은 클래스 쌍이라도 스프링은 다시 조회할 수 있다.
+ * 처음 보는 쌍이 계속 늘어나면 변환 대상 타입이 예상보다 다양하다는 뜻이고, 실제 조회 비용은 변환 시간으로 확인한다.
+ * 추적하는 쌍은 MAX_PAIRS 개까지, 넘으면 더 기록하지 않고 first-seen 으로 센다.
+ */
+public class ResolutionMetricsConversionService extends FormattingConversionService {
+
+    private static final int MAX_PAIRS = 1024;
+
+    private final FormattingConversionService delegate;
+
+    private final Map<Class<?>, Set<Class<?>>> seenPairs = new ConcurrentHashMap<>();
+    private final AtomicInteger pairCount = new AtomicInteger();
+    private final LongAdder repeats = new LongAdder();
+    private final LongAdder firstSeen = new LongAdder();
+
+    private volatile Timer convertTimer;
+
+    public ResolutionMetricsConversionService(FormattingConversionService delegate) {
+        this.delegate = delegate;
+    }
+
+    public FormattingConversionService getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 변환 시간을 기록할 Timer, null 이면 재지 않음
+     * 래퍼는 BeanPostProcessor 에서 만들어지므로 MeterRegistry 를 생성자로 받지 않고 ConversionServiceMetrics 가 나중에 연결한다.
+     */
+    public void setConvertTimer(Timer convertTimer) {
+        this.convertTimer = convertTimer;
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        record(sourceType, targetType);
+        Timer timer = convertTimer;
+        if (timer == null) {
+            return delegate.convert(source, sourceType, targetType);
+        }
+        long start = System.nanoTime();
+        try {
+            return delegate.convert(source, sourceType, targetType);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void record(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (sourceType == null || targetType == null) {
+            return;
+        }
+        Set<Class<?>> targets = seenPairs.get(sourceType.getObjectType());
+        if (targets != null && targets.contains(targetType.getObjectType())) {
+            repeats.increment();
+            return;
+        }
+        firstSeen.increment();
+        if (pairCount.get() < MAX_PAIRS
+                && seenPairs.computeIfAbsent(sourceType.getObjectType(), c -> ConcurrentHashMap.newKeySet())
+                .add(targetType.getObjectType())) {
+            pairCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+        return delegate.canConvert(sourceType, targetType);
+    }
+
+    @Override
+    public boolean canConvert(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        return delegate.canConvert(sourceType, targetType);
+    }
+
+    @Override
+    public boolean canBypassConvert(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        return delegate.canBypassConvert(sourceType, targetType);
+    }
+
+    // ---- 등록: 원래 서비스에 그대로 등록 ----
+
+    @Override
+    public void addConverter(Converter<?, ?> converter) {
+        delegate.addConverter(converter);
+    }
+
+    @Override
+    public <S, T> void addConverter(Class<S> sourceType, Class<T> targetType, Converter<? super S, ? extends T> converter) {
+        delegate.addConverter(sourceType, targetType, converter);
+    }
+
+    @Override
+    public void addConverter(GenericConverter converter) {
+        delegate.addConverter(converter);
+    }
+
+    @Override
+    public void addConverterFactory(ConverterFactory<?, ?> factory) {
+        delegate.addConverterFactory(factory);
+    }
+
+    @Override
+    public void removeConvertible(Class<?> sourceType, Class<?> targetType) {
+        delegate.removeConvertible(sourceType, targetType);
+    }
+
+    @Override
+    public void addPrinter(Printer<?> printer) {
+        delegate.addPrinter(printer);
+    }
+
+    @Override
+    public void addParser(Parser<?> parser) {
+        delegate.addParser(parser);
+    }
+
+    @Override
+    public void addFormatter(Formatter<?> formatter) {
+        delegate.addFormatter(formatter);
+    }
+
+    @Override
+    public void addFormatterForFieldType(Class<?> fieldType, Formatter<?> formatter) {
+        delegate.addFormatterForFieldType(fieldType, formatter);
+    }
+
+    @Override
+    public void addFormatterForFieldType(Class<?> fieldType, Printer<?> printer, Parser<?> parser) {
+        delegate.addFormatterForFieldType(fieldType, printer, parser);
+    }
+
+    @Override
+    public void addFormatterForFieldAnnotation(AnnotationFormatterFactory<? extends Annotation> annotationFormatterFactory) {
+        delegate.addFormatterForFieldAnnotation(annotationFormatterFactory);
+    }
+
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        delegate.setEmbeddedValueResolver(resolver);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    // ---- 계측 ----
+
+    /**
+     * 이미 본 클래스 쌍의 변환 요청 수
+     */
+    public long getRepeatCount() {
+        return repeats.sum();
+    }
+
+    /**
+     * 처음 본 클래스 쌍의 변환 요청 수 (추적 한도를 넘은 쌍 포함)
+     */
+    public long getFirstSeenCount() {
+        return firstSeen.sum();
+    }
+
+    public int getPairCount() {
+        return pairCount.get();
+    }
+}
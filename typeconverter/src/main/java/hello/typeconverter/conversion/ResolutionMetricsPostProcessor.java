@@ -0,0 +1,33 @@
+package hello.typeconverter.conversion;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.format.support.FormattingConversionService;
+import org.springframework.stereotype.Component;
+
+/**
+ * conversion.resolution-metrics.enabled=true 면 스프링 MVC 가 사용하는 mvcConversionService 를
+ * ResolutionMetricsConversionService 로 감싸서 변환 시간과 변환 요청된 클래스 쌍을 센다.
+ * 변환마다 맵 조회와 Timer 기록이 한 번 더 들어가므로 기본값은 끔
+ */
+@Component
+public class ResolutionMetricsPostProcessor implements BeanPostProcessor {
+
+    public static final String MVC_CONVERSION_SERVICE = "mvcConversionService";
+
+    private final boolean enabled;
+
+    public ResolutionMetricsPostProcessor(@Value("${conversion.resolution-metrics.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (enabled && MVC_CONVERSION_SERVICE.equals(beanName)
+                && bean instanceof FormattingConversionService && !(bean instanceof ResolutionMetricsConversionService)) {
+            return new ResolutionMetricsConversionService((FormattingConversionService) bean);
+        }
+        return bean;
+    }
+}
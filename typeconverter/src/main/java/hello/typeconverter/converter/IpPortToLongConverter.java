@@ -0,0 +1,17 @@
+package hello.typeconverter.converter;
+
+import hello.typeconverter.type.IpPort;
+import hello.typeconverter.type.PackedIpPort;
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * IpPort -> 압축 표현(long), IPv4 만 가능
+ * IPv6 는 long 하나에 담을 수 없으므로 IllegalArgumentException, PackedIpPort.ipv6High/ipv6Low 를 사용
+ */
+public class IpPortToLongConverter implements Converter<IpPort, Long> {
+
+    @Override
+    public Long convert(IpPort source) {
+        return PackedIpPort.packIpv4(source);
+    }
+}
@@ -10,7 +10,11 @@ public class IpPortToStringConverter implements Converter<IpPort, String> {
 
     @Override
     public String convert(IpPort source) {
-        log.info("convert source={}", source);
+        log.debug("convert source={}", source);
+        //IPv6 는 포트와 구분하기 위해 대괄호로 감싼다. [::1]:8080
+        if (source.isIpv6()) {
+            return "[" + source.getIp() + "]:" + source.getPort();
+        }
         return source.getIp() + ":" + source.getPort();
     }
 }
@@ -0,0 +1,20 @@
+package hello.typeconverter.converter;
+
+import hello.typeconverter.type.IpPort;
+import hello.typeconverter.type.PackedIpPort;
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * 압축 표현(long) -> IpPort, IpPortToLongConverter 의 반대
+ */
+public class LongToIpPortConverter implements Converter<Long, IpPort> {
+
+    @Override
+    public IpPort convert(Long source) {
+        int port = PackedIpPort.ipv4Port(source);
+        if ((source >>> 48) != 0 || port == 0) {
+            throw new IllegalArgumentException("PackedIpPort 형식이 아닙니다. source=" + source);
+        }
+        return PackedIpPort.unpackIpv4(source);
+    }
+}
@@ -2,23 +2,35 @@ package hello.typeconverter.converter;
 
 
 import hello.typeconverter.type.IpPort;
+import hello.typeconverter.type.IpPortCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.convert.converter.Converter;
 
 /**
  * 127.0.0.1:8080 과 같은 IP, PORT 를 입력하면 IpPort 객체로 변환하는 컨버터
+ * [::1]:8080 과 같은 IPv6 도 지원
+ *
+ * 요청 파라미터를 바인딩할 때마다 호출되므로 split(":") 대신 한 번만 훑는 파서(IpPortParser)를 사용하고,
+ * 이미 변환한 문자열은 IpPortCache 에서 같은 인스턴스를 꺼내서 반환
+ * 형식이 맞지 않으면 IllegalArgumentException -> 스프링이 ConversionFailedException 으로 감싸서 바인딩 오류로 처리
  */
 @Slf4j
 public class StringToIpPortConverter implements Converter<String, IpPort> {
 
+    private final IpPortCache cache;
+
+    public StringToIpPortConverter() {
+        this(new IpPortCache());
+    }
+
+    public StringToIpPortConverter(IpPortCache cache) {
+        this.cache = cache;
+    }
+
     @Override
     public IpPort convert(String source) {
-        log.info("convert source={}", source);
+        log.debug("convert source={}", source);
         //"127.0.0.1:8080"
-        String[] split = source.split(":");
-        String ip = split[0];
-        int port = Integer.parseInt(split[1]);
-
-        return new IpPort(ip, port);
+        return cache.get(source);
     }
 }
@@ -0,0 +1,40 @@
+package hello.typeconverter.formatter;
+
+import org.springframework.format.Parser;
+import org.springframework.format.Printer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.datetime.standard.Jsr310DateTimeFormatAnnotationFormatterFactory;
+import org.springframework.util.StringUtils;
+
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") 처럼 패턴이 있는 LocalDateTime, LocalDate, LocalTime 필드는
+ * DateTimePatterns 캐시의 FastTemporalFormatter 사용
+ * 그 외(style, iso, fallbackPatterns, 다른 날짜 타입, 처리할 수 없는 패턴)는 스프링 기본 팩토리로 처리
+ *
+ * WebConfig 에서 등록, 나중에 등록한 팩토리가 먼저 적용된다.
+ */
+public class CachedDateTimeFormatAnnotationFormatterFactory extends Jsr310DateTimeFormatAnnotationFormatterFactory {
+
+    @Override
+    public Printer<?> getPrinter(DateTimeFormat annotation, Class<?> fieldType) {
+        FastTemporalFormatter formatter = fastFormatter(annotation, fieldType);
+        return formatter != null ? formatter : super.getPrinter(annotation, fieldType);
+    }
+
+    @Override
+    public Parser<?> getParser(DateTimeFormat annotation, Class<?> fieldType) {
+        FastTemporalFormatter formatter = fastFormatter(annotation, fieldType);
+        return formatter != null ? formatter : super.getParser(annotation, fieldType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private FastTemporalFormatter fastFormatter(DateTimeFormat annotation, Class<?> fieldType) {
+        String pattern = resolveEmbeddedValue(annotation.pattern());
+        if (!StringUtils.hasLength(pattern) || annotation.fallbackPatterns().length > 0) {
+            return null;
+        }
+        return FastTemporalFormatter.of((Class<? extends TemporalAccessor>) fieldType, pattern);
+    }
+}
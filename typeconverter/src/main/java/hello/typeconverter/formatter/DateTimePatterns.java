@@ -0,0 +1,67 @@
+package hello.typeconverter.formatter;
+
+import org.springframework.format.datetime.standard.DateTimeFormatterFactory;
+
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 날짜 패턴 문자열 -> DateTimeFormatter, FastDateTimePattern 전역 캐시
+ *
+ * DateTimeFormatter.ofPattern() 은 호출할 때마다 패턴을 다시 분석한다.
+ * @DateTimeFormat 필드, 생성된 폼 바인더, 코드에서 같은 패턴을 쓰면 하나를 공유
+ *
+ * DateTimeFormatter 는 스프링(DateTimeFormatterFactory)과 같이 만든다. -> yy 를 uu 로 바꾸고 ResolverStyle.STRICT
+ * 패턴은 애노테이션, 코드에 적힌 값이라 개수가 많지 않지만, 혹시 모를 경우를 위해 MAX_PATTERNS 를 넘으면 캐시하지 않는다.
+ */
+public final class DateTimePatterns {
+
+    private static final int MAX_PATTERNS = 256;
+
+    private static final ConcurrentMap<String, Entry> CACHE = new ConcurrentHashMap<>();
+
+    private DateTimePatterns() {
+    }
+
+    public static DateTimeFormatter formatter(String pattern) {
+        return entry(pattern).formatter;
+    }
+
+    /**
+     * @return 고정 길이 숫자 패턴이 아니면 null
+     */
+    public static FastDateTimePattern fastPattern(String pattern) {
+        return entry(pattern).fastPattern;
+    }
+
+    static int size() {
+        return CACHE.size();
+    }
+
+    private static Entry entry(String pattern) {
+        Entry entry = CACHE.get(pattern);
+        if (entry != null) {
+            return entry;
+        }
+        entry = new Entry(new DateTimeFormatterFactory(pattern).createDateTimeFormatter(), FastDateTimePattern.compile(pattern));
+        if (CACHE.size() < MAX_PATTERNS) {
+            Entry existing = CACHE.putIfAbsent(pattern, entry);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return entry;
+    }
+
+    private static final class Entry {
+
+        private final DateTimeFormatter formatter;
+        private final FastDateTimePattern fastPattern;
+
+        private Entry(DateTimeFormatter formatter, FastDateTimePattern fastPattern) {
+            this.formatter = formatter;
+            this.fastPattern = fastPattern;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package hello.typeconverter.formatter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 고정 길이 숫자로만 이루어진 날짜 패턴("yyyy-MM-dd HH:mm:ss", "yyyy/MM/dd", "HH:mm", "yyyy-MM-dd'T'HH:mm:ss.SSS" ...)을
+ * 미리 분석해 두고 DateTimeFormatter 없이 직접 출력, 파싱
+ *
+ * DateTimeFormatter 는 출력할 때 DateTimePrintContext, StringBuilder 를 만들고 필드마다 TemporalField 로 값을 조회,
+ * 파싱할 때는 DateTimeParseContext, Parsed, 필드 Map 을 만든 뒤 resolve 한다.
+ * 여기서는 위치가 정해진 숫자만 읽고 쓴다.
+ * - 출력: 스레드마다 재사용하는 char[] 에 쓰고 결과 String 만 만든다.
+ * - 파싱: 숫자를 읽어서 LocalDateTime.of() 등으로 바로 생성
+ *
+ * 처리할 수 없는 값(연도 0~9999 밖, 형식이 맞지 않는 문자열, 없는 날짜 2021-02-30 ...)은 null 을 반환
+ * -> 호출하는 쪽에서 DateTimeFormatter 로 처리해서 결과와 예외 메시지가 기존과 같도록 한다.
+ */
+public final class FastDateTimePattern {
+
+    static final int MAX_LENGTH = 64;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    private static final int YEAR = 0;
+    private static final int MONTH = 1;
+    private static final int DAY = 2;
+    private static final int HOUR = 3;
+    private static final int MINUTE = 4;
+    private static final int SECOND = 5;
+    private static final int FRACTION = 6;
+    private static final int LITERAL = 7;
+
+    private static final int[] FRACTION_SCALE = {0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+    private final String pattern;
+    private final int[] kinds;      //토큰 종류
+    private final int[] widths;     //숫자 자리수
+    private final char[] literals;  //LITERAL 토큰의 문자
+    private final int length;       //출력, 입력 문자열 길이 (고정)
+    private final int fields;       //포함된 필드 bit
+
+    private FastDateTimePattern(String pattern, int[] kinds, int[] widths, char[] literals, int length, int fields) {
+        this.pattern = pattern;
+        this.kinds = kinds;
+        this.widths = widths;
+        this.literals = literals;
+        this.length = length;
+        this.fields = fields;
+    }
+
+    /**
+     * 처리할 수 있는 패턴이 아니면 null
+     * yyyy, uuuu, MM, dd, HH, mm, ss, S(1~9자리), 구분 문자(- / : . 공백 , _), 작은따옴표로 감싼 문자('T')
+     * 작은따옴표 자체는 DateTimeFormatter 와 같이 '' ("HH 'o''clock'" -> "10 o'clock")
+     */
+    public static FastDateTimePattern compile(String pattern) {
+        List<int[]> tokens = new ArrayList<>();
+        StringBuilder literals = new StringBuilder();
+        int length = 0;
+        int fields = 0;
+
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int from = literals.length();
+                int end = quoted(pattern, i, literals);
+                if (end < 0) {
+                    return null;    //닫히지 않은 경우
+                }
+                for (int j = from; j < literals.length(); j++) {
+                    tokens.add(new int[]{LITERAL, 1, j});
+                    length++;
+                }
+                i = end;
+                continue;
+            }
+            if (isLiteral(c)) {
+                tokens.add(new int[]{LITERAL, 1, literals.length()});
+                literals.append(c);
+                length++;
+                i++;
+                continue;
+            }
+
+            int count = 1;
+            while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                count++;
+            }
+            int kind = fieldKind(c, count);
+            if (kind < 0 || (fields & (1 << kind)) != 0) {
+                return null;
+            }
+            fields |= 1 << kind;
+            tokens.add(new int[]{kind, count, -1});
+            length += count;
+            i += count;
+        }
+
+        if (length == 0 || length > MAX_LENGTH) {
+            return null;
+        }
+        int[] kinds = new int[tokens.size()];
+        int[] widths = new int[tokens.size()];
+        char[] literalChars = new char[tokens.size()];
+        for (int t = 0; t < tokens.size(); t++) {
+            int[] token = tokens.get(t);
+            kinds[t] = token[0];
+            widths[t] = token[1];
+            if (token[0] == LITERAL) {
+                literalChars[t] = literals.charAt(token[2]);
+            }
+        }
+        return new FastDateTimePattern(pattern, kinds, widths, literalChars, length, fields);
+    }
+
+    /**
+     * start 위치의 작은따옴표부터 읽은 문자를 literals 에 추가 (DateTimeFormatterBuilder.appendPattern 과 같은 규칙)
+     * '' 는 작은따옴표 한 글자, 따옴표로 감싼 부분 안의 '' 도 작은따옴표 한 글자
+     *
+     * @return 다음에 읽을 위치, 닫는 따옴표가 없으면 -1
+     */
+    private static int quoted(String pattern, int start, StringBuilder literals) {
+        int end = start + 1;
+        while (end < pattern.length()) {
+            if (pattern.charAt(end) == '\'') {
+                if (end + 1 < pattern.length() && pattern.charAt(end + 1) == '\'') {
+                    end++;
+                } else {
+                    break;
+                }
+            }
+            end++;
+        }
+        if (end >= pattern.length()) {
+            return -1;
+        }
+        String text = pattern.substring(start + 1, end);
+        literals.append(text.isEmpty() ? "'" : text.replace("''", "'"));
+        return end + 1;
+    }
+
+    private static boolean isLiteral(char c) {
+        return c == '-' || c == '/' || c == ':' || c == '.' || c == ' ' || c == ',' || c == '_';
+    }
+
+    private static int fieldKind(char c, int count) {
+        switch (c) {
+            case 'y':
+            case 'u':
+                return count == 4 ? YEAR : -1;
+            case 'M':
+                return count == 2 ? MONTH : -1;
+            case 'd':
+                return count == 2 ? DAY : -1;
+            case 'H':
+                return count == 2 ? HOUR : -1;
+            case 'm':
+                return count == 2 ? MINUTE : -1;
+            case 's':
+                return count == 2 ? SECOND : -1;
+            case 'S':
+                return count <= 9 ? FRACTION : -1;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * 해당 타입의 값을 만들거나 출력하는 데 필요한 필드가 정확히 있는지
+     * LocalDateTime -> 연월일시분 (초, 소수 초는 선택)
+     * LocalDate -> 연월일만
+     * LocalTime -> 시분 (초, 소수 초는 선택)
+     */
+    public boolean supports(Class<?> type) {
+        int date = bit(YEAR) | bit(MONTH) | bit(DAY);
+        int time = bit(HOUR) | bit(MINUTE);
+        int optional = bit(SECOND) | bit(FRACTION);
+        if (type == LocalDateTime.class) {
+            return (fields & (date | time)) == (date | time) && (fields & ~(date | time | optional)) == 0;
+        }
+        if (type == LocalDate.class) {
+            return fields == date;
+        }
+        if (type == LocalTime.class) {
+            return (fields & time) == time && (fields & ~(time | optional)) == 0;
+        }
+        return false;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return 출력할 수 없으면 null (타입이 다르거나 연도가 0~9999 밖)
+     */
+    public String print(TemporalAccessor temporal) {
+        LocalDate date;
+        LocalTime time;
+        if (temporal instanceof LocalDateTime) {
+            date = ((LocalDateTime) temporal).toLocalDate();
+            time = ((LocalDateTime) temporal).toLocalTime();
+        } else if (temporal instanceof LocalDate) {
+            date = (LocalDate) temporal;
+            time = null;
+        } else if (temporal instanceof LocalTime) {
+            date = null;
+            time = (LocalTime) temporal;
+        } else {
+            return null;
+        }
+        if ((date == null && hasDate()) || (time == null && hasTime())
+                || (date != null && (date.getYear() < 0 || date.getYear() > 9999))) {
+            return null;
+        }
+
+        char[] buffer = BUFFER.get();
+        int pos = 0;
+        for (int t = 0; t < kinds.length; t++) {
+            switch (kinds[t]) {
+                case YEAR:
+                    pos = writeDigits(buffer, pos, date.getYear(), 4);
+                    break;
+                case MONTH:
+                    pos = writeDigits(buffer, pos, date.getMonthValue(), 2);
+                    break;
+                case DAY:
+                    pos = writeDigits(buffer, pos, date.getDayOfMonth(), 2);
+                    break;
+                case HOUR:
+                    pos = writeDigits(buffer, pos, time.getHour(), 2);
+                    break;
+                case MINUTE:
+                    pos = writeDigits(buffer, pos, time.getMinute(), 2);
+                    break;
+                case SECOND:
+                    pos = writeDigits(buffer, pos, time.getSecond(), 2);
+                    break;
+                case FRACTION:
+                    pos = writeDigits(buffer, pos, time.getNano() / FRACTION_SCALE[widths[t]], widths[t]);
+                    break;
+                default:
+                    buffer[pos++] = literals[t];
+            }
+        }
+        return new String(buffer, 0, pos);
+    }
+
+    /**
+     * @return 형식이 맞지 않거나 없는 날짜, 시간이면 null
+     */
+    public TemporalAccessor parse(CharSequence text, Class<?> type) {
+        if (text.length() != length) {
+            return null;
+        }
+        int year = 0;
+        int month = 1;
+        int day = 1;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int nano = 0;
+
+        int pos = 0;
+        for (int t = 0; t < kinds.length; t++) {
+            if (kinds[t] == LITERAL) {
+                if (text.charAt(pos++) != literals[t]) {
+                    return null;
+                }
+                continue;
+            }
+            int value = readDigits(text, pos, widths[t]);
+            if (value < 0) {
+                return null;
+            }
+            pos += widths[t];
+            switch (kinds[t]) {
+                case YEAR:
+                    year = value;
+                    break;
+                case MONTH:
+                    month = value;
+                    break;
+                case DAY:
+                    day = value;
+                    break;
+                case HOUR:
+                    hour = value;
+                    break;
+                case MINUTE:
+                    minute = value;
+                    break;
+                case SECOND:
+                    second = value;
+                    break;
+                default:
+                    nano = value * FRACTION_SCALE[widths[t]];
+            }
+        }
+
+        if (month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))
+                || hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.of(year, month, day);
+        }
+        if (type == LocalTime.class) {
+            return LocalTime.of(hour, minute, second, nano);
+        }
+        return null;
+    }
+
+    private boolean hasDate() {
+        return (fields & (bit(YEAR) | bit(MONTH) | bit(DAY))) != 0;
+    }
+
+    private boolean hasTime() {
+        return (fields & (bit(HOUR) | bit(MINUTE) | bit(SECOND) | bit(FRACTION))) != 0;
+    }
+
+    private static int bit(int kind) {
+        return 1 << kind;
+    }
+
+    private static int writeDigits(char[] buffer, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+    /**
+     * @return ASCII 숫자가 아닌 문자가 있으면 -1
+     */
+    private static int readDigits(CharSequence text, int pos, int width) {
+        int value = 0;
+        for (int i = pos; i < pos + width; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "FastDateTimePattern[" + pattern + "]";
+    }
+}
@@ -0,0 +1,71 @@
+package hello.typeconverter.formatter;
+
+import org.springframework.format.Formatter;
+import org.springframework.format.datetime.standard.DateTimeContextHolder;
+import org.springframework.format.datetime.standard.TemporalAccessorParser;
+import org.springframework.format.datetime.standard.TemporalAccessorPrinter;
+
+import java.text.ParseException;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+
+/**
+ * FastDateTimePattern 으로 먼저 출력, 파싱하고 안 되면 스프링의 TemporalAccessorParser, TemporalAccessorPrinter 로 처리
+ *
+ * 숫자 패턴은 Locale 과 관계없이 같은 결과 -> Locale 은 DateTimeFormatter 로 넘길 때만 사용
+ * DateTimeContextHolder 에 사용자별 설정(시간대, 달력)이 있으면 항상 DateTimeFormatter 사용
+ */
+public final class FastTemporalFormatter implements Formatter<TemporalAccessor> {
+
+    private final Class<? extends TemporalAccessor> type;
+    private final FastDateTimePattern fastPattern;
+    private final TemporalAccessorParser parser;
+    private final TemporalAccessorPrinter printer;
+
+    public FastTemporalFormatter(Class<? extends TemporalAccessor> type, FastDateTimePattern fastPattern,
+                                 DateTimeFormatter formatter) {
+        this.type = type;
+        this.fastPattern = fastPattern;
+        this.parser = new TemporalAccessorParser(type, formatter);
+        this.printer = new TemporalAccessorPrinter(formatter);
+    }
+
+    /**
+     * @return 패턴이 FastDateTimePattern 으로 처리할 수 없으면 null
+     */
+    public static FastTemporalFormatter of(Class<? extends TemporalAccessor> type, String pattern) {
+        FastDateTimePattern fastPattern = DateTimePatterns.fastPattern(pattern);
+        if (fastPattern == null || !fastPattern.supports(type)) {
+            return null;
+        }
+        return new FastTemporalFormatter(type, fastPattern, DateTimePatterns.formatter(pattern));
+    }
+
+    @Override
+    public TemporalAccessor parse(String text, Locale locale) throws ParseException {
+        if (DateTimeContextHolder.getDateTimeContext() == null) {
+            TemporalAccessor value = fastPattern.parse(text, type);
+            if (value != null) {
+                return value;
+            }
+        }
+        return parser.parse(text, locale);
+    }
+
+    @Override
+    public String print(TemporalAccessor object, Locale locale) {
+        if (DateTimeContextHolder.getDateTimeContext() == null) {
+            String text = fastPattern.print(object);
+            if (text != null) {
+                return text;
+            }
+        }
+        return printer.print(object, locale);
+    }
+
+    @Override
+    public String toString() {
+        return "FastTemporalFormatter[" + type.getSimpleName() + ", " + fastPattern.getPattern() + "]";
+    }
+}
@@ -3,7 +3,6 @@ package hello.typeconverter.formatter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.Formatter;
 
-import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.Locale;
 
@@ -23,6 +22,8 @@ import java.util.Locale;
 @Slf4j
 public class MyNumberFormatter implements Formatter<Number> {
 
+    private final NumberFormatEngine engine = new NumberFormatEngine();
+
     /**
      * "1,000" 처럼 숫자 중간의 쉼표를 적용하려면 자바가 기본으로 제공하는 NumberFormat 객체를 사용
      * 해당 객체는 Locale 정보를 활용해서 나라별로 다른 숫자 포맷을 만들어 줌
@@ -34,19 +35,18 @@ public class MyNumberFormatter implements Formatter<Number> {
      * 참고, 스프링은 용도에 따라 다양한 방식의 포맷터를 제공
      * > Formatter 포맷터
      * > AnnotationFormatterFactory 필드의 타입이나 애노테이션 정보를 활용할 수 있는 포맷터
+     *
+     * 매번 NumberFormat.getInstance(locale) 를 만드는 대신 로케일별로 캐시하는 NumberFormatEngine 에 위임
      */
     @Override
     public Number parse(String text, Locale locale) throws ParseException {
-        log.info("text={}, locale={}", text, locale);
-        NumberFormat format = NumberFormat.getInstance(locale);
-
-        return format.parse(text);
+        log.debug("text={}, locale={}", text, locale);
+        return engine.parse(text, locale);
     }
 
     @Override
     public String print(Number object, Locale locale) {
-        log.info("object={}, locale={}", object, locale);
-
-        return NumberFormat.getInstance(locale).format(object);
+        log.debug("object={}, locale={}", object, locale);
+        return engine.print(object, locale);
     }
 }
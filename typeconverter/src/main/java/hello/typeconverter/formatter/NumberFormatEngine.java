@@ -0,0 +1,239 @@
+package hello.typeconverter.formatter;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Locale 별 숫자 포맷 엔진
+ *
+ * NumberFormat.getInstance(locale) 는 호출할 때마다 로케일 데이터를 찾고 DecimalFormat 을 복제한다.
+ * 타임리프 ${{...}} 와 폼 바인딩에서 계속 호출되므로 로케일별로 한 번만 만들어서 재사용
+ *
+ * - 로케일별 정보(LocaleFormat)는 불변 객체라 여러 스레드에서 공유
+ * - DecimalFormat 은 스레드 안전하지 않으므로 원본(prototype)은 직접 쓰지 않고 스레드마다 한 번 복제해서 재사용 (ThreadLocal)
+ *   복제본은 최대 (캐시한 로케일 수 x 요청 스레드 수) 개
+ * - 정수(Integer, Long, Short, Byte)를 그룹 구분자로 출력하거나, 그 형식 그대로의 문자열을 파싱할 때는
+ *   DecimalFormat 없이 직접 처리 (ASCII 숫자를 쓰는 로케일만)
+ * - 결과는 DecimalFormat 과 같아야 하므로 조금이라도 다른 입력("-0", 잘못된 위치의 구분자, 뒤에 붙은 문자,
+ *   long 범위 초과 등)은 DecimalFormat 으로 넘긴다.
+ */
+public class NumberFormatEngine {
+
+    /**
+     * Accept-Language 로 들어오는 로케일은 제한이 없으므로 캐시 크기를 제한, 넘으면 캐시하지 않고 매번 만든다.
+     */
+    private static final int MAX_CACHED_LOCALES = 64;
+
+    private final ConcurrentMap<Locale, LocaleFormat> formats = new ConcurrentHashMap<>();
+
+    public String print(Number number, Locale locale) {
+        return formatFor(locale).print(number);
+    }
+
+    public Number parse(String text, Locale locale) throws ParseException {
+        return formatFor(locale).parse(text);
+    }
+
+    /**
+     * NumberFormat.parse(String) 는 앞에서 읽을 수 있는 만큼만 읽고 나머지는 무시한다. ("12abc" -> 12)
+     * 대량 변환처럼 값 전체가 숫자여야 하는 경우에 사용, 끝까지 읽지 못하면 ParseException
+     */
+    public Number parseStrict(String text, Locale locale) throws ParseException {
+        return formatFor(locale).parseStrict(text);
+    }
+
+    LocaleFormat formatFor(Locale locale) {
+        LocaleFormat format = formats.get(locale);
+        if (format != null) {
+            return format;
+        }
+        format = new LocaleFormat(NumberFormat.getInstance(locale));
+        if (formats.size() < MAX_CACHED_LOCALES) {
+            LocaleFormat existing = formats.putIfAbsent(locale, format);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return format;
+    }
+
+    static final class LocaleFormat {
+
+        private static final int MAX_LONG_DIGITS = 19;
+
+        private final NumberFormat prototype;
+        private final ThreadLocal<NumberFormat> threadFormat;
+        private final boolean fastPath;
+        private final char groupingSeparator;
+        private final int groupingSize;
+        private final String negativePrefix;
+
+        LocaleFormat(NumberFormat prototype) {
+            this.prototype = prototype;
+            this.threadFormat = ThreadLocal.withInitial(() -> (NumberFormat) prototype.clone());
+
+            if (prototype instanceof DecimalFormat) {
+                DecimalFormat decimalFormat = (DecimalFormat) prototype;
+                DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+                this.groupingSeparator = symbols.getGroupingSeparator();
+                this.groupingSize = decimalFormat.getGroupingSize();
+                this.negativePrefix = decimalFormat.getNegativePrefix();
+                this.fastPath = symbols.getZeroDigit() == '0'
+                        && decimalFormat.isGroupingUsed() && groupingSize > 0
+                        && decimalFormat.getMultiplier() == 1
+                        && decimalFormat.getMaximumIntegerDigits() >= MAX_LONG_DIGITS
+                        && decimalFormat.getMinimumIntegerDigits() <= 1
+                        && decimalFormat.getPositivePrefix().isEmpty()
+                        && decimalFormat.getPositiveSuffix().isEmpty()
+                        && decimalFormat.getNegativeSuffix().isEmpty()
+                        && !negativePrefix.isEmpty()
+                        && !isDigit(groupingSeparator)
+                        && !containsDigitOrSeparator(negativePrefix, groupingSeparator);
+            } else {
+                this.groupingSeparator = 0;
+                this.groupingSize = 0;
+                this.negativePrefix = null;
+                this.fastPath = false;
+            }
+        }
+
+        boolean isFastPath() {
+            return fastPath;
+        }
+
+        String print(Number number) {
+            if (fastPath && (number instanceof Integer || number instanceof Long
+                    || number instanceof Short || number instanceof Byte)) {
+                return printLong(number.longValue());
+            }
+            return format().format(number);
+        }
+
+        Number parse(String text) throws ParseException {
+            if (fastPath) {
+                Number number = parseGroupedLong(text);
+                if (number != null) {
+                    return number;
+                }
+            }
+            return format().parse(text);
+        }
+
+        Number parseStrict(String text) throws ParseException {
+            if (fastPath) {
+                Number number = parseGroupedLong(text);
+                if (number != null) {
+                    return number;
+                }
+            }
+            ParsePosition position = new ParsePosition(0);
+            Number number = format().parse(text, position);
+            if (number == null || position.getIndex() != text.length()) {
+                int errorIndex = number == null ? position.getErrorIndex() : position.getIndex();
+                throw new ParseException("숫자가 아닌 문자가 있음: \"" + text + "\"", Math.max(errorIndex, 0));
+            }
+            return number;
+        }
+
+        /**
+         * 현재 스레드 전용 복제본, format/parse 는 설정을 바꾸지 않으므로 그대로 재사용한다.
+         */
+        private NumberFormat format() {
+            return threadFormat.get();
+        }
+
+        /**
+         * 음수로 계산해서 Long.MIN_VALUE 도 부호를 바꾸지 않고 처리
+         */
+        private String printLong(long value) {
+            boolean negative = value < 0;
+            long v = negative ? value : -value;
+
+            char[] buffer = new char[MAX_LONG_DIGITS + MAX_LONG_DIGITS / groupingSize];
+            int pos = buffer.length;
+            int digits = 0;
+            do {
+                if (digits > 0 && digits % groupingSize == 0) {
+                    buffer[--pos] = groupingSeparator;
+                }
+                buffer[--pos] = (char) ('0' - (v % 10));
+                v /= 10;
+                digits++;
+            } while (v != 0);
+
+            String body = new String(buffer, pos, buffer.length - pos);
+            return negative ? negativePrefix + body : body;
+        }
+
+        /**
+         * DecimalFormat 이 출력하는 형식("1,234,567", "-1,234") 또는 구분자 없는 정수("1234567")만 처리
+         * 처리할 수 없으면 null -> DecimalFormat 으로 파싱
+         */
+        private Number parseGroupedLong(String text) {
+            int length = text.length();
+            int start = 0;
+            boolean negative = false;
+            if (text.startsWith(negativePrefix)) {
+                negative = true;
+                start = negativePrefix.length();
+            }
+            if (start >= length) {
+                return null;
+            }
+
+            //구분자가 있으면 첫 그룹은 1~groupingSize 자리, 이후 그룹은 정확히 groupingSize 자리
+            boolean grouped = text.indexOf(groupingSeparator, start) >= 0;
+            long value = 0;
+            int digitsInGroup = 0;
+            boolean firstGroup = true;
+            for (int i = start; i < length; i++) {
+                char c = text.charAt(i);
+                if (c == groupingSeparator) {
+                    if (digitsInGroup == 0 || (firstGroup ? digitsInGroup > groupingSize : digitsInGroup != groupingSize)) {
+                        return null;
+                    }
+                    firstGroup = false;
+                    digitsInGroup = 0;
+                    continue;
+                }
+                if (!isDigit(c)) {
+                    return null;
+                }
+                if (value < (Long.MIN_VALUE + (c - '0')) / 10) {
+                    return null;   //long 범위 초과 -> DecimalFormat 은 Double 을 반환
+                }
+                value = value * 10 - (c - '0');
+                digitsInGroup++;
+            }
+            if (digitsInGroup == 0 || (grouped && digitsInGroup != groupingSize)) {
+                return null;
+            }
+
+            if (negative) {
+                //"-0" 은 DecimalFormat 이 -0.0(Double)을 반환
+                return value == 0 ? null : value;
+            }
+            return value == Long.MIN_VALUE ? null : -value;
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean containsDigitOrSeparator(String s, char separator) {
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (isDigit(c) || c == separator) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
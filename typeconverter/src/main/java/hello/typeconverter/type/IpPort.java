@@ -6,15 +6,22 @@ import lombok.Getter;
 /**
  * @EqualsAndHashCode 를 넣으면 모든 필드를 사용해서 equals() , hashcode() 를 생성
  * 모든 필드의 값이 같다면 a.equals(b) 의 결과가 참
+ *
+ * IpPortCache 가 같은 인스턴스를 여러 요청에 돌려주므로 불변으로 유지
+ * IPv6 는 대괄호 없이 주소만 저장 (예: ip=::1, port=8080)
  */
 @Getter
 @EqualsAndHashCode
 public class IpPort {
-    private String ip;
-    private int port;
+    private final String ip;
+    private final int port;
 
     public IpPort(String ip, int port) {
         this.ip = ip;
         this.port = port;
     }
+
+    public boolean isIpv6() {
+        return ip.indexOf(':') >= 0;
+    }
 }
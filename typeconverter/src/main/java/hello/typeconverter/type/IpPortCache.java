@@ -0,0 +1,63 @@
+package hello.typeconverter.type;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 입력 문자열 -> IpPort 를 기억하는 크기 고정 캐시
+ *
+ * 같은 IP:PORT 가 반복해서 들어오는 경우(설정 화면, 폼 재전송) 파싱과 IpPort, ip 문자열 생성을 건너뛴다.
+ * 직접 매핑(direct-mapped) 방식: 해시로 정한 칸 하나만 보고, 충돌하면 나중에 들어온 값으로 덮어씀
+ * -> 크기가 고정되어 있어서 잘못된 입력이나 무작위 입력이 계속 들어와도 메모리가 늘지 않고, 락 없이 읽고 쓴다.
+ * 두 스레드가 같은 칸에 동시에 쓰면 한쪽이 이기고 다른 쪽은 다음에 다시 파싱할 뿐이다.
+ *
+ * IpPort 는 불변 객체라 여러 요청에서 같은 인스턴스를 공유해도 안전
+ */
+public class IpPortCache {
+
+    public static final int DEFAULT_SIZE = 1024;
+
+    private final AtomicReferenceArray<Entry> table;
+    private final int mask;
+
+    public IpPortCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * @param size 칸 수, 2의 거듭제곱으로 올림
+     */
+    public IpPortCache(int size) {
+        int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.table = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 캐시에 있으면 그대로 반환, 없으면 파싱해서 저장 (형식이 맞지 않으면 저장하지 않고 IllegalArgumentException)
+     */
+    public IpPort get(String source) {
+        int h = source.hashCode();
+        int index = (h ^ (h >>> 16)) & mask;
+
+        Entry entry = table.get(index);
+        if (entry != null && entry.hash == h && entry.source.equals(source)) {
+            return entry.value;
+        }
+
+        IpPort value = IpPortParser.parse(source);
+        table.set(index, new Entry(source, h, value));
+        return value;
+    }
+
+    private static final class Entry {
+        private final String source;
+        private final int hash;
+        private final IpPort value;
+
+        Entry(String source, int hash, IpPort value) {
+            this.source = source;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+}
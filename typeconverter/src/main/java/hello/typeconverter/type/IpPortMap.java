@@ -0,0 +1,122 @@
+package hello.typeconverter.type;
+
+import java.util.function.BiConsumer;
+
+/**
+ * IpPort -> 값 맵, 키는 IpPortSet 과 같은 방식(PackedIpPort)으로 저장하고 값은 같은 위치의 배열에 둔다.
+ * HashMap 처럼 항목마다 Node, 키 객체를 만들지 않는다. null 값은 허용하지 않음 (get 이 null 이면 없는 키)
+ * 스레드 안전하지 않음
+ */
+public class IpPortMap<V> extends PackedIpPortTable {
+
+    public IpPortMap() {
+        this(16);
+    }
+
+    public IpPortMap(int expectedSize) {
+        super(expectedSize, true);
+    }
+
+    /**
+     * @return 이전 값, 없었으면 null
+     */
+    public V put(IpPort ipPort, V value) {
+        if (ipPort.isIpv6()) {
+            int[] groups = PackedIpPort.ipv6Groups(ipPort);
+            return putIpv6(PackedIpPort.high(groups), PackedIpPort.low(groups), ipPort.getPort(), value);
+        }
+        return putIpv4(PackedIpPort.packIpv4(ipPort), value);
+    }
+
+    public V get(IpPort ipPort) {
+        if (ipPort.isIpv6()) {
+            int[] groups = PackedIpPort.ipv6Groups(ipPort);
+            return getIpv6(PackedIpPort.high(groups), PackedIpPort.low(groups), ipPort.getPort());
+        }
+        return getIpv4(PackedIpPort.packIpv4(ipPort));
+    }
+
+    public boolean containsKey(IpPort ipPort) {
+        return get(ipPort) != null;
+    }
+
+    public V remove(IpPort ipPort) {
+        if (ipPort.isIpv6()) {
+            int[] groups = PackedIpPort.ipv6Groups(ipPort);
+            return removeIpv6(PackedIpPort.high(groups), PackedIpPort.low(groups), ipPort.getPort());
+        }
+        return removeIpv4(PackedIpPort.packIpv4(ipPort));
+    }
+
+    public V putIpv4(long packed, V value) {
+        checkValue(value);
+        int index = v4Insert(packed);
+        if (index < 0) {
+            v4SetValue(-index - 1, value);
+            return null;
+        }
+        V old = cast(v4ValueAt(index));
+        v4SetValue(index, value);
+        return old;
+    }
+
+    public V getIpv4(long packed) {
+        int index = v4Find(packed);
+        return index < 0 ? null : cast(v4ValueAt(index));
+    }
+
+    public V removeIpv4(long packed) {
+        int index = v4Find(packed);
+        return index < 0 ? null : cast(v4RemoveAt(index));
+    }
+
+    public V putIpv6(long high, long low, int port, V value) {
+        checkValue(value);
+        int index = v6Insert(high, low, port);
+        if (index < 0) {
+            v6SetValue(-index - 1, value);
+            return null;
+        }
+        V old = cast(v6ValueAt(index));
+        v6SetValue(index, value);
+        return old;
+    }
+
+    public V getIpv6(long high, long low, int port) {
+        int index = v6Find(high, low, port);
+        return index < 0 ? null : cast(v6ValueAt(index));
+    }
+
+    public V removeIpv6(long high, long low, int port) {
+        int index = v6Find(high, low, port);
+        return index < 0 ? null : cast(v6RemoveAt(index));
+    }
+
+    /**
+     * 항목마다 IpPort 를 새로 만들어서 넘겨준다. 순서는 보장하지 않음
+     */
+    public void forEach(BiConsumer<IpPort, V> action) {
+        for (int i = 0; i < v4Capacity(); i++) {
+            long key = v4KeyAt(i);
+            if (key != PackedIpPort.EMPTY) {
+                action.accept(PackedIpPort.unpackIpv4(key), cast(v4ValueAt(i)));
+            }
+        }
+        for (int i = 0; i < v6Capacity(); i++) {
+            if (v6Occupied(i)) {
+                action.accept(PackedIpPort.unpackIpv6(v6HighAt(i), v6LowAt(i), v6PortAt(i)), cast(v6ValueAt(i)));
+            }
+        }
+    }
+
+    private static void checkValue(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("null 값은 저장할 수 없습니다.");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V cast(Object value) {
+        return (V) value;
+    }
+}
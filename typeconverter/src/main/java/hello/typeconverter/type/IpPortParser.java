@@ -0,0 +1,278 @@
+package hello.typeconverter.type;
+
+/**
+ * "ip:port" 문자열을 IpPort 로 변환하는 파서
+ *
+ * String.split(":") 은 정규식 처리, 배열, 부분 문자열을 매번 만들기 때문에 문자를 한 번만 훑으면서 직접 검증
+ * 허용하는 형식
+ * - IPv4 : 127.0.0.1:8080, 각 옥텟은 0~255, 앞에 0 을 붙인 옥텟(010)은 8진수로 해석하는 구현이 있어서 거부
+ * - IPv6 : [::1]:8080, [2001:db8::1]:443, 마지막 32비트는 IPv4 형식 가능([::ffff:10.0.0.1]:80)
+ * - port : 1~65535, 앞에 0 을 붙인 포트는 거부
+ *
+ * IPv6 는 RFC 5952 정규 표현(소문자, 앞의 0 생략, 가장 긴 0 그룹을 :: 로 축약)으로 바꿔서 저장
+ * 같은 주소를 다르게 적어도([::0001]:80, [0:0::1]:80) 같은 IpPort 가 된다.
+ * 형식이 맞지 않으면 위치를 포함한 IllegalArgumentException
+ */
+public final class IpPortParser {
+
+    private static final int MAX_PORT = 65535;
+
+    private IpPortParser() {
+    }
+
+    public static IpPort parse(String source) {
+        int length = source.length();
+        if (length == 0) {
+            throw invalid(source, 0, "빈 문자열");
+        }
+
+        int portSeparator;
+        String ip;
+        if (source.charAt(0) == '[') {
+            int close = source.indexOf(']');
+            if (close < 0) {
+                throw invalid(source, length, "']' 가 없음");
+            }
+            ip = parseIpv6(source, 1, close);
+            portSeparator = close + 1;
+            if (portSeparator >= length || source.charAt(portSeparator) != ':') {
+                throw invalid(source, portSeparator, "']' 다음에 ':' 가 필요");
+            }
+        } else {
+            portSeparator = parseIpv4(source, 0, length, true);
+            ip = source.substring(0, portSeparator);
+        }
+
+        int port = parsePort(source, portSeparator + 1);
+        return new IpPort(ip, port);
+    }
+
+    /**
+     * @param stopAtColon true 면 ':' 에서 멈추고 그 위치를 반환, false 면 end 까지 읽고 end 를 반환
+     */
+    private static int parseIpv4(String s, int start, int end, boolean stopAtColon) {
+        int p = start;
+        for (int octet = 0; octet < 4; octet++) {
+            int value = 0;
+            int digits = 0;
+            int octetStart = p;
+            while (p < end) {
+                char c = s.charAt(p);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+                if (++digits > 3 || value > 255) {
+                    throw invalid(s, octetStart, "옥텟은 0~255");
+                }
+                p++;
+            }
+            if (digits == 0) {
+                throw invalid(s, p, "숫자가 필요");
+            }
+            if (digits > 1 && s.charAt(octetStart) == '0') {
+                throw invalid(s, octetStart, "옥텟 앞에 0 을 붙일 수 없음");
+            }
+            if (octet < 3) {
+                if (p >= end || s.charAt(p) != '.') {
+                    throw invalid(s, p, "'.' 가 필요");
+                }
+                p++;
+            }
+        }
+        if (stopAtColon) {
+            if (p >= end || s.charAt(p) != ':') {
+                throw invalid(s, p, "':' 가 필요");
+            }
+        } else if (p != end) {
+            throw invalid(s, p, "IPv4 주소가 끝나야 함");
+        }
+        return p;
+    }
+
+    private static String parseIpv6(String s, int start, int end) {
+        return formatIpv6(parseIpv6Groups(s, start, end));
+    }
+
+    /**
+     * IPv6 주소를 16비트 그룹 8개로 변환 (PackedIpPort 에서도 사용)
+     */
+    static int[] parseIpv6Groups(String s, int start, int end) {
+        int[] groups = new int[8];
+        int count = 0;
+        int compressAt = -1;   //'::' 가 나온 위치(그룹 인덱스)
+        int p = start;
+
+        if (p < end && s.charAt(p) == ':') {
+            if (p + 1 >= end || s.charAt(p + 1) != ':') {
+                throw invalid(s, p, "':' 로 시작하려면 '::' 이어야 함");
+            }
+            compressAt = 0;
+            p += 2;
+        }
+
+        while (p < end) {
+            int groupStart = p;
+            int value = 0;
+            int digits = 0;
+            while (p < end) {
+                int d = hexDigit(s.charAt(p));
+                if (d < 0) {
+                    break;
+                }
+                value = (value << 4) | d;
+                digits++;
+                p++;
+            }
+
+            if (p < end && s.charAt(p) == '.') {
+                //마지막 32비트를 IPv4 형식으로 표기
+                if (count > 6) {
+                    throw invalid(s, groupStart, "IPv4 부분이 들어갈 자리가 없음");
+                }
+                int v4 = ipv4Value(s, groupStart, end);
+                groups[count++] = v4 >>> 16;
+                groups[count++] = v4 & 0xFFFF;
+                p = end;
+                break;
+            }
+            if (digits == 0 || digits > 4) {
+                throw invalid(s, groupStart, "그룹은 16진수 1~4자리");
+            }
+            if (count == 8) {
+                throw invalid(s, groupStart, "그룹이 8개를 넘음");
+            }
+            groups[count++] = value;
+
+            if (p == end) {
+                break;
+            }
+            if (s.charAt(p) != ':') {
+                throw invalid(s, p, "':' 가 필요");
+            }
+            p++;
+            if (p < end && s.charAt(p) == ':') {
+                if (compressAt >= 0) {
+                    throw invalid(s, p, "'::' 는 한 번만 사용");
+                }
+                compressAt = count;
+                p++;
+            } else if (p == end) {
+                throw invalid(s, p, "':' 로 끝날 수 없음");
+            }
+        }
+
+        if (compressAt >= 0) {
+            if (count == 8) {
+                throw invalid(s, start, "'::' 를 쓰면 그룹은 7개 이하");
+            }
+            int tail = count - compressAt;
+            System.arraycopy(groups, compressAt, groups, 8 - tail, tail);
+            for (int i = compressAt; i < 8 - tail; i++) {
+                groups[i] = 0;
+            }
+        } else if (count != 8) {
+            throw invalid(s, start, "그룹이 8개 필요");
+        }
+        return groups;
+    }
+
+    /**
+     * IPv4 주소를 32비트 정수로 변환 (PackedIpPort 에서도 사용)
+     */
+    static int ipv4Value(String s, int start, int end) {
+        parseIpv4(s, start, end, false);
+        int value = 0;
+        int octet = 0;
+        for (int p = start; p < end; p++) {
+            char c = s.charAt(p);
+            if (c == '.') {
+                value = (value << 8) | octet;
+                octet = 0;
+            } else {
+                octet = octet * 10 + (c - '0');
+            }
+        }
+        return (value << 8) | octet;
+    }
+
+    /**
+     * Character.digit 은 전각 숫자 같은 유니코드 숫자도 받아들이므로 ASCII 만 직접 확인
+     */
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static int parsePort(String s, int start) {
+        int length = s.length();
+        if (start >= length) {
+            throw invalid(s, start, "포트가 필요");
+        }
+        if (s.charAt(start) == '0') {
+            throw invalid(s, start, "포트는 1~65535, 앞에 0 을 붙일 수 없음");
+        }
+        int port = 0;
+        for (int p = start; p < length; p++) {
+            char c = s.charAt(p);
+            if (c < '0' || c > '9') {
+                throw invalid(s, p, "포트는 숫자만 가능");
+            }
+            port = port * 10 + (c - '0');
+            if (port > MAX_PORT) {
+                throw invalid(s, start, "포트는 1~65535");
+            }
+        }
+        return port;
+    }
+
+    /**
+     * RFC 5952 4. 텍스트 표현 권고
+     * 가장 긴 연속된 0 그룹(2개 이상)을 '::' 로 축약, 길이가 같으면 앞쪽
+     */
+    static String formatIpv6(int[] groups) {
+        int bestStart = -1;
+        int bestLength = 1;
+        for (int i = 0; i < 8; ) {
+            if (groups[i] != 0) {
+                i++;
+                continue;
+            }
+            int j = i;
+            while (j < 8 && groups[j] == 0) {
+                j++;
+            }
+            if (j - i > bestLength) {
+                bestStart = i;
+                bestLength = j - i;
+            }
+            i = j;
+        }
+
+        StringBuilder sb = new StringBuilder(39);
+        for (int i = 0; i < 8; i++) {
+            if (i == bestStart) {
+                sb.append("::");
+                i += bestLength - 1;
+                continue;
+            }
+            if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ':') {
+                sb.append(':');
+            }
+            sb.append(Integer.toHexString(groups[i]));
+        }
+        return sb.toString();
+    }
+
+    private static IllegalArgumentException invalid(String source, int position, String reason) {
+        return new IllegalArgumentException("IP:PORT 형식이 아닙니다. " + reason + " (위치 " + position + "): " + source);
+    }
+}
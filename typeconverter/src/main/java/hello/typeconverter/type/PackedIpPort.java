@@ -0,0 +1,93 @@
+package hello.typeconverter.type;
+
+/**
+ * IpPort 를 long 으로 압축한 표현
+ *
+ * IpPort 는 객체 헤더 + ip 문자열(String + byte[]) + port 로 IPv4 하나에 80바이트 안팎을 쓴다.
+ * 수십만~수백만 개를 들고 있어야 하는 경우(허용 목록, 접속 기록) IpPortSet, IpPortMap 과 함께 사용
+ *
+ * IPv4 : long 하나, 상위 16비트는 0 | 주소 32비트 | 포트 16비트
+ * IPv6 : 주소 128비트를 high, low long 두 개로, 포트는 따로 보관
+ *
+ * 포트는 1~65535 만 허용하므로 IPv4 압축 값 0 은 나올 수 없다 -> 컬렉션에서 빈 칸 표시로 사용
+ */
+public final class PackedIpPort {
+
+    public static final long EMPTY = 0L;
+
+    private PackedIpPort() {
+    }
+
+    public static long packIpv4(int address, int port) {
+        checkPort(port);
+        return ((address & 0xFFFFFFFFL) << 16) | port;
+    }
+
+    public static long packIpv4(IpPort ipPort) {
+        if (ipPort.isIpv6()) {
+            throw new IllegalArgumentException("IPv4 주소가 아닙니다. ip=" + ipPort.getIp());
+        }
+        String ip = ipPort.getIp();
+        return packIpv4(IpPortParser.ipv4Value(ip, 0, ip.length()), ipPort.getPort());
+    }
+
+    public static int ipv4Address(long packed) {
+        return (int) (packed >>> 16);
+    }
+
+    public static int ipv4Port(long packed) {
+        return (int) (packed & 0xFFFF);
+    }
+
+    public static IpPort unpackIpv4(long packed) {
+        int address = ipv4Address(packed);
+        String ip = (address >>> 24) + "." + ((address >>> 16) & 0xFF) + "." + ((address >>> 8) & 0xFF) + "." + (address & 0xFF);
+        return new IpPort(ip, ipv4Port(packed));
+    }
+
+    /**
+     * IPv6 주소의 상위 64비트
+     */
+    public static long ipv6High(IpPort ipPort) {
+        return high(ipv6Groups(ipPort));
+    }
+
+    /**
+     * IPv6 주소의 하위 64비트
+     */
+    public static long ipv6Low(IpPort ipPort) {
+        return low(ipv6Groups(ipPort));
+    }
+
+    public static IpPort unpackIpv6(long high, long low, int port) {
+        checkPort(port);
+        int[] groups = new int[8];
+        for (int i = 0; i < 4; i++) {
+            groups[i] = (int) (high >>> (48 - i * 16)) & 0xFFFF;
+            groups[i + 4] = (int) (low >>> (48 - i * 16)) & 0xFFFF;
+        }
+        return new IpPort(IpPortParser.formatIpv6(groups), port);
+    }
+
+    static int[] ipv6Groups(IpPort ipPort) {
+        if (!ipPort.isIpv6()) {
+            throw new IllegalArgumentException("IPv6 주소가 아닙니다. ip=" + ipPort.getIp());
+        }
+        String ip = ipPort.getIp();
+        return IpPortParser.parseIpv6Groups(ip, 0, ip.length());
+    }
+
+    static long high(int[] groups) {
+        return ((long) groups[0] << 48) | ((long) groups[1] << 32) | ((long) groups[2] << 16) | groups[3];
+    }
+
+    static long low(int[] groups) {
+        return ((long) groups[4] << 48) | ((long) groups[5] << 32) | ((long) groups[6] << 16) | groups[7];
+    }
+
+    private static void checkPort(int port) {
+        if (port < 1 || port > 65535) {
+            throw new IllegalArgumentException("포트는 1~65535 입니다. port=" + port);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package hello.typeconverter.type;
+
+import java.util.Arrays;
+
+/**
+ * IpPortSet, IpPortMap 이 공유하는 open addressing 해시 테이블
+ *
+ * 키를 PackedIpPort 형식의 원시 타입 배열에 그대로 저장하므로 항목마다 객체(Entry, Long, IpPort)를 만들지 않는다.
+ * - IPv4 : long[] 하나, 빈 칸은 PackedIpPort.EMPTY(0)
+ * - IPv6 : long[] high, long[] low, char[] port, 빈 칸은 port 가 0, 처음 IPv6 를 넣을 때 만든다.
+ * 값(IpPortMap)은 같은 위치의 Object[] 에 저장, IpPortSet 은 값 배열을 만들지 않는다.
+ *
+ * 충돌은 선형 탐사(linear probing)로 해결하고, 삭제 시에는 뒤에 밀려 있던 항목을 당겨와서(backward shift) 묘비(tombstone)를 남기지 않는다.
+ * 동기화하지 않으므로 여러 스레드에서 쓰려면 외부에서 동기화하거나 다 채운 뒤 읽기 전용으로 공유
+ */
+abstract class PackedIpPortTable {
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MIN_CAPACITY = 16;
+
+    private final boolean withValues;
+
+    private long[] v4Keys;
+    private Object[] v4Values;
+    private int v4Size;
+
+    private long[] v6High;
+    private long[] v6Low;
+    private char[] v6Port;
+    private Object[] v6Values;
+    private int v6Size;
+
+    PackedIpPortTable(int expectedSize, boolean withValues) {
+        this.withValues = withValues;
+        int capacity = capacityFor(expectedSize);
+        v4Keys = new long[capacity];
+        v4Values = withValues ? new Object[capacity] : null;
+    }
+
+    public int size() {
+        return v4Size + v6Size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(v4Keys, PackedIpPort.EMPTY);
+        if (withValues) {
+            Arrays.fill(v4Values, null);
+        }
+        v4Size = 0;
+        v6High = null;
+        v6Low = null;
+        v6Port = null;
+        v6Values = null;
+        v6Size = 0;
+    }
+
+    // ---- IPv4 ----
+
+    /**
+     * @return 있으면 위치, 없으면 -1
+     */
+    final int v4Find(long key) {
+        int mask = v4Keys.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            long k = v4Keys[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == PackedIpPort.EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * @return 이미 있으면 그 위치, 새로 넣었으면 -(위치 + 1)
+     */
+    final int v4Insert(long key) {
+        if (key == PackedIpPort.EMPTY) {
+            throw new IllegalArgumentException("PackedIpPort 형식이 아닙니다. key=0");
+        }
+        if (v4Size + 1 > v4Keys.length * LOAD_FACTOR) {
+            v4Resize(v4Keys.length << 1);
+        }
+        int mask = v4Keys.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            long k = v4Keys[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == PackedIpPort.EMPTY) {
+                v4Keys[i] = key;
+                v4Size++;
+                return -(i + 1);
+            }
+        }
+    }
+
+    final Object v4RemoveAt(int index) {
+        Object old = withValues ? v4Values[index] : null;
+        long[] keys = v4Keys;
+        int mask = keys.length - 1;
+        int hole = index;
+        for (int j = (hole + 1) & mask; keys[j] != PackedIpPort.EMPTY; j = (j + 1) & mask) {
+            int home = hash(keys[j]) & mask;
+            if (canMove(hole, j, home)) {
+                keys[hole] = keys[j];
+                if (withValues) {
+                    v4Values[hole] = v4Values[j];
+                }
+                hole = j;
+            }
+        }
+        keys[hole] = PackedIpPort.EMPTY;
+        if (withValues) {
+            v4Values[hole] = null;
+        }
+        v4Size--;
+        return old;
+    }
+
+    final long v4KeyAt(int index) {
+        return v4Keys[index];
+    }
+
+    final Object v4ValueAt(int index) {
+        return v4Values[index];
+    }
+
+    final void v4SetValue(int index, Object value) {
+        v4Values[index] = value;
+    }
+
+    final int v4Capacity() {
+        return v4Keys.length;
+    }
+
+    private void v4Resize(int capacity) {
+        long[] oldKeys = v4Keys;
+        Object[] oldValues = v4Values;
+        v4Keys = new long[capacity];
+        v4Values = withValues ? new Object[capacity] : null;
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key == PackedIpPort.EMPTY) {
+                continue;
+            }
+            int j = hash(key) & mask;
+            while (v4Keys[j] != PackedIpPort.EMPTY) {
+                j = (j + 1) & mask;
+            }
+            v4Keys[j] = key;
+            if (withValues) {
+                v4Values[j] = oldValues[i];
+            }
+        }
+    }
+
+    // ---- IPv6 ----
+
+    final int v6Find(long high, long low, int port) {
+        if (v6Port == null) {
+            return -1;
+        }
+        int mask = v6Port.length - 1;
+        for (int i = hash(high, low, port) & mask; ; i = (i + 1) & mask) {
+            char p = v6Port[i];
+            if (p == 0) {
+                return -1;
+            }
+            if (p == port && v6High[i] == high && v6Low[i] == low) {
+                return i;
+            }
+        }
+    }
+
+    final int v6Insert(long high, long low, int port) {
+        if (port < 1 || port > 65535) {
+            throw new IllegalArgumentException("포트는 1~65535 입니다. port=" + port);
+        }
+        if (v6Port == null) {
+            v6Resize(MIN_CAPACITY);
+        } else if (v6Size + 1 > v6Port.length * LOAD_FACTOR) {
+            v6Resize(v6Port.length << 1);
+        }
+        int mask = v6Port.length - 1;
+        for (int i = hash(high, low, port) & mask; ; i = (i + 1) & mask) {
+            char p = v6Port[i];
+            if (p == 0) {
+                v6High[i] = high;
+                v6Low[i] = low;
+                v6Port[i] = (char) port;
+                v6Size++;
+                return -(i + 1);
+            }
+            if (p == port && v6High[i] == high && v6Low[i] == low) {
+                return i;
+            }
+        }
+    }
+
+    final Object v6RemoveAt(int index) {
+        Object old = withValues ? v6Values[index] : null;
+        int mask = v6Port.length - 1;
+        int hole = index;
+        for (int j = (hole + 1) & mask; v6Port[j] != 0; j = (j + 1) & mask) {
+            int home = hash(v6High[j], v6Low[j], v6Port[j]) & mask;
+            if (canMove(hole, j, home)) {
+                v6High[hole] = v6High[j];
+                v6Low[hole] = v6Low[j];
+                v6Port[hole] = v6Port[j];
+                if (withValues) {
+                    v6Values[hole] = v6Values[j];
+                }
+                hole = j;
+            }
+        }
+        v6Port[hole] = 0;
+        if (withValues) {
+            v6Values[hole] = null;
+        }
+        v6Size--;
+        return old;
+    }
+
+    final boolean v6Occupied(int index) {
+        return v6Port[index] != 0;
+    }
+
+    final long v6HighAt(int index) {
+        return v6High[index];
+    }
+
+    final long v6LowAt(int index) {
+        return v6Low[index];
+    }
+
+    final int v6PortAt(int index) {
+        return v6Port[index];
+    }
+
+    final Object v6ValueAt(int index) {
+        return v6Values[index];
+    }
+
+    final void v6SetValue(int index, Object value) {
+        v6Values[index] = value;
+    }
+
+    final int v6Capacity() {
+        return v6Port == null ? 0 : v6Port.length;
+    }
+
+    private void v6Resize(int capacity) {
+        long[] oldHigh = v6High;
+        long[] oldLow = v6Low;
+        char[] oldPort = v6Port;
+        Object[] oldValues = v6Values;
+        v6High = new long[capacity];
+        v6Low = new long[capacity];
+        v6Port = new char[capacity];
+        v6Values = withValues ? new Object[capacity] : null;
+        if (oldPort == null) {
+            return;
+        }
+        int mask = capacity - 1;
+        for (int i = 0; i < oldPort.length; i++) {
+            if (oldPort[i] == 0) {
+                continue;
+            }
+            int j = hash(oldHigh[i], oldLow[i], oldPort[i]) & mask;
+            while (v6Port[j] != 0) {
+                j = (j + 1) & mask;
+            }
+            v6High[j] = oldHigh[i];
+            v6Low[j] = oldLow[i];
+            v6Port[j] = oldPort[i];
+            if (withValues) {
+                v6Values[j] = oldValues[i];
+            }
+        }
+    }
+
+    // ---- 공통 ----
+
+    /**
+     * hole 을 비울 때 j 에 있는 항목(원래 자리 home)을 hole 로 당겨와도 되는지
+     * home 이 (hole, j] 구간(원형)에 있으면 당겨오면 탐색 경로가 끊기므로 그대로 둔다.
+     */
+    private static boolean canMove(int hole, int j, int home) {
+        if (hole <= j) {
+            return home <= hole || home > j;
+        }
+        return home <= hole && home > j;
+    }
+
+    /**
+     * MurmurHash3 fmix64, 압축 값은 하위 비트(포트)가 몰려 있으므로 섞어서 사용
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private static int hash(long high, long low, int port) {
+        return hash(high ^ Long.rotateLeft(low, 29) * 0x9e3779b97f4a7c15L ^ port);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(needed - 1) << 1);
+    }
+}
@@ -0,0 +1,68 @@
+package hello.typeconverter.view;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 요청 하나를 렌더링하는 동안 사용하는 ConversionService
+ * 타임리프(ThymeleafEvaluationContext)의 StandardTypeConverter 가 호출하는 convert(Object, TypeDescriptor, TypeDescriptor) 만 캐시
+ * 렌더링은 한 스레드에서 하므로 요청 캐시는 HashMap
+ */
+class CachingViewConversionService implements ConversionService {
+
+    private final ConversionService delegate;
+    private final ViewConversionCache cache;
+    private final Map<ViewConversionCache.Key, Object> requestCache = new HashMap<>();
+
+    CachingViewConversionService(ConversionService delegate, ViewConversionCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+        return delegate.canConvert(sourceType, targetType);
+    }
+
+    @Override
+    public boolean canConvert(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        return delegate.canConvert(sourceType, targetType);
+    }
+
+    @Override
+    public <T> T convert(Object source, Class<T> targetType) {
+        return delegate.convert(source, targetType);
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (!ViewConversionCache.isCacheable(source, targetType)) {
+            return delegate.convert(source, sourceType, targetType);
+        }
+        Locale locale = LocaleContextHolder.getLocale();
+        ViewConversionCache.Key key = new ViewConversionCache.Key(source, sourceType, locale);
+        Object result = requestCache.get(key);
+        if (result != null) {
+            return result;
+        }
+        result = cache.getGlobal(key);
+        if (result == null) {
+            result = delegate.convert(source, sourceType, targetType);
+            if (result == null) {
+                return null;
+            }
+            cache.putGlobal(key, result);
+        }
+        requestCache.put(key, result);
+        return result;
+    }
+
+    int requestCacheSize() {
+        return requestCache.size();
+    }
+}
@@ -0,0 +1,133 @@
+package hello.typeconverter.view;
+
+import hello.typeconverter.type.IpPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.TemporalAccessor;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 타임리프 ${{...}} 변환 결과 캐시
+ *
+ * 목록 화면은 같은 값(상태 코드, 금액, 날짜 ...)을 셀마다 반복해서 변환한다.
+ * (값, 값의 TypeDescriptor, Locale) -> 문자열 결과를 저장해서 같은 변환은 한 번만 한다.
+ * TypeDescriptor 에는 필드의 @NumberFormat, @DateTimeFormat 이 들어 있으므로 형식이 다른 필드는 따로 저장
+ *
+ * - 요청 캐시: 렌더링 한 번 동안만 사용 (CachingViewConversionService), 항상 사용
+ * - 전역 캐시: view.conversion-cache.global-size > 0 이면 요청 사이에서도 공유하는 LRU
+ *   같은 값이면 항상 같은 문자열이 나와야 하므로 DateTimeContextHolder 로 사용자별 시간대를 쓰는 경우에는 끈다.
+ *
+ * 불변 타입만 캐시 -> 캐시에 넣은 뒤 값이 바뀌면 결과가 달라지므로
+ */
+@Component
+public class ViewConversionCache {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+            String.class, Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class,
+            BigDecimal.class, BigInteger.class, Boolean.class, Character.class, UUID.class, IpPort.class);
+
+    private final boolean enabled;
+    private final Map<Key, Object> global;
+
+    public ViewConversionCache(@Value("${view.conversion-cache.enabled:true}") boolean enabled,
+                               @Value("${view.conversion-cache.global-size:0}") int globalSize) {
+        this.enabled = enabled;
+        this.global = globalSize > 0 ? new LinkedHashMap<>(Math.min(globalSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > globalSize;
+            }
+        } : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 요청(렌더링) 하나 동안 사용할 ConversionService
+     */
+    public ConversionService forRequest(ConversionService delegate) {
+        return new CachingViewConversionService(delegate, this);
+    }
+
+    static boolean isCacheable(Object value, TypeDescriptor targetType) {
+        if (value == null || targetType == null || targetType.getType() != String.class) {
+            return false;
+        }
+        Class<?> type = value.getClass();
+        return IMMUTABLE_TYPES.contains(type) || type.isEnum()
+                || (value instanceof TemporalAccessor && type.getName().startsWith("java.time."));
+    }
+
+    Object getGlobal(Key key) {
+        if (global == null) {
+            return null;
+        }
+        synchronized (global) {
+            return global.get(key);
+        }
+    }
+
+    void putGlobal(Key key, Object result) {
+        if (global == null) {
+            return;
+        }
+        synchronized (global) {
+            global.put(key, result);
+        }
+    }
+
+    int globalSize() {
+        if (global == null) {
+            return 0;
+        }
+        synchronized (global) {
+            return global.size();
+        }
+    }
+
+    static final class Key {
+
+        private final Object value;
+        private final TypeDescriptor sourceType;
+        private final Locale locale;
+        private final int hash;
+
+        Key(Object value, TypeDescriptor sourceType, Locale locale) {
+            this.value = value;
+            this.sourceType = sourceType;
+            this.locale = locale;
+            //TypeDescriptor.hashCode() 는 타입만 사용하므로 값 위주로 분산
+            this.hash = 31 * value.hashCode() + Objects.hashCode(locale);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && value.equals(other.value) && Objects.equals(locale, other.locale)
+                    && Objects.equals(sourceType, other.sourceType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package hello.typeconverter.view;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 타임리프 뷰는 요청 속성(ConversionService 클래스 이름)에 있는 ConversionService 로 ${{...}} 를 변환한다.
+ * (스프링 MVC 의 ConversionServiceExposingInterceptor 가 preHandle 에서 mvcConversionService 를 넣어 둠)
+ * 뷰를 렌더링하기 직전(postHandle)에 요청 캐시가 있는 ConversionService 로 바꾼다.
+ * -> 컨트롤러, @ResponseBody 요청에는 영향 없음
+ */
+@RequiredArgsConstructor
+public class ViewConversionCacheInterceptor implements HandlerInterceptor {
+
+    private static final String CONVERSION_SERVICE_ATTRIBUTE = ConversionService.class.getName();
+
+    private final ViewConversionCache cache;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView == null || !modelAndView.hasView()) {
+            return;
+        }
+        Object conversionService = request.getAttribute(CONVERSION_SERVICE_ATTRIBUTE);
+        if (conversionService instanceof ConversionService && !(conversionService instanceof CachingViewConversionService)) {
+            request.setAttribute(CONVERSION_SERVICE_ATTRIBUTE, cache.forRequest((ConversionService) conversionService));
+        }
+    }
+}
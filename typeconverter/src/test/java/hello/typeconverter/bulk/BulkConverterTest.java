@@ -0,0 +1,138 @@
+package hello.typeconverter.bulk;
+
+import hello.typeconverter.type.IpPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkConverterTest {
+
+    //배치와 병렬 기준을 작게 해서 여러 배치, ForkJoinPool 경로를 모두 거치도록
+    BulkConverter bulkConverter = new BulkConverter(4, 100, 10, 32);
+
+    @AfterEach
+    void tearDown() {
+        bulkConverter.shutdown();
+    }
+
+    @Test
+    void ipPorts() {
+        BulkResult<IpPort[]> result = bulkConverter.convertIpPorts("127.0.0.1:8080\r\n\n  [::1]:443 \n10.0.0.1:80", '\n');
+
+        assertThat(result.getValues()).containsExactly(
+                new IpPort("127.0.0.1", 8080), new IpPort("::1", 443), new IpPort("10.0.0.1", 80));
+        assertThat(result.hasErrors()).isFalse();
+    }
+
+    @Test
+    void errorsWithPosition() {
+        String input = "127.0.0.1:8080\nabc\n127.0.0.1:0\n  10.0.0.1:80";
+        BulkResult<IpPort[]> result = bulkConverter.convertIpPorts(input, '\n');
+
+        assertThat(result.getCount()).isEqualTo(2);
+        assertThat(result.getValues()).containsExactly(new IpPort("127.0.0.1", 8080), new IpPort("10.0.0.1", 80));
+        assertThat(result.getErrors()).extracting(ConversionError::getLine).containsExactly(2L, 3L);
+        assertThat(result.getErrors()).extracting(ConversionError::getOffset)
+                .containsExactly((long) input.indexOf("abc"), (long) input.indexOf("127.0.0.1:0"));
+        assertThat(result.getErrors()).extracting(ConversionError::getInput).containsExactly("abc", "127.0.0.1:0");
+    }
+
+    @Test
+    void manyBatchesKeepOrder() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            input.append(i % 7 == 0 ? "bad" : "10.0." + (i / 256) + "." + (i % 256) + ":" + (i + 1)).append('\n');
+        }
+
+        BulkResult<IpPort[]> result = bulkConverter.convertIpPorts(input, '\n');
+
+        assertThat(result.getErrors()).hasSize(715);
+        assertThat(result.getErrors()).extracting(ConversionError::getLine).isSorted();
+        int n = 0;
+        for (int i = 0; i < 5000; i++) {
+            if (i % 7 != 0) {
+                assertThat(result.getValues()[n++]).isEqualTo(new IpPort("10.0." + (i / 256) + "." + (i % 256), i + 1));
+            }
+        }
+        assertThat(result.getCount()).isEqualTo(n);
+        assertThat(result.getValues()).hasSize(n);
+    }
+
+    @Test
+    void delimiterAndByteBuffer() {
+        ByteBuffer input = StandardCharsets.UTF_8.encode("1.1.1.1:53, 8.8.8.8:53");
+
+        BulkResult<IpPort[]> result = bulkConverter.convertIpPorts(input, StandardCharsets.UTF_8, ',');
+
+        assertThat(result.getValues()).containsExactly(new IpPort("1.1.1.1", 53), new IpPort("8.8.8.8", 53));
+    }
+
+    @Test
+    void ints() {
+        BulkResult<int[]> result = bulkConverter.convertInts("1,000\n-2,147,483,648\n12abc\n3000000000\n1.5\n7",
+                '\n', Locale.KOREA);
+
+        assertThat(result.getValues()).containsExactly(1000, Integer.MIN_VALUE, 7);
+        assertThat(result.getErrors()).extracting(ConversionError::getLine).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void intsLocale() {
+        BulkResult<int[]> result = bulkConverter.convertInts("1.000;2.500.000", ';', Locale.GERMANY);
+
+        assertThat(result.getValues()).containsExactly(1000, 2_500_000);
+    }
+
+    @Test
+    void tooLong() {
+        String longValue = "1".repeat(100);
+        BulkResult<int[]> result = bulkConverter.convertInts("1\n" + longValue + "\n2", '\n', Locale.KOREA);
+
+        assertThat(result.getValues()).containsExactly(1, 2);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(2);
+            assertThat(error.getMessage()).contains("너무 김");
+        });
+    }
+
+    @Test
+    void stream() throws IOException {
+        List<String> events = new ArrayList<>();
+        StringBuilder input = new StringBuilder();
+        for (int i = 1; i <= 250; i++) {
+            input.append(i == 150 ? "x" : String.valueOf(i)).append('\n');
+        }
+
+        bulkConverter.streamInts(new StringReader(input.toString()), '\n', Locale.KOREA, new BulkListener<>() {
+            @Override
+            public void onValue(long line, Integer value) {
+                events.add(line + "=" + value);
+            }
+
+            @Override
+            public void onError(ConversionError error) {
+                events.add(error.getLine() + "!");
+            }
+
+            @Override
+            public void onBatchEnd() {
+                events.add("flush");
+            }
+        });
+
+        assertThat(events).hasSize(253);
+        assertThat(events.get(0)).isEqualTo("1=1");
+        assertThat(events.get(100)).isEqualTo("flush");
+        assertThat(events).contains("150!");
+        assertThat(events.get(events.size() - 2)).isEqualTo("250=250");
+    }
+}
@@ -0,0 +1,29 @@
+package hello.typeconverter.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class ConverterControllerTest {
+
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ConverterController()).build();
+
+    @Test
+    void converterTableRowsClamped() throws Exception {
+        assertThat(rows("50")).isEqualTo(50);
+        assertThat(rows("-1")).isEqualTo(1);
+        assertThat(rows("0")).isEqualTo(1);
+        assertThat(rows(String.valueOf(Integer.MAX_VALUE))).isEqualTo(ConverterController.MAX_ROWS);
+    }
+
+    private int rows(String rows) throws Exception {
+        Object list = mockMvc.perform(get("/converter-table").param("rows", rows))
+                .andReturn().getModelAndView().getModel().get("rows");
+        return ((List<?>) list).size();
+    }
+}
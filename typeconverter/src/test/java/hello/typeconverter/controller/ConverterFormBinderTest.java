@@ -0,0 +1,82 @@
+package hello.typeconverter.controller;
+
+import hello.typeconverter.binder.FormBinder;
+import hello.typeconverter.binder.FormBinderRegistry;
+import hello.typeconverter.binder.GeneratedFormDataBinder;
+import hello.typeconverter.converter.IpPortToStringConverter;
+import hello.typeconverter.converter.StringToIpPortConverter;
+import hello.typeconverter.type.IpPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * /converter/edit 폼(ConverterController.Form)을 생성된 바인더와 스프링 기본 바인딩으로 바인딩한 결과가 같은지 확인
+ * IpPort 필드는 ConversionService 경로(StringToIpPortConverter, IpPortToStringConverter)를 사용
+ */
+class ConverterFormBinderTest {
+
+    DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService();
+    FormBinder<ConverterController.Form> formBinder = new FormBinderRegistry().find(ConverterController.Form.class);
+
+    ConverterFormBinderTest() {
+        conversionService.addConverter(new StringToIpPortConverter());
+        conversionService.addConverter(new IpPortToStringConverter());
+    }
+
+    @Test
+    void registry() {
+        assertThat(formBinder).isInstanceOf(ConverterController_FormBinder.class);
+        assertThat(formBinder.getFieldType("ipPort")).isEqualTo(IpPort.class);
+    }
+
+    @Test
+    void bind() {
+        MockHttpServletRequest request = request("127.0.0.1:8080");
+
+        ConverterController.Form generated = new ConverterController.Form(null);
+        BindingResult generatedResult = bind(new GeneratedFormDataBinder(generated, "form", formBinder), request);
+        ConverterController.Form spring = new ConverterController.Form(null);
+        BindingResult springResult = bind(new ExtendedServletRequestDataBinder(spring, "form"), request);
+
+        assertThat(generatedResult.hasErrors()).isFalse();
+        assertThat(generated.getIpPort()).isEqualTo(new IpPort("127.0.0.1", 8080));
+        assertThat(generated).isEqualTo(spring);
+
+        //화면 출력(th:field)은 IpPortToStringConverter
+        assertThat(generatedResult.getFieldValue("ipPort")).isEqualTo("127.0.0.1:8080");
+        assertThat(generatedResult.getFieldValue("ipPort")).isEqualTo(springResult.getFieldValue("ipPort"));
+    }
+
+    @Test
+    void typeMismatch() {
+        MockHttpServletRequest request = request("127.0.0.1");
+
+        BindingResult generatedResult = bind(new GeneratedFormDataBinder(new ConverterController.Form(null), "form", formBinder), request);
+        BindingResult springResult = bind(new ExtendedServletRequestDataBinder(new ConverterController.Form(null), "form"), request);
+
+        FieldError error = generatedResult.getFieldError("ipPort");
+        assertThat(error).isNotNull();
+        assertThat(error.getCodes()).isEqualTo(springResult.getFieldError("ipPort").getCodes());
+        assertThat(error.getCodes()).contains("typeMismatch.form.ipPort", "typeMismatch");
+        assertThat(error.getRejectedValue()).isEqualTo(springResult.getFieldError("ipPort").getRejectedValue());
+    }
+
+    private BindingResult bind(ServletRequestDataBinder binder, MockHttpServletRequest request) {
+        binder.setConversionService(conversionService);
+        binder.bind(request);
+        return binder.getBindingResult();
+    }
+
+    private static MockHttpServletRequest request(String ipPort) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/converter/edit");
+        request.addParameter("ipPort", ipPort);
+        return request;
+    }
+}
@@ -0,0 +1,108 @@
+package hello.typeconverter.controller;
+
+import hello.typeconverter.binder.FormBinder;
+import hello.typeconverter.binder.FormBinderRegistry;
+import hello.typeconverter.binder.GeneratedFormDataBinder;
+import org.junit.jupiter.api.Test;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @GenerateBinder 로 만든 FormatterController_FormBinder 가 스프링 기본 바인딩과 같은 결과를 내는지 확인
+ */
+class FormatterFormBinderTest {
+
+    DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService();
+    FormBinder<FormatterController.Form> formBinder = new FormBinderRegistry().find(FormatterController.Form.class);
+
+    @Test
+    void registry() {
+        assertThat(formBinder).isInstanceOf(FormatterController_FormBinder.class);
+        assertThat(formBinder.getFieldType("number")).isEqualTo(Integer.class);
+        assertThat(formBinder.getFieldType("unknown")).isNull();
+    }
+
+    @Test
+    void bind() {
+        MockHttpServletRequest request = request("10,000", "2021-01-01 10:50:11");
+
+        FormatterController.Form generated = new FormatterController.Form();
+        BindingResult generatedResult = bind(new GeneratedFormDataBinder(generated, "form", formBinder), request);
+        FormatterController.Form spring = new FormatterController.Form();
+        BindingResult springResult = bind(new ExtendedServletRequestDataBinder(spring, "form"), request);
+
+        assertThat(generatedResult.hasErrors()).isFalse();
+        assertThat(generated.getNumber()).isEqualTo(10000);
+        assertThat(generated.getLocalDateTime()).isEqualTo(LocalDateTime.of(2021, 1, 1, 10, 50, 11));
+        assertThat(generated).isEqualTo(spring);
+
+        //화면 출력(th:field)도 @NumberFormat, @DateTimeFormat 형식
+        assertThat(generatedResult.getFieldValue("number")).isEqualTo("10,000");
+        assertThat(generatedResult.getFieldValue("localDateTime")).isEqualTo("2021-01-01 10:50:11");
+        assertThat(generatedResult.getFieldValue("number")).isEqualTo(springResult.getFieldValue("number"));
+        assertThat(generatedResult.getFieldType("localDateTime")).isEqualTo(LocalDateTime.class);
+    }
+
+    @Test
+    void emptyValue() {
+        FormatterController.Form form = new FormatterController.Form();
+        form.setNumber(1);
+        BindingResult result = bind(new GeneratedFormDataBinder(form, "form", formBinder), request("", ""));
+
+        assertThat(result.hasErrors()).isFalse();
+        assertThat(form.getNumber()).isNull();
+        assertThat(form.getLocalDateTime()).isNull();
+    }
+
+    @Test
+    void typeMismatch() {
+        MockHttpServletRequest request = request("abc", "2021-01-01");
+
+        FormatterController.Form generated = new FormatterController.Form();
+        BindingResult generatedResult = bind(new GeneratedFormDataBinder(generated, "form", formBinder), request);
+        BindingResult springResult = bind(new ExtendedServletRequestDataBinder(new FormatterController.Form(), "form"), request);
+
+        assertThat(generatedResult.getFieldErrorCount()).isEqualTo(2);
+        for (String field : new String[]{"number", "localDateTime"}) {
+            FieldError error = generatedResult.getFieldError(field);
+            assertThat(error.getCodes()).isEqualTo(springResult.getFieldError(field).getCodes());
+            assertThat(error.getCodes()).contains("typeMismatch.form." + field, "typeMismatch");
+            assertThat(error.getRejectedValue()).isEqualTo(springResult.getFieldError(field).getRejectedValue());
+        }
+    }
+
+    @Test
+    void unknownFieldFallsBackToBeanWrapper() {
+        MockHttpServletRequest request = request("1,000", "2021-01-01 00:00:00");
+        request.addParameter("nested.value", "x");
+
+        FormatterController.Form form = new FormatterController.Form();
+        ServletRequestDataBinder binder = new GeneratedFormDataBinder(form, "form", formBinder);
+        binder.setIgnoreInvalidFields(true);
+        BindingResult result = bind(binder, request);
+
+        assertThat(result.hasErrors()).isFalse();
+        assertThat(form.getNumber()).isEqualTo(1000);
+    }
+
+    private BindingResult bind(ServletRequestDataBinder binder, MockHttpServletRequest request) {
+        binder.setConversionService(conversionService);
+        binder.bind(request);
+        return binder.getBindingResult();
+    }
+
+    private static MockHttpServletRequest request(String number, String localDateTime) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/formatter/edit");
+        request.addParameter("number", number);
+        request.addParameter("localDateTime", localDateTime);
+        return request;
+    }
+}
@@ -0,0 +1,99 @@
+package hello.typeconverter.conversion;
+
+import hello.typeconverter.converter.IpPortToStringConverter;
+import hello.typeconverter.converter.StringToIpPortConverter;
+import hello.typeconverter.formatter.MyNumberFormatter;
+import hello.typeconverter.type.IpPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConversionInstrumentationTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService();
+
+    @Test
+    void converter() {
+        ConversionInstrumentation instrumentation = instrumentation(true);
+        instrumentation.addConverter(conversionService, new StringToIpPortConverter());
+        instrumentation.addConverter(conversionService, new IpPortToStringConverter());
+
+        IpPort ipPort = conversionService.convert("127.0.0.1:8080", IpPort.class);
+        assertThat(ipPort).isEqualTo(new IpPort("127.0.0.1", 8080));
+        assertThat(conversionService.convert(ipPort, String.class)).isEqualTo("127.0.0.1:8080");
+        assertThatThrownBy(() -> conversionService.convert("abc", IpPort.class))
+                .isInstanceOf(ConversionFailedException.class);
+
+        assertThat(meterRegistry.get("conversion.converter")
+                .tags("converter", "StringToIpPortConverter", "operation", "convert").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("conversion.converter")
+                .tags("converter", "IpPortToStringConverter").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("conversion.converter.failures")
+                .tags("converter", "StringToIpPortConverter", "exception", "IllegalArgumentException")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void formatter() {
+        ConversionInstrumentation instrumentation = instrumentation(true);
+        instrumentation.addFormatter(conversionService, new MyNumberFormatter());
+
+        assertThat(conversionService.convert("1,000", Long.class)).isEqualTo(1000L);
+        assertThat(conversionService.convert(1000, String.class)).isEqualTo("1,000");
+
+        assertThat(meterRegistry.get("conversion.converter")
+                .tags("converter", "MyNumberFormatter", "operation", "parse").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("conversion.converter")
+                .tags("converter", "MyNumberFormatter", "operation", "print").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void dateTimeFormat() throws NoSuchFieldException {
+        ConversionInstrumentation instrumentation = instrumentation(true);
+        instrumentation.addDateTimeFormatFactory(conversionService);
+        TypeDescriptor fieldType = new TypeDescriptor(DateForm.class.getDeclaredField("time"));
+        TypeDescriptor stringType = TypeDescriptor.valueOf(String.class);
+
+        Object time = conversionService.convert("2021-06-01 10:20:30", stringType, fieldType);
+        assertThat(time).isEqualTo(LocalDateTime.of(2021, 6, 1, 10, 20, 30));
+        assertThat(conversionService.convert(time, fieldType, stringType)).isEqualTo("2021-06-01 10:20:30");
+
+        assertThat(meterRegistry.get("conversion.converter")
+                .tags("converter", "FastTemporalFormatter", "operation", "parse").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("conversion.converter")
+                .tags("converter", "FastTemporalFormatter", "operation", "print").timer().count()).isEqualTo(1);
+    }
+
+    /**
+     * 꺼져 있으면 원래 컨버터를 그대로 등록, 미터도 만들지 않음
+     */
+    @Test
+    void disabled() {
+        ConversionInstrumentation instrumentation = instrumentation(false);
+        instrumentation.addConverter(conversionService, new StringToIpPortConverter());
+
+        assertThat(conversionService.convert("127.0.0.1:8080", IpPort.class)).isEqualTo(new IpPort("127.0.0.1", 8080));
+        assertThat(conversionService.toString()).doesNotContain("instrumented");
+        assertThat(meterRegistry.find("conversion.converter").timer()).isNull();
+    }
+
+    private ConversionInstrumentation instrumentation(boolean enabled) {
+        return new ConversionInstrumentation(meterRegistry, enabled, true, Duration.ofMillis(5), Duration.ofSeconds(10));
+    }
+
+    static class DateForm {
+
+        @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime time;
+    }
+}
@@ -0,0 +1,85 @@
+package hello.typeconverter.conversion;
+
+import hello.typeconverter.converter.IpPortToStringConverter;
+import hello.typeconverter.converter.StringToIpPortConverter;
+import hello.typeconverter.formatter.MyNumberFormatter;
+import hello.typeconverter.type.IpPort;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.ConverterNotFoundException;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResolutionMetricsConversionServiceTest {
+
+    DefaultFormattingConversionService delegate;
+    ResolutionMetricsConversionService conversionService;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new DefaultFormattingConversionService();
+        delegate.addConverter(new StringToIpPortConverter());
+        delegate.addConverter(new IpPortToStringConverter());
+        delegate.addFormatter(new MyNumberFormatter());
+        conversionService = new ResolutionMetricsConversionService(delegate);
+    }
+
+    @Test
+    void sameResultAsDelegate() {
+        assertThat(conversionService.convert("127.0.0.1:8080", IpPort.class)).isEqualTo(new IpPort("127.0.0.1", 8080));
+        assertThat(conversionService.convert(new IpPort("127.0.0.1", 8080), String.class)).isEqualTo("127.0.0.1:8080");
+        assertThat(conversionService.convert(1000, String.class)).isEqualTo(delegate.convert(1000, String.class));
+        assertThat(conversionService.convert("10", int.class)).isEqualTo(10);
+    }
+
+    @Test
+    void firstSeenAndRepeat() {
+        conversionService.convert("127.0.0.1:8080", IpPort.class);
+        conversionService.convert("127.0.0.1:8081", IpPort.class);
+        conversionService.convert("NEW", Thread.State.class);
+        conversionService.convert("RUNNABLE", Thread.State.class);
+
+        assertThat(conversionService.getFirstSeenCount()).isEqualTo(2);
+        assertThat(conversionService.getRepeatCount()).isEqualTo(2);
+        assertThat(conversionService.getPairCount()).isEqualTo(2);
+    }
+
+    @Test
+    void convertTimer() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Timer timer = registry.timer("conversion.service.convert");
+        conversionService.setConvertTimer(timer);
+
+        conversionService.convert("127.0.0.1:8080", IpPort.class);
+        assertThatThrownBy(() -> conversionService.convert("abc", Integer.class))
+                .isInstanceOf(ConversionFailedException.class);
+
+        //실패한 변환도 시간을 기록
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    void conversionFailure() {
+        assertThatThrownBy(() -> conversionService.convert("abc", Integer.class))
+                .isInstanceOf(ConversionFailedException.class);
+        assertThatThrownBy(() -> conversionService.convert("a", ResolutionMetricsConversionServiceTest.class))
+                .isInstanceOf(ConverterNotFoundException.class);
+    }
+
+    @Test
+    void registrationGoesToDelegate() {
+        conversionService.addConverter(String.class, StringBuilder.class, (Converter<String, StringBuilder>) StringBuilder::new);
+
+        assertThat(delegate.canConvert(String.class, StringBuilder.class)).isTrue();
+        assertThat(conversionService.convert("a", StringBuilder.class)).hasToString("a");
+    }
+}
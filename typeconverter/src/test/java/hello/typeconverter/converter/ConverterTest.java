@@ -52,5 +52,14 @@ public class ConverterTest {
         assertThat(result).isEqualTo(new IpPort("127.0.0.1", 8080));
     }
 
+    @Test
+    void ipv6IpPort() {
+        IpPort ipPort = new StringToIpPortConverter().convert("[2001:DB8::1]:443");
+        String result = new IpPortToStringConverter().convert(ipPort);
+
+        assertThat(ipPort).isEqualTo(new IpPort("2001:db8::1", 443));
+        assertThat(result).isEqualTo("[2001:db8::1]:443");
+    }
+
 
 }
@@ -0,0 +1,122 @@
+package hello.typeconverter.formatter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.format.datetime.standard.TemporalAccessorParser;
+import org.springframework.format.datetime.standard.TemporalAccessorPrinter;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class FastDateTimePatternTest {
+
+    @Test
+    void compile() {
+        assertThat(FastDateTimePattern.compile("yyyy-MM-dd HH:mm:ss").supports(LocalDateTime.class)).isTrue();
+        assertThat(FastDateTimePattern.compile("yyyy-MM-dd'T'HH:mm:ss.SSS").supports(LocalDateTime.class)).isTrue();
+        assertThat(FastDateTimePattern.compile("yyyy/MM/dd").supports(LocalDate.class)).isTrue();
+        assertThat(FastDateTimePattern.compile("yyyy/MM/dd").supports(LocalDateTime.class)).isFalse();
+        assertThat(FastDateTimePattern.compile("HH:mm").supports(LocalTime.class)).isTrue();
+        assertThat(FastDateTimePattern.compile("HH:mm").supports(ZonedDateTime.class)).isFalse();
+
+        //글자, 가변 길이, 로케일에 따라 다른 필드는 처리하지 않음
+        assertThat(FastDateTimePattern.compile("yyyy-MMM-dd")).isNull();
+        assertThat(FastDateTimePattern.compile("yy-MM-dd")).isNull();
+        assertThat(FastDateTimePattern.compile("yyyy-M-d")).isNull();
+        assertThat(FastDateTimePattern.compile("hh:mm a")).isNull();
+        assertThat(FastDateTimePattern.compile("yyyy-MM-dd HH:mm XXX")).isNull();
+        assertThat(FastDateTimePattern.compile("yyyy-MM-dd-dd")).isNull();
+        assertThat(FastDateTimePattern.compile("HH:mm 'o'clock")).isNull();
+    }
+
+    @Test
+    void quote() {
+        LocalTime time = LocalTime.of(10, 30);
+        for (String pattern : new String[]{"HH:mm 'o''clock'", "HH''mm", "HH:mm ''''", "'''at'' 'HH:mm"}) {
+            FastDateTimePattern fast = FastDateTimePattern.compile(pattern);
+            String text = fast.print(time);
+            assertThat(text).isEqualTo(DateTimeFormatter.ofPattern(pattern).format(time));
+            assertThat(fast.parse(text, LocalTime.class)).isEqualTo(time);
+        }
+        assertThat(FastDateTimePattern.compile("HH:mm 'o''clock'").print(time)).isEqualTo("10:30 o'clock");
+    }
+
+    @Test
+    void sameAsDateTimeFormatter() {
+        String[] patterns = {"yyyy-MM-dd HH:mm:ss", "uuuu-MM-dd'T'HH:mm:ss.SSS", "yyyy.MM.dd HH:mm", "yyyyMMddHHmmssSSSSSS",
+                "yyyy-MM-dd HH:mm 'o''clock'"};
+        Random random = new Random(1);
+        for (String pattern : patterns) {
+            FastDateTimePattern fast = FastDateTimePattern.compile(pattern);
+            DateTimeFormatter formatter = DateTimePatterns.formatter(pattern);
+            for (int i = 0; i < 2_000; i++) {
+                LocalDateTime value = LocalDateTime.of(random.nextInt(10_000), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                        random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000_000));
+                String text = fast.print(value);
+                assertThat(text).isEqualTo(formatter.format(value));
+                assertThat(fast.parse(text, LocalDateTime.class)).isEqualTo(LocalDateTime.parse(text, formatter));
+            }
+        }
+    }
+
+    @Test
+    void leapYear() {
+        FastDateTimePattern fast = FastDateTimePattern.compile("yyyy-MM-dd");
+        assertThat(fast.parse("2020-02-29", LocalDate.class)).isEqualTo(LocalDate.of(2020, 2, 29));
+        assertThat(fast.parse("2021-02-29", LocalDate.class)).isNull();
+        assertThat(fast.parse("2000-02-29", LocalDate.class)).isEqualTo(LocalDate.of(2000, 2, 29));
+    }
+
+    /**
+     * 처리할 수 없는 값은 null -> DateTimeFormatter 로 처리
+     */
+    @Test
+    void unsupportedValue() {
+        FastDateTimePattern fast = FastDateTimePattern.compile("yyyy-MM-dd HH:mm:ss");
+        assertThat(fast.parse("2021-01-01", LocalDateTime.class)).isNull();
+        assertThat(fast.parse("2021/01/01 10:50:11", LocalDateTime.class)).isNull();
+        assertThat(fast.parse("2021-13-01 10:50:11", LocalDateTime.class)).isNull();
+        assertThat(fast.parse("2021-01-01 24:00:00", LocalDateTime.class)).isNull();
+        assertThat(fast.parse("2021-01-0a 10:50:11", LocalDateTime.class)).isNull();
+        assertThat(fast.print(LocalDateTime.of(10_000, 1, 1, 0, 0))).isNull();
+        assertThat(fast.print(LocalDate.of(2021, 1, 1))).isNull();
+    }
+
+    @Test
+    void formatter() throws ParseException {
+        String pattern = "yyyy-MM-dd HH:mm:ss";
+        FastTemporalFormatter formatter = FastTemporalFormatter.of(LocalDateTime.class, pattern);
+        TemporalAccessorParser parser = new TemporalAccessorParser(LocalDateTime.class, DateTimePatterns.formatter(pattern));
+        TemporalAccessorPrinter printer = new TemporalAccessorPrinter(DateTimePatterns.formatter(pattern));
+
+        LocalDateTime value = LocalDateTime.of(2021, 1, 1, 10, 50, 11);
+        assertThat(formatter.print(value, Locale.KOREA)).isEqualTo(printer.print(value, Locale.KOREA));
+        assertThat(formatter.parse("2021-01-01 10:50:11", Locale.KOREA)).isEqualTo(value);
+
+        //연도 범위 밖은 DateTimeFormatter 로 출력
+        LocalDateTime farFuture = LocalDateTime.of(12_345, 1, 1, 0, 0);
+        assertThat(formatter.print(farFuture, Locale.KOREA)).isEqualTo(printer.print(farFuture, Locale.KOREA));
+
+        //잘못된 값은 스프링과 같은 예외
+        assertThatThrownBy(() -> formatter.parse("2021-02-30 10:50:11", Locale.KOREA))
+                .isInstanceOf(DateTimeParseException.class)
+                .hasMessage(catchThrowable(() -> parser.parse("2021-02-30 10:50:11", Locale.KOREA)).getMessage());
+    }
+
+    @Test
+    void cache() {
+        assertThat(DateTimePatterns.formatter("yyyy-MM-dd")).isSameAs(DateTimePatterns.formatter("yyyy-MM-dd"));
+        assertThat(DateTimePatterns.fastPattern("yyyy-MM-dd")).isSameAs(DateTimePatterns.fastPattern("yyyy-MM-dd"));
+        assertThat(DateTimePatterns.fastPattern("yyyy-MMM-dd")).isNull();
+    }
+}
@@ -2,14 +2,26 @@ package hello.typeconverter.formatter;
 
 import org.junit.jupiter.api.Test;
 
+import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 class MyNumberFormatterTest {
 
+    static final Locale[] LOCALES = {Locale.KOREA, Locale.US, Locale.GERMANY, Locale.FRANCE, Locale.JAPAN,
+            new Locale("de", "CH"), new Locale("hi", "IN"), new Locale("ar", "EG"), new Locale("sv", "SE"),
+            new Locale("fa", "IR"), new Locale("he", "IL"), Locale.ROOT};
+
     MyNumberFormatter formatter = new MyNumberFormatter();
 
     @Test
@@ -23,4 +35,85 @@ class MyNumberFormatterTest {
         String result = formatter.print(1000, Locale.KOREA);
         assertThat(result).isEqualTo("1,000");
     }
-}
\ No newline at end of file
+
+    /**
+     * DecimalFormat 과 결과가 다르게 나올 수 있는 입력은 DecimalFormat 으로 넘기므로 결과가 같아야 함
+     */
+    @Test
+    void parseEdgeCases() throws ParseException {
+        assertThat(formatter.parse("-0", Locale.KOREA)).isEqualTo(-0.0d);   //Long 이 아니라 Double
+        assertThat(formatter.parse("1,00", Locale.KOREA)).isEqualTo(100L);  //구분자 위치가 달라도 DecimalFormat 은 허용
+        assertThat(formatter.parse("1,000원", Locale.KOREA)).isEqualTo(1000L);  //뒤에 붙은 문자는 무시
+        assertThat(formatter.parse("1,000.5", Locale.KOREA)).isEqualTo(1000.5d);
+        assertThat(formatter.parse("-9,223,372,036,854,775,808", Locale.KOREA)).isEqualTo(Long.MIN_VALUE);
+        assertThat(formatter.parse("9,223,372,036,854,775,808", Locale.KOREA)).isEqualTo(9.223372036854775808E18);
+        assertThrows(ParseException.class, () -> formatter.parse("", Locale.KOREA));
+        assertThrows(ParseException.class, () -> formatter.parse("abc", Locale.KOREA));
+    }
+
+    @Test
+    void sameAsNumberFormat() throws ParseException {
+        Random random = new Random(33);
+        List<Number> numbers = new ArrayList<>(List.of(0, 1, -1, 999, 1000, -1000, 123456789, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE, (short) -32768, (byte) 127, 1234.5678, -0.5d, 1e20));
+        for (int i = 0; i < 2000; i++) {
+            numbers.add(random.nextLong() >> random.nextInt(64));
+        }
+
+        for (Locale locale : LOCALES) {
+            NumberFormat expected = NumberFormat.getInstance(locale);
+            for (Number number : numbers) {
+                String text = expected.format(number);
+                assertThat(formatter.print(number, locale)).as("%s %s", locale, number).isEqualTo(text);
+                assertThat(formatter.parse(text, locale)).as("%s %s", locale, text).isEqualTo(expected.parse(text));
+            }
+        }
+    }
+
+    @Test
+    void fastPathLocales() {
+        NumberFormatEngine engine = new NumberFormatEngine();
+        assertThat(engine.formatFor(Locale.KOREA).isFastPath()).isTrue();
+        assertThat(engine.formatFor(Locale.GERMANY).isFastPath()).isTrue();
+        assertThat(engine.formatFor(Locale.KOREA)).isSameAs(engine.formatFor(Locale.KOREA));
+    }
+
+    /**
+     * 느린 경로(DecimalFormat)는 스레드마다 복제본을 재사용하므로 여러 스레드에서 동시에 호출해도 결과가 같아야 함
+     */
+    @Test
+    void slowPathConcurrently() throws Exception {
+        NumberFormat expected = NumberFormat.getInstance(Locale.KOREA);
+        List<Double> numbers = new ArrayList<>();
+        Random random = new Random(34);
+        for (int i = 0; i < 500; i++) {
+            numbers.add(random.nextDouble() * 1_000_000 - 500_000);
+        }
+        List<String> texts = new ArrayList<>();
+        List<Number> parsed = new ArrayList<>();
+        for (Double number : numbers) {
+            String text = expected.format(number);
+            texts.add(text);
+            parsed.add(expected.parse(text));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < numbers.size(); i++) {
+                        assertThat(formatter.print(numbers.get(i), Locale.KOREA)).isEqualTo(texts.get(i));
+                        assertThat(formatter.parse(texts.get(i), Locale.KOREA)).isEqualTo(parsed.get(i));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
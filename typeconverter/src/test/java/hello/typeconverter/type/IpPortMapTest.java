@@ -0,0 +1,55 @@
+package hello.typeconverter.type;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IpPortMapTest {
+
+    @Test
+    void putGetRemove() {
+        IpPortMap<String> map = new IpPortMap<>();
+
+        assertThat(map.put(new IpPort("10.0.0.1", 80), "web")).isNull();
+        assertThat(map.put(new IpPort("10.0.0.1", 80), "web2")).isEqualTo("web");
+        assertThat(map.put(new IpPort("2001:db8::1", 443), "api")).isNull();
+
+        assertThat(map.get(new IpPort("10.0.0.1", 80))).isEqualTo("web2");
+        assertThat(map.get(IpPortParser.parse("[2001:DB8:0::1]:443"))).isEqualTo("api");
+        assertThat(map.get(new IpPort("10.0.0.2", 80))).isNull();
+
+        assertThat(map.remove(new IpPort("10.0.0.1", 80))).isEqualTo("web2");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void sameAsHashMap() {
+        IpPortMap<Integer> map = new IpPortMap<>(4);
+        Map<IpPort, Integer> expected = new HashMap<>();
+        Random random = new Random(32);
+
+        for (int i = 0; i < 100_000; i++) {
+            IpPort ipPort = random.nextBoolean()
+                    ? PackedIpPort.unpackIpv4(PackedIpPort.packIpv4(random.nextInt(64), 1 + random.nextInt(32)))
+                    : PackedIpPort.unpackIpv6(random.nextInt(4), random.nextInt(16), 1 + random.nextInt(32));
+
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertThat(map.put(ipPort, i)).isEqualTo(expected.put(ipPort, i));
+            } else if (op == 1) {
+                assertThat(map.remove(ipPort)).isEqualTo(expected.remove(ipPort));
+            } else {
+                assertThat(map.get(ipPort)).isEqualTo(expected.get(ipPort));
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+
+        Map<IpPort, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+    }
+}
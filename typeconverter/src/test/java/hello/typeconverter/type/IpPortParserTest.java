@@ -0,0 +1,122 @@
+package hello.typeconverter.type;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+
+class IpPortParserTest {
+
+    @Test
+    void ipv4() {
+        assertThat(IpPortParser.parse("127.0.0.1:8080")).isEqualTo(new IpPort("127.0.0.1", 8080));
+        assertThat(IpPortParser.parse("255.255.255.255:65535")).isEqualTo(new IpPort("255.255.255.255", 65535));
+        assertThat(IpPortParser.parse("0.0.0.0:1")).isEqualTo(new IpPort("0.0.0.0", 1));
+    }
+
+    @Test
+    void ipv6Canonical() {
+        assertThat(IpPortParser.parse("[::1]:8080")).isEqualTo(new IpPort("::1", 8080));
+        assertThat(IpPortParser.parse("[0:0:0:0:0:0:0:0001]:8080")).isEqualTo(new IpPort("::1", 8080));
+        assertThat(IpPortParser.parse("[2001:DB8:0:0:1:0:0:1]:443")).isEqualTo(new IpPort("2001:db8::1:0:0:1", 443));
+        assertThat(IpPortParser.parse("[2001:db8:0:1:1:1:1:1]:443")).isEqualTo(new IpPort("2001:db8:0:1:1:1:1:1", 443));
+        assertThat(IpPortParser.parse("[::ffff:10.0.0.1]:80")).isEqualTo(new IpPort("::ffff:a00:1", 80));
+        assertThat(IpPortParser.parse("[::]:80")).isEqualTo(new IpPort("::", 80));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", ":", "127.0.0.1", "127.0.0.1:", "127.0.0.1:0", "127.0.0.1:65536", "127.0.0.1:080",
+            "256.0.0.1:80", "01.0.0.1:80", "1.2.3:80", "1.2.3.4.5:80", "1..3.4:80", "1.2.3.4:8a", "1.2.3.4:+80",
+            "１.2.3.4:80", "::1:80", "[::1]", "[::1]80", "[::1:80", "[:::1]:80", "[1::2::3]:80", "[1:2:3:4:5:6:7:8:9]:80",
+            "[1:2:3:4:5:6:7]:80", "[12345::]:80", "[1:2:3:4:5:6:7::8]:80", "[::1.2.3]:80", "[1.2.3.4::]:80",
+            "[1:2:3:4:5:6:7:1.2.3.4]:80", "[g::1]:80", "[1:]:80", "[:1]:80"})
+    void invalid(String source) {
+        assertThatThrownBy(() -> IpPortParser.parse(source)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cacheReturnsSameInstance() {
+        IpPortCache cache = new IpPortCache(16);
+        IpPort first = cache.get(new String("127.0.0.1:8080"));
+        IpPort second = cache.get(new String("127.0.0.1:8080"));
+
+        assertThat(second).isSameAs(first);
+        assertThatThrownBy(() -> cache.get("127.0.0.1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 올바른 주소를 무작위로 망가뜨려서 파싱
+     * IllegalArgumentException 외의 예외(인덱스 초과, NumberFormatException 등)가 나오면 안 되고,
+     * 성공한 경우 주소 값은 JDK 의 InetAddress 해석과 같아야 한다.
+     */
+    @Test
+    void fuzz() throws UnknownHostException {
+        String[] seeds = {"127.0.0.1:8080", "10.0.255.3:1", "[::1]:443", "[2001:db8::ff00:42:8329]:65535",
+                "[::ffff:192.168.0.1]:80", "[1:2:3:4:5:6:7:8]:9"};
+        char[] alphabet = "0123456789abcdefABCDEF:.[]%- x１".toCharArray();
+        Random random = new Random(20211019);
+
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder sb = new StringBuilder(seeds[random.nextInt(seeds.length)]);
+            int mutations = 1 + random.nextInt(3);
+            for (int m = 0; m < mutations && sb.length() > 0; m++) {
+                int pos = random.nextInt(sb.length());
+                switch (random.nextInt(3)) {
+                    case 0:
+                        sb.setCharAt(pos, alphabet[random.nextInt(alphabet.length)]);
+                        break;
+                    case 1:
+                        sb.insert(pos, alphabet[random.nextInt(alphabet.length)]);
+                        break;
+                    default:
+                        sb.deleteCharAt(pos);
+                }
+            }
+            String source = sb.toString();
+
+            IpPort ipPort;
+            try {
+                ipPort = IpPortParser.parse(source);
+            } catch (IllegalArgumentException e) {
+                continue;
+            } catch (RuntimeException e) {
+                fail("IllegalArgumentException 이 아닌 예외 source=" + source, e);
+                return;
+            }
+
+            assertThat(ipPort.getPort()).isBetween(1, 65535);
+            assertThat(address(ipPort.getIp())).as(source).isEqualTo(address(jdkHost(source)));
+            //정규 표현은 다시 파싱해도 같아야 함
+            String text = ipPort.isIpv6() ? "[" + ipPort.getIp() + "]:" + ipPort.getPort() : ipPort.getIp() + ":" + ipPort.getPort();
+            assertThat(IpPortParser.parse(text)).isEqualTo(ipPort);
+        }
+    }
+
+    private static String jdkHost(String source) {
+        return source.startsWith("[") ? source.substring(0, source.indexOf(']') + 1) : source.substring(0, source.lastIndexOf(':'));
+    }
+
+    /**
+     * 리터럴 주소만 넘기므로 DNS 조회는 일어나지 않음, IPv4-mapped 주소는 JDK 가 Inet4Address 로 돌려주므로 16바이트로 맞춤
+     */
+    private static byte[] address(String literal) throws UnknownHostException {
+        InetAddress address = InetAddress.getByName(literal.contains(":") && !literal.startsWith("[") ? "[" + literal + "]" : literal);
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address && literal.contains(":")) {
+            byte[] mapped = new byte[16];
+            mapped[10] = (byte) 0xFF;
+            mapped[11] = (byte) 0xFF;
+            System.arraycopy(bytes, 0, mapped, 12, 4);
+            return mapped;
+        }
+        return bytes;
+    }
+}
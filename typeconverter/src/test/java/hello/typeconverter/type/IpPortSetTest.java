@@ -0,0 +1,61 @@
+package hello.typeconverter.type;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IpPortSetTest {
+
+    @Test
+    void addContainsRemove() {
+        IpPortSet set = new IpPortSet();
+
+        assertThat(set.add(new IpPort("127.0.0.1", 8080))).isTrue();
+        assertThat(set.add(new IpPort("127.0.0.1", 8080))).isFalse();
+        assertThat(set.add(IpPortParser.parse("[::1]:8080"))).isTrue();
+
+        assertThat(set.contains(new IpPort("127.0.0.1", 8080))).isTrue();
+        assertThat(set.contains(new IpPort("127.0.0.1", 8081))).isFalse();
+        assertThat(set.contains(new IpPort("::1", 8080))).isTrue();
+        assertThat(set.size()).isEqualTo(2);
+
+        assertThat(set.remove(new IpPort("::1", 8080))).isTrue();
+        assertThat(set.contains(new IpPort("::1", 8080))).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    /**
+     * 무작위로 추가/삭제하면서 HashSet 과 같은 결과인지 확인 (삭제 후 뒤 항목을 당겨오는 처리 검증)
+     * 좁은 범위의 값을 사용해서 충돌과 삭제가 자주 일어나게 한다.
+     */
+    @Test
+    void sameAsHashSet() {
+        IpPortSet set = new IpPortSet(4);
+        Set<IpPort> expected = new HashSet<>();
+        Random random = new Random(32);
+
+        for (int i = 0; i < 100_000; i++) {
+            IpPort ipPort = random.nextBoolean()
+                    ? PackedIpPort.unpackIpv4(PackedIpPort.packIpv4(random.nextInt(64), 1 + random.nextInt(32)))
+                    : PackedIpPort.unpackIpv6(random.nextInt(4), random.nextInt(16), 1 + random.nextInt(32));
+
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertThat(set.add(ipPort)).isEqualTo(expected.add(ipPort));
+            } else if (op == 1) {
+                assertThat(set.remove(ipPort)).isEqualTo(expected.remove(ipPort));
+            } else {
+                assertThat(set.contains(ipPort)).isEqualTo(expected.contains(ipPort));
+            }
+            assertThat(set.size()).isEqualTo(expected.size());
+        }
+
+        Set<IpPort> actual = new HashSet<>();
+        set.forEach(actual::add);
+        assertThat(actual).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,45 @@
+package hello.typeconverter.type;
+
+import hello.typeconverter.converter.IpPortToLongConverter;
+import hello.typeconverter.converter.LongToIpPortConverter;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PackedIpPortTest {
+
+    @Test
+    void ipv4() {
+        IpPort ipPort = new IpPort("192.168.0.1", 8080);
+        long packed = PackedIpPort.packIpv4(ipPort);
+
+        assertThat(packed).isEqualTo(0xC0A8_0001_1F90L);
+        assertThat(PackedIpPort.unpackIpv4(packed)).isEqualTo(ipPort);
+        assertThat(PackedIpPort.unpackIpv4(PackedIpPort.packIpv4(new IpPort("255.255.255.255", 65535))))
+                .isEqualTo(new IpPort("255.255.255.255", 65535));
+    }
+
+    @Test
+    void ipv6() {
+        IpPort ipPort = IpPortParser.parse("[2001:db8::ff00:42:8329]:443");
+        long high = PackedIpPort.ipv6High(ipPort);
+        long low = PackedIpPort.ipv6Low(ipPort);
+
+        assertThat(high).isEqualTo(0x2001_0db8_0000_0000L);
+        assertThat(low).isEqualTo(0x0000_ff00_0042_8329L);
+        assertThat(PackedIpPort.unpackIpv6(high, low, 443)).isEqualTo(ipPort);
+    }
+
+    @Test
+    void converter() {
+        IpPort ipPort = new IpPort("10.0.0.1", 80);
+        Long packed = new IpPortToLongConverter().convert(ipPort);
+
+        assertThat(new LongToIpPortConverter().convert(packed)).isEqualTo(ipPort);
+        assertThatThrownBy(() -> new IpPortToLongConverter().convert(new IpPort("::1", 80)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LongToIpPortConverter().convert(0L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,98 @@
+package hello.typeconverter.view;
+
+import hello.typeconverter.converter.IpPortToStringConverter;
+import hello.typeconverter.type.IpPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViewConversionCacheTest {
+
+    static final TypeDescriptor STRING = TypeDescriptor.valueOf(String.class);
+
+    List<Object> converted = new ArrayList<>();
+    DefaultFormattingConversionService delegate = new DefaultFormattingConversionService() {
+        @Override
+        public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+            converted.add(source);
+            return super.convert(source, sourceType, targetType);
+        }
+    };
+
+    {
+        delegate.addConverter(new IpPortToStringConverter());
+    }
+
+    @Test
+    void requestCache() {
+        ConversionService service = new ViewConversionCache(true, 0).forRequest(delegate);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(convert(service, new IpPort("127.0.0.1", 8080))).isEqualTo("127.0.0.1:8080");
+            assertThat(convert(service, 10000)).isEqualTo("10000");
+        }
+        assertThat(converted).hasSize(2);
+
+        //요청이 바뀌면 다시 변환
+        ConversionService next = new ViewConversionCache(true, 0).forRequest(delegate);
+        convert(next, 10000);
+        assertThat(converted).hasSize(3);
+    }
+
+    @Test
+    void globalCache() {
+        ViewConversionCache cache = new ViewConversionCache(true, 2);
+        convert(cache.forRequest(delegate), 1);
+        convert(cache.forRequest(delegate), 1);
+        assertThat(converted).hasSize(1);
+
+        //LRU, 크기 2 를 넘으면 가장 오래 사용하지 않은 값부터 제거
+        convert(cache.forRequest(delegate), 2);
+        convert(cache.forRequest(delegate), 3);
+        assertThat(cache.globalSize()).isEqualTo(2);
+        convert(cache.forRequest(delegate), 1);
+        assertThat(converted).containsExactly(1, 2, 3, 1);
+    }
+
+    /**
+     * 가변 객체, String 이 아닌 변환은 캐시하지 않음
+     */
+    @Test
+    void notCacheable() {
+        ConversionService service = new ViewConversionCache(true, 0).forRequest(delegate);
+        List<String> mutable = new ArrayList<>(List.of("a"));
+        service.convert(mutable, TypeDescriptor.forObject(mutable), STRING);
+        service.convert(mutable, TypeDescriptor.forObject(mutable), STRING);
+        service.convert("1", STRING, TypeDescriptor.valueOf(Integer.class));
+        service.convert("1", STRING, TypeDescriptor.valueOf(Integer.class));
+        assertThat(converted).filteredOn(value -> value == mutable).hasSize(2);
+        assertThat(converted).filteredOn("1"::equals).hasSize(2);
+    }
+
+    @Test
+    void interceptor() {
+        ViewConversionCacheInterceptor interceptor = new ViewConversionCacheInterceptor(new ViewConversionCache(true, 0));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(ConversionService.class.getName(), delegate);
+
+        //뷰가 없는 응답(@ResponseBody)은 그대로
+        interceptor.postHandle(request, new MockHttpServletResponse(), null, null);
+        assertThat(request.getAttribute(ConversionService.class.getName())).isSameAs(delegate);
+
+        interceptor.postHandle(request, new MockHttpServletResponse(), null, new ModelAndView("converter-view"));
+        assertThat(request.getAttribute(ConversionService.class.getName())).isInstanceOf(CachingViewConversionService.class);
+    }
+
+    private static Object convert(ConversionService service, Object value) {
+        return service.convert(value, TypeDescriptor.forObject(value), STRING);
+    }
+}
@@ -0,0 +1,112 @@
+package hello.upload.file;
+
+import hello.upload.admission.UploadAdmissionController;
+import hello.upload.domain.UploadFile;
+import hello.upload.metrics.UploadMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FileStore 저장 비용 측정 (스트리밍 복사 + CRC32C/SHA-256 + 압축 여부 판단)
+ * 파일은 임시 디렉토리에 저장하고 반복(iteration)마다 지운다. 디스크 캐시 영향을 받으므로 fileSize 별 추세를 보는 용도
+ *
+ * ./gradlew jmh -Pjmh.includes=FileStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FileStoreBenchmark {
+
+    @Param({"1KB", "256KB", "4MB"})
+    String fileSize;
+
+    Path dir;
+    FileStore fileStore;
+
+    MultipartFile image;        //랜덤 바이트(압축 안됨)
+    MultipartFile textAttach;   //텍스트(압축됨)
+    List<MultipartFile> images;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("file-store-bench");
+        UploadAdmissionController admissionController = new UploadAdmissionController(4, 1, 32, 0.9,
+                Duration.ofSeconds(2), 16, Duration.ofSeconds(5), DataSize.ofMegabytes(50));
+        fileStore = new FileStore(0.9, new UploadMetrics(new SimpleMeterRegistry(), admissionController));
+        ReflectionTestUtils.setField(fileStore, "fileDir", dir.toString() + "/");
+        ReflectionTestUtils.setField(fileStore, "compressionEnabled", true);
+        ReflectionTestUtils.setField(fileStore, "compressionMinSize", DataSize.ofKilobytes(1));
+
+        int size = (int) DataSize.parse(fileSize).toBytes();
+        byte[] random = new byte[size];
+        new Random(1).nextBytes(random);
+        image = new MockMultipartFile("imageFiles", "image.png", "image/png", random);
+
+        byte[] line = "상품 설명 문서입니다. 배송은 주문 후 3일 이내에 출발합니다.\n".getBytes(StandardCharsets.UTF_8);
+        byte[] text = new byte[size];
+        for (int i = 0; i < size; i++) {
+            text[i] = line[i % line.length];
+        }
+        textAttach = new MockMultipartFile("attachFile", "doc.txt", "text/plain", text);
+
+        images = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            images.add(new MockMultipartFile("imageFiles", "image" + i + ".png", "image/png", random));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanFiles() throws IOException {
+        FileSystemUtils.deleteRecursively(dir);
+        Files.createDirectories(dir);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public UploadFile storeFile() throws IOException {
+        return fileStore.storeFile(image);
+    }
+
+    @Benchmark
+    public List<UploadFile> storeFiles() throws IOException {
+        return fileStore.storeFiles(images);
+    }
+
+    @Benchmark
+    public UploadFile storeAttachFileCompressed() throws IOException {
+        return fileStore.storeAttachFile(textAttach);
+    }
+
+    @Benchmark
+    public UploadFile storeAttachFileIncompressible() throws IOException {
+        return fileStore.storeAttachFile(image);
+    }
+}
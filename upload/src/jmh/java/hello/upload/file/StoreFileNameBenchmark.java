@@ -0,0 +1,45 @@
+package hello.upload.file;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장 파일명 생성 비용 측정
+ * createStoreFileName 은 UUID.randomUUID() 를 쓰므로 SecureRandom 비용이 대부분, 여러 스레드에서 호출하면 경합이 생기는지 함께 확인
+ *
+ * ./gradlew jmh -Pjmh.includes=StoreFileNameBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StoreFileNameBenchmark {
+
+    @Param({"a.png", "상품 상세 이미지.final.jpeg"})
+    String originalFilename;
+
+    FileStore fileStore = new FileStore(0.9, null);
+
+    @Benchmark
+    public String extractExt() {
+        return fileStore.extractExt(originalFilename);
+    }
+
+    @Benchmark
+    public String createStoreFileName() {
+        return fileStore.createStoreFileName(originalFilename);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String createStoreFileNameContended() {
+        return fileStore.createStoreFileName(originalFilename);
+    }
+}
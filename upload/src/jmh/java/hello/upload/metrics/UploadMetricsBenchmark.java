@@ -0,0 +1,61 @@
+package hello.upload.metrics;
+
+import hello.upload.admission.UploadAdmissionController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UploadMetrics 의 기록 비용 측정
+ * baseline 은 값 생성 + System.nanoTime() 비용, 나머지에서 baseline 을 빼면 계측 오버헤드
+ *
+ * ./gradlew jmh -Pjmh.includes=UploadMetricsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UploadMetricsBenchmark {
+
+    UploadMetrics uploadMetrics;
+
+    @Setup
+    public void setUp() {
+        UploadAdmissionController admissionController = new UploadAdmissionController(4, 1, 32, 0.9,
+                Duration.ofSeconds(2), 16, Duration.ofSeconds(5), DataSize.ofMegabytes(50));
+        uploadMetrics = new UploadMetrics(new SimpleMeterRegistry(), admissionController);
+    }
+
+    @Benchmark
+    public long baseline() {
+        return ThreadLocalRandom.current().nextLong(1, 1 << 20) + System.nanoTime();
+    }
+
+    @Benchmark
+    public void recordPart() {
+        uploadMetrics.recordPart(ThreadLocalRandom.current().nextLong(1, 1 << 20));
+    }
+
+    @Benchmark
+    public void recordUpload() {
+        long start = System.nanoTime();
+        uploadMetrics.recordUpload(ThreadLocalRandom.current().nextLong(1, 1 << 20), System.nanoTime() - start + 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordUploadContended() {
+        long start = System.nanoTime();
+        uploadMetrics.recordUpload(ThreadLocalRandom.current().nextLong(1, 1 << 20), System.nanoTime() - start + 1);
+    }
+}
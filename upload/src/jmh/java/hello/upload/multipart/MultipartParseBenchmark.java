@@ -0,0 +1,113 @@
+package hello.upload.multipart;
+
+import org.apache.tomcat.util.http.fileupload.FileItem;
+import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.apache.tomcat.util.http.fileupload.disk.DiskFileItemFactory;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletFileUpload;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 멀티파트 파싱 비용 측정
+ * 스프링 부트의 StandardServletMultipartResolver 는 실제 파싱을 톰캣(Request.parseParts)에 맡기고,
+ * 톰캣은 내장된 commons-fileupload(org.apache.tomcat.util.http.fileupload)로 파싱한다. 여기서는 그 파서를 직접 호출
+ *
+ * spoolThreshold 는 spring.servlet.multipart.file-size-threshold 와 같은 의미
+ * 0B(기본값) -> 모든 파트를 임시 파일로 저장, 1MB -> 작은 파트는 메모리에 보관
+ *
+ * ./gradlew jmh -Pjmh.includes=MultipartParseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MultipartParseBenchmark {
+
+    private static final String BOUNDARY = "----hello-upload-bench";
+
+    @Param({"1KB", "256KB", "4MB"})
+    String fileSize;
+
+    @Param({"0B", "1MB"})
+    String spoolThreshold;
+
+    File repository;
+    ServletFileUpload upload;
+    byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        repository = Files.createTempDirectory("multipart-bench").toFile();
+        DiskFileItemFactory factory = new DiskFileItemFactory((int) DataSize.parse(spoolThreshold).toBytes(), repository);
+        upload = new ServletFileUpload(factory);
+
+        byte[] file = new byte[(int) DataSize.parse(fileSize).toBytes()];
+        new Random(1).nextBytes(file);
+        body = itemFormBody(file);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileSystemUtils.deleteRecursively(repository);
+    }
+
+    /**
+     * 상품 등록 폼(/items/new)과 같은 모양: itemName, attachFile 1개, imageFiles 2개
+     */
+    @Benchmark
+    public int parseItemForm() throws FileUploadException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items/new");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body);
+
+        List<FileItem> items = upload.parseRequest(new ServletRequestContext(request));
+        int count = items.size();
+        for (FileItem item : items) {
+            item.delete();
+        }
+        return count;
+    }
+
+    private static byte[] itemFormBody(byte[] file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(file.length * 3 + 1024);
+        field(out, "itemName", "상품A");
+        part(out, "attachFile", "doc.pdf", file);
+        part(out, "imageFiles", "image1.png", file);
+        part(out, "imageFiles", "image2.png", file);
+        out.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return out.toByteArray();
+    }
+
+    private static void field(ByteArrayOutputStream out, String name, String value) throws IOException {
+        out.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        out.write(value.getBytes(StandardCharsets.UTF_8));
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void part(ByteArrayOutputStream out, String name, String filename, byte[] content) throws IOException {
+        out.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\"" + filename
+                + "\"\r\nContent-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(content);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+}
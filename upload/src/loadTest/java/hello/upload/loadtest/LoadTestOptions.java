@@ -0,0 +1,74 @@
+package hello.upload.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 옵션, --이름=값 형식으로 전달
+ *
+ * --target       : 대상 서버(예: http://localhost:8080), 없으면 애플리케이션을 같은 JVM 에서 임의 포트로 띄운다.
+ * --concurrency  : 동시에 요청을 보내는 가상 사용자 수 (closed loop)
+ * --duration     : 측정 시간, --warmup 동안의 결과는 버린다.
+ * --sizes        : 업로드 파일 크기 분포, 크기:가중치 목록 (예: 1KB:50,100KB:40,900KB:10)
+ * --mix          : 요청 비율, upload(/items/new), image(/images/{filename}), attach(/attach/{itemId})
+ * --seed-items   : 다운로드 대상을 만들기 위해 시작 전에 등록하는 상품 수
+ * --accept-gzip  : 첨부파일 다운로드 시 Accept-Encoding: gzip 을 보낼지 여부
+ */
+class LoadTestOptions {
+
+    final String target;
+    final int concurrency;
+    final Duration duration;
+    final Duration warmup;
+    final WeightedChoice<DataSize> sizes;
+    final WeightedChoice<Operation> mix;
+    final int seedItems;
+    final boolean acceptGzip;
+
+    LoadTestOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("--이름=값 형식이어야 합니다. arg=" + arg);
+            }
+            int pos = arg.indexOf('=');
+            options.put(arg.substring(2, pos), arg.substring(pos + 1));
+        }
+
+        target = options.remove("target");
+        concurrency = Integer.parseInt(take(options, "concurrency", "8"));
+        duration = DurationStyle.detectAndParse(take(options, "duration", "30s"));
+        warmup = DurationStyle.detectAndParse(take(options, "warmup", "5s"));
+        sizes = WeightedChoice.parse(take(options, "sizes", "1KB:50,100KB:40,900KB:10"), DataSize::parse);
+        mix = WeightedChoice.parse(take(options, "mix", "upload:20,image:40,attach:40"), Operation::of);
+        seedItems = Integer.parseInt(take(options, "seed-items", "20"));
+        acceptGzip = Boolean.parseBoolean(take(options, "accept-gzip", "false"));
+
+        if (concurrency < 1 || seedItems < 1) {
+            throw new IllegalArgumentException("concurrency, seed-items 는 1 이상이어야 합니다.");
+        }
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("알 수 없는 옵션입니다. " + options.keySet());
+        }
+    }
+
+    private static String take(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value == null ? defaultValue : value;
+    }
+
+    DataSize maxSize() {
+        return sizes.values().stream().max(DataSize::compareTo).orElseThrow();
+    }
+
+    @Override
+    public String toString() {
+        return "target=" + (target == null ? "(embedded)" : target) + ", concurrency=" + concurrency
+                + ", duration=" + duration + ", warmup=" + warmup + ", sizes=" + sizes + ", mix=" + mix
+                + ", seedItems=" + seedItems + ", acceptGzip=" + acceptGzip;
+    }
+}
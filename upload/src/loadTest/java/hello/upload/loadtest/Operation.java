@@ -0,0 +1,24 @@
+package hello.upload.loadtest;
+
+import java.util.Locale;
+
+enum Operation {
+
+    UPLOAD("POST /items/new"),
+    IMAGE("GET /images/{filename}"),
+    ATTACH("GET /attach/{itemId}");
+
+    private final String description;
+
+    Operation(String description) {
+        this.description = description;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    static Operation of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,61 @@
+package hello.upload.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류별 결과 집계
+ * 지연 시간은 HdrHistogram(마이크로초, 유효숫자 3자리)으로 기록해서 백분위수를 계산
+ */
+class OperationStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Operation operation;
+    private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * @param status 응답 코드, 연결 오류 등으로 응답을 받지 못하면 0
+     * @param bytes  업로드는 보낸 바이트, 다운로드는 받은 바이트
+     */
+    void record(int status, long latencyNanos, long bytes, boolean success) {
+        latency.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (success) {
+            this.bytes.add(bytes);
+        } else {
+            errors.increment();
+        }
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf("%-24s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "MB/s");
+    }
+
+    void print(PrintStream out, double seconds) {
+        long count = latency.getTotalCount();
+        out.printf("%-24s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f  status=%s%n",
+                operation.getDescription(), count, errors.sum(), count / seconds,
+                millis(50), millis(90), millis(99), millis(99.9), latency.getMaxValue() / 1000.0,
+                bytes.sum() / seconds / (1024 * 1024), new TreeMap<>(statuses));
+    }
+
+    private double millis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,290 @@
+package hello.upload.loadtest;
+
+import hello.upload.UploadApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 모듈 부하 테스트
+ *
+ * 가상 사용자(concurrency)마다 응답을 받으면 바로 다음 요청을 보내는 closed loop 로 동작
+ * 요청 종류(mix)와 업로드 파일 크기(sizes)는 가중치 분포에서 고르고, 종류별 지연 백분위수와 MB/s 를 출력한다.
+ *
+ * --target 이 없으면 애플리케이션을 같은 JVM 에서 임의 포트로 띄우고 임시 디렉토리에 파일을 저장하므로
+ * 외부 네트워크나 다른 서버 없이 한 대의 리눅스 머신에서 실행할 수 있다.
+ * 같은 JVM 이므로 서버와 부하 생성기가 CPU 를 나눠 쓴다. 절대 수치보다 변경 전후 비교용으로 사용
+ *
+ * ./gradlew loadTest --args='--concurrency=16 --duration=60s --sizes=10KB:70,500KB:30'
+ */
+public class UploadLoadGenerator {
+
+    private static final String BOUNDARY = "----hello-upload-load-test";
+    private static final Pattern IMAGE_SRC = Pattern.compile("src=\"/images/([^\"]+)\"");
+    private static final Pattern ITEM_LOCATION = Pattern.compile("/items/(\\d+)$");
+
+    private final LoadTestOptions options;
+    private final URI baseUri;
+    private final HttpClient client;
+    private final Map<DataSize, Payload> payloads = new HashMap<>();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    private final List<String> imageFileNames = new ArrayList<>();
+    private final AtomicLong maxItemId = new AtomicLong();
+
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    UploadLoadGenerator(LoadTestOptions options, URI baseUri) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (DataSize size : options.sizes.values()) {
+            payloads.put(size, new Payload(size));
+        }
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions(args);
+        System.out.println("options: " + options);
+
+        if (options.target != null) {
+            new UploadLoadGenerator(options, URI.create(options.target)).run(System.out);
+            return;
+        }
+
+        Path fileDir = Files.createTempDirectory("upload-load-test");
+        ConfigurableApplicationContext context = startEmbedded(options, fileDir);
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            new UploadLoadGenerator(options, URI.create("http://localhost:" + port)).run(System.out);
+        } finally {
+            context.close();
+            FileSystemUtils.deleteRecursively(fileDir);
+        }
+    }
+
+    /**
+     * 임의 포트, 임시 저장 디렉토리로 애플리케이션 실행
+     * 업로드 크기 제한은 가장 큰 파일 크기에 맞춰서 늘린다. (상품 하나에 첨부파일 + 이미지 = 파일 2개)
+     */
+    private static ConfigurableApplicationContext startEmbedded(LoadTestOptions options, Path fileDir) {
+        long maxFile = options.maxSize().toBytes();
+        return new SpringApplication(UploadApplication.class).run(
+                "--server.port=0",
+                "--file.dir=" + fileDir + "/",
+                "--file.scrub.enabled=false",
+                "--spring.servlet.multipart.max-file-size=" + maxFile + "B",
+                "--spring.servlet.multipart.max-request-size=" + (maxFile * 2 + DataSize.ofKilobytes(64).toBytes()) + "B",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+    }
+
+    void run(PrintStream out) throws Exception {
+        seed();
+        out.printf("seeded items=%d, images=%d%n", maxItemId.get(), imageFileNames.size());
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+        for (int i = 0; i < options.concurrency; i++) {
+            workers.execute(this::loop);
+        }
+
+        Thread.sleep(options.warmup.toMillis());
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(options.duration.toMillis());
+        recording = false;
+        double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+
+        out.printf("%nconcurrency=%d, measured=%.1fs%n", options.concurrency, seconds);
+        OperationStats.printHeader(out);
+        for (Operation operation : Operation.values()) {
+            stats.get(operation).print(out, seconds);
+        }
+    }
+
+    /**
+     * 다운로드 대상을 만들기 위해 상품을 먼저 등록하고 상품 화면에서 이미지 파일명을 수집
+     */
+    private void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < options.seedItems; i++) {
+            long itemId = upload(options.sizes.next()).itemId;
+            if (itemId <= 0) {
+                throw new IllegalStateException("상품 등록에 실패했습니다. 대상 서버를 확인하세요. baseUri=" + baseUri);
+            }
+            HttpResponse<String> view = client.send(HttpRequest.newBuilder(baseUri.resolve("/items/" + itemId)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = IMAGE_SRC.matcher(view.body());
+            while (matcher.find()) {
+                imageFileNames.add(matcher.group(1));
+            }
+        }
+    }
+
+    private void loop() {
+        while (running) {
+            Operation operation = options.mix.next();
+            long start = System.nanoTime();
+            Result result;
+            try {
+                result = execute(operation);
+            } catch (IOException e) {
+                result = new Result(0, 0, 0);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (recording) {
+                stats.get(operation).record(result.status, System.nanoTime() - start, result.bytes, result.isSuccess());
+            }
+        }
+    }
+
+    private Result execute(Operation operation) throws IOException, InterruptedException {
+        switch (operation) {
+            case UPLOAD:
+                return upload(options.sizes.next());
+            case IMAGE:
+                String filename = imageFileNames.get(ThreadLocalRandom.current().nextInt(imageFileNames.size()));
+                return download(HttpRequest.newBuilder(baseUri.resolve("/images/" + filename)));
+            case ATTACH:
+                long itemId = ThreadLocalRandom.current().nextLong(1, maxItemId.get() + 1);
+                HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve("/attach/" + itemId));
+                if (options.acceptGzip) {
+                    request.header("Accept-Encoding", "gzip");
+                }
+                return download(request);
+            default:
+                throw new IllegalStateException("operation=" + operation);
+        }
+    }
+
+    /**
+     * 상품 등록, 성공하면 302 /items/{itemId}
+     */
+    private Result upload(DataSize size) throws IOException, InterruptedException {
+        Payload payload = payloads.get(size);
+        List<byte[]> body = payload.itemFormBody();
+        long length = body.stream().mapToLong(b -> b.length).sum();
+
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/items/new"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArrays(body))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+
+        long itemId = 0;
+        Matcher matcher = ITEM_LOCATION.matcher(response.headers().firstValue("Location").orElse(""));
+        if (response.statusCode() == 302 && matcher.find()) {
+            itemId = Long.parseLong(matcher.group(1));
+            maxItemId.accumulateAndGet(itemId, Math::max);
+        }
+        return new Result(response.statusCode(), length, itemId);
+    }
+
+    private Result download(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        long bytes;
+        try (InputStream body = response.body()) {
+            bytes = body.transferTo(OutputStream.nullOutputStream());
+        }
+        return new Result(response.statusCode(), bytes, 0);
+    }
+
+    private static class Result {
+        private final int status;
+        private final long bytes;
+        private final long itemId;
+
+        Result(int status, long bytes, long itemId) {
+            this.status = status;
+            this.bytes = bytes;
+            this.itemId = itemId;
+        }
+
+        boolean isSuccess() {
+            return status >= 200 && status < 400;
+        }
+    }
+
+    /**
+     * 크기별로 미리 만들어 둔 파일 내용
+     * 첨부파일은 압축되는 텍스트, 이미지는 압축되지 않는 랜덤 바이트로 만들어서 두 저장 경로(gzip, raw)를 모두 지나가게 한다.
+     */
+    private static class Payload {
+        private final byte[] attachPart;
+        private final byte[] imagePart;
+
+        Payload(DataSize size) {
+            int length = (int) size.toBytes();
+            byte[] line = "상품 설명 문서입니다. 배송은 주문 후 3일 이내에 출발합니다.\n".getBytes(StandardCharsets.UTF_8);
+            byte[] text = new byte[length];
+            for (int i = 0; i < length; i++) {
+                text[i] = line[i % line.length];
+            }
+            byte[] random = new byte[length];
+            new Random(length).nextBytes(random);
+
+            attachPart = part("attachFile", "doc.txt", "text/plain", text);
+            imagePart = part("imageFiles", "image.png", "image/png", random);
+        }
+
+        List<byte[]> itemFormBody() {
+            return List.of(
+                    ("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"itemName\"\r\n\r\nload-test\r\n")
+                            .getBytes(StandardCharsets.UTF_8),
+                    attachPart,
+                    imagePart,
+                    ("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private static byte[] part(String name, String filename, String contentType, byte[] content) {
+            byte[] header = ("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\""
+                    + filename + "\"\r\nContent-Type: " + contentType + "\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+            byte[] part = new byte[header.length + content.length + 2];
+            System.arraycopy(header, 0, part, 0, header.length);
+            System.arraycopy(content, 0, part, header.length, content.length);
+            part[part.length - 2] = '\r';
+            part[part.length - 1] = '\n';
+            return part;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package hello.upload.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 가중치에 따라 값을 고르는 분포 (파일 크기 분포, 요청 비율)
+ * "값:가중치,값:가중치" 형식
+ */
+class WeightedChoice<T> {
+
+    private final List<T> values;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private WeightedChoice(List<T> values, int[] cumulativeWeights) {
+        this.values = values;
+        this.cumulativeWeights = cumulativeWeights;
+        this.totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    static <T> WeightedChoice<T> parse(String spec, Function<String, T> parser) {
+        String[] entries = spec.split(",");
+        List<T> values = new ArrayList<>(entries.length);
+        int[] cumulative = new int[entries.length];
+        int total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String entry = entries[i].trim();
+            int pos = entry.lastIndexOf(':');
+            int weight = pos < 0 ? 1 : Integer.parseInt(entry.substring(pos + 1).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("가중치는 0 이상이어야 합니다. entry=" + entry);
+            }
+            values.add(parser.apply(pos < 0 ? entry : entry.substring(0, pos).trim()));
+            total += weight;
+            cumulative[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("가중치 합이 0 입니다. spec=" + spec);
+        }
+        return new WeightedChoice<>(values, cumulative);
+    }
+
+    T next() {
+        int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return values.get(i);
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    List<T> values() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(values.get(i)).append(':').append(cumulativeWeights[i] - (i == 0 ? 0 : cumulativeWeights[i - 1]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package hello.upload;
+
+import hello.upload.admission.UploadAdmissionController;
+import hello.upload.admission.UploadAdmissionFilter;
+import hello.upload.metrics.UploadMetrics;
+import hello.upload.metrics.UploadMetricsFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * 업로드를 받는 경로에만 수락 제어 필터를 적용
+     */
+    @Bean
+    public FilterRegistrationBean<UploadAdmissionFilter> uploadAdmissionFilter(
+            UploadAdmissionController admissionController,
+            @Value("${upload.admission.retry-after:1s}") Duration retryAfter) {
+
+        FilterRegistrationBean<UploadAdmissionFilter> filterRegistrationBean = new FilterRegistrationBean<>();
+        filterRegistrationBean.setFilter(new UploadAdmissionFilter(admissionController, retryAfter.getSeconds()));
+        filterRegistrationBean.setOrder(1);
+        filterRegistrationBean.addUrlPatterns("/spring/upload", "/items/new");
+
+        return filterRegistrationBean;
+    }
+
+    /**
+     * 수락된 업로드 요청의 처리 시간, 처리량 계측
+     * 수락 제어 필터 다음에 두어서 대기열에서 기다린 시간은 포함하지 않음
+     */
+    @Bean
+    public FilterRegistrationBean<UploadMetricsFilter> uploadMetricsFilter(UploadMetrics uploadMetrics) {
+        FilterRegistrationBean<UploadMetricsFilter> filterRegistrationBean = new FilterRegistrationBean<>();
+        filterRegistrationBean.setFilter(new UploadMetricsFilter(uploadMetrics));
+        filterRegistrationBean.setOrder(2);
+        filterRegistrationBean.addUrlPatterns("/servlet/v1/upload", "/servlet/v2/upload", "/spring/upload", "/items/new");
+
+        return filterRegistrationBean;
+    }
+}
@@ -0,0 +1,50 @@
+package hello.upload.admission;
+
+/**
+ * AIMD(Additive Increase, Multiplicative Decrease) 방식의 동시 업로드 한도
+ * 쓰기 지연이 임계값 이하이고 한도를 거의 다 사용하고 있으면 한도를 1씩 늘리고,
+ * 임계값을 넘거나 처리 도중 실패한 경우에는 backoffRatio 만큼 곱해서 빠르게 줄인다.
+ *
+ * 동기화는 호출하는 UploadAdmissionController 의 lock 안에서만 호출한다는 전제로 생략
+ */
+public class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private int limit;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("1 <= minLimit <= maxLimit 이어야 합니다. min=" + minLimit + ", max=" + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio 는 0 과 1 사이여야 합니다. backoffRatio=" + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @param latencyNanos 요청이 파일 하나를 쓰는 데 걸린 최대 시간 (클라이언트가 본문을 보내는 시간은 제외)
+     * @param inFlight     샘플을 반납하기 직전의 동시 처리 수
+     * @param dropped      허가를 받은 요청이 처리 도중 실패한 경우 (대기열에서 거절된 요청은 샘플로 쓰지 않음)
+     */
+    public void onSample(long latencyNanos, int inFlight, boolean dropped) {
+        if (dropped || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlight * 2 >= limit) {
+            //한도의 절반 이상을 쓰고 있을 때만 늘린다. 한가할 때 한도만 무한정 커지는 것을 방지
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package hello.upload.admission;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 업로드 수락 제어(admission control)
+ * 대용량 업로드가 한꺼번에 몰리면 디스크 대역폭과 임시 파일 공간이 포화되어 모든 요청이 느려진다.
+ *
+ * 다음 세 가지로 동시에 처리하는 업로드를 제한
+ * 1. 동시 처리 한도 -> AimdLimit 이 관측한 쓰기 지연(UploadPermit.recordWrite, 네트워크 수신 시간 제외)과 처리 실패를 보고 스스로 조절
+ *    대기열에서 거절된 요청은 한도 조절에 반영하지 않는다.
+ * 2. 전체 처리 중인 바이트 예산(bytes-in-flight)
+ * 3. 한도를 넘으면 FIFO 대기열에서 기다리고, 대기열이 가득 차거나 시간이 초과되면 바로 거절
+ *
+ * 대기열의 맨 앞 요청만 허가를 받을 수 있으므로 큰 요청이 작은 요청에 계속 밀려 굶는 일이 없다.
+ */
+@Slf4j
+@Component
+public class UploadAdmissionController {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+
+    private final AimdLimit limit;
+    private final int maxQueueSize;
+    private final long queueTimeoutNanos;
+    private final long maxBytesInFlight;
+
+    private int inFlight;
+    private long bytesInFlight;
+
+    public UploadAdmissionController(@Value("${upload.admission.initial-limit:4}") int initialLimit,
+                                     @Value("${upload.admission.min-limit:1}") int minLimit,
+                                     @Value("${upload.admission.max-limit:32}") int maxLimit,
+                                     @Value("${upload.admission.backoff-ratio:0.9}") double backoffRatio,
+                                     @Value("${upload.admission.latency-threshold:2s}") Duration latencyThreshold,
+                                     @Value("${upload.admission.max-queue-size:16}") int maxQueueSize,
+                                     @Value("${upload.admission.queue-timeout:5s}") Duration queueTimeout,
+                                     @Value("${upload.admission.max-bytes-in-flight:50MB}") DataSize maxBytesInFlight) {
+        this.limit = new AimdLimit(initialLimit, minLimit, maxLimit, backoffRatio, latencyThreshold.toNanos());
+        this.maxQueueSize = maxQueueSize;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.maxBytesInFlight = maxBytesInFlight.toBytes();
+    }
+
+    /**
+     * 업로드 허가를 요청한다. 허가를 받을 때까지 최대 queue-timeout 만큼 대기
+     *
+     * @param requestBytes 요청 크기(Content-Length), 알 수 없으면 음수
+     */
+    public UploadPermit acquire(long requestBytes) throws UploadRejectedException {
+        long bytes = budgetFor(requestBytes);
+
+        lock.lock();
+        try {
+            //대기 중인 요청이 없으면 바로 허가
+            if (queue.isEmpty() && canAdmit(bytes)) {
+                return admit(bytes);
+            }
+
+            //거절은 한도 조절에 반영하지 않는다. 거절될수록 한도가 줄고, 한도가 줄수록 더 많이 거절되는 악순환을 막기 위해
+            //한도는 허가를 받은 요청이 반납(release)할 때의 실제 쓰기 지연과 실패로만 조절
+            if (queue.size() >= maxQueueSize) {
+                throw new UploadRejectedException("업로드 대기열이 가득 찼습니다. queueSize=" + queue.size());
+            }
+
+            Waiter waiter = new Waiter(lock.newCondition());
+            queue.addLast(waiter);
+            long remaining = queueTimeoutNanos;
+            try {
+                while (queue.peekFirst() != waiter || !canAdmit(bytes)) {
+                    if (remaining <= 0) {
+                        throw new UploadRejectedException("업로드 대기 시간이 초과되었습니다. timeoutMs="
+                                + TimeUnit.NANOSECONDS.toMillis(queueTimeoutNanos));
+                    }
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+                return admit(bytes);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UploadRejectedException("업로드 대기 중 인터럽트가 발생했습니다.");
+            } finally {
+                queue.remove(waiter);
+                signalHead();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param writeNanos 서버가 파일 하나를 쓰는 데 걸린 최대 시간, 파일을 쓰지 않았으면 음수 -> 실패가 아니면 한도를 조절하지 않음
+     */
+    void release(long bytes, long writeNanos, boolean failed) {
+        lock.lock();
+        try {
+            if (failed || writeNanos >= 0) {
+                limit.onSample(Math.max(writeNanos, 0), inFlight, failed);
+            }
+            inFlight--;
+            bytesInFlight -= bytes;
+            signalHead();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit.getLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBytesInFlight() {
+        lock.lock();
+        try {
+            return bytesInFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueSize() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 요청 하나가 전체 예산보다 크면 예산 전체를 차지하는 것으로 본다.
+     * 크기를 모르는 요청(chunked)도 예산 전체를 차지 -> 혼자 처리될 때만 허가
+     */
+    private long budgetFor(long requestBytes) {
+        if (requestBytes < 0 || requestBytes > maxBytesInFlight) {
+            return maxBytesInFlight;
+        }
+        return requestBytes;
+    }
+
+    private boolean canAdmit(long bytes) {
+        if (inFlight >= limit.getLimit()) {
+            return false;
+        }
+        //처리 중인 요청이 없으면 예산과 관계없이 허가, 예산보다 큰 요청이 영원히 대기하지 않도록
+        return inFlight == 0 || bytesInFlight + bytes <= maxBytesInFlight;
+    }
+
+    private UploadPermit admit(long bytes) {
+        inFlight++;
+        bytesInFlight += bytes;
+        return new UploadPermit(this, bytes);
+    }
+
+    private void signalHead() {
+        Waiter head = queue.peekFirst();
+        if (head != null) {
+            head.condition.signal();
+        }
+    }
+
+    private static class Waiter {
+        private final Condition condition;
+
+        Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+}
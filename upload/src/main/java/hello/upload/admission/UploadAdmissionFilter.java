@@ -0,0 +1,80 @@
+package hello.upload.admission;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 멀티파트 업로드 요청에 UploadAdmissionController 를 적용하는 필터
+ *
+ * 스프링 MVC 는 DispatcherServlet 에서 멀티파트를 파싱하면서 임시 파일을 만든다.
+ * 인터셉터는 파싱이 끝난 뒤에 호출되므로 이미 디스크를 사용한 뒤다.
+ * 그래서 파싱 전에 동작하는 필터에서 수락 여부를 결정한다.
+ *
+ * 허가는 request attribute(UploadPermit.ATTRIBUTE)로 등록해서 FileStore 가 파일 쓰기 시간을 기록할 수 있게 한다.
+ */
+@Slf4j
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private static final byte[] REJECTED_BODY = "업로드 요청이 많아 잠시 후 다시 시도해 주세요."
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final UploadAdmissionController admissionController;
+    private final String retryAfterSeconds;
+
+    public UploadAdmissionFilter(UploadAdmissionController admissionController, long retryAfterSeconds) {
+        this.admissionController = admissionController;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return !"POST".equals(request.getMethod())
+                || contentType == null
+                || !contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        UploadPermit permit;
+        try {
+            permit = admissionController.acquire(request.getContentLengthLong());
+        } catch (UploadRejectedException e) {
+            log.warn("upload rejected uri={}, reason={}", request.getRequestURI(), e.getMessage());
+            reject(response);
+            return;
+        }
+
+        try (permit) {
+            request.setAttribute(UploadPermit.ATTRIBUTE, permit);
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            permit.markFailed();
+            throw e;
+        }
+    }
+
+    /**
+     * 503 Service Unavailable + Retry-After, 업로드 본문은 읽지 않고 바로 응답
+     */
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setHeader(HttpHeaders.CONNECTION, "close");    //읽지 않은 본문이 남아있으므로 연결을 재사용하지 않음
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding("utf-8");
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+}
@@ -0,0 +1,77 @@
+package hello.upload.admission;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 업로드 허가
+ * try-with-resources 로 사용하고, close() 시점에 동시 처리 수와 바이트 예산을 반납한다.
+ *
+ * 한도 조절에 쓰는 지연 시간은 요청 전체 시간이 아니라 서버가 파일 하나를 쓰는 데 걸린 시간(recordWrite)의 최댓값이다.
+ * 합을 쓰면 파일 여러 개를 올리는 요청(ItemController.saveItem 등)이 파일 수만큼 느린 것으로 보여 임계값(파일 하나 기준)을 넘는다.
+ * 요청 전체 시간에는 클라이언트가 본문을 보내는 네트워크 시간이 포함되어, 느린 클라이언트 때문에 한가한 서버의 한도가 줄어든다.
+ */
+public class UploadPermit implements AutoCloseable {
+
+    /**
+     * 수락된 요청의 허가를 보관하는 request attribute 이름 (UploadAdmissionFilter 가 등록)
+     */
+    public static final String ATTRIBUTE = UploadPermit.class.getName();
+
+    private final UploadAdmissionController controller;
+    private final long bytes;
+    private long writeNanos = -1;
+    private boolean failed;
+    private boolean released;
+
+    UploadPermit(UploadAdmissionController controller, long bytes) {
+        this.controller = controller;
+        this.bytes = bytes;
+    }
+
+    /**
+     * 현재 요청의 허가에 파일 하나의 쓰기 시간을 기록한다. FileStore, SpringUploadController 에서 호출
+     * 수락 제어 대상이 아닌 요청(허가 없음)이면 무시
+     */
+    public static void recordWrite(long durationNanos) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Object permit = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (permit instanceof UploadPermit) {
+            ((UploadPermit) permit).addWriteNanos(durationNanos);
+        }
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * 파일 하나의 쓰기 시간 중 최댓값, 파일을 쓰지 않았으면 -1
+     */
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    void addWriteNanos(long durationNanos) {
+        writeNanos = Math.max(writeNanos, durationNanos);
+    }
+
+    /**
+     * 처리 중 오류가 난 경우 호출, 한도를 줄이는 신호로 사용
+     */
+    public void markFailed() {
+        this.failed = true;
+    }
+
+    @Override
+    public void close() {
+        if (released) {
+            return;
+        }
+        released = true;
+        controller.release(bytes, writeNanos, failed);
+    }
+}
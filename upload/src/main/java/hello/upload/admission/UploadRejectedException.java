@@ -0,0 +1,12 @@
+package hello.upload.admission;
+
+/**
+ * 업로드 요청을 받아들이지 못했을 때 발생
+ * 대기열이 가득 찼거나, 대기 시간이 초과된 경우 -> 503 Service Unavailable + Retry-After 로 응답
+ */
+public class UploadRejectedException extends Exception {
+
+    public UploadRejectedException(String message) {
+        super(message, null, false, false); //빠른 거절이 목적이므로 stack trace 를 만들지 않음
+    }
+}
@@ -3,23 +3,34 @@ package hello.upload.controller;
 import hello.upload.domain.Item;
 import hello.upload.domain.ItemRepository;
 import hello.upload.domain.UploadFile;
+import hello.upload.file.ExpectedDigest;
+import hello.upload.file.FileDigest;
 import hello.upload.file.FileStore;
+import hello.upload.metrics.UploadMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.web.util.UriUtils;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 @Slf4j
 @Controller
@@ -28,6 +39,7 @@ public class ItemController {
 
     private final ItemRepository itemRepository;
     private final FileStore fileStore;
+    private final UploadMetrics uploadMetrics;
 
     /**
      * 등록폼
@@ -39,11 +51,13 @@ public class ItemController {
 
     /**
      * 폼의 데이터를 저장하고 보여주는 화면으로 리다이렉트
+     * 첨부파일 파트 헤더에 Content-MD5 나 Digest 가 있으면 저장하면서 계산한 체크섬과 비교 -> 다르면 400
      */
     @PostMapping("/items/new")
-    public String saveItem(@ModelAttribute ItemForm form, RedirectAttributes redirectAttributes) throws IOException {
+    public String saveItem(@ModelAttribute ItemForm form, HttpServletRequest request,
+                           RedirectAttributes redirectAttributes) throws IOException {
 
-        UploadFile attachFile = fileStore.storeFile(form.getAttachFile());
+        UploadFile attachFile = fileStore.storeAttachFile(form.getAttachFile(), expectedDigest(request, "attachFile"));
         List<UploadFile> storeImageFiles = fileStore.storeFiles(form.getImageFiles());
 
         //데이터베이스에 저장
@@ -71,11 +85,22 @@ public class ItemController {
     /**
      * <img> 태그로 이미지를 조회할 때 사용
      * UrlResource 로 이미지 파일을 읽어서 @ResponseBody 로 이미지 바이너리를 반환
+     * 변경되지 않은 파일이면 null 을 반환 -> 스프링이 304 Not Modified 로 응답
+     * 업로드할 때 계산한 SHA-256 을 ETag 로 사용
      */
     @ResponseBody
     @GetMapping("/images/{filename}")
-    public Resource downloadImage(@PathVariable String filename) throws MalformedURLException {
-        return new UrlResource("file:" + fileStore.getFullPath(filename));
+    public Resource downloadImage(@PathVariable String filename, WebRequest webRequest) throws IOException {
+        UrlResource resource = new UrlResource("file:" + fileStore.getFullPath(filename));
+        UploadFile uploadFile = itemRepository.findUploadFile(filename);
+        String etag = uploadFile == null ? null : etag(uploadFile, false);
+        if (isNotModified(resource, false, etag, webRequest)) {
+            return null;
+        }
+        if (uploadFile != null) {
+            uploadFile.setLastAccessedAt(Instant.now());
+        }
+        return resource;
     }
 
     /**
@@ -83,15 +108,37 @@ public class ItemController {
      * 파일 다운로드 시 권한 체크같은 복잡한 상황까지 가정한다 생각하고 이미지 id 를 요청하도록 구성
      * 파일 다운로드시에는 고객이 업로드한 파일 이름으로 다운로드 하는게 좋음
      * 이때는 Content-Disposition 해더에 attachment; filename="업로드 파일명" 값을 주면 된다.
+     *
+     * 압축해서 저장한 파일은 클라이언트가 gzip 을 받을 수 있으면(Accept-Encoding) 압축된 바이트를 그대로 내려주고
+     * Content-Encoding: gzip 을 붙인다. 받을 수 없는 경우에만 읽으면서 압축을 푼다.
+     *
+     * ETag 는 원본의 SHA-256, gzip 그대로 내려줄 때는 표현(representation)이 다르므로 -gzip 을 붙인다.
+     * Digest 헤더(sha-256)는 원본 바이트를 내려줄 때만 붙인다.
      */
     @GetMapping("/attach/{itemId}")
-    public ResponseEntity<Resource> downloadAttach(@PathVariable Long itemId) throws MalformedURLException {
+    public ResponseEntity<Resource> downloadAttach(@PathVariable Long itemId,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                   WebRequest webRequest, HttpServletResponse servletResponse)
+            throws IOException {
 
         Item item = itemRepository.findById(itemId);
-        String storeFileName = item.getAttachFile().getStoreFileName();
-        String uploadFileName = item.getAttachFile().getUploadFileName();
+        UploadFile attachFile = item.getAttachFile();
+        String storeFileName = attachFile.getStoreFileName();
+        String uploadFileName = attachFile.getUploadFileName();
+
+        boolean gzipPassthrough = attachFile.isCompressed() && AcceptEncoding.acceptsGzip(acceptEncoding);
+
+        //압축 저장 파일은 Accept-Encoding 에 따라 표현이 달라지므로 304 응답에도 Vary 를 붙인다.
+        if (attachFile.isCompressed()) {
+            servletResponse.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
 
         UrlResource resource = new UrlResource("file:" + fileStore.getFullPath(storeFileName));
+        boolean decompress = attachFile.isCompressed() && !gzipPassthrough;
+        if (isNotModified(resource, decompress, etag(attachFile, gzipPassthrough), webRequest)) {
+            return null;
+        }
+        attachFile.setLastAccessedAt(Instant.now());
 
         log.info("uploadFileName={}", uploadFileName);
 
@@ -101,8 +148,62 @@ public class ItemController {
 
         //다운로드를 위한 규약
         //첨부파일 인식을 위한 header setting
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
-                .body(resource);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+
+        if (attachFile.getSha256() != null && !gzipPassthrough) {
+            response.header("Digest", "sha-256=" + FileDigest.base64(FileDigest.fromHex(attachFile.getSha256())));
+        }
+
+        if (!attachFile.isCompressed()) {
+            return response.body(resource);
+        }
+
+        //저장 파일명(.gz)이 아니라 원래 파일명으로 Content-Type 을 정함
+        MediaType mediaType = MediaTypeFactory.getMediaType(uploadFileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.contentType(mediaType);
+
+        if (gzipPassthrough) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(resource);
+        }
+        return response.body(new InputStreamResource(new GZIPInputStream(resource.getInputStream())));
+    }
+
+    /**
+     * ETag(If-None-Match)와 파일 수정 시각(If-Modified-Since)으로 조건부 요청을 확인
+     * 변경이 없으면 본문을 보내지 않으므로 캐시(cache), 아니면 디스크(disk)에서 내려준 바이트로 기록
+     * 압축을 풀어서 내려주는 경우(decompress)는 디스크 파일 크기가 아니라 원본 크기를 기록
+     */
+    private boolean isNotModified(Resource resource, boolean decompress, String etag, WebRequest webRequest)
+            throws IOException {
+        if (!resource.exists()) {
+            return false;
+        }
+
+        long length = decompress ? fileStore.getUncompressedSize(resource.getFile().toPath()) : resource.contentLength();
+        if (webRequest.checkNotModified(etag, resource.lastModified())) {
+            uploadMetrics.recordDownload(UploadMetrics.DOWNLOAD_SOURCE_CACHE, length);
+            return true;
+        }
+        uploadMetrics.recordDownload(UploadMetrics.DOWNLOAD_SOURCE_DISK, length);
+        return false;
+    }
+
+    /**
+     * 체크섬이 없는 파일(이전에 저장된 파일)은 ETag 없이 수정 시각만 사용
+     */
+    private String etag(UploadFile uploadFile, boolean gzip) {
+        if (uploadFile.getSha256() == null) {
+            return null;
+        }
+        return "\"" + uploadFile.getSha256() + (gzip ? "-gzip" : "") + "\"";
+    }
+
+    private ExpectedDigest expectedDigest(HttpServletRequest request, String partName) {
+        if (!(request instanceof MultipartHttpServletRequest)) {
+            return ExpectedDigest.NONE;
+        }
+        return ExpectedDigest.from(((MultipartHttpServletRequest) request).getMultipartHeaders(partName));
     }
 }
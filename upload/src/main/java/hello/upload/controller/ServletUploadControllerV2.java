@@ -1,5 +1,7 @@
 package hello.upload.controller;
 
+import hello.upload.metrics.UploadMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
@@ -19,12 +21,15 @@ import java.util.Collection;
 
 @Slf4j
 @Controller
+@RequiredArgsConstructor
 @RequestMapping("/servlet/v2")
 public class ServletUploadControllerV2 {
 
     @Value("${file.dir}")   //file 저장할 경로
     private String fileDir;
 
+    private final UploadMetrics uploadMetrics;
+
     @GetMapping("/upload")
     public String newFile() {
         return "upload-form";
@@ -54,6 +59,7 @@ public class ServletUploadControllerV2 {
             //content-disposition; filename
             log.info("submittedFileName={}", part.getSubmittedFileName());  // 클라이언트가 전달한 파일명
             log.info("size={}", part.getSize()); //part body size
+            uploadMetrics.recordPart(part.getSize());
 
             //데이터 읽기
             InputStream inputStream = part.getInputStream();    //Part 의 전송 데이터를 읽기
@@ -1,5 +1,8 @@
 package hello.upload.controller;
 
+import hello.upload.admission.UploadPermit;
+import hello.upload.metrics.UploadMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
@@ -15,12 +18,15 @@ import java.io.IOException;
 
 @Slf4j
 @Controller
+@RequiredArgsConstructor
 @RequestMapping("/spring")
 public class SpringUploadController {
 
     @Value("${file.dir}")
     private String fileDir;
 
+    private final UploadMetrics uploadMetrics;
+
     @GetMapping("/upload")
     public String newFile() {
         return "upload-form";
@@ -37,11 +43,14 @@ public class SpringUploadController {
         log.info("request={}", request);
         log.info("itemName={}", itemName);
         log.info("multipartFile={}", file);
+        uploadMetrics.recordPart(file.getSize());
 
         if (!file.isEmpty()) {
             String fullPath = fileDir + file.getOriginalFilename(); //업로드 파일 명
             log.info("파일 저장 fullPath={}", fullPath);
+            long start = System.nanoTime();
             file.transferTo(new File(fullPath));    //파일 저장
+            UploadPermit.recordWrite(System.nanoTime() - start);
         }
 
         return "upload-form";
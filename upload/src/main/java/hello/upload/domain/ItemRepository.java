@@ -2,21 +2,54 @@ package hello.upload.domain;
 
 import org.springframework.stereotype.Repository;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 무결성 검사(IntegrityScrubber)가 백그라운드에서 함께 읽으므로 동시성 컬렉션을 사용
+ */
 @Repository
 public class ItemRepository {
 
-    private final Map<Long, Item> store = new HashMap<>();
-    private long sequence = 0L;
+    private final Map<Long, Item> store = new ConcurrentHashMap<>();
+    private final Map<String, UploadFile> uploadFiles = new ConcurrentHashMap<>();   //storeFileName -> UploadFile
+    private final AtomicLong sequence = new AtomicLong();
 
     public Item save(Item item) {
-        item.setId(++sequence);
+        item.setId(sequence.incrementAndGet());
         store.put(item.getId(), item);
+        index(item.getAttachFile());
+        if (item.getImageFiles() != null) {
+            item.getImageFiles().forEach(this::index);
+        }
         return item;
     }
+
     public Item findById(Long id) {
         return store.get(id);
     }
+
+    public List<Item> findAll() {
+        return new ArrayList<>(store.values());
+    }
+
+    /**
+     * 저장 파일명으로 업로드 파일 정보 조회 (이미지 다운로드 시 ETag 를 찾을 때 사용)
+     */
+    public UploadFile findUploadFile(String storeFileName) {
+        return uploadFiles.get(storeFileName);
+    }
+
+    public List<UploadFile> findAllUploadFiles() {
+        return new ArrayList<>(uploadFiles.values());
+    }
+
+    private void index(UploadFile uploadFile) {
+        if (uploadFile != null) {
+            uploadFiles.put(uploadFile.getStoreFileName(), uploadFile);
+        }
+    }
 }
@@ -2,14 +2,37 @@ package hello.upload.domain;
 
 import lombok.Data;
 
+import java.time.Instant;
+
 @Data
 public class UploadFile {
 
     private String uploadFileName;  //고객이 업로드한 파일명
     private String storeFileName;   //서버 내부에서 관리하는 파일명
+    private boolean compressed;     //gzip 으로 압축해서 저장했는지 여부
+
+    //저장할 때 계산한 원본 파일의 체크섬(hex), 압축해서 저장한 경우에도 원본 기준
+    private String crc32c;
+    private String sha256;
+
+    private volatile Instant lastAccessedAt;   //마지막 다운로드 시각
+    private volatile Instant lastVerifiedAt;   //마지막 무결성 검사 시각
+    private volatile boolean corrupted;        //무결성 검사에서 체크섬이 맞지 않은 경우
 
     public UploadFile(String uploadFileName, String storeFileName) {
+        this(uploadFileName, storeFileName, false);
+    }
+
+    public UploadFile(String uploadFileName, String storeFileName, boolean compressed) {
         this.uploadFileName = uploadFileName;
         this.storeFileName = storeFileName;
+        this.compressed = compressed;
+    }
+
+    public UploadFile(String uploadFileName, String storeFileName, boolean compressed, String crc32c, String sha256) {
+        this(uploadFileName, storeFileName, compressed);
+        this.crc32c = crc32c;
+        this.sha256 = sha256;
+        this.lastVerifiedAt = Instant.now();
     }
 }
@@ -0,0 +1,86 @@
+package hello.upload.file;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+/**
+ * 업로드 파일을 압축해서 저장할 가치가 있는지 판단
+ *
+ * 1. 확장자 -> 이미 압축된 형식(png, jpg, zip ...)은 압축하지 않음
+ * 2. 매직 넘버 -> 확장자를 바꿔서 올린 경우도 파일 앞부분의 시그니처로 한 번 더 걸러냄
+ * 3. 샘플 압축 -> 파일 앞부분을 실제로 압축해 보고 압축률이 minRatio 보다 좋을 때만 압축
+ */
+public class CompressionDetector {
+
+    public static final int SAMPLE_SIZE = 8 * 1024;
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "png", "jpg", "jpeg", "gif", "webp", "heic", "avif",
+            "zip", "gz", "tgz", "bz2", "xz", "7z", "rar", "zst",
+            "mp3", "mp4", "m4a", "aac", "ogg", "webm", "mov", "avi", "mkv",
+            "docx", "xlsx", "pptx", "hwpx", "jar", "apk", "woff", "woff2");
+
+    private final double minRatio;
+
+    /**
+     * @param minRatio 압축 후 크기 / 원본 크기, 이 값 이하로 줄어들 때만 압축 (예: 0.9 -> 10% 이상 줄어야 압축)
+     */
+    public CompressionDetector(double minRatio) {
+        this.minRatio = minRatio;
+    }
+
+    public boolean isCompressible(String filename, byte[] sample, int length) {
+        if (length <= 0 || hasCompressedExtension(filename) || hasCompressedSignature(sample, length)) {
+            return false;
+        }
+        return sampleRatio(sample, length) <= minRatio;
+    }
+
+    private boolean hasCompressedExtension(String filename) {
+        if (filename == null) {
+            return false;
+        }
+        int pos = filename.lastIndexOf(".");
+        return pos >= 0 && COMPRESSED_EXTENSIONS.contains(filename.substring(pos + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * png: 89 50 4E 47, jpeg: FF D8 FF, gif: 47 49 46 38, zip: 50 4B 03 04, gzip: 1F 8B, pdf 는 내부 스트림 압축 여부가 제각각이라 샘플 압축으로 판단
+     */
+    private boolean hasCompressedSignature(byte[] b, int length) {
+        if (length >= 4 && (b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G') {
+            return true;
+        }
+        if (length >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) {
+            return true;
+        }
+        if (length >= 4 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F' && b[3] == '8') {
+            return true;
+        }
+        if (length >= 4 && b[0] == 'P' && b[1] == 'K' && b[2] == 3 && b[3] == 4) {
+            return true;
+        }
+        return length >= 2 && (b[0] & 0xFF) == 0x1F && (b[1] & 0xFF) == 0x8B;
+    }
+
+    private double sampleRatio(byte[] sample, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(sample, 0, length);
+            deflater.finish();
+            byte[] buffer = new byte[length];
+            int compressed = 0;
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                compressed += n;
+                if (compressed >= length) {
+                    return 1.0; //오히려 커지는 경우
+                }
+            }
+            return (double) compressed / length;
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package hello.upload.file;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * 클라이언트가 보낸 체크섬
+ * Content-MD5: base64(md5)
+ * Digest: sha-256=base64(sha256), md5=base64(md5), crc32c=base64(big-endian 4 bytes) (RFC 3230)
+ *
+ * 멀티파트 요청은 파트 헤더에, 일반 요청은 요청 헤더에 담아서 보낸다.
+ */
+public class ExpectedDigest {
+
+    public static final ExpectedDigest NONE = new ExpectedDigest(null, null, null);
+
+    private final byte[] md5;
+    private final byte[] sha256;
+    private final byte[] crc32c;
+
+    private ExpectedDigest(byte[] md5, byte[] sha256, byte[] crc32c) {
+        this.md5 = md5;
+        this.sha256 = sha256;
+        this.crc32c = crc32c;
+    }
+
+    public static ExpectedDigest from(HttpHeaders headers) {
+        if (headers == null) {
+            return NONE;
+        }
+
+        byte[] md5 = decode(headers.getFirst("Content-MD5"));
+        byte[] sha256 = null;
+        byte[] crc32c = null;
+
+        String digest = headers.getFirst("Digest");
+        if (StringUtils.hasText(digest)) {
+            for (String token : digest.split(",")) {
+                int pos = token.indexOf('=');
+                if (pos < 0) {
+                    continue;
+                }
+                String algorithm = token.substring(0, pos).trim().toLowerCase(Locale.ROOT);
+                byte[] value = decode(token.substring(pos + 1));
+                switch (algorithm) {
+                    case "sha-256":
+                        sha256 = value;
+                        break;
+                    case "md5":
+                        md5 = value;
+                        break;
+                    case "crc32c":
+                        crc32c = value;
+                        break;
+                    default:
+                        //모르는 알고리즘은 무시
+                }
+            }
+        }
+
+        if (md5 == null && sha256 == null && crc32c == null) {
+            return NONE;
+        }
+        return new ExpectedDigest(md5, sha256, crc32c);
+    }
+
+    public boolean requiresMd5() {
+        return md5 != null;
+    }
+
+    public void verify(FileDigest actual) {
+        check("MD5", md5, actual.getMd5());
+        check("SHA-256", sha256, actual.getSha256());
+        check("CRC32C", crc32c, actual.getCrc32cBytes());
+    }
+
+    private static void check(String algorithm, byte[] expected, byte[] actual) {
+        if (expected != null && !MessageDigest.isEqual(expected, actual)) {
+            throw new UploadIntegrityException(algorithm + " 불일치 expected=" + FileDigest.toHex(expected)
+                    + ", actual=" + FileDigest.toHex(actual));
+        }
+    }
+
+    private static byte[] decode(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return Base64.getDecoder().decode(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new UploadIntegrityException("체크섬 헤더가 올바른 base64 가 아닙니다. value=" + value);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package hello.upload.file;
+
+import java.util.Base64;
+
+/**
+ * 파일 하나의 체크섬
+ * crc32c : 빠른 손상 검사용(디스크 스크러빙)
+ * sha256 : ETag, Digest 헤더와 클라이언트가 보낸 값 비교용
+ * md5    : 클라이언트가 Content-MD5 를 보낸 경우에만 계산, 저장하지 않음
+ */
+public class FileDigest {
+
+    private final long crc32c;
+    private final byte[] sha256;
+    private final byte[] md5;
+
+    public FileDigest(long crc32c, byte[] sha256, byte[] md5) {
+        this.crc32c = crc32c;
+        this.sha256 = sha256;
+        this.md5 = md5;
+    }
+
+    public String getCrc32cHex() {
+        return String.format("%08x", crc32c);
+    }
+
+    public byte[] getCrc32cBytes() {
+        return new byte[]{(byte) (crc32c >>> 24), (byte) (crc32c >>> 16), (byte) (crc32c >>> 8), (byte) crc32c};
+    }
+
+    public String getSha256Hex() {
+        return toHex(sha256);
+    }
+
+    public byte[] getSha256() {
+        return sha256;
+    }
+
+    public byte[] getMd5() {
+        return md5;
+    }
+
+    public static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    public static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    public static String base64(byte[] bytes) {
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -1,15 +1,26 @@
 package hello.upload.file;
 
+import hello.upload.admission.UploadPermit;
 import hello.upload.domain.UploadFile;
+import hello.upload.metrics.UploadMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * 파일 저장과 관련된 업무 처리
@@ -17,13 +28,44 @@ import java.util.UUID;
 @Component
 public class FileStore {
 
+    public static final String COMPRESSED_SUFFIX = ".gz";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     @Value("${file.dir}")
     private String fileDir;
 
+    @Value("${file.compression.enabled:false}")
+    private boolean compressionEnabled;
+
+    @Value("${file.compression.min-size:1KB}")
+    private DataSize compressionMinSize;
+
+    private final CompressionDetector compressionDetector;
+    private final UploadMetrics uploadMetrics;
+
+    public FileStore(@Value("${file.compression.min-ratio:0.9}") double compressionMinRatio,
+                     UploadMetrics uploadMetrics) {
+        this.compressionDetector = new CompressionDetector(compressionMinRatio);
+        this.uploadMetrics = uploadMetrics;
+    }
+
     public String getFullPath(String filename) {
         return fileDir + filename;
     }
 
+    /**
+     * gzip 으로 저장한 파일의 원본 크기, gzip trailer 마지막 4바이트(ISIZE, 원본 크기 mod 2^32)를 읽는다.
+     * 업로드 파일은 하나의 gzip member 로 저장하고 크기 제한이 4GB 보다 훨씬 작으므로 정확하다.
+     */
+    public long getUncompressedSize(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(trailer, channel.size() - 4);
+            return Integer.toUnsignedLong(trailer.getInt(0));
+        }
+    }
+
     /**
      * 여러개 파일 업로드
      */
@@ -42,20 +84,100 @@ public class FileStore {
      * 하나의 파일 업로드
      */
     public UploadFile storeFile(MultipartFile multipartFile) throws IOException {
+        return storeFile(multipartFile, ExpectedDigest.NONE);
+    }
+
+    /**
+     * 하나의 파일 업로드, 클라이언트가 보낸 체크섬(Content-MD5, Digest)과 비교해서 다르면 저장한 파일을 지우고 예외
+     */
+    public UploadFile storeFile(MultipartFile multipartFile, ExpectedDigest expected) throws IOException {
         if (multipartFile.isEmpty()) {
             return null;
         }
 
-        String originalFilename = multipartFile.getOriginalFilename();  //원래 파일명
-        String storeFileName = createStoreFileName(originalFilename);   //서버에 저장하는 파일명
-        multipartFile.transferTo(new File(getFullPath(storeFileName)));
-        return new UploadFile(originalFilename, storeFileName);
+        uploadMetrics.recordPart(multipartFile.getSize());
+        String originalFilename = multipartFile.getOriginalFilename();
+        return write(multipartFile, originalFilename, createStoreFileName(originalFilename), false, expected);
+    }
+
+    /**
+     * 첨부파일 업로드
+     */
+    public UploadFile storeAttachFile(MultipartFile multipartFile) throws IOException {
+        return storeAttachFile(multipartFile, ExpectedDigest.NONE);
+    }
+
+    /**
+     * 첨부파일 업로드
+     * 압축이 켜져 있고 압축 효과가 있는 파일이면 업로드 스트림을 읽으면서 바로 gzip 으로 압축해서 저장
+     * 저장 파일명 뒤에 .gz 를 붙이고 UploadFile.compressed 로 표시, 다운로드 시 그대로 내려주거나 풀어서 내려준다.
+     */
+    public UploadFile storeAttachFile(MultipartFile multipartFile, ExpectedDigest expected) throws IOException {
+        if (multipartFile.isEmpty()) {
+            return null;
+        }
+
+        uploadMetrics.recordPart(multipartFile.getSize());
+
+        String originalFilename = multipartFile.getOriginalFilename();
+        String storeFileName = createStoreFileName(originalFilename);
+        if (!compressionEnabled || multipartFile.getSize() < compressionMinSize.toBytes()
+                || !isCompressible(originalFilename, multipartFile)) {
+            return write(multipartFile, originalFilename, storeFileName, false, expected);
+        }
+        return write(multipartFile, originalFilename, storeFileName + COMPRESSED_SUFFIX, true, expected);
+    }
+
+    /**
+     * 업로드 스트림을 한 번만 읽으면서 저장과 체크섬 계산을 같이 한다. 체크섬은 항상 원본(압축 전) 기준
+     * 저장 중 오류가 나거나 체크섬이 맞지 않으면 저장하던 파일은 지운다.
+     */
+    private UploadFile write(MultipartFile multipartFile, String originalFilename, String storeFileName,
+                             boolean compress, ExpectedDigest expected) throws IOException {
+        Path path = Path.of(getFullPath(storeFileName));
+        StreamDigester digester = new StreamDigester(expected.requiresMd5());
+
+        long start = System.nanoTime();
+        FileDigest digest;
+        try {
+            try (InputStream in = digester.wrap(multipartFile.getInputStream());
+                 OutputStream out = compress
+                         ? new GZIPOutputStream(Files.newOutputStream(path), BUFFER_SIZE)
+                         : Files.newOutputStream(path)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, n);
+                }
+            }
+            digest = digester.finish();
+            expected.verify(digest);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        uploadMetrics.recordStoreWrite(compress, elapsed);
+        UploadPermit.recordWrite(elapsed);
+
+        return new UploadFile(originalFilename, storeFileName, compress, digest.getCrc32cHex(), digest.getSha256Hex());
+    }
+
+    /**
+     * 파일 앞부분(샘플)만 읽어서 압축 여부 판단
+     */
+    private boolean isCompressible(String originalFilename, MultipartFile multipartFile) throws IOException {
+        try (InputStream in = multipartFile.getInputStream()) {
+            byte[] sample = in.readNBytes(CompressionDetector.SAMPLE_SIZE);
+            return compressionDetector.isCompressible(originalFilename, sample, sample.length);
+        }
     }
 
     /**
      * 서버 내부에서 관리하는 파일명은 유일한 이름을 생성하는 UUID 를 사용해서 충돌하지 않도록 관리
+     * 같은 패키지의 벤치마크(FileStoreBenchmark)에서 직접 측정할 수 있도록 package-private
      */
-    private String createStoreFileName(String originalFilename) {
+    String createStoreFileName(String originalFilename) {
         String ext = extractExt(originalFilename);
         String uuid = UUID.randomUUID().toString();
         return uuid + "." + ext;
@@ -65,7 +187,7 @@ public class FileStore {
      * 확장자를 별도로 추출해서 서버 내부에서 관리하는 파일명에도 붙여줌
      * 고객이 a.png 라는 이름으로 업로드 하면 51041c62-86e4-4274-801d-614a7d994edb.png 와 같이 저장한다.
      */
-    private String extractExt(String originalFilename) {
+    String extractExt(String originalFilename) {
         int pos = originalFilename.lastIndexOf(".");
         return originalFilename.substring(pos + 1);
     }
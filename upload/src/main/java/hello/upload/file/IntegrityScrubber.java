@@ -0,0 +1,133 @@
+package hello.upload.file;
+
+import hello.upload.domain.ItemRepository;
+import hello.upload.domain.UploadFile;
+import hello.upload.metrics.UploadMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 저장된 파일의 무결성 검사(스크러빙)
+ *
+ * 디스크에서 조용히 깨진 파일은 사용자가 열어볼 때까지 알 수 없다.
+ * 주기적으로 최근에 다운로드되거나 검사되지 않은(cold) 파일만 다시 읽어서 저장할 때 계산한 CRC32C 와 비교
+ * 다운로드가 잦은 파일은 클라이언트가 Digest 헤더로 직접 확인할 수 있으므로 건너뛴다.
+ *
+ * 서비스 중인 디스크 대역폭을 뺏지 않도록 초당 max-rate 바이트 이하로만 읽는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.scrub.enabled", havingValue = "true")
+public class IntegrityScrubber {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ItemRepository itemRepository;
+    private final FileStore fileStore;
+    private final UploadMetrics uploadMetrics;
+    private final Duration coldAfter;
+    private final long maxBytesPerSecond;
+
+    public IntegrityScrubber(ItemRepository itemRepository, FileStore fileStore, UploadMetrics uploadMetrics,
+                             @Value("${file.scrub.cold-after:1h}") Duration coldAfter,
+                             @Value("${file.scrub.max-rate:10MB}") DataSize maxRate) {
+        this.itemRepository = itemRepository;
+        this.fileStore = fileStore;
+        this.uploadMetrics = uploadMetrics;
+        this.coldAfter = coldAfter;
+        this.maxBytesPerSecond = Math.max(1, maxRate.toBytes());
+    }
+
+    @Scheduled(initialDelayString = "${file.scrub.interval:60000}", fixedDelayString = "${file.scrub.interval:60000}")
+    public void scrub() {
+        Instant coldBefore = Instant.now().minus(coldAfter);
+        for (UploadFile uploadFile : itemRepository.findAllUploadFiles()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (uploadFile.getCrc32c() == null || uploadFile.isCorrupted() || !isCold(uploadFile, coldBefore)) {
+                continue;
+            }
+            try {
+                verify(uploadFile);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.warn("무결성 검사 중 파일을 읽을 수 없습니다. storeFileName={}", uploadFile.getStoreFileName(), e);
+            }
+        }
+    }
+
+    /**
+     * 파일 하나를 다시 읽어서 CRC32C 비교, 압축 파일은 풀면서 원본 기준으로 비교
+     *
+     * @return 체크섬이 일치하면 true
+     */
+    public boolean verify(UploadFile uploadFile) throws IOException, InterruptedException {
+        Path path = Path.of(fileStore.getFullPath(uploadFile.getStoreFileName()));
+        StreamDigester digester = new StreamDigester(false);
+
+        long read = 0;
+        long start = System.nanoTime();
+        try (InputStream file = Files.newInputStream(path);
+             InputStream in = digester.wrap(uploadFile.isCompressed() ? new GZIPInputStream(file, BUFFER_SIZE) : file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                read += n;
+                throttle(read, start);
+            }
+        } catch (NoSuchFileException e) {
+            markCorrupted(uploadFile, read, "파일이 없습니다.");
+            return false;
+        }
+
+        String actual = digester.finish().getCrc32cHex();
+        if (!actual.equals(uploadFile.getCrc32c())) {
+            markCorrupted(uploadFile, read, "expected=" + uploadFile.getCrc32c() + ", actual=" + actual);
+            return false;
+        }
+        uploadFile.setLastVerifiedAt(Instant.now());
+        uploadMetrics.recordScrub(read, false);
+        return true;
+    }
+
+    private boolean isCold(UploadFile uploadFile, Instant coldBefore) {
+        Instant accessed = uploadFile.getLastAccessedAt();
+        Instant verified = uploadFile.getLastVerifiedAt();
+        return (accessed == null || accessed.isBefore(coldBefore))
+                && (verified == null || verified.isBefore(coldBefore));
+    }
+
+    /**
+     * 지금까지 읽은 바이트를 max-rate 로 읽었을 때 걸려야 하는 시간보다 빠르면 그만큼 쉰다.
+     */
+    private void throttle(long read, long start) throws InterruptedException {
+        long expectedNanos = read * 1_000_000_000L / maxBytesPerSecond;
+        long aheadMillis = (expectedNanos - (System.nanoTime() - start)) / 1_000_000;
+        if (aheadMillis > 0) {
+            Thread.sleep(aheadMillis);
+        }
+    }
+
+    private void markCorrupted(UploadFile uploadFile, long read, String detail) {
+        uploadFile.setCorrupted(true);
+        uploadMetrics.recordScrub(read, true);
+        log.error("파일 무결성 검사 실패 storeFileName={}, uploadFileName={}, {}",
+                uploadFile.getStoreFileName(), uploadFile.getUploadFileName(), detail);
+    }
+}
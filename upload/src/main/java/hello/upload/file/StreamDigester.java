@@ -0,0 +1,40 @@
+package hello.upload.file;
+
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * 스트림을 한 번 읽으면서 CRC32C, SHA-256 (필요하면 MD5) 를 함께 계산
+ * 파일을 저장하는 스트림을 wrap() 으로 감싸서 사용 -> 저장 후 파일을 다시 읽지 않아도 된다.
+ */
+public class StreamDigester {
+
+    private final CRC32C crc32c = new CRC32C();
+    private final MessageDigest sha256 = messageDigest("SHA-256");
+    private final MessageDigest md5;
+
+    public StreamDigester(boolean computeMd5) {
+        this.md5 = computeMd5 ? messageDigest("MD5") : null;
+    }
+
+    public InputStream wrap(InputStream in) {
+        InputStream stream = md5 == null ? in : new DigestInputStream(in, md5);
+        return new CheckedInputStream(new DigestInputStream(stream, sha256), crc32c);
+    }
+
+    public FileDigest finish() {
+        return new FileDigest(crc32c.getValue(), sha256.digest(), md5 == null ? null : md5.digest());
+    }
+
+    private static MessageDigest messageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " 을 지원하지 않는 JVM 입니다.", e);   //모든 JVM 이 제공해야 하는 알고리즘
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package hello.upload.file;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 클라이언트가 보낸 체크섬(Content-MD5, Digest)과 실제로 받은 파일의 체크섬이 다른 경우
+ * 전송 중 손상된 것이므로 저장한 파일을 지우고 400 으로 응답
+ */
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "upload checksum mismatch")
+public class UploadIntegrityException extends RuntimeException {
+
+    public UploadIntegrityException(String message) {
+        super(message);
+    }
+}
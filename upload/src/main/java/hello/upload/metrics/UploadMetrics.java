@@ -0,0 +1,140 @@
+package hello.upload.metrics;
+
+import hello.upload.admission.UploadAdmissionController;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드/다운로드 계측
+ *
+ * 히스토그램은 마이크로미터의 DistributionSummary, Timer 를 사용
+ * 백분위수(publishPercentiles)는 내부에서 HdrHistogram 기반의 시간 창(time window) 히스토그램으로 계산되므로
+ * 기록 비용이 작고 락을 잡지 않는다. /actuator/metrics 와 /upload/metrics(JSON)에서 확인할 수 있다.
+ */
+@Component
+public class UploadMetrics {
+
+    public static final String DOWNLOAD_SOURCE_DISK = "disk";
+    public static final String DOWNLOAD_SOURCE_CACHE = "cache";   //조건부 요청(304)으로 클라이언트 캐시를 사용한 경우
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final DistributionSummary partSize;
+    private final Timer uploadDuration;
+    private final DistributionSummary uploadThroughput;
+    private final Timer storeWriteRaw;
+    private final Timer storeWriteGzip;
+    private final Counter downloadDiskBytes;
+    private final Counter downloadCacheBytes;
+    private final Counter scrubBytes;
+    private final Counter scrubCorrupted;
+
+    public UploadMetrics(MeterRegistry registry, UploadAdmissionController admissionController) {
+        partSize = DistributionSummary.builder("upload.part.size")
+                .description("업로드 파트 크기")
+                .baseUnit("bytes")
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+        uploadDuration = Timer.builder("upload.request.duration")
+                .description("멀티파트 업로드 요청 처리 시간")
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+        uploadThroughput = DistributionSummary.builder("upload.request.throughput")
+                .description("요청별 업로드 처리량")
+                .baseUnit("bytes/s")
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+        storeWriteRaw = storeWriteTimer(registry, "raw");
+        storeWriteGzip = storeWriteTimer(registry, "gzip");
+        downloadDiskBytes = downloadCounter(registry, DOWNLOAD_SOURCE_DISK);
+        downloadCacheBytes = downloadCounter(registry, DOWNLOAD_SOURCE_CACHE);
+        scrubBytes = Counter.builder("upload.scrub.bytes")
+                .description("무결성 검사로 다시 읽은 바이트")
+                .baseUnit("bytes")
+                .register(registry);
+        scrubCorrupted = Counter.builder("upload.scrub.corrupted")
+                .description("무결성 검사에서 체크섬이 맞지 않은 파일 수")
+                .register(registry);
+
+        //수락 제어가 예약한 바이트 예산, 실제 임시 파일 사용량이 아니다.
+        //수락 제어 대상 경로(UploadAdmissionFilter)의 Content-Length 합이고, 길이를 모르는 요청은 예산 전체(max-bytes-in-flight)로 센다.
+        Gauge.builder("upload.admission.bytes.inflight", admissionController, UploadAdmissionController::getBytesInFlight)
+                .description("수락된 업로드 요청이 예약한 바이트 예산 (Content-Length 합, 길이를 모르면 예산 전체)")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("upload.admission.limit", admissionController, UploadAdmissionController::getLimit)
+                .register(registry);
+        Gauge.builder("upload.admission.in-flight", admissionController, UploadAdmissionController::getInFlight)
+                .register(registry);
+        Gauge.builder("upload.admission.queue", admissionController, UploadAdmissionController::getQueueSize)
+                .register(registry);
+    }
+
+    private static Timer storeWriteTimer(MeterRegistry registry, String type) {
+        return Timer.builder("upload.store.write")
+                .description("FileStore 파일 쓰기 시간")
+                .tag("type", type)
+                .publishPercentiles(PERCENTILES)
+                .register(registry);
+    }
+
+    private static Counter downloadCounter(MeterRegistry registry, String source) {
+        return Counter.builder("upload.download.bytes")
+                .description("다운로드로 내려준 바이트, cache 는 304 응답으로 전송을 생략한 바이트")
+                .baseUnit("bytes")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    public void recordPart(long bytes) {
+        partSize.record(bytes);
+    }
+
+    public void recordUpload(long bytes, long durationNanos) {
+        uploadDuration.record(durationNanos, TimeUnit.NANOSECONDS);
+        if (bytes > 0 && durationNanos > 0) {
+            uploadThroughput.record(bytes * 1_000_000_000d / durationNanos);
+        }
+    }
+
+    public void recordStoreWrite(boolean compressed, long durationNanos) {
+        (compressed ? storeWriteGzip : storeWriteRaw).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDownload(String source, long bytes) {
+        (DOWNLOAD_SOURCE_CACHE.equals(source) ? downloadCacheBytes : downloadDiskBytes).increment(bytes);
+    }
+
+    public void recordScrub(long bytes, boolean corrupted) {
+        scrubBytes.increment(bytes);
+        if (corrupted) {
+            scrubCorrupted.increment();
+        }
+    }
+
+    DistributionSummary getPartSize() {
+        return partSize;
+    }
+
+    Timer getUploadDuration() {
+        return uploadDuration;
+    }
+
+    DistributionSummary getUploadThroughput() {
+        return uploadThroughput;
+    }
+
+    Timer getStoreWrite(boolean compressed) {
+        return compressed ? storeWriteGzip : storeWriteRaw;
+    }
+
+    Counter getDownloadBytes(String source) {
+        return DOWNLOAD_SOURCE_CACHE.equals(source) ? downloadCacheBytes : downloadDiskBytes;
+    }
+}
@@ -0,0 +1,55 @@
+package hello.upload.metrics;
+
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 계측 결과를 한 번에 볼 수 있는 JSON
+ * 시간 단위는 ms, 크기 단위는 bytes
+ */
+@RestController
+@RequiredArgsConstructor
+public class UploadMetricsController {
+
+    private final UploadMetrics uploadMetrics;
+
+    @GetMapping("/upload/metrics")
+    public Map<String, Object> metrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("partSize", snapshot(uploadMetrics.getPartSize().takeSnapshot(), null));
+        result.put("uploadDuration", snapshot(uploadMetrics.getUploadDuration().takeSnapshot(), TimeUnit.MILLISECONDS));
+        result.put("uploadThroughput", snapshot(uploadMetrics.getUploadThroughput().takeSnapshot(), null));
+        result.put("storeWriteRaw", snapshot(uploadMetrics.getStoreWrite(false).takeSnapshot(), TimeUnit.MILLISECONDS));
+        result.put("storeWriteGzip", snapshot(uploadMetrics.getStoreWrite(true).takeSnapshot(), TimeUnit.MILLISECONDS));
+
+        Map<String, Object> download = new LinkedHashMap<>();
+        download.put(UploadMetrics.DOWNLOAD_SOURCE_DISK,
+                (long) uploadMetrics.getDownloadBytes(UploadMetrics.DOWNLOAD_SOURCE_DISK).count());
+        download.put(UploadMetrics.DOWNLOAD_SOURCE_CACHE,
+                (long) uploadMetrics.getDownloadBytes(UploadMetrics.DOWNLOAD_SOURCE_CACHE).count());
+        result.put("downloadBytes", download);
+        return result;
+    }
+
+    /**
+     * @param unit 타이머면 시간 단위, DistributionSummary 면 null
+     */
+    private Map<String, Object> snapshot(HistogramSnapshot snapshot, TimeUnit unit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", snapshot.count());
+        result.put("mean", unit == null ? snapshot.mean() : snapshot.mean(unit));
+        result.put("max", unit == null ? snapshot.max() : snapshot.max(unit));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            result.put("p" + Math.round(percentile.percentile() * 100),
+                    unit == null ? percentile.value() : percentile.value(unit));
+        }
+        return result;
+    }
+}
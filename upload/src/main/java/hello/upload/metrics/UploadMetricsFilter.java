@@ -0,0 +1,43 @@
+package hello.upload.metrics;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 멀티파트 업로드 요청 하나의 처리 시간과 처리량(bytes/sec)을 기록
+ * 멀티파트 파싱(임시 파일 저장)까지 포함해야 하므로 DispatcherServlet 앞의 필터에서 측정
+ */
+public class UploadMetricsFilter extends OncePerRequestFilter {
+
+    private final UploadMetrics uploadMetrics;
+
+    public UploadMetricsFilter(UploadMetrics uploadMetrics) {
+        this.uploadMetrics = uploadMetrics;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return !"POST".equals(request.getMethod())
+                || contentType == null
+                || !contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            uploadMetrics.recordUpload(request.getContentLengthLong(), System.nanoTime() - start);
+        }
+    }
+}
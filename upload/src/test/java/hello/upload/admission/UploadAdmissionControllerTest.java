@@ -0,0 +1,128 @@
+package hello.upload.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadAdmissionControllerTest {
+
+    UploadAdmissionController controller(int limit, int maxQueueSize, Duration queueTimeout, DataSize maxBytes) {
+        return new UploadAdmissionController(limit, 1, limit, 0.5, Duration.ofSeconds(10),
+                maxQueueSize, queueTimeout, maxBytes);
+    }
+
+    @Test
+    void acquireAndRelease() throws Exception {
+        UploadAdmissionController controller = controller(2, 0, Duration.ZERO, DataSize.ofMegabytes(10));
+
+        try (UploadPermit permit = controller.acquire(1024)) {
+            assertThat(controller.getInFlight()).isEqualTo(1);
+            assertThat(controller.getBytesInFlight()).isEqualTo(1024);
+        }
+
+        assertThat(controller.getInFlight()).isEqualTo(0);
+        assertThat(controller.getBytesInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    void rejectWhenQueueIsFull() throws Exception {
+        UploadAdmissionController controller = controller(1, 0, Duration.ZERO, DataSize.ofMegabytes(10));
+
+        try (UploadPermit permit = controller.acquire(1024)) {
+            assertThatThrownBy(() -> controller.acquire(1024))
+                    .isInstanceOf(UploadRejectedException.class);
+        }
+    }
+
+    @Test
+    void rejectionsDoNotShrinkLimit() throws Exception {
+        UploadAdmissionController controller = controller(2, 0, Duration.ZERO, DataSize.ofMegabytes(10));
+
+        try (UploadPermit first = controller.acquire(1024);
+             UploadPermit second = controller.acquire(1024)) {
+            //대기열이 가득 찬 상태에서 몰려온 요청은 모두 거절되지만 한도는 그대로
+            for (int i = 0; i < 100; i++) {
+                assertThatThrownBy(() -> controller.acquire(1024))
+                        .isInstanceOf(UploadRejectedException.class);
+            }
+            assertThat(controller.getLimit()).isEqualTo(2);
+        }
+
+        assertThat(controller.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectWhenQueueTimeout() throws Exception {
+        UploadAdmissionController controller = controller(1, 1, Duration.ofMillis(50), DataSize.ofMegabytes(10));
+
+        try (UploadPermit permit = controller.acquire(1024)) {
+            assertThatThrownBy(() -> controller.acquire(1024))
+                    .isInstanceOf(UploadRejectedException.class);
+            assertThat(controller.getQueueSize()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void writeLatencyIsMaxPerFile() throws Exception {
+        UploadAdmissionController controller = controller(2, 0, Duration.ZERO, DataSize.ofMegabytes(10));
+
+        //파일 하나는 임계값(10초) 이하지만 합치면 넘는 경우
+        try (UploadPermit permit = controller.acquire(1024)) {
+            permit.addWriteNanos(TimeUnit.SECONDS.toNanos(6));
+            permit.addWriteNanos(TimeUnit.SECONDS.toNanos(4));
+            permit.addWriteNanos(TimeUnit.SECONDS.toNanos(6));
+            assertThat(permit.getWriteNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(6));
+        }
+
+        assertThat(controller.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void waitForBytesBudget() throws Exception {
+        UploadAdmissionController controller = controller(4, 4, Duration.ofSeconds(5), DataSize.ofBytes(1000));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            UploadPermit first = controller.acquire(800);
+            CountDownLatch started = new CountDownLatch(1);
+            Future<UploadPermit> second = executor.submit(() -> {
+                started.countDown();
+                return controller.acquire(800);
+            });
+            started.await();
+
+            //바이트 예산이 부족하므로 대기
+            Thread.sleep(100);
+            assertThat(second.isDone()).isFalse();
+
+            first.close();
+            UploadPermit secondPermit = second.get(5, TimeUnit.SECONDS);
+            assertThat(controller.getBytesInFlight()).isEqualTo(800);
+            secondPermit.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void aimdLimit() {
+        AimdLimit limit = new AimdLimit(10, 1, 20, 0.5, TimeUnit.SECONDS.toNanos(1));
+
+        //한도의 절반 이상 사용 중이고 빠르면 1 증가
+        limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 5, false);
+        assertThat(limit.getLimit()).isEqualTo(11);
+
+        //느리면 절반으로
+        limit.onSample(TimeUnit.SECONDS.toNanos(2), 5, false);
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+}
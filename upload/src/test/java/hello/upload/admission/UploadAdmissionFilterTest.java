@@ -0,0 +1,120 @@
+package hello.upload.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.FilterChain;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadAdmissionFilterTest {
+
+    //쓰기 지연 기준 10ms, 한도 4 (1 ~ 4), 실패하면 절반
+    UploadAdmissionController controller = new UploadAdmissionController(4, 1, 4, 0.5, Duration.ofMillis(10),
+            0, Duration.ZERO, DataSize.ofMegabytes(10));
+    UploadAdmissionFilter filter = new UploadAdmissionFilter(controller, 3);
+
+    @Test
+    void reject() throws Exception {
+        UploadAdmissionController full = new UploadAdmissionController(1, 1, 1, 0.5, Duration.ofSeconds(1),
+                0, Duration.ZERO, DataSize.ofMegabytes(10));
+        UploadAdmissionFilter fullFilter = new UploadAdmissionFilter(full, 3);
+
+        try (UploadPermit permit = full.acquire(1024)) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            fullFilter.doFilter(multipartRequest(), response, chain);
+
+            assertThat(chain.getRequest()).isNull();
+            assertThat(response.getStatus()).isEqualTo(503);
+            assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+            assertThat(response.getHeader("Connection")).isEqualTo("close");
+            assertThat(full.getInFlight()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void bypassNonMultipart() throws Exception {
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/items/new");
+        MockHttpServletRequest form = new MockHttpServletRequest("POST", "/items/new");
+        form.setContentType("application/x-www-form-urlencoded");
+
+        for (MockHttpServletRequest request : new MockHttpServletRequest[]{get, form}) {
+            AtomicBoolean called = new AtomicBoolean();
+            FilterChain chain = (req, res) -> {
+                called.set(true);
+                assertThat(controller.getInFlight()).isZero();
+                assertThat(req.getAttribute(UploadPermit.ATTRIBUTE)).isNull();
+            };
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertThat(called).isTrue();
+        }
+        assertThat(controller.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void releaseOnException() {
+        FilterChain failing = (request, response) -> {
+            assertThat(controller.getInFlight()).isEqualTo(1);
+            throw new IllegalStateException("store failed");
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(multipartRequest(), new MockHttpServletResponse(), failing))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(controller.getInFlight()).isZero();
+        assertThat(controller.getBytesInFlight()).isZero();
+        assertThat(controller.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void slowClientDoesNotShrinkLimit() throws Exception {
+        //본문 수신이 느려도(기준 10ms 초과) 파일 쓰기가 빠르면 한도를 줄이지 않는다.
+        FilterChain slowClient = (request, response) -> {
+            sleep(30);
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes((MockHttpServletRequest) request));
+            try {
+                UploadPermit.recordWrite(TimeUnit.MILLISECONDS.toNanos(1));
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+        filter.doFilter(multipartRequest(), new MockHttpServletResponse(), slowClient);
+        assertThat(controller.getLimit()).isEqualTo(4);
+
+        //파일 쓰기가 느리면 줄인다.
+        FilterChain slowWrite = (request, response) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes((MockHttpServletRequest) request));
+            try {
+                UploadPermit.recordWrite(TimeUnit.MILLISECONDS.toNanos(50));
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+        filter.doFilter(multipartRequest(), new MockHttpServletResponse(), slowWrite);
+        assertThat(controller.getLimit()).isEqualTo(2);
+    }
+
+    private static MockHttpServletRequest multipartRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items/new");
+        request.setContentType("multipart/form-data; boundary=test");
+        request.setContent(new byte[1024]);
+        return request;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package hello.upload.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptEncodingTest {
+
+    @Test
+    void acceptsGzip() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("deflate, GZIP")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("x-gzip")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0.8, identity")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("gzip ; q=0.001")).isTrue();
+
+        assertThat(AcceptEncoding.acceptsGzip(null)).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("identity")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("deflate, br")).isFalse();
+    }
+
+    @Test
+    void rejectedByQualityZero() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0.0, deflate")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=abc")).isFalse();
+    }
+
+    @Test
+    void wildcard() {
+        assertThat(AcceptEncoding.acceptsGzip("*")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("br, *;q=0.5")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("*;q=0")).isFalse();
+
+        //명시적으로 지정한 gzip 이 * 보다 우선
+        assertThat(AcceptEncoding.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("*;q=0, gzip")).isTrue();
+    }
+}
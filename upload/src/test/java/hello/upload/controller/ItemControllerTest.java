@@ -0,0 +1,128 @@
+package hello.upload.controller;
+
+import hello.upload.admission.UploadAdmissionController;
+import hello.upload.domain.Item;
+import hello.upload.domain.ItemRepository;
+import hello.upload.domain.UploadFile;
+import hello.upload.file.FileStore;
+import hello.upload.metrics.UploadMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 압축 저장한 첨부파일 다운로드 (gzip 그대로 vs 서버에서 압축 해제)
+ */
+class ItemControllerTest {
+
+    @TempDir
+    Path dir;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    UploadAdmissionController admissionController = new UploadAdmissionController(4, 1, 4, 0.9,
+            Duration.ofSeconds(2), 0, Duration.ZERO, DataSize.ofMegabytes(50));
+    UploadMetrics uploadMetrics = new UploadMetrics(registry, admissionController);
+    FileStore fileStore = new FileStore(0.9, uploadMetrics);
+    ItemRepository itemRepository = new ItemRepository();
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ItemController(itemRepository, fileStore, uploadMetrics)).build();
+
+    byte[] content = "상품 설명 문서입니다. ".repeat(1000).getBytes(StandardCharsets.UTF_8);
+    UploadFile attachFile;
+    Item item;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(fileStore, "fileDir", dir.toString() + "/");
+        ReflectionTestUtils.setField(fileStore, "compressionEnabled", true);
+        ReflectionTestUtils.setField(fileStore, "compressionMinSize", DataSize.ofKilobytes(1));
+
+        attachFile = fileStore.storeAttachFile(new MockMultipartFile("attachFile", "doc.txt", "text/plain", content));
+        assertThat(attachFile.isCompressed()).isTrue();
+        item = new Item();
+        item.setAttachFile(attachFile);
+        itemRepository.save(item);
+    }
+
+    @Test
+    void gzipPassthrough() throws Exception {
+        MockHttpServletResponse response = download("gzip, deflate", null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + attachFile.getSha256() + "-gzip\"");
+        assertThat(response.getHeader("Digest")).isNull();
+
+        byte[] stored = Files.readAllBytes(Path.of(fileStore.getFullPath(attachFile.getStoreFileName())));
+        assertThat(response.getContentAsByteArray()).isEqualTo(stored);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        assertThat(diskBytes()).isEqualTo(stored.length);
+    }
+
+    @Test
+    void decompress() throws Exception {
+        for (String acceptEncoding : new String[]{null, "identity", "gzip;q=0"}) {
+            MockHttpServletResponse response = download(acceptEncoding, null);
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+            assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+            assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + attachFile.getSha256() + "\"");
+            assertThat(response.getHeader("Digest")).startsWith("sha-256=");
+            assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        }
+        //디스크 파일(압축) 크기가 아니라 내려준 원본 크기
+        assertThat(diskBytes()).isEqualTo(content.length * 3L);
+    }
+
+    @Test
+    void notModifiedKeepsVary() throws Exception {
+        String gzipEtag = download("gzip", null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = download("gzip", gzipEtag);
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+
+        //gzip 표현의 ETag 는 압축을 푼 표현과 맞지 않는다.
+        assertThat(download(null, gzipEtag).getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse download(String acceptEncoding, String ifNoneMatch) throws Exception {
+        MockHttpServletRequestBuilder request = get("/attach/{itemId}", item.getId());
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private double diskBytes() {
+        return registry.get("upload.download.bytes").tag("source", UploadMetrics.DOWNLOAD_SOURCE_DISK).counter().count();
+    }
+}
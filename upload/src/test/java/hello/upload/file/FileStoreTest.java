@@ -0,0 +1,120 @@
+package hello.upload.file;
+
+import hello.upload.admission.UploadAdmissionController;
+import hello.upload.domain.UploadFile;
+import hello.upload.metrics.UploadMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Random;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileStoreTest {
+
+    @TempDir
+    Path dir;
+
+    UploadAdmissionController admissionController = new UploadAdmissionController(4, 1, 4, 0.9,
+            Duration.ofSeconds(2), 0, Duration.ZERO, DataSize.ofMegabytes(50));
+    FileStore fileStore = new FileStore(0.9, new UploadMetrics(new SimpleMeterRegistry(), admissionController));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fileStore, "fileDir", dir.toString() + "/");
+        ReflectionTestUtils.setField(fileStore, "compressionEnabled", true);
+        ReflectionTestUtils.setField(fileStore, "compressionMinSize", DataSize.ofKilobytes(1));
+    }
+
+    @Test
+    void storeTextAttachCompressed() throws IOException {
+        byte[] content = "상품 설명 문서입니다. ".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        MockMultipartFile file = new MockMultipartFile("attachFile", "doc.txt", "text/plain", content);
+
+        UploadFile uploadFile = fileStore.storeAttachFile(file);
+
+        assertThat(uploadFile.isCompressed()).isTrue();
+        assertThat(uploadFile.getStoreFileName()).endsWith(".txt" + FileStore.COMPRESSED_SUFFIX);
+
+        Path stored = Path.of(fileStore.getFullPath(uploadFile.getStoreFileName()));
+        assertThat(Files.size(stored)).isLessThan(content.length / 5);
+        assertThat(fileStore.getUncompressedSize(stored)).isEqualTo(content.length);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(stored))) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void skipAlreadyCompressedFormat() throws IOException {
+        byte[] content = "텍스트지만 확장자가 png".repeat(200).getBytes(StandardCharsets.UTF_8);
+        MockMultipartFile file = new MockMultipartFile("attachFile", "image.png", "image/png", content);
+
+        UploadFile uploadFile = fileStore.storeAttachFile(file);
+
+        assertThat(uploadFile.isCompressed()).isFalse();
+        assertThat(Files.readAllBytes(Path.of(fileStore.getFullPath(uploadFile.getStoreFileName())))).isEqualTo(content);
+    }
+
+    @Test
+    void skipIncompressibleContent() throws IOException {
+        byte[] content = new byte[16 * 1024];
+        new Random(1).nextBytes(content);
+        MockMultipartFile file = new MockMultipartFile("attachFile", "random.bin", "application/octet-stream", content);
+
+        UploadFile uploadFile = fileStore.storeAttachFile(file);
+
+        assertThat(uploadFile.isCompressed()).isFalse();
+    }
+
+    @Test
+    void storeWithDigest() throws IOException, NoSuchAlgorithmException {
+        byte[] content = "상품 설명 문서입니다. ".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        MockMultipartFile file = new MockMultipartFile("attachFile", "doc.txt", "text/plain", content);
+        byte[] sha256 = MessageDigest.getInstance("SHA-256").digest(content);
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(content);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-MD5", FileDigest.base64(MessageDigest.getInstance("MD5").digest(content)));
+        headers.set("Digest", "sha-256=" + FileDigest.base64(sha256));
+        UploadFile uploadFile = fileStore.storeAttachFile(file, ExpectedDigest.from(headers));
+
+        //압축해서 저장해도 체크섬은 원본 기준
+        assertThat(uploadFile.isCompressed()).isTrue();
+        assertThat(uploadFile.getSha256()).isEqualTo(FileDigest.toHex(sha256));
+        assertThat(uploadFile.getCrc32c()).isEqualTo(String.format("%08x", crc32c.getValue()));
+    }
+
+    @Test
+    void digestMismatch() throws IOException {
+        byte[] content = "업로드 중 손상된 파일".getBytes(StandardCharsets.UTF_8);
+        MockMultipartFile file = new MockMultipartFile("imageFiles", "a.txt", "text/plain", content);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Digest", "sha-256=" + FileDigest.base64(new byte[32]));
+
+        assertThatThrownBy(() -> fileStore.storeFile(file, ExpectedDigest.from(headers)))
+                .isInstanceOf(UploadIntegrityException.class);
+        //저장하던 파일은 지운다.
+        try (var files = Files.list(dir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}